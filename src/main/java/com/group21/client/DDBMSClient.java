@@ -5,18 +5,17 @@ import java.util.Scanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.authentication.Authentication;
 import com.group21.server.logger.EventLogger;
-import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.StorageFormat;
 import com.group21.server.processor.QueryProcessor;
 import com.group21.server.erd.ERDGenerator;
 import com.group21.server.sqldump.SqlDumpGenerator;
+import com.group21.server.storage.DistributedDataDictionary;
+import com.group21.server.storage.StorageFormatConverter;
 import com.group21.server.transaction.CommitConfiguration;
 import com.group21.server.transaction.TransactionExecutor;
 import com.group21.utils.RemoteDatabaseConnection;
-import com.group21.utils.RemoteDatabaseReader;
-import com.group21.utils.RemoteDatabaseWriter;
 
 public class DDBMSClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(DDBMSClient.class);
@@ -66,6 +65,8 @@ public class DDBMSClient {
                     command = "sqldump";
                 } else if (userInput.matches("^export erd;?$")) {
                     command = "erd";
+                } else if (userInput.matches("^convert [a-zA-Z_]+ to (text|binary|columnar|log|heap);?$")) {
+                    command = "convert";
                 } else if (userInput.matches("^set auto_commit = (true|false);?")) {
                     command = "set auto_commit";
                 } else if (userInput.equals("commit") || userInput.equals("commit;")) {
@@ -78,15 +79,13 @@ public class DDBMSClient {
 
                 switch (command) {
                     case "":
-                        if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
-                            // This is done only for local as remote site can not access local machine
-                            RemoteDatabaseReader.syncDistributedDataDictionary();
-                        }
+                        DistributedDataDictionary.getInstance().refresh();
                         break;
                     case "help":
                         LOGGER.info("Below are some available options:");
                         LOGGER.info("\texport sqldump               - To get table structure DDLs");
                         LOGGER.info("\texport erd                   - To get Textual ER Diagram");
+                        LOGGER.info("\tconvert <table> to text/binary/columnar/log/heap - To change storage format of a local table");
                         LOGGER.info("\tValid SQL Query              - To execute valid SQL queries");
                         LOGGER.info("\texit                         - To exit DDBMS client");
                         LOGGER.info("\tset auto_commit = true/false - To change auto commit flag (Default - true)");
@@ -94,11 +93,18 @@ public class DDBMSClient {
                         LOGGER.info("\trollback                     - To rollback transaction");
                         break;
                     case "sqldump":
+                        DistributedDataDictionary.getInstance().refresh();
                         SqlDumpGenerator.generate();
                         break;
                     case "erd":
+                        DistributedDataDictionary.getInstance().refresh();
                         ERDGenerator.generate();
                         break;
+                    case "convert":
+                        DistributedDataDictionary.getInstance().refresh();
+                        String[] convertArguments = userInput.replace(";", "").split(" ");
+                        StorageFormatConverter.convert(convertArguments[1].toUpperCase(), StorageFormat.from(convertArguments[3]));
+                        break;
                     case "exit":
                         if (!commitConfiguration.isAutoCommitValue()) {
                             TransactionExecutor.rollbackTransaction();
@@ -126,10 +132,6 @@ public class DDBMSClient {
                         break;
                     default:
                         QueryProcessor.process(command, commitConfiguration.isAutoCommitValue());
-                        if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
-                            // This is done only for local as remote site can not access local machine
-                            RemoteDatabaseWriter.syncDistributedDataDictionary();
-                        }
                         break;
                 }
                 LOGGER.info("");
@@ -10,8 +10,9 @@ import org.slf4j.LoggerFactory;
 
 import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
-import com.group21.server.models.DatabaseSite;
-import com.group21.utils.RemoteDatabaseReader;
+import com.group21.server.storage.DistributedDataDictionary;
+import com.group21.server.storage.SpillFiles;
+import com.group21.server.storage.WriteAheadLog;
 
 public class DDBMSSetup {
 
@@ -37,7 +38,7 @@ public class DDBMSSetup {
             if (Files.notExists(localDDPath)) {
                 Files.createFile(localDDPath);
 
-                String headerRow = "TableName|NumberOfRows|CreatedOn" + ApplicationConfiguration.NEW_LINE;
+                String headerRow = "TableName|NumberOfRows|CreatedOn|StorageFormat" + ApplicationConfiguration.NEW_LINE;
                 Files.write(localDDPath, headerRow.getBytes());
             }
 
@@ -60,10 +61,13 @@ public class DDBMSSetup {
                 Files.createFile(eventLogFilePath);
             }
 
-            if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
-                // This is done only for local as remote site can not access local machine
-                RemoteDatabaseReader.syncDistributedDataDictionary();
-            }
+            // Sort runs and aggregation partitions left by a query that was interrupted are never read again
+            SpillFiles.deleteAll();
+
+            // Changes logged before a crash are applied again before any query runs
+            WriteAheadLog.getInstance().recover();
+
+            DistributedDataDictionary.getInstance().refresh();
         } catch (IOException exception) {
             LOGGER.error("Error occurred while creating data directory.");
             EventLogger.error(exception.getMessage());
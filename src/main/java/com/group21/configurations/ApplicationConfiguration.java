@@ -9,6 +9,11 @@ public class ApplicationConfiguration {
     public static final DatabaseSite CURRENT_SITE = DatabaseSite.LOCAL;
     public static final String DATA_FILE_FORMAT = ".dat";
     public static final String METADATA_FILE_FORMAT = ".metadata";
+    public static final String COLUMN_FILE_FORMAT = ".col";
+    public static final String SEGMENT_FILE_FORMAT = ".seg";
+    public static final String PRIMARY_KEY_INDEX_FILE_FORMAT = ".pkx";
+    public static final String INDEX_FILE_FORMAT = ".idx";
+    public static final String APPLIED_LSN_FILE_FORMAT = ".lsn";
     public static final String DELIMITER = "|";
     public static final String DELIMITER_REGEX = "\\|";
     public static final String DATA_DIRECTORY = "DDBMS_21_Data";
@@ -16,14 +21,66 @@ public class ApplicationConfiguration {
     public static final String AUTHENTICATION_FILE_NAME = "authentication.dat";
     public static final String LOCAL_DATA_DICTIONARY_NAME = "local_data_dictionary.dat";
     public static final String DISTRIBUTED_DATA_DICTIONARY_NAME = "distributed_data_dictionary.dat";
+    public static final String DISTRIBUTED_DATA_DICTIONARY_VERSION_NAME = "distributed_data_dictionary.version";
     public static final String ERD_FILE_NAME = "ddbms_group21_erd.txt";
     public static final String FILE_SEPARATOR = System.getProperty("file.separator");
     public static final String NEW_LINE = "\n";
     public static final String SQL_DUMP_FILE_NAME = "sql_dump.sql";
     public static final String TRANSACTION_FILE_NAME = "transaction.txt";
+    public static final String WAL_FILE_NAME = "redo.wal";
     public static final String GENERAL_LOG_FILE_NAME = "general.log";
     public static final String EVENT_LOG_FILE_NAME = "event.log";
 
+    // Buffer pool configuration
+    public static final int BUFFER_POOL_PAGE_SIZE = 4096;
+    public static final int BUFFER_POOL_CAPACITY = 2048;
+    public static final long MEMORY_MAPPED_READ_THRESHOLD = 8L * 1024 * 1024;
+
+    // Log structured storage configuration
+    public static final long LOG_SEGMENT_SIZE = 1024L * 1024;
+    public static final int LOG_COMPACTION_SEGMENT_COUNT = 4;
+    public static final int LOG_COMPACTION_INTERVAL_SECONDS = 30;
+
+    // Heap file configuration
+    public static final int HEAP_PAGE_SIZE = 8192;
+
+    // Primary key index configuration
+    public static final int HASH_INDEX_PAGE_SIZE = 4096;
+    public static final int HASH_INDEX_INITIAL_BUCKET_COUNT = 4;
+    public static final int HASH_INDEX_BUCKET_LOAD = 128;
+
+    // B+tree index configuration
+    public static final int BTREE_PAGE_SIZE = 8192;
+
+    // Catalog configuration
+    public static final long CATALOG_FLUSH_INTERVAL_MILLIS = 1000;
+
+    // Distributed data dictionary configuration
+    public static final int GDD_COMPACTION_DELTA_COUNT = 64;
+
+    // Write ahead log configuration
+    public static final long WAL_GROUP_COMMIT_WINDOW_MILLIS = 0;
+    public static final long WAL_CHECKPOINT_SIZE = 16L * 1024 * 1024;
+    public static final int WAL_BATCH_SIZE = 1000;
+
+    // Select configuration
+    public static final int SELECT_FETCH_SIZE = 100;
+
+    // Spill configuration
+    public static final String SPILL_DIRECTORY = "spill";
+
+    // Sort configuration
+    public static final long SORT_MEMORY_BUDGET = 32L * 1024 * 1024;
+    public static final int SORT_MERGE_FAN_IN = 64;
+    public static final int TOP_N_MAX_ROWS = 100000;
+
+    // Aggregation configuration
+    public static final long AGGREGATE_MEMORY_BUDGET = 32L * 1024 * 1024;
+    public static final int AGGREGATE_SPILL_PARTITIONS = 16;
+
+    // Bulk load configuration
+    public static final int COPY_BATCH_SIZE = 1000;
+
     // Remote Database configuration
     public static final String REMOTE_DB_DATA_DIRECTORY = "/home/kartik_gevariya0003/group21/csci-5408-group-21/DDBMS_21_Data";
     public static final String REMOTE_DB_USER = "kartik_gevariya0003";
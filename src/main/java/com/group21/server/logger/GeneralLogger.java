@@ -11,6 +11,10 @@ import java.util.List;
 import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.models.DatabaseSite;
 import com.group21.server.models.TableInfo;
+import com.group21.server.queries.prepared.PreparedQueryCache;
+import com.group21.server.storage.BufferPool;
+import com.group21.server.storage.DistributedDataDictionary;
+import com.group21.server.storage.MetadataCache;
 import com.group21.utils.FileReader;
 import com.group21.utils.RemoteDatabaseReader;
 
@@ -63,6 +67,16 @@ public class GeneralLogger {
         }
         logContent.append(ApplicationConfiguration.NEW_LINE);
 
+        BufferPool bufferPool = BufferPool.getInstance();
+        logContent.append("\t").append("Buffer pool - ").append(bufferPool.getHitCount()).append(" hits, ").append(bufferPool.getMissCount()).append(" misses, ").append(bufferPool.getEvictionCount()).append(" evictions, ").append(bufferPool.getCachedPageCount()).append(" pages cached, ").append(bufferPool.getMapCount()).append(" files mapped").append(ApplicationConfiguration.NEW_LINE);
+        MetadataCache metadataCache = MetadataCache.getInstance();
+        logContent.append("\t").append("Metadata cache - ").append(metadataCache.getHitCount()).append(" hits, ").append(metadataCache.getMissCount()).append(" misses, ").append(metadataCache.getInvalidationCount()).append(" invalidations, ").append(metadataCache.getCachedTableCount()).append(" tables cached").append(ApplicationConfiguration.NEW_LINE);
+        DistributedDataDictionary distributedDataDictionary = DistributedDataDictionary.getInstance();
+        logContent.append("\t").append("Distributed data dictionary - version ").append(distributedDataDictionary.getVersion()).append(", ").append(distributedDataDictionary.getProbeCount()).append(" version probes, ").append(distributedDataDictionary.getFullFetchCount()).append(" full fetches, ").append(distributedDataDictionary.getDeltaFetchCount()).append(" delta fetches").append(ApplicationConfiguration.NEW_LINE);
+        PreparedQueryCache preparedQueryCache = PreparedQueryCache.getInstance();
+        logContent.append("\t").append("Prepared queries - ").append(preparedQueryCache.getPreparedQueryCount()).append(" prepared, ").append(preparedQueryCache.getExecutionCount()).append(" executions, ").append(preparedQueryCache.getPlanCount()).append(" plans").append(ApplicationConfiguration.NEW_LINE);
+        logContent.append(ApplicationConfiguration.NEW_LINE);
+
         try {
             Files.write(generalLogFilePath, logContent.toString().getBytes(), StandardOpenOption.APPEND);
         } catch (Exception e) {
@@ -0,0 +1,288 @@
+package com.group21.server.models;
+
+import java.util.Arrays;
+
+// Aggregate values of every group kept in primitive arrays indexed by group number, so a row adds to a group without allocating
+public abstract class Accumulator {
+
+    // Whole numbers below this are printed without a fraction, like a DOUBLE value inserted as 10 is stored
+    private static final double MAX_WHOLE_NUMBER = 1e15;
+
+    private static final String MISSING_VALUE = "null";
+
+    public static Accumulator count(boolean isCountingRows) {
+        return new CountAccumulator(isCountingRows);
+    }
+
+    public static Accumulator sum(DataType columnType, boolean isAverage) {
+        if (columnType == DataType.INT) {
+            return new LongSumAccumulator(isAverage);
+        }
+        return new DoubleSumAccumulator(isAverage);
+    }
+
+    public static Accumulator extreme(DataType columnType, boolean isMaximum) {
+        switch (columnType) {
+            case INT:
+                return new LongExtremeAccumulator(isMaximum);
+            case DOUBLE:
+                return new DoubleExtremeAccumulator(isMaximum);
+            default:
+                return new TextExtremeAccumulator(isMaximum);
+        }
+    }
+
+    // Room for groups numbered below the given capacity, new groups start without a value
+    public abstract void grow(int groupCapacity);
+
+    public abstract void add(int group, String value);
+
+    public abstract String getResult(int group);
+
+    // Rough heap size the accumulator adds for each group
+    public abstract int getGroupSize();
+
+    // Value of a column left out of an insert or a copy, which no aggregate but COUNT(*) takes into account
+    protected static boolean isMissing(String value) {
+        return value == null || value.isEmpty() || MISSING_VALUE.equals(value);
+    }
+
+    protected static String formatDouble(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < MAX_WHOLE_NUMBER) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    private static final class CountAccumulator extends Accumulator {
+
+        private final boolean isCountingRows;
+        private long[] counts = new long[0];
+
+        private CountAccumulator(boolean isCountingRows) {
+            this.isCountingRows = isCountingRows;
+        }
+
+        @Override
+        public void grow(int groupCapacity) {
+            counts = Arrays.copyOf(counts, groupCapacity);
+        }
+
+        @Override
+        public void add(int group, String value) {
+            if (isCountingRows || !isMissing(value)) {
+                counts[group]++;
+            }
+        }
+
+        @Override
+        public String getResult(int group) {
+            return Long.toString(counts[group]);
+        }
+
+        @Override
+        public int getGroupSize() {
+            return Long.BYTES;
+        }
+    }
+
+    private static final class LongSumAccumulator extends Accumulator {
+
+        private final boolean isAverage;
+        private long[] sums = new long[0];
+        private long[] counts = new long[0];
+
+        private LongSumAccumulator(boolean isAverage) {
+            this.isAverage = isAverage;
+        }
+
+        @Override
+        public void grow(int groupCapacity) {
+            sums = Arrays.copyOf(sums, groupCapacity);
+            counts = Arrays.copyOf(counts, groupCapacity);
+        }
+
+        @Override
+        public void add(int group, String value) {
+            if (ValueParser.isLong(value)) {
+                sums[group] += ValueParser.parseLong(value);
+                counts[group]++;
+            }
+        }
+
+        @Override
+        public String getResult(int group) {
+            if (counts[group] == 0) {
+                return MISSING_VALUE;
+            }
+            return isAverage ? formatDouble((double) sums[group] / counts[group]) : Long.toString(sums[group]);
+        }
+
+        @Override
+        public int getGroupSize() {
+            return 2 * Long.BYTES;
+        }
+    }
+
+    private static final class DoubleSumAccumulator extends Accumulator {
+
+        private final boolean isAverage;
+        private double[] sums = new double[0];
+        private long[] counts = new long[0];
+
+        private DoubleSumAccumulator(boolean isAverage) {
+            this.isAverage = isAverage;
+        }
+
+        @Override
+        public void grow(int groupCapacity) {
+            sums = Arrays.copyOf(sums, groupCapacity);
+            counts = Arrays.copyOf(counts, groupCapacity);
+        }
+
+        @Override
+        public void add(int group, String value) {
+            double number = ValueParser.parseDouble(value);
+            if (!Double.isNaN(number)) {
+                sums[group] += number;
+                counts[group]++;
+            }
+        }
+
+        @Override
+        public String getResult(int group) {
+            if (counts[group] == 0) {
+                return MISSING_VALUE;
+            }
+            return formatDouble(isAverage ? sums[group] / counts[group] : sums[group]);
+        }
+
+        @Override
+        public int getGroupSize() {
+            return Double.BYTES + Long.BYTES;
+        }
+    }
+
+    private static final class LongExtremeAccumulator extends Accumulator {
+
+        private final boolean isMaximum;
+        private long[] extremes = new long[0];
+        private boolean[] hasValue = new boolean[0];
+
+        private LongExtremeAccumulator(boolean isMaximum) {
+            this.isMaximum = isMaximum;
+        }
+
+        @Override
+        public void grow(int groupCapacity) {
+            extremes = Arrays.copyOf(extremes, groupCapacity);
+            hasValue = Arrays.copyOf(hasValue, groupCapacity);
+        }
+
+        @Override
+        public void add(int group, String value) {
+            if (!ValueParser.isLong(value)) {
+                return;
+            }
+            long number = ValueParser.parseLong(value);
+            if (!hasValue[group] || (isMaximum ? number > extremes[group] : number < extremes[group])) {
+                extremes[group] = number;
+                hasValue[group] = true;
+            }
+        }
+
+        @Override
+        public String getResult(int group) {
+            return hasValue[group] ? Long.toString(extremes[group]) : MISSING_VALUE;
+        }
+
+        @Override
+        public int getGroupSize() {
+            return Long.BYTES + 1;
+        }
+    }
+
+    private static final class DoubleExtremeAccumulator extends Accumulator {
+
+        private final boolean isMaximum;
+        private double[] extremes = new double[0];
+        private boolean[] hasValue = new boolean[0];
+
+        private DoubleExtremeAccumulator(boolean isMaximum) {
+            this.isMaximum = isMaximum;
+        }
+
+        @Override
+        public void grow(int groupCapacity) {
+            extremes = Arrays.copyOf(extremes, groupCapacity);
+            hasValue = Arrays.copyOf(hasValue, groupCapacity);
+        }
+
+        @Override
+        public void add(int group, String value) {
+            double number = ValueParser.parseDouble(value);
+            if (Double.isNaN(number)) {
+                return;
+            }
+            if (!hasValue[group] || (isMaximum ? number > extremes[group] : number < extremes[group])) {
+                extremes[group] = number;
+                hasValue[group] = true;
+            }
+        }
+
+        @Override
+        public String getResult(int group) {
+            return hasValue[group] ? formatDouble(extremes[group]) : MISSING_VALUE;
+        }
+
+        @Override
+        public int getGroupSize() {
+            return Double.BYTES + 1;
+        }
+    }
+
+    // Text is compared like ORDER BY compares it, the value itself is kept so it is returned as stored
+    private static final class TextExtremeAccumulator extends Accumulator {
+
+        // Reference to the kept value and a rough size of the value
+        private static final int GROUP_SIZE = 64;
+
+        private final boolean isMaximum;
+        private String[] extremes = new String[0];
+
+        private TextExtremeAccumulator(boolean isMaximum) {
+            this.isMaximum = isMaximum;
+        }
+
+        @Override
+        public void grow(int groupCapacity) {
+            extremes = Arrays.copyOf(extremes, groupCapacity);
+        }
+
+        @Override
+        public void add(int group, String value) {
+            if (isMissing(value)) {
+                return;
+            }
+            String extreme = extremes[group];
+            if (extreme == null) {
+                extremes[group] = value;
+                return;
+            }
+            int comparison = DataType.TEXT.compare(value, extreme);
+            if (isMaximum ? comparison > 0 : comparison < 0) {
+                extremes[group] = value;
+            }
+        }
+
+        @Override
+        public String getResult(int group) {
+            return extremes[group] == null ? MISSING_VALUE : extremes[group];
+        }
+
+        @Override
+        public int getGroupSize() {
+            return GROUP_SIZE;
+        }
+    }
+}
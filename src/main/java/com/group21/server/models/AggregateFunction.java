@@ -0,0 +1,95 @@
+package com.group21.server.models;
+
+public enum AggregateFunction {
+    COUNT {
+        @Override
+        public boolean isValidFor(DataType columnType) {
+            return true;
+        }
+
+        @Override
+        public DataType getResultType(DataType columnType) {
+            return DataType.INT;
+        }
+
+        @Override
+        public Accumulator createAccumulator(DataType columnType) {
+            return Accumulator.count(columnType == null);
+        }
+    },
+    SUM {
+        @Override
+        public boolean isValidFor(DataType columnType) {
+            return columnType == DataType.INT || columnType == DataType.DOUBLE;
+        }
+
+        @Override
+        public DataType getResultType(DataType columnType) {
+            return columnType;
+        }
+
+        @Override
+        public Accumulator createAccumulator(DataType columnType) {
+            return Accumulator.sum(columnType, false);
+        }
+    },
+    AVG {
+        @Override
+        public boolean isValidFor(DataType columnType) {
+            return columnType == DataType.INT || columnType == DataType.DOUBLE;
+        }
+
+        @Override
+        public DataType getResultType(DataType columnType) {
+            return DataType.DOUBLE;
+        }
+
+        @Override
+        public Accumulator createAccumulator(DataType columnType) {
+            return Accumulator.sum(columnType, true);
+        }
+    },
+    MIN {
+        @Override
+        public boolean isValidFor(DataType columnType) {
+            return columnType != null;
+        }
+
+        @Override
+        public DataType getResultType(DataType columnType) {
+            return columnType;
+        }
+
+        @Override
+        public Accumulator createAccumulator(DataType columnType) {
+            return Accumulator.extreme(columnType, false);
+        }
+    },
+    MAX {
+        @Override
+        public boolean isValidFor(DataType columnType) {
+            return columnType != null;
+        }
+
+        @Override
+        public DataType getResultType(DataType columnType) {
+            return columnType;
+        }
+
+        @Override
+        public Accumulator createAccumulator(DataType columnType) {
+            return Accumulator.extreme(columnType, true);
+        }
+    };
+
+    // Column type is null for COUNT(*), which counts every row
+    public abstract boolean isValidFor(DataType columnType);
+
+    public abstract DataType getResultType(DataType columnType);
+
+    public abstract Accumulator createAccumulator(DataType columnType);
+
+    public String getLabel(String columnName) {
+        return name() + "(" + (columnName == null ? "*" : columnName) + ")";
+    }
+}
@@ -0,0 +1,72 @@
+package com.group21.server.models;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.group21.server.storage.RowCursor;
+
+public class AndCondition extends RowPredicate {
+
+    private final List<RowPredicate> predicates;
+    // Array is walked per row instead of the list, so testing a row creates no iterator
+    private final RowPredicate[] orderedPredicates;
+
+    // Cheap predicates that reject most rows run first, so the rest are tested on as few rows as possible
+    public AndCondition(List<RowPredicate> predicates) {
+        this.predicates = new ArrayList<>(predicates);
+        this.predicates.sort(Comparator.comparingDouble(predicate -> predicate.getCost() / Math.max(1 - predicate.getSelectivity(), Double.MIN_VALUE)));
+        this.orderedPredicates = this.predicates.toArray(new RowPredicate[0]);
+    }
+
+    public List<RowPredicate> getPredicates() {
+        return predicates;
+    }
+
+    @Override
+    public boolean test(List<String> row) {
+        for (RowPredicate predicate : orderedPredicates) {
+            if (!predicate.test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public double getSelectivity() {
+        double selectivity = 1;
+        for (RowPredicate predicate : predicates) {
+            selectivity *= predicate.getSelectivity();
+        }
+        return selectivity;
+    }
+
+    // Later predicates only run on the rows the earlier ones kept
+    @Override
+    public double getCost() {
+        double cost = 0;
+        double testedFraction = 1;
+        for (RowPredicate predicate : predicates) {
+            cost += testedFraction * predicate.getCost();
+            testedFraction *= predicate.getSelectivity();
+        }
+        return cost;
+    }
+
+    // Most selective part that has an index narrows the scan, every row it returns is still tested against the whole condition
+    @Override
+    public RowCursor scanIndex(Path dataFilePath) throws IOException {
+        List<RowPredicate> indexCandidates = new ArrayList<>(predicates);
+        indexCandidates.sort(Comparator.comparingDouble(RowPredicate::getSelectivity));
+        for (RowPredicate predicate : indexCandidates) {
+            RowCursor rowCursor = predicate.scanIndex(dataFilePath);
+            if (rowCursor != null) {
+                return rowCursor;
+            }
+        }
+        return null;
+    }
+}
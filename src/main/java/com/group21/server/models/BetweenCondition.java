@@ -0,0 +1,119 @@
+package com.group21.server.models;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.group21.server.storage.BPlusTreeIndex;
+import com.group21.server.storage.RowCursor;
+
+// Made for one column type with both bounds parsed once, both bounds are included and a missing value never matches
+public abstract class BetweenCondition extends RowPredicate {
+
+    private static final double SELECTIVITY = 0.25;
+
+    protected final int columnPosition;
+    private final Column column;
+    private final String lowValue;
+    private final String highValue;
+
+    private BetweenCondition(Column column, String lowValue, String highValue) {
+        this.columnPosition = column.getColumnPosition();
+        this.column = column;
+        this.lowValue = lowValue;
+        this.highValue = highValue;
+    }
+
+    public static BetweenCondition create(Column column, String lowValue, String highValue) {
+        switch (column.getColumnType()) {
+            case INT:
+                return new LongBetweenCondition(column, lowValue, highValue);
+            case DOUBLE:
+                return new DoubleBetweenCondition(column, lowValue, highValue);
+            default:
+                return new TextBetweenCondition(column, lowValue, highValue);
+        }
+    }
+
+    public String getLowValue() {
+        return lowValue;
+    }
+
+    public String getHighValue() {
+        return highValue;
+    }
+
+    @Override
+    public double getSelectivity() {
+        return SELECTIVITY;
+    }
+
+    @Override
+    public double getCost() {
+        return 2;
+    }
+
+    @Override
+    public RowCursor scanIndex(Path dataFilePath) throws IOException {
+        if (column.getIndexName() == null) {
+            return null;
+        }
+        return BPlusTreeIndex.scan(dataFilePath, column, lowValue, true, highValue, true);
+    }
+
+    private static final class LongBetweenCondition extends BetweenCondition {
+
+        private final long lowLong;
+        private final long highLong;
+
+        private LongBetweenCondition(Column column, String lowValue, String highValue) {
+            super(column, lowValue, highValue);
+            this.lowLong = ValueParser.parseLong(lowValue);
+            this.highLong = ValueParser.parseLong(highValue);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            String columnValue = row.get(columnPosition);
+            if (!ValueParser.isLong(columnValue)) {
+                return false;
+            }
+            long longValue = ValueParser.parseLong(columnValue);
+            return longValue >= lowLong && longValue <= highLong;
+        }
+    }
+
+    private static final class DoubleBetweenCondition extends BetweenCondition {
+
+        private final double lowDouble;
+        private final double highDouble;
+
+        private DoubleBetweenCondition(Column column, String lowValue, String highValue) {
+            super(column, lowValue, highValue);
+            this.lowDouble = ValueParser.parseDouble(lowValue) + 0.0;
+            this.highDouble = ValueParser.parseDouble(highValue) + 0.0;
+        }
+
+        // Adding zero turns -0.0 into 0.0, which Double.compare tells apart
+        @Override
+        public boolean test(List<String> row) {
+            double doubleValue = ValueParser.parseDouble(row.get(columnPosition)) + 0.0;
+            return !Double.isNaN(doubleValue) && Double.compare(doubleValue, lowDouble) >= 0 && Double.compare(doubleValue, highDouble) <= 0;
+        }
+    }
+
+    private static final class TextBetweenCondition extends BetweenCondition {
+
+        private TextBetweenCondition(Column column, String lowValue, String highValue) {
+            super(column, lowValue, highValue);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            String columnValue = row.get(columnPosition);
+            return columnValue != null
+                    && String.CASE_INSENSITIVE_ORDER.compare(columnValue, getLowValue()) >= 0
+                    && String.CASE_INSENSITIVE_ORDER.compare(columnValue, getHighValue()) <= 0;
+        }
+    }
+}
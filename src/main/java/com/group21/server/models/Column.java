@@ -7,6 +7,7 @@ public class Column {
     private String foreignKeyTable;
     private String foreignKeyColumnName;
     private Integer columnPosition;
+    private String indexName;
 
     public String getColumnName() {
         return columnName;
@@ -55,4 +56,12 @@ public class Column {
     public void setColumnPosition(Integer columnPosition) {
         this.columnPosition = columnPosition;
     }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public void setIndexName(String indexName) {
+        this.indexName = indexName;
+    }
 }
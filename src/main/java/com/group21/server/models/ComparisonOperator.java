@@ -0,0 +1,110 @@
+package com.group21.server.models;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.group21.server.storage.BPlusTreeIndex;
+import com.group21.server.storage.RowCursor;
+
+public enum ComparisonOperator {
+    EQUALS("=", 0.1) {
+        @Override
+        public boolean matches(int comparison) {
+            return comparison == 0;
+        }
+
+        @Override
+        public RowCursor scanIndex(Path dataFilePath, Column column, String value) throws IOException {
+            return BPlusTreeIndex.scan(dataFilePath, column, value, true, value, true);
+        }
+    },
+    LESS_THAN("<", 1.0 / 3) {
+        @Override
+        public boolean matches(int comparison) {
+            return comparison < 0;
+        }
+
+        @Override
+        public RowCursor scanIndex(Path dataFilePath, Column column, String value) throws IOException {
+            return BPlusTreeIndex.scan(dataFilePath, column, null, false, value, false);
+        }
+    },
+    LESS_THAN_OR_EQUALS("<=", 1.0 / 3) {
+        @Override
+        public boolean matches(int comparison) {
+            return comparison <= 0;
+        }
+
+        @Override
+        public RowCursor scanIndex(Path dataFilePath, Column column, String value) throws IOException {
+            return BPlusTreeIndex.scan(dataFilePath, column, null, false, value, true);
+        }
+    },
+    NOT_EQUALS("<>", 0.9) {
+        @Override
+        public boolean matches(int comparison) {
+            return comparison != 0;
+        }
+
+        @Override
+        public RowCursor scanIndex(Path dataFilePath, Column column, String value) {
+            return null;
+        }
+    },
+    GREATER_THAN(">", 1.0 / 3) {
+        @Override
+        public boolean matches(int comparison) {
+            return comparison > 0;
+        }
+
+        @Override
+        public RowCursor scanIndex(Path dataFilePath, Column column, String value) throws IOException {
+            return BPlusTreeIndex.scan(dataFilePath, column, value, false, null, false);
+        }
+    },
+    GREATER_THAN_OR_EQUALS(">=", 1.0 / 3) {
+        @Override
+        public boolean matches(int comparison) {
+            return comparison >= 0;
+        }
+
+        @Override
+        public RowCursor scanIndex(Path dataFilePath, Column column, String value) throws IOException {
+            return BPlusTreeIndex.scan(dataFilePath, column, value, true, null, false);
+        }
+    };
+
+    private final String symbol;
+    private final double selectivity;
+
+    ComparisonOperator(String symbol, double selectivity) {
+        this.symbol = symbol;
+        this.selectivity = selectivity;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    // Estimated fraction of rows that match, no statistics are kept so these are fixed guesses
+    public double getSelectivity() {
+        return selectivity;
+    }
+
+    public abstract boolean matches(int comparison);
+
+    // Null when the index can not narrow the rows down
+    public abstract RowCursor scanIndex(Path dataFilePath, Column column, String value) throws IOException;
+
+    public static ComparisonOperator from(String symbol) {
+        if ("!=".equals(symbol)) {
+            return NOT_EQUALS;
+        }
+        for (ComparisonOperator comparisonOperator : values()) {
+            if (comparisonOperator.symbol.equals(symbol)) {
+                return comparisonOperator;
+            }
+        }
+        return null;
+    }
+}
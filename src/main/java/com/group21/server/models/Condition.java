@@ -0,0 +1,139 @@
+package com.group21.server.models;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.group21.server.storage.RowCursor;
+
+// Made for one column type, the value is parsed once and the operator is turned into a lookup of the comparison result
+public abstract class Condition extends RowPredicate {
+
+    // One row at most matches a primary key value
+    private static final double UNIQUE_SELECTIVITY = 0.001;
+
+    protected final int columnPosition;
+    private final Column column;
+    private final ComparisonOperator comparisonOperator;
+    private final String value;
+    private final boolean[] matchesComparison;
+
+    private Condition(Column column, ComparisonOperator comparisonOperator, String value) {
+        this.columnPosition = column.getColumnPosition();
+        this.column = column;
+        this.comparisonOperator = comparisonOperator;
+        this.value = value;
+        this.matchesComparison = new boolean[]{comparisonOperator.matches(-1), comparisonOperator.matches(0), comparisonOperator.matches(1)};
+    }
+
+    public static Condition create(Column column, ComparisonOperator comparisonOperator, String value) {
+        switch (column.getColumnType()) {
+            case INT:
+                return new LongCondition(column, comparisonOperator, value);
+            case DOUBLE:
+                return new DoubleCondition(column, comparisonOperator, value);
+            default:
+                if (comparisonOperator == ComparisonOperator.EQUALS) {
+                    return new TextEqualsCondition(column, comparisonOperator, value);
+                }
+                return new TextCondition(column, comparisonOperator, value);
+        }
+    }
+
+    public Column getColumn() {
+        return column;
+    }
+
+    public ComparisonOperator getComparisonOperator() {
+        return comparisonOperator;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    protected boolean matches(int comparison) {
+        return matchesComparison[Integer.signum(comparison) + 1];
+    }
+
+    @Override
+    public double getSelectivity() {
+        if (comparisonOperator == ComparisonOperator.EQUALS && column.getConstraint() == Constraint.PRIMARY_KEY) {
+            return UNIQUE_SELECTIVITY;
+        }
+        return comparisonOperator.getSelectivity();
+    }
+
+    @Override
+    public double getCost() {
+        return 1;
+    }
+
+    @Override
+    public RowCursor scanIndex(Path dataFilePath) throws IOException {
+        if (column.getIndexName() == null) {
+            return null;
+        }
+        return comparisonOperator.scanIndex(dataFilePath, column, value);
+    }
+
+    // Numbers compare by value and a missing value never matches
+    private static final class LongCondition extends Condition {
+
+        private final long longValue;
+
+        private LongCondition(Column column, ComparisonOperator comparisonOperator, String value) {
+            super(column, comparisonOperator, value);
+            this.longValue = ValueParser.parseLong(value);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            String columnValue = row.get(columnPosition);
+            return ValueParser.isLong(columnValue) && matches(Long.compare(ValueParser.parseLong(columnValue), longValue));
+        }
+    }
+
+    private static final class DoubleCondition extends Condition {
+
+        private final double doubleValue;
+
+        private DoubleCondition(Column column, ComparisonOperator comparisonOperator, String value) {
+            super(column, comparisonOperator, value);
+            this.doubleValue = ValueParser.parseDouble(value) + 0.0;
+        }
+
+        // Adding zero turns -0.0 into 0.0, so = 0 matches a stored -0.0 like IN and GROUP BY do
+        @Override
+        public boolean test(List<String> row) {
+            double columnValue = ValueParser.parseDouble(row.get(columnPosition));
+            return !Double.isNaN(columnValue) && matches(Double.compare(columnValue + 0.0, doubleValue));
+        }
+    }
+
+    // Text equality compares the stored text, so a missing value matches 'null' like it always has
+    private static final class TextEqualsCondition extends Condition {
+
+        private TextEqualsCondition(Column column, ComparisonOperator comparisonOperator, String value) {
+            super(column, comparisonOperator, value);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            return row.get(columnPosition).equalsIgnoreCase(getValue());
+        }
+    }
+
+    private static final class TextCondition extends Condition {
+
+        private TextCondition(Column column, ComparisonOperator comparisonOperator, String value) {
+            super(column, comparisonOperator, value);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            String columnValue = row.get(columnPosition);
+            return columnValue != null && matches(String.CASE_INSENSITIVE_ORDER.compare(columnValue, getValue()));
+        }
+    }
+}
@@ -1,17 +1,10 @@
 package com.group21.server.models;
 
-import org.apache.logging.log4j.util.Strings;
-
-import com.group21.utils.RegexUtil;
-
 public enum Constraint {
     PRIMARY_KEY("PRIMARY KEY"),
     FOREIGN_KEY("FOREIGN KEY"),
     UNKNOWN;
 
-    private static final String PRIMARY_KEY_REGEX = "^[a-zA-Z_]* %s PRIMARY KEY$";
-    private static final String FOREIGN_KEY_REGEX = "^[a-zA-Z_]* %s FOREIGN KEY REFERENCES .*\\(.*\\)$";
-
     private final String keyword;
 
     Constraint() {
@@ -38,16 +31,4 @@ public enum Constraint {
         }
         return UNKNOWN;
     }
-
-    public static boolean validPrimaryKeySyntax(String primaryKeyData) {
-        String allowedTypesRegex = DataType.getAllowedTypesRegex();
-        String matchedPrimaryKeyData = RegexUtil.getMatch(primaryKeyData, String.format(PRIMARY_KEY_REGEX, allowedTypesRegex));
-        return !Strings.isBlank(matchedPrimaryKeyData);
-    }
-
-    public static boolean validForeignKeySyntax(String primaryKeyData) {
-        String allowedTypesRegex = DataType.getAllowedTypesRegex();
-        String matchedPrimaryKeyData = RegexUtil.getMatch(primaryKeyData, String.format(FOREIGN_KEY_REGEX, allowedTypesRegex));
-        return !Strings.isBlank(matchedPrimaryKeyData);
-    }
 }
@@ -4,10 +4,74 @@ import java.util.ArrayList;
 import java.util.List;
 
 public enum DataType {
-    INT,
-    DOUBLE,
-    TEXT,
-    UNKNOWN;
+    INT {
+        @Override
+        public boolean isValid(String value) {
+            return ValueParser.isLong(value);
+        }
+
+        @Override
+        public int compare(String value, String otherValue) {
+            boolean isValid = isValid(value);
+            boolean isOtherValid = isValid(otherValue);
+            if (isValid && isOtherValid) {
+                return Long.compare(ValueParser.parseLong(value), ValueParser.parseLong(otherValue));
+            }
+            return compareInvalid(isValid, isOtherValid, value, otherValue);
+        }
+    },
+    DOUBLE {
+        @Override
+        public boolean isValid(String value) {
+            return !Double.isNaN(ValueParser.parseDouble(value));
+        }
+
+        @Override
+        public int compare(String value, String otherValue) {
+            double number = ValueParser.parseDouble(value);
+            double otherNumber = ValueParser.parseDouble(otherValue);
+            if (!Double.isNaN(number) && !Double.isNaN(otherNumber)) {
+                // -0.0 and 0.0 are the same value, so an index lookup finds both like a scan does
+                return Double.compare(number + 0.0, otherNumber + 0.0);
+            }
+            return compareInvalid(!Double.isNaN(number), !Double.isNaN(otherNumber), value, otherValue);
+        }
+    },
+    TEXT {
+        @Override
+        public boolean isValid(String value) {
+            return value != null;
+        }
+
+        @Override
+        public int compare(String value, String otherValue) {
+            return String.CASE_INSENSITIVE_ORDER.compare(value, otherValue);
+        }
+    },
+    UNKNOWN {
+        @Override
+        public boolean isValid(String value) {
+            return value != null;
+        }
+
+        @Override
+        public int compare(String value, String otherValue) {
+            return String.CASE_INSENSITIVE_ORDER.compare(value, otherValue);
+        }
+    };
+
+    public abstract boolean isValid(String value);
+
+    // Numbers are read without exceptions, so sorting and index lookups stay cheap on missing values
+    public abstract int compare(String value, String otherValue);
+
+    // Values that are not numbers, e.g. a missing value, sort after every number
+    private static int compareInvalid(boolean isValid, boolean isOtherValid, String value, String otherValue) {
+        if (isValid != isOtherValid) {
+            return isValid ? -1 : 1;
+        }
+        return String.CASE_INSENSITIVE_ORDER.compare(String.valueOf(value), String.valueOf(otherValue));
+    }
 
     public static DataType from(String type) {
         for (DataType dataType : values()) {
@@ -26,8 +90,4 @@ public enum DataType {
 
         return allowedTypes;
     }
-
-    public static String getAllowedTypesRegex() {
-        return "(INT|DOUBLE|TEXT)";
-    }
 }
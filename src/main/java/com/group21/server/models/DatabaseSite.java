@@ -1,7 +1,13 @@
 package com.group21.server.models;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.storage.RowCursor;
 import com.group21.utils.FileReader;
 import com.group21.utils.FileWriter;
 import com.group21.utils.RemoteDatabaseReader;
@@ -24,6 +30,11 @@ public enum DatabaseSite {
             FileWriter.writeLocalDataDictionary(tableInfo);
         }
 
+        @Override
+        public void removeFromLocalDataDictionary(String tableName) {
+            FileWriter.removeFromLocalDataDictionary(tableName);
+        }
+
         @Override
         public void writeMetadata(String tableName, List<Column> columnDetails) {
             FileWriter.writeMetadata(tableName, columnDetails);
@@ -39,6 +50,16 @@ public enum DatabaseSite {
             FileWriter.writeData(tableName, columnData);
         }
 
+        @Override
+        public void writeRows(String tableName, Iterable<List<String>> rows) {
+            FileWriter.writeRows(tableName, rows);
+        }
+
+        @Override
+        public int appendRows(String tableName, Iterable<List<String>> rows) {
+            return FileWriter.appendRows(tableName, rows);
+        }
+
         @Override
         public void deleteTable(String tableName) {
             FileWriter.deleteTable(tableName);
@@ -65,8 +86,28 @@ public enum DatabaseSite {
         }
 
         @Override
-        public void incrementRowCountInLocalDataDictionary(String tableName) {
-            FileWriter.incrementRowCountInLocalDataDictionary(tableName);
+        public RowCursor scan(String tableName, List<String> projection, Predicate<List<String>> predicate) {
+            return FileReader.scan(tableName, projection, predicate);
+        }
+
+        @Override
+        public boolean containsValue(String tableName, String columnName, String value) {
+            return FileReader.containsValue(tableName, columnName, value);
+        }
+
+        @Override
+        public int updateRows(String tableName, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater) {
+            return FileWriter.updateRows(tableName, predicate, rowUpdater);
+        }
+
+        @Override
+        public int deleteRows(String tableName, Predicate<List<String>> predicate) {
+            return FileWriter.deleteRows(tableName, predicate);
+        }
+
+        @Override
+        public void incrementRowCountInLocalDataDictionary(String tableName, int count) {
+            FileWriter.incrementRowCountInLocalDataDictionary(tableName, count);
         }
 
         @Override
@@ -105,6 +146,16 @@ public enum DatabaseSite {
             RemoteDatabaseWriter.writeData(tableName, columnData);
         }
 
+        @Override
+        public void writeRows(String tableName, Iterable<List<String>> rows) {
+            RemoteDatabaseWriter.writeRows(tableName, rows);
+        }
+
+        @Override
+        public int appendRows(String tableName, Iterable<List<String>> rows) {
+            return RemoteDatabaseWriter.appendRows(tableName, rows);
+        }
+
         @Override
         public void deleteTable(String tableName) {
             RemoteDatabaseWriter.deleteTable(tableName);
@@ -131,8 +182,23 @@ public enum DatabaseSite {
         }
 
         @Override
-        public void incrementRowCountInLocalDataDictionary(String tableName) {
-            RemoteDatabaseWriter.incrementRowCountInLocalDataDictionary(tableName);
+        public RowCursor scan(String tableName, List<String> projection, Predicate<List<String>> predicate) {
+            return RemoteDatabaseReader.scan(tableName, projection, predicate);
+        }
+
+        @Override
+        public int updateRows(String tableName, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater) {
+            return RemoteDatabaseWriter.updateRows(tableName, predicate, rowUpdater);
+        }
+
+        @Override
+        public int deleteRows(String tableName, Predicate<List<String>> predicate) {
+            return RemoteDatabaseWriter.deleteRows(tableName, predicate);
+        }
+
+        @Override
+        public void incrementRowCountInLocalDataDictionary(String tableName, int count) {
+            RemoteDatabaseWriter.incrementRowCountInLocalDataDictionary(tableName, count);
         }
 
         @Override
@@ -153,6 +219,10 @@ public enum DatabaseSite {
 
     public abstract void writeData(String tableName, List<String> columnData);
 
+    public abstract void writeRows(String tableName, Iterable<List<String>> rows);
+
+    public abstract int appendRows(String tableName, Iterable<List<String>> rows);
+
     public abstract void deleteTable(String tableName);
 
     public abstract List<String> readColumnMetadata(String tableName);
@@ -163,10 +233,48 @@ public enum DatabaseSite {
 
     public abstract List<String> readColumnData(String tableName, String columnName);
 
-    public abstract void incrementRowCountInLocalDataDictionary(String tableName);
+    public abstract RowCursor scan(String tableName, List<String> projection, Predicate<List<String>> predicate);
+
+    public abstract int updateRows(String tableName, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater);
+
+    public abstract int deleteRows(String tableName, Predicate<List<String>> predicate);
+
+    public abstract void incrementRowCountInLocalDataDictionary(String tableName, int count);
 
     public abstract void decrementRowCountInLocalDataDictionary(String tableName, int count);
 
+    public void removeFromLocalDataDictionary(String tableName) {
+        List<TableInfo> tableInfoList = new ArrayList<>();
+        for (TableInfo tableInfo : readLocalDataDictionary()) {
+            if (!tableInfo.getTableName().equalsIgnoreCase(tableName)) {
+                tableInfoList.add(tableInfo);
+            }
+        }
+        writeFile(ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME, FileWriter.generateLocalDataDictionaryContent(tableInfoList));
+    }
+
+    public boolean containsValue(String tableName, String columnName, String value) {
+        try (RowCursor rowCursor = scan(tableName, Collections.singletonList(columnName), null)) {
+            while (rowCursor.hasNext()) {
+                if (rowCursor.next().get(0).equals(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int countRows(String tableName, Predicate<List<String>> predicate) {
+        int rowCount = 0;
+        try (RowCursor rowCursor = scan(tableName, null, predicate)) {
+            while (rowCursor.hasNext()) {
+                rowCursor.next();
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
     public static DatabaseSite from(String siteName) {
         for (DatabaseSite databaseSite : values()) {
             if (databaseSite.name().equalsIgnoreCase(siteName)) {
@@ -0,0 +1,99 @@
+package com.group21.server.models;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Made for one column type, the values are parsed and sorted once and every row is a binary search without allocating
+public abstract class InCondition extends RowPredicate {
+
+    private static final double VALUE_SELECTIVITY = 0.1;
+    private static final double MAX_SELECTIVITY = 0.5;
+
+    protected final int columnPosition;
+    private final int valueCount;
+
+    private InCondition(Column column, int valueCount) {
+        this.columnPosition = column.getColumnPosition();
+        this.valueCount = valueCount;
+    }
+
+    public static InCondition create(Column column, List<String> values) {
+        switch (column.getColumnType()) {
+            case INT:
+                return new LongInCondition(column, values);
+            case DOUBLE:
+                return new DoubleInCondition(column, values);
+            default:
+                return new TextInCondition(column, values);
+        }
+    }
+
+    @Override
+    public double getSelectivity() {
+        return Math.min(valueCount * VALUE_SELECTIVITY, MAX_SELECTIVITY);
+    }
+
+    @Override
+    public double getCost() {
+        return 1;
+    }
+
+    private static final class LongInCondition extends InCondition {
+
+        private final long[] longValues;
+
+        private LongInCondition(Column column, List<String> values) {
+            super(column, values.size());
+            this.longValues = new long[values.size()];
+            for (int i = 0; i < longValues.length; i++) {
+                longValues[i] = ValueParser.parseLong(values.get(i));
+            }
+            Arrays.sort(longValues);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            String columnValue = row.get(columnPosition);
+            return ValueParser.isLong(columnValue) && Arrays.binarySearch(longValues, ValueParser.parseLong(columnValue)) >= 0;
+        }
+    }
+
+    private static final class DoubleInCondition extends InCondition {
+
+        private final double[] doubleValues;
+
+        private DoubleInCondition(Column column, List<String> values) {
+            super(column, values.size());
+            this.doubleValues = new double[values.size()];
+            for (int i = 0; i < doubleValues.length; i++) {
+                doubleValues[i] = ValueParser.parseDouble(values.get(i)) + 0.0;
+            }
+            Arrays.sort(doubleValues);
+        }
+
+        // Adding zero turns -0.0 into 0.0, which the sorted values tell apart
+        @Override
+        public boolean test(List<String> row) {
+            double doubleValue = ValueParser.parseDouble(row.get(columnPosition));
+            return !Double.isNaN(doubleValue) && Arrays.binarySearch(doubleValues, doubleValue + 0.0) >= 0;
+        }
+    }
+
+    // Text ignores case like equality does
+    private static final class TextInCondition extends InCondition {
+
+        private final String[] textValues;
+
+        private TextInCondition(Column column, List<String> values) {
+            super(column, values.size());
+            this.textValues = values.toArray(new String[0]);
+            Arrays.sort(textValues, String.CASE_INSENSITIVE_ORDER);
+        }
+
+        @Override
+        public boolean test(List<String> row) {
+            String columnValue = row.get(columnPosition);
+            return columnValue != null && Arrays.binarySearch(textValues, columnValue, String.CASE_INSENSITIVE_ORDER) >= 0;
+        }
+    }
+}
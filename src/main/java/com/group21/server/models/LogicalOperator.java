@@ -0,0 +1,20 @@
+package com.group21.server.models;
+
+import java.util.List;
+
+public enum LogicalOperator {
+    AND {
+        @Override
+        public RowPredicate combine(List<RowPredicate> predicates) {
+            return new AndCondition(predicates);
+        }
+    },
+    OR {
+        @Override
+        public RowPredicate combine(List<RowPredicate> predicates) {
+            return new OrCondition(predicates);
+        }
+    };
+
+    public abstract RowPredicate combine(List<RowPredicate> predicates);
+}
@@ -0,0 +1,31 @@
+package com.group21.server.models;
+
+import java.util.List;
+
+public class NotCondition extends RowPredicate {
+
+    private final RowPredicate predicate;
+
+    public NotCondition(RowPredicate predicate) {
+        this.predicate = predicate;
+    }
+
+    public RowPredicate getPredicate() {
+        return predicate;
+    }
+
+    @Override
+    public boolean test(List<String> row) {
+        return !predicate.test(row);
+    }
+
+    @Override
+    public double getSelectivity() {
+        return 1 - predicate.getSelectivity();
+    }
+
+    @Override
+    public double getCost() {
+        return predicate.getCost();
+    }
+}
@@ -0,0 +1,54 @@
+package com.group21.server.models;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class OrCondition extends RowPredicate {
+
+    private final List<RowPredicate> predicates;
+    // Array is walked per row instead of the list, so testing a row creates no iterator
+    private final RowPredicate[] orderedPredicates;
+
+    // Cheap predicates that accept most rows run first, so the rest are tested on as few rows as possible
+    public OrCondition(List<RowPredicate> predicates) {
+        this.predicates = new ArrayList<>(predicates);
+        this.predicates.sort(Comparator.comparingDouble(predicate -> predicate.getCost() / Math.max(predicate.getSelectivity(), Double.MIN_VALUE)));
+        this.orderedPredicates = this.predicates.toArray(new RowPredicate[0]);
+    }
+
+    public List<RowPredicate> getPredicates() {
+        return predicates;
+    }
+
+    @Override
+    public boolean test(List<String> row) {
+        for (RowPredicate predicate : orderedPredicates) {
+            if (predicate.test(row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public double getSelectivity() {
+        double unmatchedFraction = 1;
+        for (RowPredicate predicate : predicates) {
+            unmatchedFraction *= 1 - predicate.getSelectivity();
+        }
+        return 1 - unmatchedFraction;
+    }
+
+    // Later predicates only run on the rows the earlier ones rejected
+    @Override
+    public double getCost() {
+        double cost = 0;
+        double testedFraction = 1;
+        for (RowPredicate predicate : predicates) {
+            cost += testedFraction * predicate.getCost();
+            testedFraction *= 1 - predicate.getSelectivity();
+        }
+        return cost;
+    }
+}
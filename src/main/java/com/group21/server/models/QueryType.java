@@ -2,27 +2,38 @@ package com.group21.server.models;
 
 public enum QueryType {
     CREATE,
+    CREATE_INDEX,
     INSERT,
     UPDATE,
     SELECT,
     DELETE,
     DROP,
+    DROP_INDEX,
     TRUNCATE,
+    COPY,
+    PREPARE,
+    EXECUTE,
+    DEALLOCATE,
     UNKNOWN;
 
     public static QueryType from(String query) {
-        int indexOfSpace = query.indexOf(' ');
-        if (indexOfSpace == -1) {
+        // Keywords may be separated by any run of whitespace, as the lexer accepts, so the first two words are joined by a single space
+        String[] words = query.trim().split("\\s+", 3);
+        if (words.length < 2) {
             return UNKNOWN;
         }
+        String statementStart = words[0] + " " + words[1] + " ";
 
-        String queryType = query.substring(0, indexOfSpace);
-
+        // Longest keyword wins, so CREATE INDEX is not taken for CREATE
+        QueryType matchedType = UNKNOWN;
+        int matchedLength = 0;
         for (QueryType type : values()) {
-            if (type.name().equalsIgnoreCase(queryType)) {
-                return type;
+            String keyword = type.name().replace('_', ' ') + " ";
+            if (type != UNKNOWN && keyword.length() > matchedLength && statementStart.regionMatches(true, 0, keyword, 0, keyword.length())) {
+                matchedType = type;
+                matchedLength = keyword.length();
             }
         }
-        return UNKNOWN;
+        return matchedType;
     }
 }
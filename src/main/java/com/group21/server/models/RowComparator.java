@@ -0,0 +1,29 @@
+package com.group21.server.models;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class RowComparator implements Comparator<List<String>> {
+
+    private final int[] columnPositions;
+    private final DataType[] columnTypes;
+    private final boolean[] isDescending;
+
+    // Values are compared by column type in the given order, a later column only breaks ties of the earlier ones
+    public RowComparator(int[] columnPositions, DataType[] columnTypes, boolean[] isDescending) {
+        this.columnPositions = columnPositions;
+        this.columnTypes = columnTypes;
+        this.isDescending = isDescending;
+    }
+
+    @Override
+    public int compare(List<String> row, List<String> otherRow) {
+        for (int i = 0; i < columnPositions.length; i++) {
+            int comparison = columnTypes[i].compare(row.get(columnPositions[i]), otherRow.get(columnPositions[i]));
+            if (comparison != 0) {
+                return isDescending[i] ? -Integer.signum(comparison) : comparison;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.group21.server.models;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.group21.server.storage.RowCursor;
+
+public abstract class RowPredicate implements Predicate<List<String>> {
+
+    // Estimated fraction of rows that match, used to order the parts of AND and OR
+    public abstract double getSelectivity();
+
+    // Estimated comparisons made for every row
+    public abstract double getCost();
+
+    // Null when no index can answer the predicate and the table has to be scanned
+    public RowCursor scanIndex(Path dataFilePath) throws IOException {
+        return null;
+    }
+}
@@ -0,0 +1,398 @@
+package com.group21.server.models;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.group21.server.storage.BinaryTableFormat;
+import com.group21.server.storage.BufferPool;
+import com.group21.server.storage.ColumnarTableFormat;
+import com.group21.server.storage.FilteredRowCursor;
+import com.group21.server.storage.HeapTableFormat;
+import com.group21.server.storage.LogTableFormat;
+import com.group21.server.storage.RowChangeListener;
+import com.group21.server.storage.RowCursor;
+import com.group21.server.storage.TableFiles;
+import com.group21.server.storage.TextTableFormat;
+
+public enum StorageFormat {
+    TEXT {
+        @Override
+        public void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+            TextTableFormat.write(dataFilePath, columns, rows);
+        }
+
+        @Override
+        public void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+            TextTableFormat.append(dataFilePath, rowData);
+        }
+
+        @Override
+        public void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            TextTableFormat.appendRows(dataFilePath, rows);
+        }
+
+        @Override
+        public List<String> readLines(Path dataFilePath) throws IOException {
+            return TextTableFormat.readLines(dataFilePath);
+        }
+
+        @Override
+        public List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+            return TextTableFormat.readColumn(dataFilePath, columnName);
+        }
+
+        @Override
+        public RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException {
+            return TextTableFormat.scan(dataFilePath);
+        }
+
+        @Override
+        public void delete(Path dataFilePath) throws IOException {
+            TableFiles.delete(dataFilePath);
+        }
+
+        @Override
+        public void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+            TableFiles.move(sourceDataFilePath, targetDataFilePath);
+        }
+    },
+    BINARY {
+        @Override
+        public void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+            BinaryTableFormat.write(dataFilePath, columns, rows);
+        }
+
+        @Override
+        public void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+            BinaryTableFormat.append(dataFilePath, columns, rowData);
+        }
+
+        @Override
+        public void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            BinaryTableFormat.appendRows(dataFilePath, columns, rows);
+        }
+
+        @Override
+        public List<String> readLines(Path dataFilePath) throws IOException {
+            return BinaryTableFormat.readLines(dataFilePath);
+        }
+
+        @Override
+        public List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+            return BinaryTableFormat.readColumn(dataFilePath, columnName);
+        }
+
+        @Override
+        public RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException {
+            return BinaryTableFormat.scan(dataFilePath);
+        }
+
+        @Override
+        public void delete(Path dataFilePath) throws IOException {
+            TableFiles.delete(dataFilePath);
+        }
+
+        @Override
+        public void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+            TableFiles.move(sourceDataFilePath, targetDataFilePath);
+        }
+    },
+    COLUMNAR {
+        @Override
+        public void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+            ColumnarTableFormat.write(dataFilePath, columns, rows);
+        }
+
+        @Override
+        public void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+            ColumnarTableFormat.append(dataFilePath, columns, rowData);
+        }
+
+        @Override
+        public void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            ColumnarTableFormat.appendRows(dataFilePath, rows);
+        }
+
+        @Override
+        public List<String> readLines(Path dataFilePath) throws IOException {
+            return ColumnarTableFormat.readLines(dataFilePath);
+        }
+
+        @Override
+        public List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+            return ColumnarTableFormat.readColumn(dataFilePath, columnName);
+        }
+
+        @Override
+        public RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException {
+            return ColumnarTableFormat.scan(dataFilePath, columnNames);
+        }
+
+        @Override
+        public void delete(Path dataFilePath) throws IOException {
+            ColumnarTableFormat.delete(dataFilePath);
+        }
+
+        @Override
+        public void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+            ColumnarTableFormat.move(sourceDataFilePath, targetDataFilePath);
+        }
+    },
+    LOG {
+        @Override
+        public void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+            LogTableFormat.write(dataFilePath, columns, rows);
+        }
+
+        @Override
+        public void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+            LogTableFormat.append(dataFilePath, rowData);
+        }
+
+        @Override
+        public void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            LogTableFormat.appendRows(dataFilePath, rows);
+        }
+
+        @Override
+        public List<String> readLines(Path dataFilePath) throws IOException {
+            return LogTableFormat.readLines(dataFilePath);
+        }
+
+        @Override
+        public List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+            return LogTableFormat.readColumn(dataFilePath, columnName);
+        }
+
+        @Override
+        public RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException {
+            return LogTableFormat.scan(dataFilePath);
+        }
+
+        @Override
+        public void replace(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows, RowChangeListener rowChangeListener) throws IOException {
+            if (Files.exists(dataFilePath) && detect(dataFilePath) == LOG) {
+                LogTableFormat.replace(dataFilePath, rows, rowChangeListener);
+            } else {
+                super.replace(dataFilePath, columns, rows, rowChangeListener);
+            }
+        }
+
+        @Override
+        public int updateRows(Path dataFilePath, List<Column> columns, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater, RowChangeListener rowChangeListener) throws IOException {
+            return LogTableFormat.updateRows(dataFilePath, predicate, rowUpdater, rowChangeListener);
+        }
+
+        @Override
+        public int deleteRows(Path dataFilePath, List<Column> columns, Predicate<List<String>> predicate, RowChangeListener rowChangeListener) throws IOException {
+            return LogTableFormat.deleteRows(dataFilePath, predicate, rowChangeListener);
+        }
+
+        @Override
+        public void delete(Path dataFilePath) throws IOException {
+            LogTableFormat.delete(dataFilePath);
+        }
+
+        @Override
+        public void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+            LogTableFormat.move(sourceDataFilePath, targetDataFilePath);
+        }
+    },
+    HEAP {
+        @Override
+        public void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+            HeapTableFormat.write(dataFilePath, columns, rows);
+        }
+
+        @Override
+        public void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+            HeapTableFormat.append(dataFilePath, rowData);
+        }
+
+        @Override
+        public void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            HeapTableFormat.appendRows(dataFilePath, rows);
+        }
+
+        @Override
+        public List<String> readLines(Path dataFilePath) throws IOException {
+            return HeapTableFormat.readLines(dataFilePath);
+        }
+
+        @Override
+        public List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+            return HeapTableFormat.readColumn(dataFilePath, columnName);
+        }
+
+        @Override
+        public RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException {
+            return HeapTableFormat.scan(dataFilePath);
+        }
+
+        @Override
+        public int updateRows(Path dataFilePath, List<Column> columns, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater, RowChangeListener rowChangeListener) throws IOException {
+            // Pages are written in place during the pass, so the changed rows are reported by a read-only pass before the first page is written
+            if (rowChangeListener != RowChangeListener.NONE) {
+                try (RowCursor rowCursor = new FilteredRowCursor(scan(dataFilePath, null), null, predicate)) {
+                    while (rowCursor.hasNext()) {
+                        List<String> rowData = rowCursor.next();
+                        rowChangeListener.rowChanged(rowData, rowUpdater.apply(new ArrayList<>(rowData)));
+                    }
+                }
+                rowChangeListener.beforeWrite();
+            }
+            return HeapTableFormat.updateRows(dataFilePath, predicate, rowUpdater);
+        }
+
+        @Override
+        public int deleteRows(Path dataFilePath, List<Column> columns, Predicate<List<String>> predicate, RowChangeListener rowChangeListener) throws IOException {
+            if (rowChangeListener != RowChangeListener.NONE) {
+                try (RowCursor rowCursor = new FilteredRowCursor(scan(dataFilePath, null), null, predicate)) {
+                    while (rowCursor.hasNext()) {
+                        rowChangeListener.rowChanged(rowCursor.next(), null);
+                    }
+                }
+                rowChangeListener.beforeWrite();
+            }
+            return HeapTableFormat.deleteRows(dataFilePath, predicate);
+        }
+
+        @Override
+        public void delete(Path dataFilePath) throws IOException {
+            HeapTableFormat.delete(dataFilePath);
+        }
+
+        @Override
+        public void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+            HeapTableFormat.move(sourceDataFilePath, targetDataFilePath);
+        }
+    };
+
+    public abstract void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException;
+
+    public abstract void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException;
+
+    public abstract void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException;
+
+    public abstract List<String> readLines(Path dataFilePath) throws IOException;
+
+    public abstract List<String> readColumn(Path dataFilePath, String columnName) throws IOException;
+
+    public abstract RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException;
+
+    public abstract void delete(Path dataFilePath) throws IOException;
+
+    public abstract void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException;
+
+    public void replace(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+        replace(dataFilePath, columns, rows, RowChangeListener.NONE);
+    }
+
+    public void replace(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows, RowChangeListener rowChangeListener) throws IOException {
+        Stream<List<String>> reportedRows = StreamSupport.stream(rows.spliterator(), false).peek(rowData -> notifyChange(rowChangeListener, null, rowData));
+        try {
+            rewrite(dataFilePath, columns, reportedRows::iterator, () -> true, rowChangeListener);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    public int updateRows(Path dataFilePath, List<Column> columns, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater, RowChangeListener rowChangeListener) throws IOException {
+        int[] changedRows = {0};
+        try (RowCursor rowCursor = scan(dataFilePath, null)) {
+            Stream<List<String>> rows = rowCursor.stream().map(rowData -> {
+                if (!predicate.test(rowData)) {
+                    return rowData;
+                }
+                changedRows[0]++;
+                List<String> changedRowData = rowUpdater.apply(new ArrayList<>(rowData));
+                notifyChange(rowChangeListener, rowData, changedRowData);
+                return changedRowData;
+            });
+            rewrite(dataFilePath, columns, rows::iterator, () -> changedRows[0] > 0, rowChangeListener);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        return changedRows[0];
+    }
+
+    public int deleteRows(Path dataFilePath, List<Column> columns, Predicate<List<String>> predicate, RowChangeListener rowChangeListener) throws IOException {
+        int[] deletedRows = {0};
+        try (RowCursor rowCursor = scan(dataFilePath, null)) {
+            Stream<List<String>> rows = rowCursor.stream().filter(rowData -> {
+                if (!predicate.test(rowData)) {
+                    return true;
+                }
+                deletedRows[0]++;
+                notifyChange(rowChangeListener, rowData, null);
+                return false;
+            });
+            rewrite(dataFilePath, columns, rows::iterator, () -> deletedRows[0] > 0, rowChangeListener);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+        return deletedRows[0];
+    }
+
+    // Rows are streamed into a temp table and renamed over the old one, so a failed rewrite leaves it untouched, as does a pass that changed nothing
+    private void rewrite(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows, BooleanSupplier isChanged, RowChangeListener rowChangeListener) throws IOException {
+        Path tempFilePath = TableFiles.getTempFilePath(dataFilePath);
+        try {
+            write(tempFilePath, columns, rows);
+            if (isChanged.getAsBoolean()) {
+                rowChangeListener.beforeWrite();
+                move(tempFilePath, dataFilePath);
+            }
+        } finally {
+            if (Files.exists(tempFilePath)) {
+                delete(tempFilePath);
+            }
+        }
+    }
+
+    private static void notifyChange(RowChangeListener rowChangeListener, List<String> rowData, List<String> changedRowData) {
+        try {
+            rowChangeListener.rowChanged(rowData, changedRowData);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static StorageFormat from(String formatName) {
+        for (StorageFormat storageFormat : values()) {
+            if (storageFormat.name().equalsIgnoreCase(formatName)) {
+                return storageFormat;
+            }
+        }
+        return TEXT;
+    }
+
+    public static StorageFormat detect(byte[] content) {
+        if (BinaryTableFormat.isBinary(content)) {
+            return BINARY;
+        }
+        if (ColumnarTableFormat.isColumnar(content)) {
+            return COLUMNAR;
+        }
+        if (LogTableFormat.isLog(content)) {
+            return LOG;
+        }
+        if (HeapTableFormat.isHeap(content)) {
+            return HEAP;
+        }
+        return TEXT;
+    }
+
+    public static StorageFormat detect(Path dataFilePath) throws IOException {
+        return detect(BufferPool.getInstance().readPage(dataFilePath, 0));
+    }
+}
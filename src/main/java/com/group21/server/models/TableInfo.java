@@ -4,6 +4,7 @@ public class TableInfo {
     private String tableName;
     private int numberOfRows;
     private long createdOn;
+    private StorageFormat storageFormat = StorageFormat.TEXT;
 
     public String getTableName() {
         return tableName;
@@ -28,4 +29,12 @@ public class TableInfo {
     public void setCreatedOn(long createdOn) {
         this.createdOn = createdOn;
     }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(StorageFormat storageFormat) {
+        this.storageFormat = storageFormat;
+    }
 }
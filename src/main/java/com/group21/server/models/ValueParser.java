@@ -0,0 +1,104 @@
+package com.group21.server.models;
+
+public class ValueParser {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Largest mantissa that a double holds exactly
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private ValueParser() {
+    }
+
+    // Same values as Long.parseLong accepts, without throwing for the ones it rejects
+    public static boolean isLong(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        int position = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        if (position == value.length()) {
+            return false;
+        }
+
+        boolean isNegative = value.charAt(0) == '-';
+        long limit = isNegative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+        // Accumulated negatively like Long.parseLong, so Long.MIN_VALUE fits
+        for (; position < value.length(); position++) {
+            int digit = value.charAt(position) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10) {
+                return false;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return false;
+            }
+            result -= digit;
+        }
+        return true;
+    }
+
+    // Value must have been checked with isLong
+    public static long parseLong(String value) {
+        int position = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        long result = 0;
+        for (; position < value.length(); position++) {
+            result = result * 10 - (value.charAt(position) - '0');
+        }
+        return value.charAt(0) == '-' ? result : -result;
+    }
+
+    // NaN when the value is not a number, e.g. a missing value, plain decimals are read without allocating
+    public static double parseDouble(String value) {
+        if (value == null || value.isEmpty()) {
+            return Double.NaN;
+        }
+        int position = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0;
+        long mantissa = 0;
+        int digitCount = 0;
+        int fractionDigitCount = 0;
+        boolean isFraction = false;
+        for (; position < value.length(); position++) {
+            char character = value.charAt(position);
+            if (character >= '0' && character <= '9') {
+                if (mantissa > (MAX_EXACT_MANTISSA - 9) / 10) {
+                    return parseDoubleSlowly(value);
+                }
+                mantissa = mantissa * 10 + (character - '0');
+                digitCount++;
+                if (isFraction) {
+                    fractionDigitCount++;
+                }
+            } else if (character == '.' && !isFraction) {
+                isFraction = true;
+            } else {
+                return parseDoubleSlowly(value);
+            }
+        }
+        if (digitCount == 0 || fractionDigitCount >= POWERS_OF_TEN.length) {
+            return parseDoubleSlowly(value);
+        }
+
+        // Both operands are exact, so one division rounds the same way Double.parseDouble does
+        double result = mantissa / POWERS_OF_TEN[fractionDigitCount];
+        return value.charAt(0) == '-' ? -result : result;
+    }
+
+    // Exponents, long mantissas and the like, text that can not be a number is rejected without an exception
+    private static double parseDoubleSlowly(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if ((character < '0' || character > '9') && "+-.eE ".indexOf(character) == -1) {
+                return Double.NaN;
+            }
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException exception) {
+            return Double.NaN;
+        }
+    }
+}
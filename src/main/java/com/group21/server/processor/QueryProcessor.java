@@ -5,19 +5,25 @@ import java.util.Date;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
 import com.group21.server.logger.GeneralLogger;
-import com.group21.server.models.DatabaseSite;
 import com.group21.server.models.QueryType;
+import com.group21.server.queries.copy.CopyQueryExecutor;
+import com.group21.server.queries.createindex.CreateIndexQueryExecutor;
 import com.group21.server.queries.createtable.CreateTableQueryExecutor;
 import com.group21.server.queries.delete.DeleteQueryExecutor;
+import com.group21.server.queries.dropindex.DropIndexQueryExecutor;
 import com.group21.server.queries.droptable.DropTableQueryExecutor;
 import com.group21.server.queries.insert.InsertQueryExecutor;
+import com.group21.server.queries.parser.PrepareStatement;
+import com.group21.server.queries.prepared.PreparedQuery;
+import com.group21.server.queries.prepared.PreparedQueryExecutor;
+import com.group21.server.queries.prepared.PreparedQueryParser;
+import com.group21.server.queries.select.ResultCursor;
 import com.group21.server.queries.select.SelectQueryExecutor;
 import com.group21.server.queries.truncatetable.TruncateTableQueryExecutor;
 import com.group21.server.queries.update.UpdateQueryExecutor;
-import com.group21.utils.RemoteDatabaseReader;
+import com.group21.server.storage.DistributedDataDictionary;
 
 public class QueryProcessor {
 
@@ -27,12 +33,10 @@ public class QueryProcessor {
     }
 
     public static void process(String query, boolean isAutoCommit) {
+        String originalQuery = query;
         query = query.toUpperCase();
 
-        if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
-            // This is done only for local as remote site can not access local machine
-            RemoteDatabaseReader.syncDistributedDataDictionary();
-        }
+        DistributedDataDictionary.getInstance().refresh();
 
         long startTime = System.currentTimeMillis();
         EventLogger.log("Execution started for query - '" + query + "'");
@@ -44,6 +48,10 @@ public class QueryProcessor {
                 CreateTableQueryExecutor executor = new CreateTableQueryExecutor();
                 executor.execute(query);
                 break;
+            case CREATE_INDEX:
+                CreateIndexQueryExecutor createIndexQueryExecutor = new CreateIndexQueryExecutor();
+                createIndexQueryExecutor.execute(query);
+                break;
             case UPDATE:
                 UpdateQueryExecutor updateQueryExecutor = new UpdateQueryExecutor();
                 updateQueryExecutor.execute(query, isAutoCommit);
@@ -64,15 +72,90 @@ public class QueryProcessor {
                 DropTableQueryExecutor dropTableQueryExecutor = new DropTableQueryExecutor();
                 dropTableQueryExecutor.execute(query);
                 break;
+            case DROP_INDEX:
+                DropIndexQueryExecutor dropIndexQueryExecutor = new DropIndexQueryExecutor();
+                dropIndexQueryExecutor.execute(query);
+                break;
             case TRUNCATE:
                 TruncateTableQueryExecutor truncateTableQueryExecutor = new TruncateTableQueryExecutor();
                 truncateTableQueryExecutor.execute(query);
                 break;
+            case COPY:
+                // File name is case sensitive, so the query is parsed as it was written
+                CopyQueryExecutor copyQueryExecutor = new CopyQueryExecutor();
+                copyQueryExecutor.execute(originalQuery, isAutoCommit);
+                break;
+            case PREPARE:
+                PreparedQueryExecutor prepareQueryExecutor = new PreparedQueryExecutor();
+                prepareQueryExecutor.prepare(query);
+                break;
+            case EXECUTE:
+                PreparedQueryExecutor executeQueryExecutor = new PreparedQueryExecutor();
+                executeQueryExecutor.execute(query, isAutoCommit);
+                break;
+            case DEALLOCATE:
+                PreparedQueryExecutor deallocateQueryExecutor = new PreparedQueryExecutor();
+                deallocateQueryExecutor.deallocate(query);
+                break;
             default:
                 LOGGER.info("Provided query is not yet supported by this tool.");
                 break;
         }
 
+        logCompletion(query, startTime);
+    }
+
+    // Java API to prepare a query with '?' parameters once and execute it many times, null when it can not be prepared
+    public static PreparedQuery prepare(String query) {
+        query = query.toUpperCase();
+
+        DistributedDataDictionary.getInstance().refresh();
+
+        PreparedQueryParser preparedQueryParser = new PreparedQueryParser();
+        PrepareStatement statement = preparedQueryParser.parseQuery(query);
+        if (statement == null) {
+            return null;
+        }
+        return PreparedQuery.prepare(statement);
+    }
+
+    // Parsing, validation and routing are skipped, the query is planned again only if its table changed
+    public static void execute(PreparedQuery preparedQuery, boolean isAutoCommit, Object... parameters) {
+        String query = preparedQuery.getQuery();
+
+        DistributedDataDictionary.getInstance().refresh();
+
+        long startTime = System.currentTimeMillis();
+        EventLogger.log("Execution started for prepared query - '" + query + "'");
+        LOGGER.debug("Execution started for prepared query - '{}' on {}", query, new Date(startTime));
+
+        preparedQuery.execute(isAutoCommit, parameters);
+
+        logCompletion(query, startTime);
+    }
+
+    // Java API to read a select result a fetch at a time as the rows are read, null when the query is not a valid select
+    public static ResultCursor query(String query, int fetchSize) {
+        query = query.toUpperCase();
+
+        DistributedDataDictionary.getInstance().refresh();
+
+        EventLogger.log("Execution started for query - '" + query + "'");
+        if (QueryType.from(query) != QueryType.SELECT) {
+            LOGGER.error("Only select queries return a result cursor.");
+            return null;
+        }
+        return new SelectQueryExecutor().open(query, fetchSize);
+    }
+
+    public static ResultCursor query(PreparedQuery preparedQuery, int fetchSize, Object... parameters) {
+        DistributedDataDictionary.getInstance().refresh();
+
+        EventLogger.log("Execution started for prepared query - '" + preparedQuery.getQuery() + "'");
+        return preparedQuery.query(fetchSize, parameters);
+    }
+
+    private static void logCompletion(String query, long startTime) {
         long endTime = System.currentTimeMillis();
         LOGGER.debug("Execution completed for query - '{}' on {}", query, new Date(endTime));
         LOGGER.debug("Total execution time for query - '{}' is {}ms.", query, (endTime - startTime));
@@ -1,30 +1,30 @@
 package com.group21.server.queries.constraints;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.group21.configurations.ApplicationConfiguration;
-import com.group21.constants.CommonRegex;
 import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DataType;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.parser.Literal;
+import com.group21.server.storage.RowCursor;
 import com.group21.utils.FileReader;
-import com.group21.utils.RegexUtil;
 
 public class ConstraintCheck {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConstraintCheck.class);
 
-    public static boolean checkQueryConstraints(String tableName, String columnName, String columnValue, DatabaseSite databaseSite) {
-
-        List<Column> columnList = databaseSite.readMetadata(tableName);
+    public static boolean checkQueryConstraints(List<Column> columnList, String columnName, Literal columnValue) {
         List<String> columnNameList = new ArrayList<>();
         Map<String, DataType> columnTypeList = new HashMap<>();
         Map<String, Constraint> columnConstraintList = new HashMap<>();
@@ -45,26 +45,7 @@ public class ConstraintCheck {
         }
 
         DataType columnValueDatatype = columnTypeList.get(columnName);
-        if (columnValueDatatype.equals(DataType.INT)) {
-            try {
-                Integer.parseInt(columnValue);
-            } catch (Exception e) {
-                columnValue = "";
-            }
-        } else if (columnValueDatatype.equals(DataType.DOUBLE)) {
-            try {
-                Double.parseDouble(columnValue);
-            } catch (Exception e) {
-                columnValue = "";
-            }
-        } else if (columnValueDatatype.equals(DataType.TEXT)) {
-            columnValue = RegexUtil.getMatch(columnValue, CommonRegex.TEXT_REGEX);
-
-            if (columnValue != null) {
-                columnValue = columnValue.substring(1, columnValue.length() - 1);
-            }
-        }
-        if (Strings.isBlank(columnValue)) {
+        if (!columnValue.isValidFor(columnValueDatatype)) {
             LOGGER.error("Column '{}' requires value of type '{}'", columnName, columnValueDatatype.name());
             return false;
         }
@@ -129,17 +110,45 @@ public class ConstraintCheck {
 
     private static List<String> checkForeignKeyUniqueIds(List<String> uniqueIds, String tableName, Column column, DatabaseSite databaseSite) {
         List<String> violatedIds = new ArrayList<>();
-        List<String> fileLines = databaseSite.readData(tableName);
-        fileLines.remove(0);
-        for (String line : fileLines) {
-            String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-            if (uniqueIds.contains(columnList[column.getColumnPosition()])) {
-                violatedIds.add(columnList[column.getColumnPosition()]);
+        try (RowCursor rowCursor = databaseSite.scan(tableName, Collections.singletonList(column.getColumnName()), null)) {
+            while (rowCursor.hasNext()) {
+                String value = rowCursor.next().get(0);
+                if (uniqueIds.contains(value)) {
+                    violatedIds.add(value);
+                }
             }
         }
         return violatedIds;
     }
 
+    // Whole column in memory, for checking many values with one scan
+    public static Set<String> readValues(String tableName, String columnName, DatabaseSite databaseSite) {
+        Set<String> values = new HashSet<>();
+        try (RowCursor rowCursor = databaseSite.scan(tableName, Collections.singletonList(columnName), null)) {
+            while (rowCursor.hasNext()) {
+                values.add(rowCursor.next().get(0));
+            }
+        }
+        return values;
+    }
+
+    // Referenced column in memory, read from the site the foreign key table can be reached on, empty when it can not be
+    public static Set<String> readForeignKeyValues(String foreignKeyTable, String foreignKeyColumnName, DatabaseSite databaseSite) {
+        Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
+        DatabaseSite foreignKeyTableDatabaseSite = gddMap.get(foreignKeyTable);
+
+        if (ApplicationConfiguration.CURRENT_SITE != DatabaseSite.REMOTE && foreignKeyTableDatabaseSite != null) {
+            return readValues(foreignKeyTable, foreignKeyColumnName, foreignKeyTableDatabaseSite);
+        } else if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.REMOTE && foreignKeyTableDatabaseSite != DatabaseSite.LOCAL) {
+            return readValues(foreignKeyTable, foreignKeyColumnName, databaseSite);
+        }
+        return Collections.emptySet();
+    }
+
+    public static boolean containsValue(String tableName, String columnName, String value, DatabaseSite databaseSite) {
+        return databaseSite.containsValue(tableName, columnName, value);
+    }
+
     public static boolean checkPrimaryKeyConstraints(String tableName, String uniqueId, DatabaseSite databaseSite) {
         List<Column> columns = databaseSite.readMetadata(tableName);
 
@@ -148,11 +157,6 @@ public class ConstraintCheck {
                         t -> t.getConstraint().getKeyword().equals("PRIMARY KEY")
                 ).collect(Collectors.toList());
 
-        List<String> uniqueIds = new ArrayList<>();
-        uniqueIds.add(uniqueId);
-
-        List<String> idsPresent = checkForeignKeyUniqueIds(uniqueIds, tableName, getPrimaryKeyColumns.get(0), databaseSite);
-        return idsPresent.isEmpty();
-
+        return !containsValue(tableName, getPrimaryKeyColumns.get(0).getColumnName(), uniqueId, databaseSite);
     }
 }
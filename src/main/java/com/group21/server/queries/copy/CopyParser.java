@@ -0,0 +1,250 @@
+package com.group21.server.queries.copy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.models.Constraint;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.constraints.ConstraintCheck;
+import com.group21.server.queries.parser.CopyStatement;
+import com.group21.server.queries.parser.Lexer;
+import com.group21.server.queries.parser.Literal;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+import com.group21.server.queries.parser.TokenType;
+
+public class CopyParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CopyParser.class);
+
+    private static final char FIELD_SEPARATOR = ',';
+
+    public CopyStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, CopyStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided copy query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+
+    public boolean isValid(CopyStatement statement, List<Column> columnList) {
+        List<String> columnNameList = new ArrayList<>();
+        for (Column column : columnList) {
+            columnNameList.add(column.getColumnName());
+        }
+
+        List<String> copiedColumnNames = getColumnNames(statement, columnList);
+        for (int i = 0; i < copiedColumnNames.size(); i++) {
+            String columnName = copiedColumnNames.get(i);
+            if (!columnNameList.contains(columnName)) {
+                LOGGER.error("Column Name '{}' does not exist in table", columnName);
+                return false;
+            }
+            if (copiedColumnNames.indexOf(columnName) != i) {
+                LOGGER.error("Column '{}' is given more than once", columnName);
+                return false;
+            }
+        }
+
+        for (Column column : columnList) {
+            if (column.getConstraint() == Constraint.PRIMARY_KEY && !copiedColumnNames.contains(column.getColumnName())) {
+                LOGGER.error("Primary Key Value is Missing");
+                return false;
+            }
+        }
+
+        if (!Files.isReadable(getFilePath(statement))) {
+            LOGGER.error("File '{}' does not exist or can not be read.", statement.getFilePath());
+            return false;
+        }
+        return true;
+    }
+
+    // Every row is checked before any is written, so a file with a bad row loads nothing, -1 when a row is not valid
+    public int checkRows(CopyStatement statement, DatabaseSite databaseSite, List<Column> columnList) {
+        List<Column> copiedColumns = getCopiedColumns(statement, columnList);
+
+        // Keys are read once into memory instead of scanning the tables for every row
+        Set<String> primaryKeys = null;
+        int primaryKeyField = -1;
+        Map<Integer, Set<String>> foreignKeys = new HashMap<>();
+        for (int i = 0; i < copiedColumns.size(); i++) {
+            Column column = copiedColumns.get(i);
+            if (column.getConstraint() == Constraint.PRIMARY_KEY) {
+                primaryKeys = ConstraintCheck.readValues(statement.getTableName(), column.getColumnName(), databaseSite);
+                primaryKeyField = i;
+            } else if (column.getConstraint() == Constraint.FOREIGN_KEY) {
+                foreignKeys.put(i, ConstraintCheck.readForeignKeyValues(column.getForeignKeyTable(), column.getForeignKeyColumnName(), databaseSite));
+            }
+        }
+
+        int rowCount = 0;
+        int lineNumber = 0;
+        try (BufferedReader fileReader = Files.newBufferedReader(getFilePath(statement))) {
+            String line;
+            while ((line = fileReader.readLine()) != null) {
+                lineNumber++;
+                if ((lineNumber == 1 && statement.hasHeader()) || line.trim().isEmpty()) {
+                    continue;
+                }
+
+                List<Literal> fields = parseFields(line);
+                if (fields == null) {
+                    LOGGER.error("Line {}: Text value is not quoted properly.", lineNumber);
+                    return -1;
+                }
+                if (fields.size() != copiedColumns.size()) {
+                    LOGGER.error("Line {}: Number of columns and values mismatch", lineNumber);
+                    return -1;
+                }
+
+                for (int i = 0; i < fields.size(); i++) {
+                    Column column = copiedColumns.get(i);
+                    Literal field = fields.get(i);
+
+                    // Empty value is stored as null like a column left out of an insert, only the primary key must have one
+                    if (field == null) {
+                        if (i == primaryKeyField) {
+                            LOGGER.error("Line {}: Primary Key Value is Missing", lineNumber);
+                            return -1;
+                        }
+                        continue;
+                    }
+
+                    if (!field.isValidFor(column.getColumnType())) {
+                        LOGGER.error("Line {}: Column '{}' requires value of type '{}'", lineNumber, column.getColumnName(), column.getColumnType().name());
+                        return -1;
+                    }
+                    if (i == primaryKeyField && !primaryKeys.add(field.getValue())) {
+                        LOGGER.error("Line {}: Primary Key Constraint Violated", lineNumber);
+                        return -1;
+                    }
+                    Set<String> foreignKeyValues = foreignKeys.get(i);
+                    if (foreignKeyValues != null && !foreignKeyValues.contains(field.getValue())) {
+                        LOGGER.error("Line {}: Foreign Key Constraint Violated! Foreign Key '{}' Does not exist in '{}'", lineNumber, field.getValue(), column.getForeignKeyTable());
+                        return -1;
+                    }
+                }
+                rowCount++;
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            LOGGER.error("Error occurred while reading file '{}'.", statement.getFilePath());
+            EventLogger.error(exception.getMessage());
+            return -1;
+        }
+        return rowCount;
+    }
+
+    // Rows in table column order, read lazily so the file is never held in memory
+    public Stream<List<String>> readRows(CopyStatement statement, List<Column> columnList) throws IOException {
+        List<Column> copiedColumns = getCopiedColumns(statement, columnList);
+        int[] columnPositions = new int[copiedColumns.size()];
+        for (int i = 0; i < copiedColumns.size(); i++) {
+            columnPositions[i] = columnList.indexOf(copiedColumns.get(i));
+        }
+
+        return Files.lines(getFilePath(statement))
+                .skip(statement.hasHeader() ? 1 : 0)
+                .filter(line -> !line.trim().isEmpty())
+                .map(line -> {
+                    List<String> rowData = new ArrayList<>(Collections.nCopies(columnList.size(), "null"));
+                    List<Literal> fields = parseFields(line);
+                    for (int i = 0; i < columnPositions.length; i++) {
+                        if (fields.get(i) != null) {
+                            rowData.set(columnPositions[i], fields.get(i).getValue());
+                        }
+                    }
+                    return rowData;
+                });
+    }
+
+    private List<String> getColumnNames(CopyStatement statement, List<Column> columnList) {
+        if (statement.getColumnNames() != null) {
+            return statement.getColumnNames();
+        }
+        List<String> columnNames = new ArrayList<>();
+        for (Column column : columnList) {
+            columnNames.add(column.getColumnName());
+        }
+        return columnNames;
+    }
+
+    private List<Column> getCopiedColumns(CopyStatement statement, List<Column> columnList) {
+        List<Column> copiedColumns = new ArrayList<>();
+        for (String columnName : getColumnNames(statement, columnList)) {
+            for (Column column : columnList) {
+                if (column.getColumnName().equals(columnName)) {
+                    copiedColumns.add(column);
+                }
+            }
+        }
+        return copiedColumns;
+    }
+
+    private static Path getFilePath(CopyStatement statement) {
+        return Paths.get(statement.getFilePath());
+    }
+
+    // Values are separated by commas, a value in single or double quotes is text and may hold commas,
+    // an empty value is returned as null and null is returned for a badly quoted value
+    private static List<Literal> parseFields(String line) {
+        List<Literal> fields = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+
+            char character = position < line.length() ? line.charAt(position) : 0;
+            if (character == '\'' || character == '"') {
+                int closingQuoteIndex = line.indexOf(character, position + 1);
+                if (closingQuoteIndex == -1) {
+                    return null;
+                }
+                fields.add(new Literal(TokenType.STRING, line.substring(position + 1, closingQuoteIndex).toUpperCase()));
+                position = closingQuoteIndex + 1;
+                while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                    position++;
+                }
+                if (position < line.length() && line.charAt(position) != FIELD_SEPARATOR) {
+                    return null;
+                }
+            } else {
+                int separatorIndex = line.indexOf(FIELD_SEPARATOR, position);
+                if (separatorIndex == -1) {
+                    separatorIndex = line.length();
+                }
+                String value = line.substring(position, separatorIndex).trim().toUpperCase();
+                if (value.isEmpty()) {
+                    fields.add(null);
+                } else {
+                    fields.add(new Literal(Lexer.isNumber(value) ? TokenType.NUMBER : TokenType.STRING, value));
+                }
+                position = separatorIndex;
+            }
+
+            if (position >= line.length()) {
+                return fields;
+            }
+            position++;
+        }
+    }
+}
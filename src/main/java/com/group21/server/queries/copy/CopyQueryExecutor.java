@@ -0,0 +1,69 @@
+package com.group21.server.queries.copy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.insert.InsertParser;
+import com.group21.server.queries.parser.CopyStatement;
+import com.group21.utils.FileWriter;
+
+public class CopyQueryExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CopyQueryExecutor.class);
+
+    private final CopyParser copyParser;
+
+    public CopyQueryExecutor() {
+        this.copyParser = new CopyParser();
+    }
+
+    public void execute(String query, boolean isAutoCommit) {
+        CopyStatement statement = copyParser.parse(query);
+
+        if (statement == null) {
+            return;
+        }
+
+        String tableName = statement.getTableName();
+        DatabaseSite databaseSite = new InsertParser().getDatabaseSite(tableName);
+        if (databaseSite == null) {
+            return;
+        }
+
+        List<Column> columns = databaseSite.readMetadata(tableName);
+        if (!copyParser.isValid(statement, columns)) {
+            return;
+        }
+
+        int rowCount = copyParser.checkRows(statement, databaseSite, columns);
+        if (rowCount < 0) {
+            return;
+        }
+
+        if (isAutoCommit) {
+            // Whole file is appended in batches and the row count is changed once for the load
+            try (Stream<List<String>> rows = copyParser.readRows(statement, columns)) {
+                rowCount = databaseSite.appendRows(tableName, rows::iterator);
+            } catch (IOException | UncheckedIOException exception) {
+                LOGGER.error("Error occurred while reading file '{}'.", statement.getFilePath());
+                EventLogger.error(exception.getMessage());
+                return;
+            }
+            databaseSite.incrementRowCountInLocalDataDictionary(tableName, rowCount);
+        } else {
+            FileWriter.writeTransactionFile(statement.getQuery());
+        }
+
+        LOGGER.info("{} rows copied successfully!", rowCount);
+
+        EventLogger.log(rowCount + " rows copied successfully in table '" + tableName + "'");
+    }
+}
@@ -0,0 +1,24 @@
+package com.group21.server.queries.createindex;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.queries.parser.CreateIndexStatement;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+
+public class CreateIndexParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CreateIndexParser.class);
+
+    public CreateIndexStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, CreateIndexStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided create index query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.group21.server.queries.createindex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.parser.CreateIndexStatement;
+import com.group21.server.storage.BPlusTreeIndex;
+import com.group21.utils.FileReader;
+import com.group21.utils.FileWriter;
+
+public class CreateIndexQueryExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CreateIndexQueryExecutor.class);
+
+    private final CreateIndexParser createIndexParser;
+
+    public CreateIndexQueryExecutor() {
+        this.createIndexParser = new CreateIndexParser();
+    }
+
+    public void execute(String query) {
+        CreateIndexStatement statement = createIndexParser.parse(query);
+
+        if (statement != null) {
+            String indexName = statement.getIndexName();
+            String tableName = statement.getTableName();
+            String columnName = statement.getColumnName();
+
+            Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
+            if (!gddMap.containsKey(tableName)) {
+                LOGGER.info("Table '{}' does not exist in database!", tableName);
+                return;
+            }
+
+            // Index files live next to the table files, so only tables of this site can be indexed
+            if (gddMap.get(tableName) != ApplicationConfiguration.CURRENT_SITE) {
+                LOGGER.error("Table '{}' is on {} site & indexes can only be created on tables of current site.", tableName, gddMap.get(tableName));
+                return;
+            }
+
+            if (FileReader.getIndexTableName(indexName) != null) {
+                LOGGER.error("Index '{}' already exists.", indexName);
+                return;
+            }
+
+            List<Column> columns = FileReader.readMetadata(tableName);
+            Column indexedColumn = null;
+            for (Column column : columns) {
+                if (column.getColumnName().equals(columnName)) {
+                    indexedColumn = column;
+                }
+            }
+
+            if (indexedColumn == null) {
+                LOGGER.error("Column '{}' does not exist in table '{}' ", columnName, tableName);
+                return;
+            }
+
+            if (indexedColumn.getIndexName() != null) {
+                LOGGER.error("Column '{}' is already indexed by '{}'.", columnName, indexedColumn.getIndexName());
+                return;
+            }
+
+            indexedColumn.setIndexName(indexName);
+            Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+            try {
+                if (Files.exists(dataFilePath)) {
+                    BPlusTreeIndex.build(dataFilePath, indexedColumn);
+                }
+            } catch (IOException exception) {
+                LOGGER.error("Error occurred while creating index '{}'.", indexName);
+                EventLogger.error(exception.getMessage());
+                return;
+            }
+            FileWriter.writeMetadata(tableName, columns);
+
+            LOGGER.info("Index '{}' created Successfully.", indexName);
+
+            EventLogger.log("Index '" + indexName + "' created Successfully on table '" + tableName + "'.");
+        }
+    }
+}
@@ -13,7 +13,9 @@ import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.StorageFormat;
 import com.group21.server.models.TableInfo;
+import com.group21.server.queries.parser.CreateTableStatement;
 import com.group21.utils.FileReader;
 import com.group21.utils.FileWriter;
 
@@ -28,11 +30,11 @@ public class CreateTableQueryExecutor {
     }
 
     public void execute(String query) {
-        boolean isQueryValid = createTableParser.isValid(query);
+        CreateTableStatement statement = createTableParser.parse(query);
 
-        if (isQueryValid) {
-            String tableName = createTableParser.getTableName(query);
-            DatabaseSite databaseSite = DatabaseSite.from(createTableParser.getDatabaseSite(query));
+        if (statement != null && createTableParser.isValid(statement)) {
+            String tableName = statement.getTableName();
+            DatabaseSite databaseSite = createTableParser.getDatabaseSite(statement);
 
             DatabaseSite databaseOperationSite = DatabaseSite.LOCAL;
             if (databaseSite != ApplicationConfiguration.CURRENT_SITE) {
@@ -44,7 +46,13 @@ public class CreateTableQueryExecutor {
                 return;
             }
 
-            List<Column> columns = createTableParser.getColumns(query);
+            StorageFormat storageFormat = statement.getStorageFormat();
+            if (storageFormat != StorageFormat.TEXT && databaseOperationSite == DatabaseSite.REMOTE) {
+                LOGGER.error("Storage format '{}' is only supported for tables on the current site.", storageFormat.name());
+                return;
+            }
+
+            List<Column> columns = createTableParser.getColumns(statement);
 
             Map<String, DatabaseSite> tableInfoMap = FileReader.readDistributedDataDictionary();
             Set<String> tableNameList = tableInfoMap.keySet();
@@ -63,16 +71,18 @@ public class CreateTableQueryExecutor {
 
             databaseOperationSite.writeMetadata(tableName, columns);
 
-            List<String> tableData = columns.stream().map(Column::getColumnName).collect(Collectors.toList());
-            databaseOperationSite.writeData(tableName, tableData);
-
             TableInfo tableInfo = new TableInfo();
             tableInfo.setTableName(tableName);
             tableInfo.setNumberOfRows(0);
             tableInfo.setCreatedOn(System.currentTimeMillis());
+            tableInfo.setStorageFormat(storageFormat);
 
+            // Local data dictionary is written first as data file creation depends on table storage format
             databaseOperationSite.writeLocalDataDictionary(tableInfo);
 
+            List<String> tableData = columns.stream().map(Column::getColumnName).collect(Collectors.toList());
+            databaseOperationSite.writeData(tableName, tableData);
+
             FileWriter.writeDistributedDataDictionary(tableName, databaseSite);
 
             LOGGER.info("Table '{}' created Successfully.", tableName);
@@ -1,11 +1,11 @@
 package com.group21.server.queries.delete;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Predicate;
 
-import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,52 +14,29 @@ import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DatabaseSite;
-import com.group21.server.models.TableInfo;
 import com.group21.server.queries.constraints.ConstraintCheck;
+import com.group21.server.queries.parser.DeleteStatement;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+import com.group21.server.queries.parser.WhereClause;
+import com.group21.server.storage.RowCursor;
+import com.group21.utils.FileReader;
 import com.group21.utils.FileWriter;
-import com.group21.utils.RegexUtil;
 
 public class DeleteParser {
     private static final Logger LOGGER = LoggerFactory.getLogger(DeleteParser.class);
-    private static final String DELETE_TABLE_REGEX = "DELETE FROM [a-zA-Z_]+;?";
-    private static final String DELETE_TABLE_WHERE_REGEX = "DELETE FROM [a-zA-Z_]+ WHERE [a-zA-Z_]+ (=) '?[a-zA-Z0-9_]+'?;?";
-
-    public boolean isValid(String query) {
-        String matchedQuery = RegexUtil.getMatch(query, DELETE_TABLE_REGEX);
-        String matchedWhereQuery = RegexUtil.getMatch(query, DELETE_TABLE_WHERE_REGEX);
-        if (Strings.isBlank(matchedQuery) && Strings.isBlank(matchedWhereQuery)) {
+    public DeleteStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, DeleteStatement.class);
+        } catch (SqlSyntaxException exception) {
             LOGGER.error("Syntax error in provided delete query!");
-            return false;
-        }
-        return true;
-    }
-
-    public boolean isWhereConditionExists(String query) {
-        return query.matches(DELETE_TABLE_WHERE_REGEX);
-    }
-
-    public String getTableName(String query) {
-
-        int indexOfFirstSpace = query.indexOf(' ');
-        int indexOfSecondSpace = query.indexOf(' ', indexOfFirstSpace + 1);
-
-        if (isWhereConditionExists(query)) {
-            int indexOfThirdSpace = query.indexOf(' ', indexOfSecondSpace + 1);
-
-            return query.substring(indexOfSecondSpace + 1, indexOfThirdSpace).trim();
-        } else {
-            return query.substring(indexOfSecondSpace + 1).replace(";", "").trim();
+            EventLogger.error(exception.getMessage());
         }
+        return null;
     }
 
-    public boolean deleteTable(TableInfo tableInfo, String query, DatabaseSite databaseSite, boolean isAutoCommit) {
+    public boolean deleteTable(DeleteStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
         try {
-            List<String> fileLines = databaseSite.readData(tableInfo.getTableName());
-            List<String> uniqueIds = new ArrayList<>();
-            fileLines.remove(0);
-
-            List<Column> columns = databaseSite.readMetadata(tableInfo.getTableName());
-
             Column primaryColumn = null;
             for (Column column : columns) {
                 if (column.getConstraint() == Constraint.PRIMARY_KEY) {
@@ -68,30 +45,28 @@ public class DeleteParser {
                 }
             }
 
-            for (String line : fileLines) {
-                String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-                if (primaryColumn != null) {
-                    int primaryColumnIndex = primaryColumn.getColumnPosition();
-                    String primaryKeyValue = columnList[primaryColumnIndex];
-                    uniqueIds.add(primaryKeyValue);
-                }
+            // Only the key column is needed to check references and count the deleted rows
+            List<String> uniqueIds = new ArrayList<>();
+            int deletedRows;
+            if (primaryColumn != null) {
+                uniqueIds = databaseSite.readColumnData(statement.getTableName(), primaryColumn.getColumnName());
+                deletedRows = uniqueIds.size();
+            } else {
+                deletedRows = databaseSite.readColumnData(statement.getTableName(), columns.get(0).getColumnName()).size();
             }
 
-            if (uniqueIds.isEmpty() || !ConstraintCheck.checkForeignKeyConstraints(tableInfo.getTableName(), uniqueIds, databaseSite)) {
+            if (uniqueIds.isEmpty() || !ConstraintCheck.checkForeignKeyConstraints(statement.getTableName(), uniqueIds, databaseSite)) {
                 if (isAutoCommit) {
-                    databaseSite.deleteOnlyTable(tableInfo.getTableName());
                     //No Constraints
-                    List<String> columnNames = columns.stream().map(Column::getColumnName).collect(Collectors.toList());
-                    databaseSite.writeData(tableInfo.getTableName(), columnNames);
+                    databaseSite.writeRows(statement.getTableName(), Collections.emptyList());
                 } else {
-                    FileWriter.writeTransactionFile(query);
+                    FileWriter.writeTransactionFile(statement.getQuery());
                 }
 
-                int deletedRows = fileLines.size();
-                databaseSite.decrementRowCountInLocalDataDictionary(tableInfo.getTableName(), deletedRows);
+                databaseSite.decrementRowCountInLocalDataDictionary(statement.getTableName(), deletedRows);
                 LOGGER.info("{} rows delete successfully!", deletedRows);
 
-                EventLogger.log(deletedRows + " rows delete successfully from table '" + tableInfo.getTableName() + "'");
+                EventLogger.log(deletedRows + " rows delete successfully from table '" + statement.getTableName() + "'");
             }
         } catch (Exception e) {
             LOGGER.error("Error occurred while deleting the table");
@@ -101,25 +76,12 @@ public class DeleteParser {
     }
 
 
-    public String[] getWhereParameters(String query) {
-        String[] splitByWhere = query.split("WHERE");
-        return splitByWhere[1].trim().split(" ");
-    }
-
-    public boolean deleteTableWhere(TableInfo tableInfo, String query, DatabaseSite databaseSite, boolean isAutoCommit) {
-        String[] whereParameters = getWhereParameters(query);
-        List<String> fileLines;
+    public boolean deleteTableWhere(DeleteStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
+        WhereClause whereClause = statement.getWhereClause();
         List<String> uniqueIds = new ArrayList<>();
-        List<String> lineIds = new ArrayList<>();
 
         try {
-            fileLines = databaseSite.readData(tableInfo.getTableName());
-            List<String> headers = Arrays.asList(fileLines.get(0).split(ApplicationConfiguration.DELIMITER_REGEX));
-            int headerIndex = headers.indexOf(whereParameters[0]);
-            fileLines.remove(0);
-            if (ConstraintCheck.checkQueryConstraints(tableInfo.getTableName(), whereParameters[0], whereParameters[2].replace(";", ""), databaseSite)) {
-
-                List<Column> columns = databaseSite.readMetadata(tableInfo.getTableName());
+            if (whereClause.checkValues((columnName, value) -> ConstraintCheck.checkQueryConstraints(columns, columnName, value))) {
 
                 Column primaryColumn = null;
                 for (Column column : columns) {
@@ -129,39 +91,31 @@ public class DeleteParser {
                     }
                 }
 
-                String whereValue = whereParameters[2].replace(";", "");
-                whereValue = whereValue.replace("'", "");
+                Predicate<List<String>> wherePredicate = whereClause.toPredicate(columns);
 
-                for (String line : fileLines) {
-                    String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-                    if (columnList[headerIndex].equalsIgnoreCase(whereValue)) {
+                int deletedRows = 0;
+                try (RowCursor rowCursor = databaseSite.scan(statement.getTableName(), null, wherePredicate)) {
+                    while (rowCursor.hasNext()) {
+                        List<String> row = rowCursor.next();
                         if (primaryColumn != null) {
-                            int primaryColumnIndex = primaryColumn.getColumnPosition();
-                            String primaryKeyValue = columnList[primaryColumnIndex];
-                            uniqueIds.add(primaryKeyValue);
+                            uniqueIds.add(row.get(primaryColumn.getColumnPosition()));
                         }
-                    } else {
-                        lineIds.add(line);
+                        deletedRows++;
                     }
                 }
 
-                if (uniqueIds.isEmpty() || !ConstraintCheck.checkForeignKeyConstraints(tableInfo.getTableName(), uniqueIds, databaseSite)) {
+                if (uniqueIds.isEmpty() || !ConstraintCheck.checkForeignKeyConstraints(statement.getTableName(), uniqueIds, databaseSite)) {
                     if (isAutoCommit) {
-                        databaseSite.deleteOnlyTable(tableInfo.getTableName());
-                        databaseSite.writeData(tableInfo.getTableName(), databaseSite.readColumnMetadata(tableInfo.getTableName()));
                         //No Constraints
-                        for (String line : lineIds) {
-                            databaseSite.writeData(tableInfo.getTableName(), Arrays.asList(line.split(ApplicationConfiguration.DELIMITER_REGEX)));
-                        }
+                        deletedRows = databaseSite.deleteRows(statement.getTableName(), wherePredicate);
                     } else {
-                        FileWriter.writeTransactionFile(query);
+                        FileWriter.writeTransactionFile(statement.getQuery());
                     }
 
-                    int deletedRows = fileLines.size() - lineIds.size();
-                    databaseSite.decrementRowCountInLocalDataDictionary(tableInfo.getTableName(), deletedRows);
+                    databaseSite.decrementRowCountInLocalDataDictionary(statement.getTableName(), deletedRows);
                     LOGGER.info("{} rows delete successfully!", deletedRows);
 
-                    EventLogger.log(deletedRows + " rows delete successfully from table '" + tableInfo.getTableName() + "'");
+                    EventLogger.log(deletedRows + " rows delete successfully from table '" + statement.getTableName() + "'");
                 }
             }
         } catch (Exception e) {
@@ -170,4 +124,26 @@ public class DeleteParser {
         }
         return true;
     }
-}
\ No newline at end of file
+
+    public DatabaseSite getDatabaseSite(String tableName) {
+        Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
+
+        if (gddMap.containsKey(tableName)) {
+            DatabaseSite databaseSite = gddMap.get(tableName);
+
+            DatabaseSite databaseOperationSite = DatabaseSite.LOCAL;
+            if (databaseSite != ApplicationConfiguration.CURRENT_SITE) {
+                databaseOperationSite = DatabaseSite.REMOTE;
+            }
+
+            if (databaseOperationSite == DatabaseSite.REMOTE && ApplicationConfiguration.CURRENT_SITE == DatabaseSite.REMOTE) {
+                LOGGER.error("Table '{}' is on LOCAL site & Remote server can not connect to local machine.", tableName);
+                return null;
+            }
+            return databaseOperationSite;
+        } else {
+            LOGGER.info("Table '{}' does not exist in database!", tableName);
+            return null;
+        }
+    }
+}
@@ -1,20 +1,14 @@
 package com.group21.server.queries.delete;
 
 import java.util.List;
-import java.util.Map;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
 import com.group21.server.models.DatabaseSite;
 import com.group21.server.models.TableInfo;
-import com.group21.utils.FileReader;
+import com.group21.server.queries.parser.DeleteStatement;
 
 public class DeleteQueryExecutor {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(DeleteQueryExecutor.class);
-
     private final DeleteParser deleteQueryParser;
 
     public DeleteQueryExecutor() {
@@ -22,39 +16,32 @@ public class DeleteQueryExecutor {
     }
 
     public void execute(String query, boolean isAutoCommit) {
-        boolean isValid = deleteQueryParser.isValid(query);
-        if (isValid) {
-            String tableName = deleteQueryParser.getTableName(query);
-
-            Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
-
-            if (gddMap.containsKey(tableName)) {
-                DatabaseSite databaseSite = gddMap.get(tableName);
-
-                DatabaseSite databaseOperationSite = DatabaseSite.LOCAL;
-                if (databaseSite != ApplicationConfiguration.CURRENT_SITE) {
-                    databaseOperationSite = DatabaseSite.REMOTE;
-                }
-
-                if (databaseOperationSite == DatabaseSite.REMOTE && ApplicationConfiguration.CURRENT_SITE == DatabaseSite.REMOTE) {
-                    LOGGER.error("Table '{}' is on LOCAL site & Remote server can not connect to local machine.", tableName);
-                    return;
-                }
-
-                List<TableInfo> tableInfoList = databaseOperationSite.readLocalDataDictionary();
-
-                for (TableInfo tableInfo : tableInfoList) {
-                    if (tableInfo.getTableName().equals(tableName)) {
-                        if (deleteQueryParser.isWhereConditionExists(query)) {
-                            deleteQueryParser.deleteTableWhere(tableInfo, query, databaseOperationSite, isAutoCommit);
-                        } else {
-                            deleteQueryParser.deleteTable(tableInfo, query, databaseOperationSite, isAutoCommit);
-                        }
-                    }
-                }
-            } else {
-                LOGGER.info("Table '{}' does not exist in database!", tableName);
+        DeleteStatement statement = deleteQueryParser.parse(query);
+        if (statement == null) {
+            return;
+        }
+
+        String tableName = statement.getTableName();
+        DatabaseSite databaseSite = deleteQueryParser.getDatabaseSite(tableName);
+        if (databaseSite == null) {
+            return;
+        }
+
+        List<TableInfo> tableInfoList = databaseSite.readLocalDataDictionary();
+
+        for (TableInfo tableInfo : tableInfoList) {
+            if (tableInfo.getTableName().equals(tableName)) {
+                execute(statement, databaseSite, databaseSite.readMetadata(tableName), isAutoCommit);
             }
         }
     }
+
+    // Runs a statement against the given site and table columns, prepared queries call this directly
+    public void execute(DeleteStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
+        if (statement.getWhereClause() != null) {
+            deleteQueryParser.deleteTableWhere(statement, databaseSite, columns, isAutoCommit);
+        } else {
+            deleteQueryParser.deleteTable(statement, databaseSite, columns, isAutoCommit);
+        }
+    }
 }
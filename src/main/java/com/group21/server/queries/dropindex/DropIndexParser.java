@@ -0,0 +1,24 @@
+package com.group21.server.queries.dropindex;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.queries.parser.DropIndexStatement;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+
+public class DropIndexParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DropIndexParser.class);
+
+    public DropIndexStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, DropIndexStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided drop index query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.group21.server.queries.dropindex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.queries.parser.DropIndexStatement;
+import com.group21.server.storage.BPlusTreeIndex;
+import com.group21.utils.FileReader;
+import com.group21.utils.FileWriter;
+
+public class DropIndexQueryExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DropIndexQueryExecutor.class);
+
+    private final DropIndexParser dropIndexParser;
+
+    public DropIndexQueryExecutor() {
+        this.dropIndexParser = new DropIndexParser();
+    }
+
+    public void execute(String query) {
+        DropIndexStatement statement = dropIndexParser.parse(query);
+
+        if (statement != null) {
+            String indexName = statement.getIndexName();
+            String tableName = FileReader.getIndexTableName(indexName);
+
+            if (tableName == null || (statement.getTableName() != null && !statement.getTableName().equals(tableName))) {
+                LOGGER.info("Index '{}' does not exist in database!", indexName);
+                return;
+            }
+
+            List<Column> columns = FileReader.readMetadata(tableName);
+            for (Column column : columns) {
+                if (indexName.equals(column.getIndexName())) {
+                    column.setIndexName(null);
+                }
+            }
+            FileWriter.writeMetadata(tableName, columns);
+
+            Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+            try {
+                BPlusTreeIndex.delete(dataFilePath, indexName);
+            } catch (IOException exception) {
+                LOGGER.error("Error occurred while deleting index '{}' file.", indexName);
+                EventLogger.error(exception.getMessage());
+            }
+
+            LOGGER.info("Index '{}' deleted Successfully.", indexName);
+
+            EventLogger.log("Index '" + indexName + "' deleted Successfully from table '" + tableName + "'.");
+        }
+    }
+}
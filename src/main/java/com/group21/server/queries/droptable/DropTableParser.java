@@ -1,31 +1,24 @@
 package com.group21.server.queries.droptable;
 
-import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.group21.utils.RegexUtil;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.queries.parser.DropTableStatement;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
 
 public class DropTableParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DropTableParser.class);
 
-    private static final String DROP_TABLE_REGEX = "^DROP TABLE [a-zA-Z_]*;?$";
-
-    public boolean isValid(String query) {
-        String matchedQuery = RegexUtil.getMatch(query, DROP_TABLE_REGEX);
-
-        if (Strings.isBlank(matchedQuery)) {
+    public DropTableStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, DropTableStatement.class);
+        } catch (SqlSyntaxException exception) {
             LOGGER.error("Syntax error in provided drop table query.");
-            return false;
+            EventLogger.error(exception.getMessage());
         }
-        return true;
-    }
-
-    public String getTableName(String query) {
-        int indexOfFirstSpace = query.indexOf(' ');
-        int indexOfSecondSpace = query.indexOf(' ', indexOfFirstSpace + 1);
-
-        return query.substring(indexOfSecondSpace + 1).replace(";", "").trim();
+        return null;
     }
 }
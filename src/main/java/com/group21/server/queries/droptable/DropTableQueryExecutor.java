@@ -1,7 +1,5 @@
 package com.group21.server.queries.droptable;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -10,8 +8,8 @@ import org.slf4j.LoggerFactory;
 import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
 import com.group21.server.models.DatabaseSite;
-import com.group21.server.models.TableInfo;
 import com.group21.server.queries.constraints.ConstraintCheck;
+import com.group21.server.queries.parser.DropTableStatement;
 import com.group21.utils.FileReader;
 import com.group21.utils.FileWriter;
 
@@ -26,10 +24,10 @@ public class DropTableQueryExecutor {
     }
 
     public void execute(String query) {
-        boolean isQueryValid = dropTableParser.isValid(query);
+        DropTableStatement statement = dropTableParser.parse(query);
 
-        if (isQueryValid) {
-            String tableName = dropTableParser.getTableName(query);
+        if (statement != null) {
+            String tableName = statement.getTableName();
 
             Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
 
@@ -52,11 +50,9 @@ public class DropTableQueryExecutor {
 
                 databaseOperationSite.deleteTable(tableName);
 
-                updateLocalDataDictionary(tableName, databaseOperationSite);
+                databaseOperationSite.removeFromLocalDataDictionary(tableName);
 
-                gddMap.remove(tableName);
-                String updatedDistributedDictionaryContent = FileWriter.generateDistributedDataDictionaryContent(gddMap);
-                FileWriter.writeFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME, updatedDistributedDictionaryContent);
+                FileWriter.removeFromDistributedDataDictionary(tableName);
 
                 LOGGER.info("Table '{}' deleted Successfully.", tableName);
 
@@ -66,20 +62,4 @@ public class DropTableQueryExecutor {
             }
         }
     }
-
-    private void updateLocalDataDictionary(String tableName, DatabaseSite databaseSite) {
-        List<TableInfo> existingTableInfoList = databaseSite.readLocalDataDictionary();
-
-        List<TableInfo> newTableInfoList = new ArrayList<>();
-
-        for (TableInfo tableInfo : existingTableInfoList) {
-            if (!tableInfo.getTableName().equalsIgnoreCase(tableName)) {
-                newTableInfoList.add(tableInfo);
-            }
-        }
-
-        String updatedLocalDictionaryContent = FileWriter.generateLocalDataDictionaryContent(newTableInfoList);
-
-        databaseSite.writeFile(ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME, updatedLocalDictionaryContent);
-    }
 }
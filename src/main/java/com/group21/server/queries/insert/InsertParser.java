@@ -1,14 +1,17 @@
 package com.group21.server.queries.insert;
 
 import com.group21.configurations.ApplicationConfiguration;
-import com.group21.constants.CommonRegex;
+import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DataType;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.constraints.ConstraintCheck;
+import com.group21.server.queries.parser.InsertStatement;
+import com.group21.server.queries.parser.Literal;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
 import com.group21.utils.FileReader;
-import com.group21.utils.RegexUtil;
-import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,59 +21,39 @@ public class InsertParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InsertParser.class);
 
-    private static final String INSERT_REGEX_TYPE1 = "^INSERT INTO [a-zA-Z_]* \\(.*\\) VALUES \\(.*\\);?$";
-    private static final String INSERT_REGEX_TYPE2 = "^INSERT INTO [a-zA-Z_]* VALUES \\(.*\\);?$";
-
-    public boolean isValid(String query) {
-        String matchedQueryType1 = RegexUtil.getMatch(query, INSERT_REGEX_TYPE1);
-        String matchedQueryType2 = RegexUtil.getMatch(query, INSERT_REGEX_TYPE2);
-
-        if (Strings.isBlank(matchedQueryType1) && Strings.isBlank(matchedQueryType2)) {
+    public InsertStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, InsertStatement.class);
+        } catch (SqlSyntaxException exception) {
             LOGGER.error("Syntax error in provided insert into table query.");
-            return false;
+            EventLogger.error(exception.getMessage());
         }
+        return null;
+    }
 
-        String tableName = getTableName(query);
-
-        DatabaseSite databaseSite = getDatabaseSite(tableName);
-
-        if (databaseSite == null) {
-            return false;
+    public boolean isValid(InsertStatement statement, List<Column> columnList) {
+        for (List<Literal> columnValueList : statement.getRows()) {
+            if (columnValueList.isEmpty()) {
+                LOGGER.error("Column Values - 'Missing' in provided insert into table query.");
+                return false;
+            }
         }
 
-        int firstColumnValueBracketIndex = query.indexOf("VALUES") + 7;
-        int lastColumnValueBracketIndex = query.indexOf(')', firstColumnValueBracketIndex);
-
-        String columnValueString = query.substring(firstColumnValueBracketIndex + 1, lastColumnValueBracketIndex);
-
-        if (Strings.isBlank(columnValueString)) {
-            LOGGER.error("Column Values - 'Missing' in provided insert into table query.");
+        List<String> columnNameList = statement.getColumnNames();
+        if (columnNameList != null && columnNameList.isEmpty()) {
+            LOGGER.error("Column Names - 'Missing' in provided insert into table query.");
             return false;
         }
 
-        String[] columnValueArray = columnValueString.split(",");
-        String[] columnNameArray;
-
-        List<Column> columnList = databaseSite.readMetadata(tableName);
-
-        if (Strings.isBlank(matchedQueryType2)) {
-            int firstColumnNameBracketIndex = query.indexOf('(');
-            int lastColumnNameBracketIndex = query.indexOf(')');
-
-            String columnNameString = query.substring(firstColumnNameBracketIndex + 1, lastColumnNameBracketIndex);
-
-            if (Strings.isBlank(columnNameString)) {
-                LOGGER.error("Column Names - 'Missing' in provided insert into table query.");
-                return false;
-            }
-
-            columnNameArray = columnNameString.split(",");
-
-            if (columnNameArray.length != columnValueArray.length) {
+        int columnCount = columnNameList == null ? columnList.size() : columnNameList.size();
+        for (List<Literal> columnValueList : statement.getRows()) {
+            if (columnValueList.size() != columnCount) {
                 LOGGER.error("Number of columns and values mismatch");
                 return false;
             }
+        }
 
+        if (columnNameList != null) {
             List<String> primaryKeyColumnNames = new ArrayList<>();
             for (Column c : columnList) {
                 if (c.getConstraint().equals(Constraint.PRIMARY_KEY)) {
@@ -79,35 +62,27 @@ public class InsertParser {
             }
 
             for (String p : primaryKeyColumnNames) {
-                boolean doesNotContainKey = true;
-                for (String columnName : columnNameArray) {
-                    if (columnName.trim().equals(p)) {
-                        doesNotContainKey = false;
-                        break;
-                    }
-                }
-                if (doesNotContainKey) {
+                if (!columnNameList.contains(p)) {
                     LOGGER.error("Primary Key Value is Missing");
                     return false;
                 }
             }
-
-        } else {
-
-            columnNameArray = new String[columnList.size()];
-
-            for (int i = 0; i < columnList.size(); i++) {
-                columnNameArray[i] = columnList.get(i).getColumnName();
-            }
         }
-        return checkConstraints(tableName, databaseSite, columnNameArray, columnValueArray);
+        return true;
     }
 
-    private boolean checkConstraints(String tableName, DatabaseSite databaseSite, String[] columnNameArray, String[] columnValueArray) {
+    public boolean checkConstraints(InsertStatement statement, DatabaseSite databaseSite, List<Column> columnList) {
+        String tableName = statement.getTableName();
+        List<String> columnNames = statement.getColumnNames();
+        if (columnNames == null) {
+            columnNames = new ArrayList<>();
+            for (Column column : columnList) {
+                columnNames.add(column.getColumnName());
+            }
+        }
 
-        int columnLength = columnNameArray.length;
+        int columnLength = columnNames.size();
 
-        List<Column> columnList = databaseSite.readMetadata(tableName);
         List<String> columnNameList = new ArrayList<>();
         Map<String, DataType> columnTypeList = new HashMap<>();
         Map<String, Constraint> columnConstraintList = new HashMap<>();
@@ -122,127 +97,96 @@ public class InsertParser {
             columnForeignKeyColumnNameList.put(c.getColumnName(), c.getForeignKeyColumnName());
         }
 
-        for (int i = 0; i < columnLength; i++) {
-            String columnName = columnNameArray[i].trim();
-            String columnValue = columnValueArray[i].trim();
+        // Keys of earlier rows, so rows are checked against each other as well as against the table
+        Map<String, Set<String>> insertedKeys = new HashMap<>();
+        Map<String, Set<String>> foundForeignKeys = new HashMap<>();
+        // Key columns of remote tables, each read with one transfer instead of a remote scan per row
+        Map<String, Set<String>> remoteKeys = new HashMap<>();
+        Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
 
-            if (!columnNameList.contains(columnName)) {
-                LOGGER.error("Column Name '{}' does not exist in table", columnName);
-                return false;
-            }
-
-            DataType columnValueDatatype = columnTypeList.get(columnName);
-            if (columnValueDatatype.equals(DataType.INT)) {
-                try {
-                    Integer.parseInt(columnValue);
-                } catch (Exception e) {
-                    columnValue = "";
-                }
-            } else if (columnValueDatatype.equals(DataType.DOUBLE)) {
-                try {
-                    Double.parseDouble(columnValue);
-                } catch (Exception e) {
-                    columnValue = "";
-                }
-            } else if (columnValueDatatype.equals(DataType.TEXT)) {
-                columnValue = RegexUtil.getMatch(columnValue, CommonRegex.TEXT_REGEX);
+        for (List<Literal> columnLiterals : statement.getRows()) {
+            for (int i = 0; i < columnLength; i++) {
+                String columnName = columnNames.get(i);
+                Literal columnLiteral = columnLiterals.get(i);
 
-                if (columnValue != null) {
-                    columnValue = columnValue.substring(1, columnValue.length() - 1);
+                if (!columnNameList.contains(columnName)) {
+                    LOGGER.error("Column Name '{}' does not exist in table", columnName);
+                    return false;
                 }
-            }
 
-            if (Strings.isBlank(columnValue)) {
-                LOGGER.error("Column '{}' requires value of type '{}'", columnName, columnValueDatatype.name());
-                return false;
-            }
-
-            Constraint columnValueConstraint = columnConstraintList.get(columnName);
-            if (columnValueConstraint.equals(Constraint.PRIMARY_KEY)) {
-                List<String> primaryKeyValueList = databaseSite.readColumnData(tableName, columnName);
-
-                if (primaryKeyValueList.contains(columnValue)) {
-                    LOGGER.error("Primary Key Constraint Violated");
+                DataType columnValueDatatype = columnTypeList.get(columnName);
+                if (!columnLiteral.isValidFor(columnValueDatatype)) {
+                    LOGGER.error("Column '{}' requires value of type '{}'", columnName, columnValueDatatype.name());
                     return false;
                 }
-            } else if (columnValueConstraint.equals(Constraint.FOREIGN_KEY)) {
-                String foreignKeyTable = columnForeignKeyTableList.get(columnName);
-                String foreignKeyColumnName = columnForeignKeyColumnNameList.get(columnName);
+                String columnValue = columnLiteral.getValue();
+
+                Constraint columnValueConstraint = columnConstraintList.get(columnName);
+                if (columnValueConstraint.equals(Constraint.PRIMARY_KEY)) {
+                    boolean isNewKey = insertedKeys.computeIfAbsent(columnName, name -> new HashSet<>()).add(columnValue);
+                    if (!isNewKey || containsKey(tableName, columnName, columnValue, databaseSite, remoteKeys)) {
+                        LOGGER.error("Primary Key Constraint Violated");
+                        return false;
+                    }
+                } else if (columnValueConstraint.equals(Constraint.FOREIGN_KEY)) {
+                    Set<String> foreignKeys = foundForeignKeys.computeIfAbsent(columnName, name -> new HashSet<>());
+                    if (foreignKeys.contains(columnValue)) {
+                        continue;
+                    }
 
-                Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
-                DatabaseSite foreignKeyTableDatabaseSite = gddMap.get(foreignKeyTable);
+                    String foreignKeyTable = columnForeignKeyTableList.get(columnName);
+                    String foreignKeyColumnName = columnForeignKeyColumnNameList.get(columnName);
 
-                List<String> foreignKeyValueList = new ArrayList<>();
-                if (ApplicationConfiguration.CURRENT_SITE != DatabaseSite.REMOTE) {
-                    foreignKeyValueList = foreignKeyTableDatabaseSite.readColumnData(foreignKeyTable, foreignKeyColumnName);
-                } else if (foreignKeyTableDatabaseSite != DatabaseSite.LOCAL) {
-                    foreignKeyValueList = databaseSite.readColumnData(foreignKeyTable, foreignKeyColumnName);
-                }
+                    DatabaseSite foreignKeyTableDatabaseSite = gddMap.get(foreignKeyTable);
 
-                if (!foreignKeyValueList.contains(columnValue)) {
-                    LOGGER.error("Foreign Key Constraint Violated! Foreign Key '{}' Does not exist in '{}'", columnValue, foreignKeyTable);
-                    return false;
+                    boolean isForeignKeyPresent = false;
+                    if (ApplicationConfiguration.CURRENT_SITE != DatabaseSite.REMOTE) {
+                        isForeignKeyPresent = containsKey(foreignKeyTable, foreignKeyColumnName, columnValue, foreignKeyTableDatabaseSite, remoteKeys);
+                    } else if (foreignKeyTableDatabaseSite != DatabaseSite.LOCAL) {
+                        isForeignKeyPresent = containsKey(foreignKeyTable, foreignKeyColumnName, columnValue, databaseSite, remoteKeys);
+                    }
+
+                    if (!isForeignKeyPresent) {
+                        LOGGER.error("Foreign Key Constraint Violated! Foreign Key '{}' Does not exist in '{}'", columnValue, foreignKeyTable);
+                        return false;
+                    }
+                    foreignKeys.add(columnValue);
                 }
             }
         }
         return true;
     }
 
-    public String getTableName(String query) {
-        int tableNameStartIndex = query.indexOf("INTO") + 5;
-        int tableNameEndIndex = query.indexOf(' ', tableNameStartIndex);
-        return query.substring(tableNameStartIndex, tableNameEndIndex);
-    }
-
-    public List<String> getColumnValues(String query, String tableName, DatabaseSite databaseSite) {
-        String matchedQueryType2 = RegexUtil.getMatch(query, INSERT_REGEX_TYPE2);
-
-        List<String> columnValues = new ArrayList<>();
-
-        int firstColumnValueBracketIndex = query.indexOf("VALUES") + 7;
-        int lastColumnValueBracketIndex = query.indexOf(')', firstColumnValueBracketIndex);
-
-        String columnValueString = query.substring(firstColumnValueBracketIndex + 1, lastColumnValueBracketIndex);
-        String[] columnValueArray = columnValueString.split(",");
-
-        List<Column> columnList = databaseSite.readMetadata(tableName);
-        Map<String, DataType> columnNameType = new LinkedHashMap<>();
-        for (Column c : columnList) {
-            columnNameType.put(c.getColumnName(), c.getColumnType());
+    // Local tables answer through their index, a remote table would be transferred again for every row
+    private boolean containsKey(String tableName, String columnName, String value, DatabaseSite databaseSite, Map<String, Set<String>> remoteKeys) {
+        if (databaseSite == DatabaseSite.REMOTE) {
+            Set<String> keys = remoteKeys.computeIfAbsent(tableName + "." + columnName, key -> ConstraintCheck.readValues(tableName, columnName, databaseSite));
+            return keys.contains(value);
         }
+        return ConstraintCheck.containsValue(tableName, columnName, value, databaseSite);
+    }
 
-        if (Strings.isBlank(matchedQueryType2)) {
-            int firstColumnNameBracketIndex = query.indexOf('(');
-            int lastColumnNameBracketIndex = query.indexOf(')');
-            String columnNameString = query.substring(firstColumnNameBracketIndex + 1, lastColumnNameBracketIndex);
-            String[] columnNameArray = columnNameString.split(",");
+    public List<List<String>> getRowValues(InsertStatement statement, List<Column> columnList) {
+        List<List<String>> rowValues = new ArrayList<>();
+        for (List<Literal> columnValueList : statement.getRows()) {
+            List<String> columnValues = new ArrayList<>();
 
-            Map<String, String> columnNameValue = new LinkedHashMap<>();
-            for (int i = 0; i < columnNameArray.length; i++) {
-                columnNameValue.put(columnNameArray[i].trim(), columnValueArray[i].trim());
-            }
-            for (String name : columnNameType.keySet()) {
-                if (columnNameValue.containsKey(name)) {
-                    String value = columnNameValue.get(name).trim();
-                    if (columnNameType.get(name).equals(DataType.TEXT)) {
-                        value = value.substring(1, value.length() - 1);
-                    }
-                    columnValues.add(value);
-                } else {
-                    columnValues.add("null");
+            if (statement.getColumnNames() != null) {
+                Map<String, String> columnNameValue = new HashMap<>();
+                for (int i = 0; i < statement.getColumnNames().size(); i++) {
+                    columnNameValue.put(statement.getColumnNames().get(i), columnValueList.get(i).getValue());
                 }
-            }
-        } else {
-            int i = 0;
-            for (String name : columnNameType.keySet()) {
-                String value = columnValueArray[i++].trim();
-                if (columnNameType.get(name).equals(DataType.TEXT)) {
-                    value = value.substring(1, value.length() - 1);
+                for (Column column : columnList) {
+                    columnValues.add(columnNameValue.getOrDefault(column.getColumnName(), "null"));
+                }
+            } else {
+                for (Literal columnValue : columnValueList) {
+                    columnValues.add(columnValue.getValue());
                 }
-                columnValues.add(value);
             }
+            rowValues.add(columnValues);
         }
-        return columnValues;
+        return rowValues;
     }
 
     public DatabaseSite getDatabaseSite(String tableName) {
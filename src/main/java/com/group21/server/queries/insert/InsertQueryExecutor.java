@@ -1,12 +1,16 @@
 package com.group21.server.queries.insert;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.parser.InsertStatement;
+import com.group21.server.storage.TableIndexes;
 import com.group21.utils.FileWriter;
 
 
@@ -21,23 +25,55 @@ public class InsertQueryExecutor {
     }
 
     public void execute(String query, boolean isAutoCommit) {
-        boolean isQueryValid = insertParser.isValid(query);
+        InsertStatement statement = insertParser.parse(query);
 
-        if (isQueryValid) {
-            String tableName = insertParser.getTableName(query);
-            DatabaseSite databaseSite = insertParser.getDatabaseSite(tableName);
-            List<String> columnValues = insertParser.getColumnValues(query, tableName, databaseSite);
+        if (statement == null) {
+            return;
+        }
+
+        DatabaseSite databaseSite = insertParser.getDatabaseSite(statement.getTableName());
+        if (databaseSite == null) {
+            return;
+        }
 
-            if (isAutoCommit) {
-                databaseSite.writeData(tableName, columnValues);
-                databaseSite.incrementRowCountInLocalDataDictionary(tableName);
+        List<Column> columns = databaseSite.readMetadata(statement.getTableName());
+        if (insertParser.isValid(statement, columns)) {
+            execute(statement, databaseSite, columns, isAutoCommit);
+        }
+    }
+
+    // Runs a validated statement against the given site and table columns, prepared queries call this directly
+    public void execute(InsertStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
+        if (!insertParser.checkConstraints(statement, databaseSite, columns)) {
+            return;
+        }
+
+        String tableName = statement.getTableName();
+        List<List<String>> rowValues = insertParser.getRowValues(statement, columns);
+
+        // Checked before the write as well, so a refused row is neither reported as inserted nor queued in a transaction
+        try {
+            TableIndexes.checkRows(columns, rowValues);
+        } catch (IOException exception) {
+            LOGGER.error(exception.getMessage());
+            return;
+        }
+
+        if (isAutoCommit) {
+            // Rows of a multi-row insert are appended together, a single row keeps the plain write that can reuse free space
+            if (rowValues.size() == 1) {
+                databaseSite.writeData(tableName, rowValues.get(0));
             } else {
-                FileWriter.writeTransactionFile(query);
+                databaseSite.appendRows(tableName, rowValues);
             }
+            databaseSite.incrementRowCountInLocalDataDictionary(tableName, rowValues.size());
+        } else {
+            FileWriter.writeTransactionFile(statement.getQuery());
+        }
 
-            LOGGER.info("1 row inserted successfully!");
+        String insertedRows = rowValues.size() == 1 ? "1 row" : rowValues.size() + " rows";
+        LOGGER.info("{} inserted successfully!", insertedRows);
 
-            EventLogger.log("1 row inserted successfully in table '" + tableName + "'");
-        }
+        EventLogger.log(insertedRows + " inserted successfully in table '" + tableName + "'");
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.group21.server.models.BetweenCondition;
+import com.group21.server.models.Column;
+import com.group21.server.models.RowPredicate;
+
+public class BetweenClause extends WhereClause {
+
+    private final String columnName;
+    private final Literal lowValue;
+    private final Literal highValue;
+
+    public BetweenClause(String columnName, Literal lowValue, Literal highValue) {
+        this.columnName = columnName;
+        this.lowValue = lowValue;
+        this.highValue = highValue;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public Literal getLowValue() {
+        return lowValue;
+    }
+
+    public Literal getHighValue() {
+        return highValue;
+    }
+
+    @Override
+    public boolean checkValues(BiPredicate<String, Literal> valueCheck) {
+        return valueCheck.test(columnName, lowValue) && valueCheck.test(columnName, highValue);
+    }
+
+    @Override
+    public BetweenClause bind(List<Literal> parameters) {
+        return new BetweenClause(columnName, lowValue.bind(parameters), highValue.bind(parameters));
+    }
+
+    @Override
+    public RowPredicate toPredicate(List<Column> columns) {
+        return BetweenCondition.create(getColumn(columns, columnName), lowValue.getValue(), highValue.getValue());
+    }
+}
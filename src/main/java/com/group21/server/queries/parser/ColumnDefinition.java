@@ -0,0 +1,47 @@
+package com.group21.server.queries.parser;
+
+import com.group21.server.models.Constraint;
+
+public class ColumnDefinition {
+
+    private final String text;
+    private final String columnName;
+    private final String typeName;
+    private final Constraint constraint;
+    private final String foreignKeyTable;
+    private final String foreignKeyColumnName;
+
+    public ColumnDefinition(String text, String columnName, String typeName, Constraint constraint, String foreignKeyTable, String foreignKeyColumnName) {
+        this.text = text;
+        this.columnName = columnName;
+        this.typeName = typeName;
+        this.constraint = constraint;
+        this.foreignKeyTable = foreignKeyTable;
+        this.foreignKeyColumnName = foreignKeyColumnName;
+    }
+
+    // Column definition as written in the query, used in error messages
+    public String getText() {
+        return text;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public Constraint getConstraint() {
+        return constraint;
+    }
+
+    public String getForeignKeyTable() {
+        return foreignKeyTable;
+    }
+
+    public String getForeignKeyColumnName() {
+        return foreignKeyColumnName;
+    }
+}
@@ -0,0 +1,49 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.ComparisonOperator;
+import com.group21.server.models.Condition;
+import com.group21.server.models.RowPredicate;
+
+public class ComparisonClause extends WhereClause {
+
+    private final String columnName;
+    private final ComparisonOperator comparisonOperator;
+    private final Literal value;
+
+    public ComparisonClause(String columnName, ComparisonOperator comparisonOperator, Literal value) {
+        this.columnName = columnName;
+        this.comparisonOperator = comparisonOperator;
+        this.value = value;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public ComparisonOperator getComparisonOperator() {
+        return comparisonOperator;
+    }
+
+    public Literal getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean checkValues(BiPredicate<String, Literal> valueCheck) {
+        return valueCheck.test(columnName, value);
+    }
+
+    @Override
+    public ComparisonClause bind(List<Literal> parameters) {
+        return new ComparisonClause(columnName, comparisonOperator, value.bind(parameters));
+    }
+
+    @Override
+    public RowPredicate toPredicate(List<Column> columns) {
+        return Condition.create(getColumn(columns, columnName), comparisonOperator, value.getValue());
+    }
+}
@@ -0,0 +1,44 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class CopyStatement extends Statement {
+
+    private final String tableName;
+    private final List<String> columnNames;
+    private final String filePath;
+    private final boolean hasHeader;
+
+    public CopyStatement(String query, String tableName, List<String> columnNames, String filePath, boolean hasHeader) {
+        super(query);
+        this.tableName = tableName;
+        this.columnNames = columnNames;
+        this.filePath = filePath;
+        this.hasHeader = hasHeader;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    // Null when the file holds values for all columns in table order
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    // First line of the file names the columns and is skipped
+    public boolean hasHeader() {
+        return hasHeader;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.COPY;
+    }
+}
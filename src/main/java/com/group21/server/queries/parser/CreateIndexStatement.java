@@ -0,0 +1,34 @@
+package com.group21.server.queries.parser;
+
+import com.group21.server.models.QueryType;
+
+public class CreateIndexStatement extends Statement {
+
+    private final String indexName;
+    private final String tableName;
+    private final String columnName;
+
+    public CreateIndexStatement(String query, String indexName, String tableName, String columnName) {
+        super(query);
+        this.indexName = indexName;
+        this.tableName = tableName;
+        this.columnName = columnName;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.CREATE_INDEX;
+    }
+}
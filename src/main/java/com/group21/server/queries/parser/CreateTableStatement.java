@@ -0,0 +1,45 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.QueryType;
+import com.group21.server.models.StorageFormat;
+
+public class CreateTableStatement extends Statement {
+
+    private final String tableName;
+    private final DatabaseSite databaseSite;
+    private final StorageFormat storageFormat;
+    private final List<ColumnDefinition> columnDefinitions;
+
+    public CreateTableStatement(String query, String tableName, DatabaseSite databaseSite, StorageFormat storageFormat, List<ColumnDefinition> columnDefinitions) {
+        super(query);
+        this.tableName = tableName;
+        this.databaseSite = databaseSite;
+        this.storageFormat = storageFormat;
+        this.columnDefinitions = columnDefinitions;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    // Null when the query has no NODE clause
+    public DatabaseSite getDatabaseSite() {
+        return databaseSite;
+    }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public List<ColumnDefinition> getColumnDefinitions() {
+        return columnDefinitions;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.CREATE;
+    }
+}
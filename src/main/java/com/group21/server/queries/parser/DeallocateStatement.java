@@ -0,0 +1,22 @@
+package com.group21.server.queries.parser;
+
+import com.group21.server.models.QueryType;
+
+public class DeallocateStatement extends Statement {
+
+    private final String name;
+
+    public DeallocateStatement(String query, String name) {
+        super(query);
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.DEALLOCATE;
+    }
+}
@@ -0,0 +1,35 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class DeleteStatement extends Statement {
+
+    private final String tableName;
+    private final WhereClause whereClause;
+
+    public DeleteStatement(String query, String tableName, WhereClause whereClause) {
+        super(query);
+        this.tableName = tableName;
+        this.whereClause = whereClause;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public WhereClause getWhereClause() {
+        return whereClause;
+    }
+
+    @Override
+    public DeleteStatement bind(String boundQuery, List<Literal> parameters) {
+        return new DeleteStatement(boundQuery, tableName, whereClause == null ? null : whereClause.bind(parameters));
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.DELETE;
+    }
+}
@@ -0,0 +1,29 @@
+package com.group21.server.queries.parser;
+
+import com.group21.server.models.QueryType;
+
+public class DropIndexStatement extends Statement {
+
+    private final String indexName;
+    private final String tableName;
+
+    public DropIndexStatement(String query, String indexName, String tableName) {
+        super(query);
+        this.indexName = indexName;
+        this.tableName = tableName;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    // Null when the query has no ON clause
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.DROP_INDEX;
+    }
+}
@@ -0,0 +1,30 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class ExecuteStatement extends Statement {
+
+    private final String name;
+    private final List<Literal> parameters;
+
+    public ExecuteStatement(String query, String name, List<Literal> parameters) {
+        super(query);
+        this.name = name;
+        this.parameters = parameters;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Literal> getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.EXECUTE;
+    }
+}
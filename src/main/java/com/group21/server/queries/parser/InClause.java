@@ -0,0 +1,56 @@
+package com.group21.server.queries.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.InCondition;
+import com.group21.server.models.RowPredicate;
+
+public class InClause extends WhereClause {
+
+    private final String columnName;
+    private final List<Literal> values;
+
+    public InClause(String columnName, List<Literal> values) {
+        this.columnName = columnName;
+        this.values = values;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public List<Literal> getValues() {
+        return values;
+    }
+
+    @Override
+    public boolean checkValues(BiPredicate<String, Literal> valueCheck) {
+        for (Literal value : values) {
+            if (!valueCheck.test(columnName, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public InClause bind(List<Literal> parameters) {
+        List<Literal> boundValues = new ArrayList<>(values.size());
+        for (Literal value : values) {
+            boundValues.add(value.bind(parameters));
+        }
+        return new InClause(columnName, boundValues);
+    }
+
+    @Override
+    public RowPredicate toPredicate(List<Column> columns) {
+        List<String> predicateValues = new ArrayList<>(values.size());
+        for (Literal value : values) {
+            predicateValues.add(value.getValue());
+        }
+        return InCondition.create(getColumn(columns, columnName), predicateValues);
+    }
+}
@@ -0,0 +1,52 @@
+package com.group21.server.queries.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class InsertStatement extends Statement {
+
+    private final String tableName;
+    private final List<String> columnNames;
+    private final List<List<Literal>> rows;
+
+    public InsertStatement(String query, String tableName, List<String> columnNames, List<List<Literal>> rows) {
+        super(query);
+        this.tableName = tableName;
+        this.columnNames = columnNames;
+        this.rows = rows;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    // Null when the query gives values for all columns without naming them
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    // One value list per row, in the order the rows are written
+    public List<List<Literal>> getRows() {
+        return rows;
+    }
+
+    @Override
+    public InsertStatement bind(String boundQuery, List<Literal> parameters) {
+        List<List<Literal>> boundRows = new ArrayList<>(rows.size());
+        for (List<Literal> values : rows) {
+            List<Literal> boundValues = new ArrayList<>(values.size());
+            for (Literal value : values) {
+                boundValues.add(value.bind(parameters));
+            }
+            boundRows.add(boundValues);
+        }
+        return new InsertStatement(boundQuery, tableName, columnNames, boundRows);
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.INSERT;
+    }
+}
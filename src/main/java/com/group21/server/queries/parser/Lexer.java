@@ -0,0 +1,130 @@
+package com.group21.server.queries.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Lexer {
+
+    private final String query;
+    private int position = 0;
+
+    private Lexer(String query) {
+        this.query = query;
+    }
+
+    // Single pass over the query, every character is looked at once
+    public static List<Token> tokenize(String query) throws SqlSyntaxException {
+        return new Lexer(query).tokenize();
+    }
+
+    // Same number syntax as in a query, used for values read from outside a query, e.g. a file loaded by COPY
+    public static boolean isNumber(String text) {
+        int position = text.startsWith("-") ? 1 : 0;
+        int integerStart = position;
+        while (position < text.length() && isDigit(text.charAt(position))) {
+            position++;
+        }
+        if (position == integerStart) {
+            return false;
+        }
+        if (position < text.length() && text.charAt(position) == '.') {
+            int fractionStart = ++position;
+            while (position < text.length() && isDigit(text.charAt(position))) {
+                position++;
+            }
+            if (position == fractionStart) {
+                return false;
+            }
+        }
+        return position == text.length();
+    }
+
+    private List<Token> tokenize() throws SqlSyntaxException {
+        List<Token> tokens = new ArrayList<>();
+        while (true) {
+            while (position < query.length() && Character.isWhitespace(query.charAt(position))) {
+                position++;
+            }
+            if (position == query.length()) {
+                tokens.add(new Token(TokenType.END, "", position, position));
+                return tokens;
+            }
+            tokens.add(nextToken());
+        }
+    }
+
+    private Token nextToken() throws SqlSyntaxException {
+        int startPosition = position;
+        char character = query.charAt(position);
+
+        if (isIdentifierStart(character)) {
+            while (position < query.length() && isIdentifierPart(query.charAt(position))) {
+                position++;
+            }
+            return new Token(TokenType.IDENTIFIER, query.substring(startPosition, position), startPosition, position);
+        }
+
+        if (isDigit(character) || (character == '-' && position + 1 < query.length() && isDigit(query.charAt(position + 1)))) {
+            position++;
+            skipDigits();
+            if (position + 1 < query.length() && query.charAt(position) == '.' && isDigit(query.charAt(position + 1))) {
+                position++;
+                skipDigits();
+            }
+            return new Token(TokenType.NUMBER, query.substring(startPosition, position), startPosition, position);
+        }
+
+        if (character == '\'') {
+            int closingQuoteIndex = query.indexOf('\'', position + 1);
+            if (closingQuoteIndex == -1) {
+                throw new SqlSyntaxException("Missing closing quote for text starting at position " + (startPosition + 1) + ".");
+            }
+            position = closingQuoteIndex + 1;
+            return new Token(TokenType.STRING, query.substring(startPosition + 1, closingQuoteIndex), startPosition, position);
+        }
+
+        if (character == '<' || character == '>' || character == '=' || character == '!') {
+            position++;
+            if (position < query.length() && (query.charAt(position) == '=' || (character == '<' && query.charAt(position) == '>'))) {
+                position++;
+            }
+            return new Token(TokenType.OPERATOR, query.substring(startPosition, position), startPosition, position);
+        }
+
+        position++;
+        switch (character) {
+            case ',':
+                return new Token(TokenType.COMMA, ",", startPosition, position);
+            case '(':
+                return new Token(TokenType.LEFT_PARENTHESIS, "(", startPosition, position);
+            case ')':
+                return new Token(TokenType.RIGHT_PARENTHESIS, ")", startPosition, position);
+            case '*':
+                return new Token(TokenType.ASTERISK, "*", startPosition, position);
+            case '?':
+                return new Token(TokenType.PARAMETER, "?", startPosition, position);
+            case ';':
+                return new Token(TokenType.SEMICOLON, ";", startPosition, position);
+            default:
+                throw new SqlSyntaxException("Unexpected character '" + character + "' at position " + (startPosition + 1) + ".");
+        }
+    }
+
+    private void skipDigits() {
+        while (position < query.length() && isDigit(query.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isIdentifierStart(char character) {
+        return (character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z') || character == '_';
+    }
+
+    private static boolean isIdentifierPart(char character) {
+        return isIdentifierStart(character) || isDigit(character);
+    }
+
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+}
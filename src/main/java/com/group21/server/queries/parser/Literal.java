@@ -0,0 +1,86 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.DataType;
+
+public class Literal {
+
+    private final TokenType type;
+    private final String value;
+    private final int parameterIndex;
+
+    public Literal(TokenType type, String value) {
+        this(type, value, -1);
+    }
+
+    private Literal(TokenType type, String value, int parameterIndex) {
+        this.type = type;
+        this.value = value;
+        this.parameterIndex = parameterIndex;
+    }
+
+    public static Literal parameter(int parameterIndex) {
+        return new Literal(TokenType.PARAMETER, "?", parameterIndex);
+    }
+
+    public TokenType getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public boolean isParameter() {
+        return type == TokenType.PARAMETER;
+    }
+
+    public int getParameterIndex() {
+        return parameterIndex;
+    }
+
+    public Literal bind(List<Literal> parameters) {
+        return isParameter() ? parameters.get(parameterIndex) : this;
+    }
+
+    // Literal as it is written in a query, used to log bound prepared queries
+    public String toSql() {
+        return type == TokenType.STRING ? "'" + value + "'" : value;
+    }
+
+    // Numbers are written bare and text in quotes, text holds only letters and underscores as values are stored delimited
+    // Parameter type is checked once a value is bound to it
+    public boolean isValidFor(DataType dataType) {
+        if (isParameter()) {
+            return true;
+        }
+        switch (dataType) {
+            case INT:
+                if (type != TokenType.NUMBER) {
+                    return false;
+                }
+                try {
+                    Integer.parseInt(value);
+                    return true;
+                } catch (NumberFormatException exception) {
+                    return false;
+                }
+            case DOUBLE:
+                return type == TokenType.NUMBER;
+            case TEXT:
+                if (type != TokenType.STRING || value.isEmpty()) {
+                    return false;
+                }
+                for (int i = 0; i < value.length(); i++) {
+                    char character = value.charAt(i);
+                    if (!Character.isLetter(character) && character != '_') {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return !value.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.group21.server.queries.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.LogicalOperator;
+import com.group21.server.models.RowPredicate;
+
+public class LogicalClause extends WhereClause {
+
+    private final LogicalOperator logicalOperator;
+    private final List<WhereClause> clauses;
+
+    public LogicalClause(LogicalOperator logicalOperator, List<WhereClause> clauses) {
+        this.logicalOperator = logicalOperator;
+        this.clauses = clauses;
+    }
+
+    public LogicalOperator getLogicalOperator() {
+        return logicalOperator;
+    }
+
+    public List<WhereClause> getClauses() {
+        return clauses;
+    }
+
+    @Override
+    public boolean checkValues(BiPredicate<String, Literal> valueCheck) {
+        for (WhereClause clause : clauses) {
+            if (!clause.checkValues(valueCheck)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LogicalClause bind(List<Literal> parameters) {
+        List<WhereClause> boundClauses = new ArrayList<>(clauses.size());
+        for (WhereClause clause : clauses) {
+            boundClauses.add(clause.bind(parameters));
+        }
+        return new LogicalClause(logicalOperator, boundClauses);
+    }
+
+    @Override
+    public RowPredicate toPredicate(List<Column> columns) {
+        List<RowPredicate> predicates = new ArrayList<>(clauses.size());
+        for (WhereClause clause : clauses) {
+            predicates.add(clause.toPredicate(columns));
+        }
+        return logicalOperator.combine(predicates);
+    }
+}
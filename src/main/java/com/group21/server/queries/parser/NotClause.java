@@ -0,0 +1,36 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.NotCondition;
+import com.group21.server.models.RowPredicate;
+
+public class NotClause extends WhereClause {
+
+    private final WhereClause clause;
+
+    public NotClause(WhereClause clause) {
+        this.clause = clause;
+    }
+
+    public WhereClause getClause() {
+        return clause;
+    }
+
+    @Override
+    public boolean checkValues(BiPredicate<String, Literal> valueCheck) {
+        return clause.checkValues(valueCheck);
+    }
+
+    @Override
+    public NotClause bind(List<Literal> parameters) {
+        return new NotClause(clause.bind(parameters));
+    }
+
+    @Override
+    public RowPredicate toPredicate(List<Column> columns) {
+        return new NotCondition(clause.toPredicate(columns));
+    }
+}
@@ -0,0 +1,25 @@
+package com.group21.server.queries.parser;
+
+public class OrderByColumn {
+
+    private final SelectColumn selectColumn;
+    private final boolean isDescending;
+
+    public OrderByColumn(SelectColumn selectColumn, boolean isDescending) {
+        this.selectColumn = selectColumn;
+        this.isDescending = isDescending;
+    }
+
+    // Aggregate result in a query with aggregates, e.g. ORDER BY COUNT(*)
+    public SelectColumn getSelectColumn() {
+        return selectColumn;
+    }
+
+    public String getColumnName() {
+        return selectColumn.getLabel();
+    }
+
+    public boolean isDescending() {
+        return isDescending;
+    }
+}
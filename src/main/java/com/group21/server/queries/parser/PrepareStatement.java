@@ -0,0 +1,38 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class PrepareStatement extends Statement {
+
+    private final String name;
+    private final Statement statement;
+    private final List<Integer> parameterPositions;
+
+    public PrepareStatement(String query, String name, Statement statement, List<Integer> parameterPositions) {
+        super(query);
+        this.name = name;
+        this.statement = statement;
+        this.parameterPositions = parameterPositions;
+    }
+
+    // Null when the query is prepared through the Java API
+    public String getName() {
+        return name;
+    }
+
+    public Statement getStatement() {
+        return statement;
+    }
+
+    // Position of each parameter in the query of the prepared statement, in parameter order
+    public List<Integer> getParameterPositions() {
+        return parameterPositions;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.PREPARE;
+    }
+}
@@ -0,0 +1,33 @@
+package com.group21.server.queries.parser;
+
+import com.group21.server.models.AggregateFunction;
+
+public class SelectColumn {
+
+    private final String columnName;
+    private final AggregateFunction aggregateFunction;
+
+    public SelectColumn(String columnName, AggregateFunction aggregateFunction) {
+        this.columnName = columnName;
+        this.aggregateFunction = aggregateFunction;
+    }
+
+    // Null for COUNT(*)
+    public String getColumnName() {
+        return columnName;
+    }
+
+    // Null when the column value itself is selected
+    public AggregateFunction getAggregateFunction() {
+        return aggregateFunction;
+    }
+
+    public boolean isAggregate() {
+        return aggregateFunction != null;
+    }
+
+    // Name of the result column, e.g. SUM(SCORE)
+    public String getLabel() {
+        return aggregateFunction == null ? columnName : aggregateFunction.getLabel(columnName);
+    }
+}
@@ -0,0 +1,109 @@
+package com.group21.server.queries.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class SelectStatement extends Statement {
+
+    private final List<SelectColumn> selectColumns;
+    private final List<String> columnNames;
+    private final String tableName;
+    private final WhereClause whereClause;
+    private final List<String> groupByColumnNames;
+    private final List<OrderByColumn> orderByColumns;
+    private final int limit;
+    private final int offset;
+
+    public SelectStatement(String query, List<SelectColumn> selectColumns, String tableName, WhereClause whereClause, List<String> groupByColumnNames, List<OrderByColumn> orderByColumns, int limit, int offset) {
+        super(query);
+        this.selectColumns = selectColumns;
+        this.tableName = tableName;
+        this.whereClause = whereClause;
+        this.groupByColumnNames = groupByColumnNames;
+        this.orderByColumns = orderByColumns;
+        this.limit = limit;
+        this.offset = offset;
+
+        if (selectColumns == null) {
+            this.columnNames = null;
+        } else {
+            this.columnNames = new ArrayList<>();
+            for (SelectColumn selectColumn : selectColumns) {
+                columnNames.add(selectColumn.getLabel());
+            }
+        }
+    }
+
+    // Null when all columns are selected with *
+    public List<SelectColumn> getSelectColumns() {
+        return selectColumns;
+    }
+
+    // Names of the result columns, null when all columns are selected with *
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public WhereClause getWhereClause() {
+        return whereClause;
+    }
+
+    // Empty when the rows are not grouped
+    public List<String> getGroupByColumnNames() {
+        return groupByColumnNames;
+    }
+
+    // Empty when the rows are returned in table order
+    public List<OrderByColumn> getOrderByColumns() {
+        return orderByColumns;
+    }
+
+    // -1 when all rows are returned
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public boolean hasLimit() {
+        return limit >= 0;
+    }
+
+    // True when the rows are grouped or an aggregate is selected or sorted on, one row is returned for each group then
+    public boolean isAggregate() {
+        if (!groupByColumnNames.isEmpty()) {
+            return true;
+        }
+        if (selectColumns != null) {
+            for (SelectColumn selectColumn : selectColumns) {
+                if (selectColumn.isAggregate()) {
+                    return true;
+                }
+            }
+        }
+        for (OrderByColumn orderByColumn : orderByColumns) {
+            if (orderByColumn.getSelectColumn().isAggregate()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public SelectStatement bind(String boundQuery, List<Literal> parameters) {
+        return new SelectStatement(boundQuery, selectColumns, tableName, whereClause == null ? null : whereClause.bind(parameters), groupByColumnNames, orderByColumns, limit, offset);
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.SELECT;
+    }
+}
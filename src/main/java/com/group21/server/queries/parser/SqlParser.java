@@ -0,0 +1,527 @@
+package com.group21.server.queries.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.group21.server.models.AggregateFunction;
+import com.group21.server.models.ComparisonOperator;
+import com.group21.server.models.Constraint;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.LogicalOperator;
+import com.group21.server.models.StorageFormat;
+
+public class SqlParser {
+
+    private final String query;
+    private final List<Token> tokens;
+    private int position = 0;
+    // Set while a prepared query is parsed, only then values may be '?' parameters
+    private int statementStartPosition = 0;
+    private List<Integer> parameterPositions = null;
+
+    private SqlParser(String query) throws SqlSyntaxException {
+        this.query = query;
+        this.tokens = Lexer.tokenize(query);
+    }
+
+    public static Statement parse(String query) throws SqlSyntaxException {
+        SqlParser sqlParser = new SqlParser(query);
+        Statement statement = sqlParser.statement();
+        sqlParser.end();
+        return statement;
+    }
+
+    // Query with '?' parameters prepared without a name, as done by the Java API
+    public static PrepareStatement prepare(String query) throws SqlSyntaxException {
+        SqlParser sqlParser = new SqlParser(query);
+        PrepareStatement statement = sqlParser.prepareStatement(null);
+        sqlParser.end();
+        return statement;
+    }
+
+    public static <T extends Statement> T parse(String query, Class<T> statementClass) throws SqlSyntaxException {
+        Statement statement = parse(query);
+        if (!statementClass.isInstance(statement)) {
+            throw new SqlSyntaxException("Query is a " + statement.getQueryType().name() + " statement.");
+        }
+        return statementClass.cast(statement);
+    }
+
+    private Statement statement() throws SqlSyntaxException {
+        if (acceptKeyword("PREPARE")) {
+            String name = identifier();
+            expectKeyword("AS");
+            return prepareStatement(name);
+        }
+        if (acceptKeyword("EXECUTE")) {
+            return executeStatement();
+        }
+        if (acceptKeyword("DEALLOCATE")) {
+            acceptKeyword("PREPARE");
+            return new DeallocateStatement(query, identifier());
+        }
+        if (acceptKeyword("CREATE")) {
+            if (acceptKeyword("INDEX")) {
+                return createIndexStatement();
+            }
+            expectKeyword("TABLE");
+            return createTableStatement();
+        }
+        if (acceptKeyword("DROP")) {
+            if (acceptKeyword("INDEX")) {
+                return dropIndexStatement();
+            }
+            expectKeyword("TABLE");
+            return new DropTableStatement(query, identifier());
+        }
+        if (acceptKeyword("COPY")) {
+            return copyStatement();
+        }
+        if (acceptKeyword("TRUNCATE")) {
+            expectKeyword("TABLE");
+            return new TruncateTableStatement(query, identifier());
+        }
+        return dataStatement("statement");
+    }
+
+    // Statements that take values, only these can be prepared
+    private Statement dataStatement(String expected) throws SqlSyntaxException {
+        if (acceptKeyword("SELECT")) {
+            return selectStatement();
+        }
+        if (acceptKeyword("INSERT")) {
+            return insertStatement();
+        }
+        if (acceptKeyword("UPDATE")) {
+            return updateStatement();
+        }
+        if (acceptKeyword("DELETE")) {
+            return deleteStatement();
+        }
+        throw error(expected);
+    }
+
+    // PREPARE name AS query, where values in the query may be '?' parameters
+    private PrepareStatement prepareStatement(String name) throws SqlSyntaxException {
+        statementStartPosition = peek().getStartPosition();
+        parameterPositions = new ArrayList<>();
+        Statement statement = dataStatement("a select, insert, update or delete query");
+        return new PrepareStatement(query, name, statement, parameterPositions);
+    }
+
+    // EXECUTE name [(value, ...)]
+    private ExecuteStatement executeStatement() throws SqlSyntaxException {
+        String name = identifier();
+        List<Literal> parameters = new ArrayList<>();
+        if (accept(TokenType.LEFT_PARENTHESIS) && !accept(TokenType.RIGHT_PARENTHESIS)) {
+            do {
+                parameters.add(literal());
+            } while (accept(TokenType.COMMA));
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+        }
+        return new ExecuteStatement(query, name, parameters);
+    }
+
+    // SELECT (* | column, ...) FROM table [WHERE condition] [ORDER BY column [ASC | DESC], ...] [LIMIT count [OFFSET count]]
+    private SelectStatement selectStatement() throws SqlSyntaxException {
+        List<SelectColumn> selectColumns = null;
+        if (!accept(TokenType.ASTERISK)) {
+            selectColumns = new ArrayList<>();
+            do {
+                selectColumns.add(selectColumn());
+            } while (accept(TokenType.COMMA));
+        }
+        expectKeyword("FROM");
+        String tableName = identifier();
+        WhereClause whereClause = whereClause();
+
+        List<String> groupByColumnNames = new ArrayList<>();
+        if (acceptKeyword("GROUP")) {
+            expectKeyword("BY");
+            groupByColumnNames = identifierList();
+        }
+
+        List<OrderByColumn> orderByColumns = new ArrayList<>();
+        if (acceptKeyword("ORDER")) {
+            expectKeyword("BY");
+            do {
+                SelectColumn selectColumn = selectColumn();
+                boolean isDescending = acceptKeyword("DESC");
+                if (!isDescending) {
+                    acceptKeyword("ASC");
+                }
+                orderByColumns.add(new OrderByColumn(selectColumn, isDescending));
+            } while (accept(TokenType.COMMA));
+        }
+
+        int limit = -1;
+        int offset = 0;
+        if (acceptKeyword("LIMIT")) {
+            limit = rowCount();
+            if (acceptKeyword("OFFSET")) {
+                offset = rowCount();
+            }
+        }
+        return new SelectStatement(statementQuery(), selectColumns, tableName, whereClause, groupByColumnNames, orderByColumns, limit, offset);
+    }
+
+    // Column or aggregate of a column like SUM(SCORE), COUNT(*) counts every row
+    private SelectColumn selectColumn() throws SqlSyntaxException {
+        if (peek().getType() != TokenType.IDENTIFIER || tokens.get(position + 1).getType() != TokenType.LEFT_PARENTHESIS) {
+            return new SelectColumn(identifier(), null);
+        }
+        AggregateFunction aggregateFunction = aggregateFunction();
+        expect(TokenType.LEFT_PARENTHESIS, "'('");
+        String columnName = null;
+        if (aggregateFunction != AggregateFunction.COUNT || !accept(TokenType.ASTERISK)) {
+            columnName = identifier();
+        }
+        expect(TokenType.RIGHT_PARENTHESIS, "')'");
+        return new SelectColumn(columnName, aggregateFunction);
+    }
+
+    // INSERT INTO table [(column, ...)] VALUES (value, ...) [, (value, ...) ...]
+    private InsertStatement insertStatement() throws SqlSyntaxException {
+        expectKeyword("INTO");
+        String tableName = identifier();
+
+        List<String> columnNames = null;
+        if (accept(TokenType.LEFT_PARENTHESIS)) {
+            columnNames = new ArrayList<>();
+            if (!accept(TokenType.RIGHT_PARENTHESIS)) {
+                columnNames = identifierList();
+                expect(TokenType.RIGHT_PARENTHESIS, "')'");
+            }
+        }
+
+        expectKeyword("VALUES");
+        List<List<Literal>> rows = new ArrayList<>();
+        do {
+            rows.add(valueList());
+        } while (accept(TokenType.COMMA));
+        return new InsertStatement(statementQuery(), tableName, columnNames, rows);
+    }
+
+    private List<Literal> valueList() throws SqlSyntaxException {
+        expect(TokenType.LEFT_PARENTHESIS, "'('");
+        List<Literal> values = new ArrayList<>();
+        if (!accept(TokenType.RIGHT_PARENTHESIS)) {
+            do {
+                values.add(literal());
+            } while (accept(TokenType.COMMA));
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+        }
+        return values;
+    }
+
+    // UPDATE table SET column = value [WHERE condition]
+    private UpdateStatement updateStatement() throws SqlSyntaxException {
+        String tableName = identifier();
+        expectKeyword("SET");
+        String columnName = identifier();
+        if (comparisonOperator() != ComparisonOperator.EQUALS) {
+            throw new SqlSyntaxException("Expected '=' after column '" + columnName + "' in SET clause.");
+        }
+        Literal value = literal();
+        return new UpdateStatement(statementQuery(), tableName, columnName, value, whereClause());
+    }
+
+    // DELETE FROM table [WHERE condition]
+    private DeleteStatement deleteStatement() throws SqlSyntaxException {
+        expectKeyword("FROM");
+        String tableName = identifier();
+        return new DeleteStatement(statementQuery(), tableName, whereClause());
+    }
+
+    // COPY table [(column, ...)] FROM 'file' [HEADER]
+    private CopyStatement copyStatement() throws SqlSyntaxException {
+        // Query is not uppercased so the file name keeps its case, names are uppercased here as in every other query
+        String tableName = identifier().toUpperCase();
+
+        List<String> columnNames = null;
+        if (accept(TokenType.LEFT_PARENTHESIS)) {
+            columnNames = new ArrayList<>();
+            for (String columnName : identifierList()) {
+                columnNames.add(columnName.toUpperCase());
+            }
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+        }
+
+        expectKeyword("FROM");
+        String filePath = expect(TokenType.STRING, "a quoted file name").getText();
+        boolean hasHeader = acceptKeyword("HEADER");
+        return new CopyStatement(query, tableName, columnNames, filePath, hasHeader);
+    }
+
+    // CREATE TABLE table [NODE site] [FORMAT format] (column type [PRIMARY KEY | FOREIGN KEY REFERENCES table(column)], ...)
+    private CreateTableStatement createTableStatement() throws SqlSyntaxException {
+        String tableName = identifier();
+
+        DatabaseSite databaseSite = null;
+        if (acceptKeyword("NODE")) {
+            databaseSite = databaseSite();
+        }
+        StorageFormat storageFormat = StorageFormat.TEXT;
+        if (acceptKeyword("FORMAT")) {
+            storageFormat = storageFormat();
+        }
+
+        expect(TokenType.LEFT_PARENTHESIS, "'('");
+        List<ColumnDefinition> columnDefinitions = new ArrayList<>();
+        if (!accept(TokenType.RIGHT_PARENTHESIS)) {
+            do {
+                columnDefinitions.add(columnDefinition());
+            } while (accept(TokenType.COMMA));
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+        }
+        return new CreateTableStatement(query, tableName, databaseSite, storageFormat, columnDefinitions);
+    }
+
+    private ColumnDefinition columnDefinition() throws SqlSyntaxException {
+        int startPosition = peek().getStartPosition();
+        String columnName = identifier();
+        String typeName = identifier();
+
+        Constraint constraint = Constraint.UNKNOWN;
+        String foreignKeyTable = null;
+        String foreignKeyColumnName = null;
+        if (acceptKeyword("PRIMARY")) {
+            expectKeyword("KEY");
+            constraint = Constraint.PRIMARY_KEY;
+        } else if (acceptKeyword("FOREIGN")) {
+            expectKeyword("KEY");
+            expectKeyword("REFERENCES");
+            foreignKeyTable = identifier();
+            expect(TokenType.LEFT_PARENTHESIS, "'('");
+            foreignKeyColumnName = identifier();
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+            constraint = Constraint.FOREIGN_KEY;
+        }
+
+        String text = query.substring(startPosition, tokens.get(position - 1).getEndPosition());
+        return new ColumnDefinition(text, columnName, typeName, constraint, foreignKeyTable, foreignKeyColumnName);
+    }
+
+    // CREATE INDEX index ON table(column)
+    private CreateIndexStatement createIndexStatement() throws SqlSyntaxException {
+        String indexName = identifier();
+        expectKeyword("ON");
+        String tableName = identifier();
+        expect(TokenType.LEFT_PARENTHESIS, "'('");
+        String columnName = identifier();
+        expect(TokenType.RIGHT_PARENTHESIS, "')'");
+        return new CreateIndexStatement(query, indexName, tableName, columnName);
+    }
+
+    // DROP INDEX index [ON table]
+    private DropIndexStatement dropIndexStatement() throws SqlSyntaxException {
+        String indexName = identifier();
+        String tableName = null;
+        if (acceptKeyword("ON")) {
+            tableName = identifier();
+        }
+        return new DropIndexStatement(query, indexName, tableName);
+    }
+
+    // WHERE condition, where OR binds looser than AND and AND looser than NOT
+    private WhereClause whereClause() throws SqlSyntaxException {
+        if (!acceptKeyword("WHERE")) {
+            return null;
+        }
+        return orCondition();
+    }
+
+    private WhereClause orCondition() throws SqlSyntaxException {
+        List<WhereClause> clauses = new ArrayList<>();
+        do {
+            clauses.add(andCondition());
+        } while (acceptKeyword("OR"));
+        return clauses.size() == 1 ? clauses.get(0) : new LogicalClause(LogicalOperator.OR, clauses);
+    }
+
+    private WhereClause andCondition() throws SqlSyntaxException {
+        List<WhereClause> clauses = new ArrayList<>();
+        do {
+            clauses.add(notCondition());
+        } while (acceptKeyword("AND"));
+        return clauses.size() == 1 ? clauses.get(0) : new LogicalClause(LogicalOperator.AND, clauses);
+    }
+
+    private WhereClause notCondition() throws SqlSyntaxException {
+        if (acceptKeyword("NOT")) {
+            return new NotClause(notCondition());
+        }
+        if (accept(TokenType.LEFT_PARENTHESIS)) {
+            WhereClause clause = orCondition();
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+            return clause;
+        }
+        return columnCondition();
+    }
+
+    // column operator value | column [NOT] BETWEEN value AND value | column [NOT] IN (value, ...)
+    private WhereClause columnCondition() throws SqlSyntaxException {
+        String columnName = identifier();
+        boolean isNegated = acceptKeyword("NOT");
+
+        WhereClause clause;
+        if (acceptKeyword("BETWEEN")) {
+            Literal lowValue = literal();
+            expectKeyword("AND");
+            clause = new BetweenClause(columnName, lowValue, literal());
+        } else if (acceptKeyword("IN")) {
+            expect(TokenType.LEFT_PARENTHESIS, "'('");
+            List<Literal> values = new ArrayList<>();
+            do {
+                values.add(literal());
+            } while (accept(TokenType.COMMA));
+            expect(TokenType.RIGHT_PARENTHESIS, "')'");
+            clause = new InClause(columnName, values);
+        } else if (isNegated) {
+            throw error("'BETWEEN' or 'IN'");
+        } else {
+            ComparisonOperator comparisonOperator = comparisonOperator();
+            clause = new ComparisonClause(columnName, comparisonOperator, literal());
+        }
+        return isNegated ? new NotClause(clause) : clause;
+    }
+
+    private List<String> identifierList() throws SqlSyntaxException {
+        List<String> identifiers = new ArrayList<>();
+        do {
+            identifiers.add(identifier());
+        } while (accept(TokenType.COMMA));
+        return identifiers;
+    }
+
+    private String identifier() throws SqlSyntaxException {
+        return expect(TokenType.IDENTIFIER, "a name").getText();
+    }
+
+    private int rowCount() throws SqlSyntaxException {
+        Token token = peek();
+        if (token.getType() == TokenType.NUMBER) {
+            try {
+                int rowCount = Integer.parseInt(token.getText());
+                if (rowCount >= 0) {
+                    position++;
+                    return rowCount;
+                }
+            } catch (NumberFormatException exception) {
+                // Reported below like any other token that is not a row count
+            }
+        }
+        throw error("a row count");
+    }
+
+    private ComparisonOperator comparisonOperator() throws SqlSyntaxException {
+        Token token = peek();
+        ComparisonOperator comparisonOperator = token.getType() == TokenType.OPERATOR ? ComparisonOperator.from(token.getText()) : null;
+        if (comparisonOperator == null) {
+            throw error("a comparison operator");
+        }
+        position++;
+        return comparisonOperator;
+    }
+
+    // Unquoted names are kept as values too, so a missing quote is reported against the column type
+    private Literal literal() throws SqlSyntaxException {
+        Token token = peek();
+        if (token.getType() == TokenType.PARAMETER) {
+            if (parameterPositions == null) {
+                throw new SqlSyntaxException("Parameter '?' at position " + (token.getStartPosition() + 1) + " is only allowed in a prepared query.");
+            }
+            position++;
+            parameterPositions.add(token.getStartPosition() - statementStartPosition);
+            return Literal.parameter(parameterPositions.size() - 1);
+        }
+        if (token.getType() != TokenType.NUMBER && token.getType() != TokenType.STRING && token.getType() != TokenType.IDENTIFIER) {
+            throw error("a value");
+        }
+        position++;
+        return new Literal(token.getType(), token.getText());
+    }
+
+    private DatabaseSite databaseSite() throws SqlSyntaxException {
+        Token token = peek();
+        for (DatabaseSite databaseSite : DatabaseSite.values()) {
+            if (token.isKeyword(databaseSite.name())) {
+                position++;
+                return databaseSite;
+            }
+        }
+        throw error("a database site");
+    }
+
+    private AggregateFunction aggregateFunction() throws SqlSyntaxException {
+        Token token = peek();
+        for (AggregateFunction aggregateFunction : AggregateFunction.values()) {
+            if (token.isKeyword(aggregateFunction.name())) {
+                position++;
+                return aggregateFunction;
+            }
+        }
+        throw error("an aggregate function");
+    }
+
+    private StorageFormat storageFormat() throws SqlSyntaxException {
+        Token token = peek();
+        for (StorageFormat storageFormat : StorageFormat.values()) {
+            if (token.isKeyword(storageFormat.name())) {
+                position++;
+                return storageFormat;
+            }
+        }
+        throw error("a storage format");
+    }
+
+    private String statementQuery() {
+        return statementStartPosition == 0 ? query : query.substring(statementStartPosition);
+    }
+
+    private void end() throws SqlSyntaxException {
+        accept(TokenType.SEMICOLON);
+        expect(TokenType.END, "end of query");
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private boolean accept(TokenType type) {
+        if (peek().getType() == type) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+        if (peek().isKeyword(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private Token expect(TokenType type, String description) throws SqlSyntaxException {
+        Token token = peek();
+        if (token.getType() != type) {
+            throw error(description);
+        }
+        position++;
+        return token;
+    }
+
+    private void expectKeyword(String keyword) throws SqlSyntaxException {
+        if (!acceptKeyword(keyword)) {
+            throw error("'" + keyword + "'");
+        }
+    }
+
+    private SqlSyntaxException error(String expected) {
+        Token token = peek();
+        String found = token.getType() == TokenType.END ? "end of query" : "'" + query.substring(token.getStartPosition(), token.getEndPosition()) + "'";
+        return new SqlSyntaxException("Expected " + expected + " but found " + found + " at position " + (token.getStartPosition() + 1) + ".");
+    }
+}
@@ -0,0 +1,10 @@
+package com.group21.server.queries.parser;
+
+public class SqlSyntaxException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public SqlSyntaxException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public abstract class Statement {
+
+    private final String query;
+
+    protected Statement(String query) {
+        this.query = query;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public abstract QueryType getQueryType();
+
+    // Statements without values have no parameters and are returned as they are
+    public Statement bind(String boundQuery, List<Literal> parameters) {
+        return this;
+    }
+}
@@ -0,0 +1,37 @@
+package com.group21.server.queries.parser;
+
+public class Token {
+
+    private final TokenType type;
+    private final String text;
+    private final int startPosition;
+    private final int endPosition;
+
+    public Token(TokenType type, String text, int startPosition, int endPosition) {
+        this.type = type;
+        this.text = text;
+        this.startPosition = startPosition;
+        this.endPosition = endPosition;
+    }
+
+    public TokenType getType() {
+        return type;
+    }
+
+    // String tokens hold the text between the quotes
+    public String getText() {
+        return text;
+    }
+
+    public int getStartPosition() {
+        return startPosition;
+    }
+
+    public int getEndPosition() {
+        return endPosition;
+    }
+
+    public boolean isKeyword(String keyword) {
+        return type == TokenType.IDENTIFIER && text.equalsIgnoreCase(keyword);
+    }
+}
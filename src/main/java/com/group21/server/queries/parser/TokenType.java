@@ -0,0 +1,15 @@
+package com.group21.server.queries.parser;
+
+public enum TokenType {
+    IDENTIFIER,
+    NUMBER,
+    STRING,
+    OPERATOR,
+    COMMA,
+    LEFT_PARENTHESIS,
+    RIGHT_PARENTHESIS,
+    ASTERISK,
+    PARAMETER,
+    SEMICOLON,
+    END
+}
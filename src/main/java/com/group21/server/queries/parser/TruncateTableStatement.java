@@ -0,0 +1,22 @@
+package com.group21.server.queries.parser;
+
+import com.group21.server.models.QueryType;
+
+public class TruncateTableStatement extends Statement {
+
+    private final String tableName;
+
+    public TruncateTableStatement(String query, String tableName) {
+        super(query);
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.TRUNCATE;
+    }
+}
@@ -0,0 +1,47 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+
+import com.group21.server.models.QueryType;
+
+public class UpdateStatement extends Statement {
+
+    private final String tableName;
+    private final String columnName;
+    private final Literal value;
+    private final WhereClause whereClause;
+
+    public UpdateStatement(String query, String tableName, String columnName, Literal value, WhereClause whereClause) {
+        super(query);
+        this.tableName = tableName;
+        this.columnName = columnName;
+        this.value = value;
+        this.whereClause = whereClause;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+
+    public Literal getValue() {
+        return value;
+    }
+
+    public WhereClause getWhereClause() {
+        return whereClause;
+    }
+
+    @Override
+    public UpdateStatement bind(String boundQuery, List<Literal> parameters) {
+        return new UpdateStatement(boundQuery, tableName, columnName, value.bind(parameters), whereClause == null ? null : whereClause.bind(parameters));
+    }
+
+    @Override
+    public QueryType getQueryType() {
+        return QueryType.UPDATE;
+    }
+}
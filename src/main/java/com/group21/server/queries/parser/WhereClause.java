@@ -0,0 +1,27 @@
+package com.group21.server.queries.parser;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.RowPredicate;
+
+public abstract class WhereClause {
+
+    // Every column is passed with each value it is compared to, false as soon as the check fails for one
+    public abstract boolean checkValues(BiPredicate<String, Literal> valueCheck);
+
+    public abstract WhereClause bind(List<Literal> parameters);
+
+    // Columns are looked up by name, so the clause must have been checked against the table first
+    public abstract RowPredicate toPredicate(List<Column> columns);
+
+    protected static Column getColumn(List<Column> columns, String columnName) {
+        for (Column column : columns) {
+            if (column.getColumnName().equals(columnName)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Column '" + columnName + "' does not exist in table");
+    }
+}
@@ -0,0 +1,290 @@
+package com.group21.server.queries.prepared;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.QueryType;
+import com.group21.server.queries.constraints.ConstraintCheck;
+import com.group21.server.queries.delete.DeleteParser;
+import com.group21.server.queries.delete.DeleteQueryExecutor;
+import com.group21.server.queries.insert.InsertParser;
+import com.group21.server.queries.insert.InsertQueryExecutor;
+import com.group21.server.queries.parser.DeleteStatement;
+import com.group21.server.queries.parser.InsertStatement;
+import com.group21.server.queries.parser.Literal;
+import com.group21.server.queries.parser.PrepareStatement;
+import com.group21.server.queries.parser.SelectStatement;
+import com.group21.server.queries.parser.Statement;
+import com.group21.server.queries.parser.TokenType;
+import com.group21.server.queries.parser.UpdateStatement;
+import com.group21.server.queries.parser.WhereClause;
+import com.group21.server.queries.select.ResultCursor;
+import com.group21.server.queries.select.SelectParser;
+import com.group21.server.queries.select.SelectQueryExecutor;
+import com.group21.server.queries.update.UpdateParser;
+import com.group21.server.queries.update.UpdateQueryExecutor;
+import com.group21.server.storage.DistributedDataDictionary;
+import com.group21.server.storage.MetadataCache;
+
+public class PreparedQuery {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreparedQuery.class);
+
+    private final String name;
+    private final Statement statement;
+    private final List<Integer> parameterPositions;
+
+    // Plan made on prepare, made again only when the data dictionary or the table schema changes
+    private String tableName;
+    private DatabaseSite databaseSite;
+    private List<Column> columns;
+    private DataType[] parameterTypes;
+    private long dataDictionaryVersion;
+    private long schemaVersion;
+    private boolean isPlanValid = false;
+
+    private long executionCount = 0;
+    private long planCount = 0;
+
+    private PreparedQuery(PrepareStatement prepareStatement) {
+        this.name = prepareStatement.getName();
+        this.statement = prepareStatement.getStatement();
+        this.parameterPositions = prepareStatement.getParameterPositions();
+    }
+
+    // Null when the query can not be planned, e.g. its table or a column does not exist
+    public static PreparedQuery prepare(PrepareStatement prepareStatement) {
+        PreparedQuery preparedQuery = new PreparedQuery(prepareStatement);
+        if (!preparedQuery.plan()) {
+            return null;
+        }
+        return preparedQuery;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getQuery() {
+        return statement.getQuery();
+    }
+
+    public int getParameterCount() {
+        return parameterPositions.size();
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getPlanCount() {
+        return planCount;
+    }
+
+    // Numbers are bound as numbers and anything else as text, like values written in a query
+    public void execute(boolean isAutoCommit, Object... parameters) {
+        execute(toLiterals(parameters), isAutoCommit);
+    }
+
+    // Cursor over the rows of a prepared select, null when it is not a select or the parameters do not bind
+    public ResultCursor query(int fetchSize, Object... parameters) {
+        if (statement.getQueryType() != QueryType.SELECT) {
+            LOGGER.error("Prepared query '{}' is not a select query.", name);
+            return null;
+        }
+
+        Statement boundStatement = bind(toLiterals(parameters));
+        if (boundStatement == null) {
+            return null;
+        }
+        return new SelectQueryExecutor().open((SelectStatement) boundStatement, databaseSite, columns, fetchSize);
+    }
+
+    public void execute(List<Literal> parameters, boolean isAutoCommit) {
+        Statement boundStatement = bind(parameters);
+        if (boundStatement == null) {
+            return;
+        }
+
+        switch (boundStatement.getQueryType()) {
+            case SELECT:
+                new SelectQueryExecutor().execute((SelectStatement) boundStatement, databaseSite, columns);
+                break;
+            case INSERT:
+                new InsertQueryExecutor().execute((InsertStatement) boundStatement, databaseSite, columns, isAutoCommit);
+                break;
+            case UPDATE:
+                new UpdateQueryExecutor().execute((UpdateStatement) boundStatement, databaseSite, columns, isAutoCommit);
+                break;
+            case DELETE:
+                new DeleteQueryExecutor().execute((DeleteStatement) boundStatement, databaseSite, columns, isAutoCommit);
+                break;
+            default:
+                LOGGER.info("Provided query can not be prepared.");
+                break;
+        }
+    }
+
+    private static List<Literal> toLiterals(Object... parameters) {
+        List<Literal> parameterLiterals = new ArrayList<>(parameters.length);
+        for (Object parameter : parameters) {
+            if (parameter instanceof Literal) {
+                parameterLiterals.add((Literal) parameter);
+            } else if (parameter instanceof Number) {
+                parameterLiterals.add(new Literal(TokenType.NUMBER, parameter.toString()));
+            } else {
+                parameterLiterals.add(new Literal(TokenType.STRING, String.valueOf(parameter).toUpperCase()));
+            }
+        }
+        return parameterLiterals;
+    }
+
+    // Null when the parameters do not match the plan, which is made again first if it is out of date
+    private Statement bind(List<Literal> parameters) {
+        if (parameters.size() != parameterTypes.length) {
+            LOGGER.error("Prepared query requires {} parameters but {} were provided.", parameterTypes.length, parameters.size());
+            return null;
+        }
+
+        if (!isPlanCurrent() && !plan()) {
+            return null;
+        }
+
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameterTypes[i] != null && !parameters.get(i).isValidFor(parameterTypes[i])) {
+                LOGGER.error("Parameter {} requires value of type '{}'", i + 1, parameterTypes[i].name());
+                return null;
+            }
+        }
+
+        executionCount++;
+        return statement.bind(bindQuery(parameters), parameters);
+    }
+
+    // Both versions are kept in memory, so checking them does not touch any file
+    private boolean isPlanCurrent() {
+        return isPlanValid
+                && DistributedDataDictionary.getInstance().getVersion() == dataDictionaryVersion
+                && MetadataCache.getInstance().getSchemaVersion(databaseSite, tableName) == schemaVersion;
+    }
+
+    private boolean plan() {
+        planCount++;
+        parameterTypes = new DataType[parameterPositions.size()];
+        dataDictionaryVersion = DistributedDataDictionary.getInstance().getVersion();
+
+        switch (statement.getQueryType()) {
+            case SELECT:
+                isPlanValid = planSelect((SelectStatement) statement);
+                break;
+            case INSERT:
+                isPlanValid = planInsert((InsertStatement) statement);
+                break;
+            case UPDATE:
+                isPlanValid = planUpdate((UpdateStatement) statement);
+                break;
+            case DELETE:
+                isPlanValid = planDelete((DeleteStatement) statement);
+                break;
+            default:
+                LOGGER.info("Provided query can not be prepared.");
+                isPlanValid = false;
+                break;
+        }
+        return isPlanValid;
+    }
+
+    private boolean planSelect(SelectStatement selectStatement) {
+        SelectParser selectParser = new SelectParser();
+        if (!selectParser.isValid(selectStatement)) {
+            return false;
+        }
+        if (!resolveTable(selectStatement.getTableName(), selectParser.getDatabaseSite(selectStatement.getTableName()))) {
+            return false;
+        }
+        return setParameterType(selectStatement.getWhereClause());
+    }
+
+    private boolean planInsert(InsertStatement insertStatement) {
+        InsertParser insertParser = new InsertParser();
+        if (!resolveTable(insertStatement.getTableName(), insertParser.getDatabaseSite(insertStatement.getTableName()))) {
+            return false;
+        }
+        if (!insertParser.isValid(insertStatement, columns)) {
+            return false;
+        }
+
+        for (List<Literal> values : insertStatement.getRows()) {
+            for (int i = 0; i < values.size(); i++) {
+                String columnName = insertStatement.getColumnNames() == null ? columns.get(i).getColumnName() : insertStatement.getColumnNames().get(i);
+                if (!setParameterType(values.get(i), columnName)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean planUpdate(UpdateStatement updateStatement) {
+        if (!resolveTable(updateStatement.getTableName(), new UpdateParser().getDatabaseSite(updateStatement.getTableName()))) {
+            return false;
+        }
+        return setParameterType(updateStatement.getValue(), updateStatement.getColumnName()) && setParameterType(updateStatement.getWhereClause());
+    }
+
+    private boolean planDelete(DeleteStatement deleteStatement) {
+        if (!resolveTable(deleteStatement.getTableName(), new DeleteParser().getDatabaseSite(deleteStatement.getTableName()))) {
+            return false;
+        }
+        return setParameterType(deleteStatement.getWhereClause());
+    }
+
+    private boolean resolveTable(String tableName, DatabaseSite databaseSite) {
+        if (databaseSite == null) {
+            return false;
+        }
+        this.tableName = tableName;
+        this.databaseSite = databaseSite;
+        // Version is read before the columns, a schema change in between makes the next execution plan again
+        this.schemaVersion = MetadataCache.getInstance().getSchemaVersion(databaseSite, tableName);
+        this.columns = databaseSite.readMetadata(tableName);
+        return !columns.isEmpty();
+    }
+
+    private boolean setParameterType(WhereClause whereClause) {
+        return whereClause == null || whereClause.checkValues((columnName, value) -> setParameterType(value, columnName));
+    }
+
+    private boolean setParameterType(Literal value, String columnName) {
+        if (!ConstraintCheck.checkQueryConstraints(columns, columnName, value)) {
+            return false;
+        }
+        if (value.isParameter()) {
+            for (Column column : columns) {
+                if (column.getColumnName().equals(columnName)) {
+                    parameterTypes[value.getParameterIndex()] = column.getColumnType();
+                }
+            }
+        }
+        return true;
+    }
+
+    // Query text with the values in place of the parameters, written to the transaction file instead of the template
+    private String bindQuery(List<Literal> parameters) {
+        String query = statement.getQuery();
+        StringBuilder boundQuery = new StringBuilder(query.length());
+        int copiedLength = 0;
+        for (int i = 0; i < parameterPositions.size(); i++) {
+            int parameterPosition = parameterPositions.get(i);
+            boundQuery.append(query, copiedLength, parameterPosition).append(parameters.get(i).toSql());
+            copiedLength = parameterPosition + 1;
+        }
+        return boundQuery.append(query, copiedLength, query.length()).toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.group21.server.queries.prepared;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class PreparedQueryCache {
+
+    private static PreparedQueryCache preparedQueryCache = null;
+
+    private final Map<String, PreparedQuery> preparedQueries = new HashMap<>();
+
+    private PreparedQueryCache() {
+    }
+
+    public static synchronized PreparedQueryCache getInstance() {
+        if (preparedQueryCache == null) {
+            preparedQueryCache = new PreparedQueryCache();
+        }
+        return preparedQueryCache;
+    }
+
+    public synchronized boolean contains(String name) {
+        return preparedQueries.containsKey(name);
+    }
+
+    public synchronized PreparedQuery get(String name) {
+        return preparedQueries.get(name);
+    }
+
+    public synchronized void put(PreparedQuery preparedQuery) {
+        preparedQueries.put(preparedQuery.getName(), preparedQuery);
+    }
+
+    public synchronized boolean remove(String name) {
+        return preparedQueries.remove(name) != null;
+    }
+
+    public synchronized int getPreparedQueryCount() {
+        return preparedQueries.size();
+    }
+
+    public synchronized long getExecutionCount() {
+        long executionCount = 0;
+        for (PreparedQuery preparedQuery : preparedQueries.values()) {
+            executionCount += preparedQuery.getExecutionCount();
+        }
+        return executionCount;
+    }
+
+    public synchronized long getPlanCount() {
+        long planCount = 0;
+        for (PreparedQuery preparedQuery : preparedQueries.values()) {
+            planCount += preparedQuery.getPlanCount();
+        }
+        return planCount;
+    }
+}
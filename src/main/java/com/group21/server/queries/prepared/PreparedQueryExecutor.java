@@ -0,0 +1,71 @@
+package com.group21.server.queries.prepared;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.queries.parser.DeallocateStatement;
+import com.group21.server.queries.parser.ExecuteStatement;
+import com.group21.server.queries.parser.PrepareStatement;
+
+public class PreparedQueryExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreparedQueryExecutor.class);
+
+    private final PreparedQueryParser preparedQueryParser;
+
+    public PreparedQueryExecutor() {
+        this.preparedQueryParser = new PreparedQueryParser();
+    }
+
+    public void prepare(String query) {
+        PrepareStatement statement = preparedQueryParser.parsePrepare(query);
+        if (statement == null) {
+            return;
+        }
+
+        String name = statement.getName();
+        PreparedQueryCache preparedQueryCache = PreparedQueryCache.getInstance();
+        if (preparedQueryCache.contains(name)) {
+            LOGGER.error("Prepared query '{}' already exists.", name);
+            return;
+        }
+
+        PreparedQuery preparedQuery = PreparedQuery.prepare(statement);
+        if (preparedQuery != null) {
+            preparedQueryCache.put(preparedQuery);
+            LOGGER.info("Query '{}' prepared successfully.", name);
+
+            EventLogger.log("Query '" + name + "' prepared with " + preparedQuery.getParameterCount() + " parameters");
+        }
+    }
+
+    public void execute(String query, boolean isAutoCommit) {
+        ExecuteStatement statement = preparedQueryParser.parseExecute(query);
+        if (statement == null) {
+            return;
+        }
+
+        PreparedQuery preparedQuery = PreparedQueryCache.getInstance().get(statement.getName());
+        if (preparedQuery == null) {
+            LOGGER.error("Prepared query '{}' does not exist.", statement.getName());
+            return;
+        }
+        preparedQuery.execute(statement.getParameters(), isAutoCommit);
+    }
+
+    public void deallocate(String query) {
+        DeallocateStatement statement = preparedQueryParser.parseDeallocate(query);
+        if (statement == null) {
+            return;
+        }
+
+        if (PreparedQueryCache.getInstance().remove(statement.getName())) {
+            LOGGER.info("Prepared query '{}' deallocated successfully.", statement.getName());
+
+            EventLogger.log("Prepared query '" + statement.getName() + "' deallocated");
+        } else {
+            LOGGER.error("Prepared query '{}' does not exist.", statement.getName());
+        }
+    }
+}
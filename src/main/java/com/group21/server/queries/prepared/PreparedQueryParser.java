@@ -0,0 +1,57 @@
+package com.group21.server.queries.prepared;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.queries.parser.DeallocateStatement;
+import com.group21.server.queries.parser.ExecuteStatement;
+import com.group21.server.queries.parser.PrepareStatement;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+
+public class PreparedQueryParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreparedQueryParser.class);
+
+    public PrepareStatement parsePrepare(String query) {
+        try {
+            return SqlParser.parse(query, PrepareStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided prepare query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+
+    // Query given to the Java API, without PREPARE and a name in front of it
+    public PrepareStatement parseQuery(String query) {
+        try {
+            return SqlParser.prepare(query);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+
+    public ExecuteStatement parseExecute(String query) {
+        try {
+            return SqlParser.parse(query, ExecuteStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided execute query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+
+    public DeallocateStatement parseDeallocate(String query) {
+        try {
+            return SqlParser.parse(query, DeallocateStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided deallocate query.");
+            EventLogger.error(exception.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.group21.server.queries.select;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.group21.server.storage.RowCursor;
+
+public class ResultCursor implements AutoCloseable {
+
+    private final List<String> columnNames;
+    private final RowCursor rowCursor;
+    private final int fetchSize;
+    private int rowCount = 0;
+
+    public ResultCursor(List<String> columnNames, RowCursor rowCursor, int fetchSize) {
+        this.columnNames = columnNames;
+        this.rowCursor = rowCursor;
+        this.fetchSize = Math.max(fetchSize, 1);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    // Rows fetched so far
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public boolean hasNext() {
+        return rowCursor.hasNext();
+    }
+
+    // Next rows up to the fetch size, empty once every row is read, only this batch is held in memory
+    public List<List<String>> fetch() {
+        List<List<String>> rows = new ArrayList<>(Math.min(fetchSize, 1024));
+        while (rows.size() < fetchSize && rowCursor.hasNext()) {
+            rows.add(rowCursor.next());
+        }
+        rowCount += rows.size();
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        rowCursor.close();
+    }
+}
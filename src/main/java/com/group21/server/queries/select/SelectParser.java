@@ -4,36 +4,39 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.group21.configurations.ApplicationConfiguration;
-import com.group21.constants.CommonRegex;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.AggregateFunction;
 import com.group21.server.models.Column;
 import com.group21.server.models.DataType;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.queries.parser.OrderByColumn;
+import com.group21.server.queries.parser.SelectColumn;
+import com.group21.server.queries.parser.SelectStatement;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+import com.group21.server.queries.parser.WhereClause;
 import com.group21.utils.FileReader;
-import com.group21.utils.RegexUtil;
 
 public class SelectParser {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SelectParser.class);
 
-    private static final String SELECT_REGEX_TYPE1 = "^SELECT \\* FROM [a-zA-Z_]+;?$";
-    private static final String SELECT_REGEX_TYPE2 = "^SELECT [a-zA-Z_, ]+ FROM [a-zA-Z_]+;?$";
-    private static final String SELECT_REGEX_TYPE3 = "^SELECT \\* FROM [a-zA-Z_]+ WHERE [a-zA-Z_]+ = .+;?$";
-    private static final String SELECT_REGEX_TYPE4 = "^SELECT [a-zA-Z_, ]+ FROM [a-zA-Z_]+ WHERE [a-zA-Z_]+ = .+;?$";
-
-    public boolean isValid(String query) {
-        int queryType = getQueryType(query);
-
-        if (queryType == 0) {
-            LOGGER.error("Syntax error in provided insert into table query.");
-            return false;
+    public SelectStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, SelectStatement.class);
+        } catch (SqlSyntaxException exception) {
+            LOGGER.error("Syntax error in provided select query.");
+            EventLogger.error(exception.getMessage());
         }
+        return null;
+    }
 
-        String tableName = getTableName(query);
+    public boolean isValid(SelectStatement statement) {
+        String tableName = statement.getTableName();
 
         DatabaseSite databaseSite = getDatabaseSite(tableName);
 
@@ -47,68 +50,91 @@ public class SelectParser {
             columnNameList.add(c.getColumnName());
         }
 
-        if (queryType == 2 || queryType == 4) {
-            List<String> columnList = getColumns(query, databaseSite);
+        if (statement.isAggregate()) {
+            if (!isValidAggregate(statement, columnData, columnNameList)) {
+                return false;
+            }
+        } else {
+            if (statement.getColumnNames() != null) {
+                for (String s : statement.getColumnNames()) {
+                    if (!columnNameList.contains(s)) {
+                        LOGGER.error("Column '{}' does not exist in table '{}' ", s, tableName);
+                        return false;
+                    }
+                }
+            }
 
-            for (String s : columnList) {
-                if (!columnNameList.contains(s)) {
-                    LOGGER.error("Column '{}' does not exist in table '{}' ", s, tableName);
+            for (OrderByColumn orderByColumn : statement.getOrderByColumns()) {
+                if (!columnNameList.contains(orderByColumn.getColumnName())) {
+                    LOGGER.error("Column '{}' does not exist in table '{}' ", orderByColumn.getColumnName(), tableName);
                     return false;
                 }
             }
         }
 
-        if (queryType == 3 || queryType == 4) {
-            String conditionParameter = getConditionParameter(query);
-            String conditionValue = getConditionValue(query);
-            if (!columnNameList.contains(conditionParameter)) {
-                LOGGER.error("Column '{}' does not exist in table '{}' ", conditionParameter, tableName);
-                return false;
-            }
+        WhereClause whereClause = statement.getWhereClause();
+        if (whereClause != null) {
+            return whereClause.checkValues((conditionParameter, conditionValue) -> {
+                if (!columnNameList.contains(conditionParameter)) {
+                    LOGGER.error("Column '{}' does not exist in table '{}' ", conditionParameter, tableName);
+                    return false;
+                }
 
-            DataType conditionType = columnData.get(columnNameList.indexOf(conditionParameter)).getColumnType();
+                DataType conditionType = columnData.get(columnNameList.indexOf(conditionParameter)).getColumnType();
 
-            if (conditionType.equals(DataType.INT)) {
-                try {
-                    Integer.parseInt(conditionValue);
-                } catch (Exception e) {
-                    conditionValue = "";
-                }
-            } else if (conditionType.equals(DataType.DOUBLE)) {
-                try {
-                    Double.parseDouble(conditionValue);
-                } catch (Exception e) {
-                    conditionValue = "";
+                if (!conditionValue.isValidFor(conditionType)) {
+                    LOGGER.error("Column '{}' requires value of type '{}'", conditionParameter, conditionType.name());
+                    return false;
                 }
-            } else if (conditionType.equals(DataType.TEXT)) {
-                conditionValue = RegexUtil.getMatch(conditionValue, CommonRegex.TEXT_REGEX);
+                return true;
+            });
+        }
 
-                if (conditionValue != null) {
-                    conditionValue = conditionValue.substring(1, conditionValue.length() - 1);
-                }
-            }
+        return true;
+    }
+
+    // Selected and sorted columns must be grouped on unless they are aggregated, SUM and AVG need a number column
+    private boolean isValidAggregate(SelectStatement statement, List<Column> columnData, List<String> columnNameList) {
+        String tableName = statement.getTableName();
+        if (statement.getSelectColumns() == null) {
+            LOGGER.error("Select * can not be used with GROUP BY or aggregate functions.");
+            return false;
+        }
 
-            if (Strings.isBlank(conditionValue)) {
-                LOGGER.error("Column '{}' requires value of type '{}'", conditionParameter, conditionType.name());
+        for (String groupByColumnName : statement.getGroupByColumnNames()) {
+            if (!columnNameList.contains(groupByColumnName)) {
+                LOGGER.error("Column '{}' does not exist in table '{}' ", groupByColumnName, tableName);
                 return false;
             }
-
         }
 
-        return true;
-    }
+        List<SelectColumn> selectColumns = new ArrayList<>(statement.getSelectColumns());
+        for (OrderByColumn orderByColumn : statement.getOrderByColumns()) {
+            selectColumns.add(orderByColumn.getSelectColumn());
+        }
+        for (SelectColumn selectColumn : selectColumns) {
+            String columnName = selectColumn.getColumnName();
+            if (columnName != null && !columnNameList.contains(columnName)) {
+                LOGGER.error("Column '{}' does not exist in table '{}' ", columnName, tableName);
+                return false;
+            }
 
+            AggregateFunction aggregateFunction = selectColumn.getAggregateFunction();
+            if (aggregateFunction == null) {
+                if (!statement.getGroupByColumnNames().contains(columnName)) {
+                    LOGGER.error("Column '{}' must be in GROUP BY or used in an aggregate function", columnName);
+                    return false;
+                }
+                continue;
+            }
 
-    public String getTableName(String query) {
-        int tableNameStartIndex = query.indexOf("FROM") + 5;
-        int tableNameEndIndex = query.indexOf(" ", tableNameStartIndex);
-        if (tableNameEndIndex == -1) {
-            tableNameEndIndex = query.indexOf(";");
-            if (tableNameEndIndex == -1) {
-                tableNameEndIndex = query.length();
+            DataType columnType = columnName == null ? null : columnData.get(columnNameList.indexOf(columnName)).getColumnType();
+            if (!aggregateFunction.isValidFor(columnType)) {
+                LOGGER.error("Function '{}' can not be used on column '{}' of type '{}'", aggregateFunction.name(), columnName, columnType == null ? "*" : columnType.name());
+                return false;
             }
         }
-        return query.substring(tableNameStartIndex, tableNameEndIndex).trim();
+        return true;
     }
 
     public DatabaseSite getDatabaseSite(String tableName) {
@@ -132,57 +158,15 @@ public class SelectParser {
         }
     }
 
-    public List<String> getColumns(String query, DatabaseSite databaseSite) {
-        int columnStartIndex = query.indexOf("SELECT") + 7;
-        int columnEndIndex = query.indexOf("FROM", columnStartIndex);
-        String column = query.substring(columnStartIndex, columnEndIndex).trim();
+    public List<String> getColumns(SelectStatement statement, List<Column> columnDataList) {
         List<String> columnList = new ArrayList<>();
-        if (column.equals("*")) {
-            String tableName = getTableName(query);
-            List<Column> columnDataList = databaseSite.readMetadata(tableName);
+        if (statement.getColumnNames() == null) {
             for (Column c : columnDataList) {
                 columnList.add(c.getColumnName());
             }
         } else {
-            String[] columnArray = column.split(",");
-            for (String s : columnArray) {
-                columnList.add(s.trim());
-            }
+            columnList.addAll(statement.getColumnNames());
         }
         return columnList;
     }
-
-    public String getConditionParameter(String query) {
-        int parameterStartIndex = query.indexOf("WHERE") + 6;
-        int parameterEndIndex = query.indexOf(" ", parameterStartIndex);
-        return query.substring(parameterStartIndex, parameterEndIndex).trim();
-    }
-
-    public String getConditionValue(String query) {
-        int parameterStartIndex = query.indexOf("=") + 2;
-        int parameterEndIndex = query.indexOf(";", parameterStartIndex);
-        if (parameterEndIndex == -1) {
-            parameterEndIndex = query.length();
-        }
-        return query.substring(parameterStartIndex, parameterEndIndex).trim();
-    }
-
-    public int getQueryType(String query) {
-        String matchedQueryType1 = RegexUtil.getMatch(query, SELECT_REGEX_TYPE1);
-        String matchedQueryType2 = RegexUtil.getMatch(query, SELECT_REGEX_TYPE2);
-        String matchedQueryType3 = RegexUtil.getMatch(query, SELECT_REGEX_TYPE3);
-        String matchedQueryType4 = RegexUtil.getMatch(query, SELECT_REGEX_TYPE4);
-        if (Strings.isBlank(matchedQueryType1) && Strings.isBlank(matchedQueryType2) && Strings.isBlank(matchedQueryType3) && Strings.isBlank(matchedQueryType4)) {
-            return 0;
-        } else if (Strings.isBlank(matchedQueryType2) && Strings.isBlank(matchedQueryType3) && Strings.isBlank(matchedQueryType4)) {
-            return 1;
-        } else if (Strings.isBlank(matchedQueryType3) && Strings.isBlank(matchedQueryType4)) {
-            return 2;
-        } else if (Strings.isBlank(matchedQueryType4)) {
-            return 3;
-        } else {
-            return 4;
-        }
-    }
-
 }
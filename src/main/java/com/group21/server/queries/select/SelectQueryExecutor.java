@@ -2,13 +2,33 @@ package com.group21.server.queries.select;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.AggregateFunction;
 import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
 import com.group21.server.models.DatabaseSite;
-import com.group21.server.models.TableInfo;
+import com.group21.server.models.RowComparator;
+import com.group21.server.queries.parser.OrderByColumn;
+import com.group21.server.queries.parser.SelectColumn;
+import com.group21.server.queries.parser.SelectStatement;
+import com.group21.server.queries.parser.WhereClause;
+import com.group21.server.storage.AggregateRowCursor;
+import com.group21.server.storage.FilteredRowCursor;
+import com.group21.server.storage.LimitedRowCursor;
+import com.group21.server.storage.RowCursor;
+import com.group21.server.storage.SortedRowCursor;
+import com.group21.server.storage.TopNRowCursor;
 
 public class SelectQueryExecutor {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SelectQueryExecutor.class);
+
     private final SelectParser selectParser;
 
     public SelectQueryExecutor() {
@@ -16,82 +36,176 @@ public class SelectQueryExecutor {
     }
 
     public void execute(String query) {
-        boolean isQueryValid = selectParser.isValid(query);
-
-        if (isQueryValid) {
-            int queryType = selectParser.getQueryType(query);
-            String tableName = selectParser.getTableName(query);
-            DatabaseSite databaseSite = selectParser.getDatabaseSite(tableName);
-            List<String> columnNames = selectParser.getColumns(query, databaseSite);
+        SelectStatement statement = selectParser.parse(query);
 
-            List<List<String>> selectData = new ArrayList<>();
-            selectData.add(columnNames);
+        if (statement != null && selectParser.isValid(statement)) {
+            DatabaseSite databaseSite = selectParser.getDatabaseSite(statement.getTableName());
+            execute(statement, databaseSite, databaseSite.readMetadata(statement.getTableName()));
+        }
+    }
 
-            List<TableInfo> tableInfoList = databaseSite.readLocalDataDictionary();
-            List<String> tableNameList = new ArrayList<>();
-            for (TableInfo tableInfo : tableInfoList) {
-                tableNameList.add(tableInfo.getTableName());
+    // Runs a validated statement against the given site and table columns, prepared queries call this directly
+    public void execute(SelectStatement statement, DatabaseSite databaseSite, List<Column> allColumns) {
+        int rowCount = 0;
+        System.out.println();
+        System.out.print(String.join("|", selectParser.getColumns(statement, allColumns)));
+
+        // Rows are printed a fetch at a time as they are read, so the table never has to fit in memory
+        try (ResultCursor resultCursor = open(statement, databaseSite, allColumns, ApplicationConfiguration.SELECT_FETCH_SIZE)) {
+            List<List<String>> rows;
+            while (!(rows = resultCursor.fetch()).isEmpty()) {
+                StringBuilder output = new StringBuilder();
+                for (List<String> row : rows) {
+                    output.append(System.lineSeparator()).append(String.join("|", row));
+                }
+                System.out.print(output);
             }
-            int tableRowCount = tableInfoList.get(tableNameList.indexOf(tableName)).getNumberOfRows();
+            rowCount = resultCursor.getRowCount();
+        } catch (Exception exception) {
+            LOGGER.error("Error occurred while reading table {}.", statement.getTableName());
+            EventLogger.error(exception.getMessage());
+        }
+        System.out.println();
+        System.out.println("\n" + rowCount + " rows returned");
+    }
 
-            if (queryType == 1 || queryType == 2) {
+    // Cursor for an API caller, null when the query is not valid
+    public ResultCursor open(String query, int fetchSize) {
+        SelectStatement statement = selectParser.parse(query);
 
-                List<List<String>> columnDataList = new ArrayList<>();
-                for (String columnName : columnNames) {
-                    List<String> columnData = databaseSite.readColumnData(tableName, columnName);
-                    columnDataList.add(columnData);
-                }
+        if (statement == null || !selectParser.isValid(statement)) {
+            return null;
+        }
+        DatabaseSite databaseSite = selectParser.getDatabaseSite(statement.getTableName());
+        return open(statement, databaseSite, databaseSite.readMetadata(statement.getTableName()), fetchSize);
+    }
 
-                for (int i = 0; i < tableRowCount; i++) {
-                    List<String> rowData = new ArrayList<>();
-                    for (int j = 0; j < columnDataList.size(); j++) {
-                        rowData.add(columnDataList.get(j).get(i));
-                    }
-                    selectData.add(rowData);
+    // Table is read only as rows are fetched, so the first rows arrive without waiting for the whole result
+    public ResultCursor open(SelectStatement statement, DatabaseSite databaseSite, List<Column> allColumns, int fetchSize) {
+        String tableName = statement.getTableName();
+        List<String> columnNames = selectParser.getColumns(statement, allColumns);
+
+        // Condition on an indexed column is answered from its index by a local scan
+        WhereClause whereClause = statement.getWhereClause();
+        Predicate<List<String>> predicate = whereClause == null ? null : whereClause.toPredicate(allColumns);
+
+        // Sort columns that are not selected are read too and dropped again after the sort
+        List<OrderByColumn> orderByColumns = statement.getOrderByColumns();
+        List<String> rowColumnNames = new ArrayList<>();
+        List<DataType> rowColumnTypes = new ArrayList<>();
+        RowCursor rowCursor;
+        if (statement.isAggregate()) {
+            rowCursor = openAggregate(statement, databaseSite, allColumns, predicate, rowColumnNames, rowColumnTypes);
+        } else {
+            rowColumnNames.addAll(columnNames);
+            for (OrderByColumn orderByColumn : orderByColumns) {
+                if (!rowColumnNames.contains(orderByColumn.getColumnName())) {
+                    rowColumnNames.add(orderByColumn.getColumnName());
                 }
+            }
+            for (String rowColumnName : rowColumnNames) {
+                rowColumnTypes.add(getColumnType(rowColumnName, allColumns));
+            }
+            rowCursor = databaseSite.scan(tableName, rowColumnNames, predicate);
+        }
+
+        if (!orderByColumns.isEmpty()) {
+            RowComparator rowComparator = getRowComparator(orderByColumns, rowColumnNames, rowColumnTypes);
+            // With a limit only the rows up to it are kept while scanning, the whole table is sorted otherwise
+            long topRowCount = (long) statement.getLimit() + statement.getOffset();
+            if (statement.hasLimit() && topRowCount <= ApplicationConfiguration.TOP_N_MAX_ROWS) {
+                rowCursor = new TopNRowCursor(rowCursor, rowComparator, (int) topRowCount);
             } else {
-                List<List<String>> columnDataList = new ArrayList<>();
-                List<Column> allColumnMetadataData = databaseSite.readMetadata(tableName);
-                List<String> allColumnNames = new ArrayList<>();
+                rowCursor = new SortedRowCursor(rowCursor, rowComparator);
+            }
+        }
+        if (!rowColumnNames.equals(columnNames)) {
+            rowCursor = new FilteredRowCursor(rowCursor, columnNames, null);
+        }
+        if (statement.hasLimit()) {
+            rowCursor = new LimitedRowCursor(rowCursor, statement.getOffset(), statement.getLimit());
+        }
+        return new ResultCursor(columnNames, rowCursor, fetchSize);
+    }
 
-                for (Column c : allColumnMetadataData) {
-                    allColumnNames.add(c.getColumnName());
-                }
+    // Rows are grouped as the table is scanned, so only one row for each group is kept in memory instead of every row,
+    // the rows hold the group columns and then every aggregate that is selected or sorted on
+    private static RowCursor openAggregate(SelectStatement statement, DatabaseSite databaseSite, List<Column> allColumns, Predicate<List<String>> predicate,
+                                           List<String> rowColumnNames, List<DataType> rowColumnTypes) {
+        List<SelectColumn> aggregateColumns = new ArrayList<>();
+        List<SelectColumn> selectColumns = new ArrayList<>(statement.getSelectColumns());
+        for (OrderByColumn orderByColumn : statement.getOrderByColumns()) {
+            selectColumns.add(orderByColumn.getSelectColumn());
+        }
+        List<String> aggregateLabels = new ArrayList<>();
+        for (SelectColumn selectColumn : selectColumns) {
+            if (selectColumn.isAggregate() && !aggregateLabels.contains(selectColumn.getLabel())) {
+                aggregateColumns.add(selectColumn);
+                aggregateLabels.add(selectColumn.getLabel());
+            }
+        }
 
-                for (String columnName : allColumnNames) {
-                    List<String> columnData = databaseSite.readColumnData(tableName, columnName);
-                    columnDataList.add(columnData);
-                }
+        List<String> groupByColumnNames = new ArrayList<>();
+        for (String groupByColumnName : statement.getGroupByColumnNames()) {
+            if (!groupByColumnNames.contains(groupByColumnName)) {
+                groupByColumnNames.add(groupByColumnName);
+            }
+        }
 
-                String conditionParameter = selectParser.getConditionParameter(query);
-                String conditionValue = selectParser.getConditionValue(query).replace("'", "");
-                int conditionParameterIndex = allColumnNames.indexOf(conditionParameter);
-
-                for (int i = 0; i < tableRowCount; i++) {
-                    if (columnDataList.get(conditionParameterIndex).get(i).equals(conditionValue)) {
-                        List<String> rowData = new ArrayList<>();
-                        for (String columnName : columnNames) {
-                            int columnNameIndex = allColumnNames.indexOf(columnName);
-                            rowData.add(columnDataList.get(columnNameIndex).get(i));
-                        }
-                        selectData.add(rowData);
-                    }
-                }
+        // Only the grouped and the aggregated columns are scanned, COUNT(*) alone still needs a column to read the rows
+        List<String> scannedColumnNames = new ArrayList<>(groupByColumnNames);
+        for (SelectColumn aggregateColumn : aggregateColumns) {
+            if (aggregateColumn.getColumnName() != null && !scannedColumnNames.contains(aggregateColumn.getColumnName())) {
+                scannedColumnNames.add(aggregateColumn.getColumnName());
             }
+        }
+        if (scannedColumnNames.isEmpty()) {
+            scannedColumnNames.add(allColumns.get(0).getColumnName());
+        }
 
-            System.out.println();
-            for (int i = 0; i < selectData.size(); i++) {
-                for (int j = 0; j < selectData.get(i).size(); j++) {
-                    if (j == 0 && i > 0) {
-                        System.out.println();
-                    } else if (j > 0) {
-                        System.out.print("|");
-                    }
-                    System.out.print(selectData.get(i).get(j));
-                }
+        int[] groupPositions = new int[groupByColumnNames.size()];
+        DataType[] groupTypes = new DataType[groupByColumnNames.size()];
+        for (int i = 0; i < groupByColumnNames.size(); i++) {
+            groupPositions[i] = scannedColumnNames.indexOf(groupByColumnNames.get(i));
+            groupTypes[i] = getColumnType(groupByColumnNames.get(i), allColumns);
+            rowColumnNames.add(groupByColumnNames.get(i));
+            rowColumnTypes.add(groupTypes[i]);
+        }
+
+        int[] aggregatePositions = new int[aggregateColumns.size()];
+        AggregateFunction[] aggregateFunctions = new AggregateFunction[aggregateColumns.size()];
+        DataType[] aggregateTypes = new DataType[aggregateColumns.size()];
+        for (int i = 0; i < aggregateColumns.size(); i++) {
+            String columnName = aggregateColumns.get(i).getColumnName();
+            aggregatePositions[i] = columnName == null ? -1 : scannedColumnNames.indexOf(columnName);
+            aggregateFunctions[i] = aggregateColumns.get(i).getAggregateFunction();
+            aggregateTypes[i] = columnName == null ? null : getColumnType(columnName, allColumns);
+            rowColumnNames.add(aggregateLabels.get(i));
+            rowColumnTypes.add(aggregateFunctions[i].getResultType(aggregateTypes[i]));
+        }
+
+        RowCursor rowCursor = databaseSite.scan(statement.getTableName(), scannedColumnNames, predicate);
+        return new AggregateRowCursor(rowCursor, groupPositions, groupTypes, aggregatePositions, aggregateFunctions, aggregateTypes, new ArrayList<>(rowColumnNames));
+    }
+
+    private static RowComparator getRowComparator(List<OrderByColumn> orderByColumns, List<String> rowColumnNames, List<DataType> rowColumnTypes) {
+        int[] columnPositions = new int[orderByColumns.size()];
+        DataType[] columnTypes = new DataType[orderByColumns.size()];
+        boolean[] isDescending = new boolean[orderByColumns.size()];
+        for (int i = 0; i < orderByColumns.size(); i++) {
+            columnPositions[i] = rowColumnNames.indexOf(orderByColumns.get(i).getColumnName());
+            columnTypes[i] = rowColumnTypes.get(columnPositions[i]);
+            isDescending[i] = orderByColumns.get(i).isDescending();
+        }
+        return new RowComparator(columnPositions, columnTypes, isDescending);
+    }
+
+    private static DataType getColumnType(String columnName, List<Column> allColumns) {
+        for (Column column : allColumns) {
+            if (column.getColumnName().equals(columnName)) {
+                return column.getColumnType();
             }
-            System.out.println();
-            System.out.println("\n" + (selectData.size() - 1) + " rows returned");
         }
+        return DataType.UNKNOWN;
     }
 }
@@ -1,6 +1,7 @@
 package com.group21.server.queries.truncatetable;
 
 import com.group21.server.queries.delete.DeleteQueryExecutor;
+import com.group21.server.queries.parser.TruncateTableStatement;
 
 public class TruncateTableQueryExecutor {
 
@@ -11,10 +12,10 @@ public class TruncateTableQueryExecutor {
     }
 
     public void execute(String query) {
-        boolean isQueryValid = truncateTableParser.isValid(query);
+        TruncateTableStatement statement = truncateTableParser.parse(query);
 
-        if (isQueryValid) {
-            String tableName = truncateTableParser.getTableName(query);
+        if (statement != null) {
+            String tableName = statement.getTableName();
 
             DeleteQueryExecutor deleteQueryExecutor = new DeleteQueryExecutor();
             deleteQueryExecutor.execute("DELETE FROM " + tableName, true);
@@ -1,13 +1,12 @@
 package com.group21.server.queries.update;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,99 +14,60 @@ import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
 import com.group21.server.models.DatabaseSite;
-import com.group21.server.models.TableInfo;
 import com.group21.server.queries.constraints.ConstraintCheck;
+import com.group21.server.queries.parser.SqlParser;
+import com.group21.server.queries.parser.SqlSyntaxException;
+import com.group21.server.queries.parser.UpdateStatement;
+import com.group21.server.queries.parser.WhereClause;
+import com.group21.server.storage.RowCursor;
 import com.group21.utils.FileReader;
 import com.group21.utils.FileWriter;
-import com.group21.utils.RegexUtil;
 
 public class UpdateParser {
     private static final Logger LOGGER = LoggerFactory.getLogger(UpdateParser.class);
-    private static final String UPDATE_TABLE_REGEX = "UPDATE [a-zA-Z_]+ SET [a-zA-Z_]+ (=) [a-zA-Z0-9_']+;?";
-    private static final String UPDATE_TABLE_WHERE_REGEX = "UPDATE [a-zA-Z_]+ SET [a-zA-Z_]+ (=) [a-zA-Z0-9_']+ WHERE [a-zA-Z_]+ (=) '?[a-zA-Z0-9_]+'?;?";
-
-    public boolean isValid(String query) {
-        String matchedQuery = RegexUtil.getMatch(query, UPDATE_TABLE_REGEX);
-        String matchedWhereQuery = RegexUtil.getMatch(query, UPDATE_TABLE_WHERE_REGEX);
-        if (Strings.isBlank(matchedQuery) && Strings.isBlank(matchedWhereQuery)) {
+    public UpdateStatement parse(String query) {
+        try {
+            return SqlParser.parse(query, UpdateStatement.class);
+        } catch (SqlSyntaxException exception) {
             LOGGER.error("Syntax error in provided update query!");
-            return false;
-        }
-        return true;
-    }
-
-    public boolean isWhereConditionExists(String query) {
-        return query.matches(UPDATE_TABLE_WHERE_REGEX);
-    }
-
-    public String getTableName(String query) {
-        int indexOfFirstSpace = query.indexOf(' ');
-        int indexOfSecondSpace = query.indexOf(' ', indexOfFirstSpace + 1);
-
-        return query.substring(indexOfFirstSpace + 1, indexOfSecondSpace).trim();
-    }
-
-    private String[] getSetParameters(String query) {
-
-        if (query.matches(UPDATE_TABLE_WHERE_REGEX)) {
-            String setQuery = "";
-            int setStartIndex = query.indexOf("SET") + 4;
-            int setEndIndex = query.indexOf("WHERE") - 1;
-            setQuery = query.substring(setStartIndex, setEndIndex);
-            return setQuery.split(" ");
+            EventLogger.error(exception.getMessage());
         }
-        String[] splitBySet = query.split("SET");
-        return splitBySet[1].trim().split(" ");
+        return null;
     }
 
-    private String[] getWhereParameters(String query) {
-        String[] splitByWhere = query.split("WHERE");
-        return splitByWhere[1].trim().split(" ");
-    }
-
-    public void updateTableWhere(TableInfo tableInfo, String query, DatabaseSite databaseSite, boolean isAutoCommit) {
+    public void updateTableWhere(UpdateStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
         Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
-        String[] whereParameters = getWhereParameters(query);
-        String[] setParameters = getSetParameters(query);
-        String newValue = setParameters[2].replace(";", "");
-        String whereValue = whereParameters[2].replace(";", "");
+        WhereClause whereClause = statement.getWhereClause();
+        String setColumnName = statement.getColumnName();
+        String newValue = statement.getValue().getValue();
         try {
-            List<String> fileLines = databaseSite.readData(tableInfo.getTableName());
-            List<String> headers = Arrays.asList(fileLines.get(0).split(ApplicationConfiguration.DELIMITER_REGEX));
-            int setHeaderIndex = headers.indexOf(setParameters[0]);
-            int whereHeaderIndex = headers.indexOf(whereParameters[0]);
-            List<String> conditionalFileLines = new ArrayList<>();
-            List<String> nonConditionalLines = new ArrayList<>();
             List<String> primaryIds = new ArrayList<>();
-            fileLines.remove(0);
-
-            if (ConstraintCheck.checkQueryConstraints(tableInfo.getTableName(), setParameters[0], newValue, databaseSite) &&
-                    ConstraintCheck.checkQueryConstraints(tableInfo.getTableName(), whereParameters[0], whereValue, databaseSite)) {
 
-                whereValue = whereValue.replace("'", "");
-                List<Column> columns = databaseSite.readMetadata(tableInfo.getTableName());
+            if (ConstraintCheck.checkQueryConstraints(columns, setColumnName, statement.getValue()) &&
+                    whereClause.checkValues((columnName, value) -> ConstraintCheck.checkQueryConstraints(columns, columnName, value))) {
 
                 List<Column> filteredSetColumns =
                         columns.stream().filter(
-                                t -> t.getColumnName().equals(setParameters[0])
+                                t -> t.getColumnName().equals(setColumnName)
                         ).collect(Collectors.toList());
 
-                List<Column> filteredWhereColumns =
-                        columns.stream().filter(
-                                t -> t.getColumnName().equals(whereParameters[0])
-                        ).collect(Collectors.toList());
+                Predicate<List<String>> wherePredicate = whereClause.toPredicate(columns);
 
                 if (filteredSetColumns.get(0).getConstraint().getKeyword().equals("PRIMARY KEY")) {
-                    int primaryCount = 0;
-                    for (String line : fileLines) {
-                        primaryIds.add(line.split(ApplicationConfiguration.DELIMITER_REGEX)[setHeaderIndex]);
-                        String whereIndexValue = line.split(ApplicationConfiguration.DELIMITER_REGEX)[whereHeaderIndex];
-                        if (whereIndexValue.equalsIgnoreCase(whereValue)) {
-                            primaryCount++;
+                    try (RowCursor rowCursor = databaseSite.scan(statement.getTableName(), Collections.singletonList(setColumnName), null)) {
+                        while (rowCursor.hasNext()) {
+                            primaryIds.add(rowCursor.next().get(0));
+                        }
+                    }
+                    // Key of the matched row is read instead of taken from the condition, which may not name the key column
+                    List<String> matchedIds = new ArrayList<>();
+                    try (RowCursor rowCursor = databaseSite.scan(statement.getTableName(), Collections.singletonList(setColumnName), wherePredicate)) {
+                        while (rowCursor.hasNext()) {
+                            matchedIds.add(rowCursor.next().get(0));
                         }
                     }
 
-                    if (primaryCount > 1) {
+                    if (matchedIds.size() > 1) {
                         LOGGER.info("Update query can not be executed on primary key as where condition matches multiple rows!");
                         return;
                     }
@@ -117,10 +77,8 @@ public class UpdateParser {
                         return;
                     }
 
-                    if (filteredWhereColumns.get(0).getColumnName().equalsIgnoreCase(filteredSetColumns.get(0).getColumnName())) {
-                        if (ConstraintCheck.checkForeignKeyConstraints(tableInfo.getTableName(), Collections.singletonList(whereValue), databaseSite)) {
-                            return;
-                        }
+                    if (!matchedIds.isEmpty() && ConstraintCheck.checkForeignKeyConstraints(statement.getTableName(), matchedIds, databaseSite)) {
+                        return;
                     }
                 }
 
@@ -144,36 +102,24 @@ public class UpdateParser {
                     }
                 }
 
-                for (String line : fileLines) {
-                    String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-                    if (columnList[whereHeaderIndex].equalsIgnoreCase(whereValue)) {
-                        //For replacement
-                        newValue = newValue.replace("'", "");
+                //For replacement
+                String replacementValue = newValue;
+                int setHeaderIndex = filteredSetColumns.get(0).getColumnPosition();
 
-                        columnList[setHeaderIndex] = newValue;
-                        conditionalFileLines.add(String.join(ApplicationConfiguration.DELIMITER, columnList));
-                    } else {
-                        nonConditionalLines.add(String.join(ApplicationConfiguration.DELIMITER, columnList));
-                    }
-                }
-                int changedRows = conditionalFileLines.size();
-
-                conditionalFileLines.addAll(nonConditionalLines);
+                int changedRows;
                 if (isAutoCommit) {
-                    List<String> columnNames = columns.stream().map(Column::getColumnName).collect(Collectors.toList());
-                    databaseSite.deleteOnlyTable(tableInfo.getTableName());
-                    databaseSite.writeData(tableInfo.getTableName(), columnNames);
-
-                    for (String line : conditionalFileLines) {
-                        databaseSite.writeData(tableInfo.getTableName(), Arrays.asList(line.split(ApplicationConfiguration.DELIMITER_REGEX)));
-                    }
+                    changedRows = databaseSite.updateRows(statement.getTableName(), wherePredicate, row -> {
+                        row.set(setHeaderIndex, replacementValue);
+                        return row;
+                    });
                 } else {
-                    FileWriter.writeTransactionFile(query);
+                    changedRows = databaseSite.countRows(statement.getTableName(), wherePredicate);
+                    FileWriter.writeTransactionFile(statement.getQuery());
                 }
 
                 LOGGER.info("{} rows updated successfully!", changedRows);
 
-                EventLogger.log(changedRows + " rows updated successfully in table '" + tableInfo.getTableName() + "'");
+                EventLogger.log(changedRows + " rows updated successfully in table '" + statement.getTableName() + "'");
             }
         } catch (Exception exception) {
             LOGGER.info("Error occurred while updating the table!");
@@ -182,21 +128,14 @@ public class UpdateParser {
 
     }
 
-    public void updateTable(TableInfo tableInfo, String query, DatabaseSite databaseSite, boolean isAutoCommit) {
-        String[] setParameters = getSetParameters(query);
-        String newValue = setParameters[2].replace(";", "");
+    public void updateTable(UpdateStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
+        String setColumnName = statement.getColumnName();
+        String newValue = statement.getValue().getValue();
         try {
-            List<String> fileLines = databaseSite.readData(tableInfo.getTableName());
-            List<String> headers = Arrays.asList(fileLines.get(0).split(ApplicationConfiguration.DELIMITER_REGEX));
-            int headerIndex = headers.indexOf(setParameters[0]);
-            fileLines.remove(0);
-            List<String> writeFileLines = new ArrayList<>();
-
-            if (ConstraintCheck.checkQueryConstraints(tableInfo.getTableName(), setParameters[0], newValue, databaseSite)) {
-                List<Column> columns = databaseSite.readMetadata(tableInfo.getTableName());
+            if (ConstraintCheck.checkQueryConstraints(columns, setColumnName, statement.getValue())) {
                 List<Column> filteredColumns =
                         columns.stream().filter(
-                                t -> t.getColumnName().equals(setParameters[0])
+                                t -> t.getColumnName().equals(setColumnName)
                         ).collect(Collectors.toList());
 
                 if (filteredColumns.get(0).getConstraint().getKeyword().equals("PRIMARY KEY")) {
@@ -223,36 +162,50 @@ public class UpdateParser {
                     }
                 }
 
-                if (isAutoCommit) {
-                    for (String line : fileLines) {
-                        String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-                        //For replacement
-                        newValue = newValue.replace("'", "");
-
-                        columnList[headerIndex] = newValue;
-                        writeFileLines.add(String.join(ApplicationConfiguration.DELIMITER, columnList));
-                    }
+                //For replacement
+                String replacementValue = newValue;
+                int headerIndex = filteredColumns.get(0).getColumnPosition();
 
-                    List<String> columnNames = columns.stream().map(Column::getColumnName).collect(Collectors.toList());
-                    databaseSite.deleteOnlyTable(tableInfo.getTableName());
-                    databaseSite.writeData(tableInfo.getTableName(), columnNames);
-
-                    for (String line : writeFileLines) {
-                        databaseSite.writeData(tableInfo.getTableName(), Arrays.asList(line.split(ApplicationConfiguration.DELIMITER_REGEX)));
-                    }
+                int changedRows;
+                if (isAutoCommit) {
+                    changedRows = databaseSite.updateRows(statement.getTableName(), row -> true, row -> {
+                        row.set(headerIndex, replacementValue);
+                        return row;
+                    });
                 } else {
-                    FileWriter.writeTransactionFile(query);
+                    changedRows = databaseSite.countRows(statement.getTableName(), null);
+                    FileWriter.writeTransactionFile(statement.getQuery());
                 }
 
-                int changedRows = fileLines.size();
                 LOGGER.info("{} rows updated successfully!", changedRows);
 
-                EventLogger.log(changedRows + " rows updated successfully in table '" + tableInfo.getTableName() + "'");
+                EventLogger.log(changedRows + " rows updated successfully in table '" + statement.getTableName() + "'");
             }
         } catch (Exception exception) {
             LOGGER.info("Error occurred while updating the table!");
             EventLogger.error(exception.getMessage());
         }
     }
-}
 
+    public DatabaseSite getDatabaseSite(String tableName) {
+        Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
+
+        if (gddMap.containsKey(tableName)) {
+            DatabaseSite databaseSite = gddMap.get(tableName);
+
+            DatabaseSite databaseOperationSite = DatabaseSite.LOCAL;
+            if (databaseSite != ApplicationConfiguration.CURRENT_SITE) {
+                databaseOperationSite = DatabaseSite.REMOTE;
+            }
+
+            if (databaseOperationSite == DatabaseSite.REMOTE && ApplicationConfiguration.CURRENT_SITE == DatabaseSite.REMOTE) {
+                LOGGER.error("Table '{}' is on LOCAL site & Remote server can not connect to local machine.", tableName);
+                return null;
+            }
+            return databaseOperationSite;
+        } else {
+            LOGGER.info("Table '{}' does not exist in database!", tableName);
+            return null;
+        }
+    }
+}
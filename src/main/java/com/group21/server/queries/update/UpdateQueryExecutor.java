@@ -1,19 +1,13 @@
 package com.group21.server.queries.update;
 
 import java.util.List;
-import java.util.Map;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
 import com.group21.server.models.DatabaseSite;
 import com.group21.server.models.TableInfo;
-import com.group21.utils.FileReader;
+import com.group21.server.queries.parser.UpdateStatement;
 
 public class UpdateQueryExecutor {
-    private static final Logger LOGGER = LoggerFactory.getLogger(UpdateQueryExecutor.class);
-
     private final UpdateParser updateQueryParser;
 
     public UpdateQueryExecutor() {
@@ -21,40 +15,32 @@ public class UpdateQueryExecutor {
     }
 
     public void execute(String query, boolean isAutoCommit) {
-        boolean isValid = updateQueryParser.isValid(query);
-        if (isValid) {
-            String tableName = updateQueryParser.getTableName(query);
-
-            Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
-
-            if (gddMap.containsKey(tableName)) {
-                DatabaseSite databaseSite = gddMap.get(tableName);
-
-                DatabaseSite databaseOperationSite = DatabaseSite.LOCAL;
-                if (databaseSite != ApplicationConfiguration.CURRENT_SITE) {
-                    databaseOperationSite = DatabaseSite.REMOTE;
-                }
-
-                if (databaseOperationSite == DatabaseSite.REMOTE && ApplicationConfiguration.CURRENT_SITE == DatabaseSite.REMOTE) {
-                    LOGGER.error("Table '{}' is on LOCAL site & Remote server can not connect to local machine.", tableName);
-                    return;
-                }
-
-                List<TableInfo> tableInfoList = databaseOperationSite.readLocalDataDictionary();
-
-                for (TableInfo tableInfo : tableInfoList) {
-                    if (tableInfo.getTableName().equals(tableName)) {
-                        if (updateQueryParser.isWhereConditionExists(query)) {
-                            updateQueryParser.updateTableWhere(tableInfo, query, databaseOperationSite, isAutoCommit);
-                        } else {
-                            updateQueryParser.updateTable(tableInfo, query, databaseOperationSite, isAutoCommit);
-                        }
-                    }
-                }
-            } else {
-                LOGGER.info("Table '{}' does not exist in database!", tableName);
+        UpdateStatement statement = updateQueryParser.parse(query);
+        if (statement == null) {
+            return;
+        }
+
+        String tableName = statement.getTableName();
+        DatabaseSite databaseSite = updateQueryParser.getDatabaseSite(tableName);
+        if (databaseSite == null) {
+            return;
+        }
+
+        List<TableInfo> tableInfoList = databaseSite.readLocalDataDictionary();
+
+        for (TableInfo tableInfo : tableInfoList) {
+            if (tableInfo.getTableName().equals(tableName)) {
+                execute(statement, databaseSite, databaseSite.readMetadata(tableName), isAutoCommit);
             }
         }
     }
-}
 
+    // Runs a statement against the given site and table columns, prepared queries call this directly
+    public void execute(UpdateStatement statement, DatabaseSite databaseSite, List<Column> columns, boolean isAutoCommit) {
+        if (statement.getWhereClause() != null) {
+            updateQueryParser.updateTableWhere(statement, databaseSite, columns, isAutoCommit);
+        } else {
+            updateQueryParser.updateTable(statement, databaseSite, columns, isAutoCommit);
+        }
+    }
+}
@@ -22,8 +22,8 @@ import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DataType;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.StorageFormat;
 import com.group21.server.models.TableInfo;
-import com.group21.server.queries.createtable.CreateTableParser;
 import com.group21.utils.FileReader;
 import com.group21.utils.RemoteDatabaseReader;
 
@@ -64,7 +64,18 @@ public class SqlDumpGenerator {
             for (String tableName : tableNameList) {
                 DatabaseSite site = tableInfoMap.get(tableName);
 
-                StringBuilder queryString = new StringBuilder("CREATE TABLE " + tableName.toLowerCase() + " " + START_BRACKET);
+                TableInfo tableInfo;
+                if (site == DatabaseSite.LOCAL) {
+                    tableInfo = localTableInfoMap.get(tableName);
+                } else {
+                    tableInfo = remoteTableInfoMap.get(tableName);
+                }
+
+                StringBuilder queryString = new StringBuilder("CREATE TABLE " + tableName.toLowerCase() + " ");
+                if (tableInfo != null && tableInfo.getStorageFormat() != StorageFormat.TEXT) {
+                    queryString.append("format ").append(tableInfo.getStorageFormat().name().toLowerCase()).append(" ");
+                }
+                queryString.append(START_BRACKET);
 
                 List<Column> localColumns = new ArrayList<>();
                 if (site.equals(DatabaseSite.LOCAL)) {
@@ -109,13 +120,6 @@ public class SqlDumpGenerator {
                     }
                 }
 
-                TableInfo tableInfo;
-                if (site == DatabaseSite.LOCAL) {
-                    tableInfo = localTableInfoMap.get(tableName);
-                } else {
-                    tableInfo = remoteTableInfoMap.get(tableName);
-                }
-
                 long createdOn;
                 if (tableInfo != null) {
                     createdOn = tableInfo.getCreatedOn();
@@ -125,16 +129,20 @@ public class SqlDumpGenerator {
 
                 queryString.append(";").append(ApplicationConfiguration.NEW_LINE);
 
-                queriesByCreationDate.put(createdOn, queryString.toString());
+                for (Column column : localColumns) {
+                    if (column.getIndexName() != null) {
+                        queryString.append("CREATE INDEX ").append(column.getIndexName().toLowerCase()).append(" ON ").append(tableName.toLowerCase());
+                        queryString.append(START_BRACKET).append(column.getColumnName().toLowerCase()).append(CLOSE_BRACKET);
+                        queryString.append(";").append(ApplicationConfiguration.NEW_LINE);
+                    }
+                }
+
+                String queryComment = "-- Create table query for '" + tableName.toLowerCase() + "' table";
+                queriesByCreationDate.put(createdOn, queryComment + ApplicationConfiguration.NEW_LINE + queryString);
             }
 
             for (String query : queriesByCreationDate.values()) {
-                CreateTableParser parser = new CreateTableParser();
-                String tableName = parser.getTableName(query);
-
-                String queryComment = "-- Create table query for '" + tableName + "' table";
-
-                String queryContent = queryComment + ApplicationConfiguration.NEW_LINE + query + ApplicationConfiguration.NEW_LINE;
+                String queryContent = query + ApplicationConfiguration.NEW_LINE;
                 Files.write(sqlDumpFilePath, queryContent.getBytes(), StandardOpenOption.APPEND);
             }
 
@@ -0,0 +1,341 @@
+package com.group21.server.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Accumulator;
+import com.group21.server.models.AggregateFunction;
+import com.group21.server.models.DataType;
+import com.group21.server.models.ValueParser;
+
+// Rows hold the group values followed by the aggregate results, one row for each group
+public class AggregateRowCursor extends RowCursor {
+
+    // Rough heap size of a group key and of each value in it, besides two bytes for every character
+    private static final int KEY_OVERHEAD_BYTES = 48;
+    private static final int VALUE_OVERHEAD_BYTES = 56;
+
+    // Slot and hash of a group, the table is kept at most half full
+    private static final int TABLE_BYTES_PER_GROUP = 3 * Integer.BYTES;
+    private static final int INITIAL_TABLE_SIZE = 64;
+
+    // Each level partitions the groups again with another hash, past the last one a partition is aggregated in memory
+    private static final int MAX_SPILL_LEVEL = 4;
+
+    private final RowCursor rowCursor;
+    private final int[] groupPositions;
+    private final DataType[] groupTypes;
+    private final int[] aggregatePositions;
+    private final AggregateFunction[] aggregateFunctions;
+    private final DataType[] aggregateTypes;
+    private final List<String> columnNames;
+    private final long memoryBudget;
+    private final int partitionCount;
+    private final int spillLevel;
+
+    // Open addressing table of group number + 1, 0 for an empty slot
+    private int[] slots = new int[INITIAL_TABLE_SIZE];
+    private int[] groupHashes = new int[INITIAL_TABLE_SIZE / 2];
+    private String[][] groupKeys = new String[INITIAL_TABLE_SIZE / 2][];
+    private final Accumulator[] accumulators;
+    private int groupCount = 0;
+    private long usedBytes = 0;
+
+    private boolean isAggregated = false;
+    private int nextGroup = 0;
+
+    // Groups first seen after the budget is used up go to partitions, which are aggregated one at a time after the groups in memory
+    private boolean isSpilling = false;
+    private Path[] partitionFilePaths = null;
+    private DataOutputStream[] partitionOutputs = null;
+    private int nextPartition = 0;
+    private AggregateRowCursor partitionCursor = null;
+
+    public AggregateRowCursor(RowCursor rowCursor, int[] groupPositions, DataType[] groupTypes, int[] aggregatePositions, AggregateFunction[] aggregateFunctions, DataType[] aggregateTypes, List<String> columnNames) {
+        this(rowCursor, groupPositions, groupTypes, aggregatePositions, aggregateFunctions, aggregateTypes, columnNames,
+                ApplicationConfiguration.AGGREGATE_MEMORY_BUDGET, ApplicationConfiguration.AGGREGATE_SPILL_PARTITIONS, 0);
+    }
+
+    // Aggregate position is -1 for COUNT(*), which does not read a column
+    public AggregateRowCursor(RowCursor rowCursor, int[] groupPositions, DataType[] groupTypes, int[] aggregatePositions, AggregateFunction[] aggregateFunctions, DataType[] aggregateTypes, List<String> columnNames,
+                              long memoryBudget, int partitionCount, int spillLevel) {
+        this.rowCursor = rowCursor;
+        this.groupPositions = groupPositions;
+        this.groupTypes = groupTypes;
+        this.aggregatePositions = aggregatePositions;
+        this.aggregateFunctions = aggregateFunctions;
+        this.aggregateTypes = aggregateTypes;
+        this.columnNames = columnNames;
+        this.memoryBudget = memoryBudget;
+        this.partitionCount = Math.max(partitionCount, 2);
+        this.spillLevel = spillLevel;
+
+        this.accumulators = new Accumulator[aggregateFunctions.length];
+        for (int i = 0; i < aggregateFunctions.length; i++) {
+            accumulators[i] = aggregateFunctions[i].createAccumulator(aggregateTypes[i]);
+            accumulators[i].grow(groupKeys.length);
+        }
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    @Override
+    protected List<String> fetchRow() throws IOException {
+        if (!isAggregated) {
+            aggregate();
+            isAggregated = true;
+        }
+
+        if (nextGroup < groupCount) {
+            return getGroupRow(nextGroup++);
+        }
+        if (partitionFilePaths == null) {
+            return null;
+        }
+        // Groups in memory are all returned, so the table is released before the partitions are aggregated
+        if (groupKeys.length > 0) {
+            releaseGroups();
+        }
+
+        while (true) {
+            if (partitionCursor != null) {
+                if (partitionCursor.hasNext()) {
+                    return partitionCursor.next();
+                }
+                closePartitionCursor();
+            }
+            if (nextPartition == partitionFilePaths.length) {
+                return null;
+            }
+            Path partitionFilePath = partitionFilePaths[nextPartition++];
+            if (partitionFilePath != null) {
+                partitionCursor = new AggregateRowCursor(SpillFiles.scan(partitionFilePath, rowCursor.getColumnNames()), groupPositions, groupTypes,
+                        aggregatePositions, aggregateFunctions, aggregateTypes, columnNames, memoryBudget, partitionCount, spillLevel + 1);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        rowCursor.close();
+        if (partitionCursor != null) {
+            partitionCursor.close();
+            partitionCursor = null;
+        }
+        closePartitionOutputs();
+        if (partitionFilePaths != null) {
+            for (Path partitionFilePath : partitionFilePaths) {
+                if (partitionFilePath != null) {
+                    SpillFiles.delete(Arrays.asList(partitionFilePath));
+                }
+            }
+        }
+    }
+
+    private void aggregate() throws IOException {
+        while (rowCursor.hasNext()) {
+            List<String> row = rowCursor.next();
+            int hash = hash(row);
+            int group = findGroup(row, hash);
+            if (group < 0) {
+                if (isSpilling) {
+                    writePartitionRow(row, hash);
+                    continue;
+                }
+                group = addGroup(row, hash);
+            }
+            for (int i = 0; i < accumulators.length; i++) {
+                accumulators[i].add(group, aggregatePositions[i] < 0 ? null : row.get(aggregatePositions[i]));
+            }
+        }
+        // Input is released as soon as it is read, like a sort does before returning its rows
+        rowCursor.close();
+        closePartitionOutputs();
+
+        // Aggregates without GROUP BY return one row even for no rows, e.g. a count of 0
+        if (groupPositions.length == 0 && groupCount == 0 && spillLevel == 0) {
+            addGroup(new ArrayList<>(), hash(new ArrayList<>()));
+        }
+    }
+
+    // Group number of the row, -1 when the group is not in the table
+    private int findGroup(List<String> row, int hash) {
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int group = slots[slot] - 1;
+            if (groupHashes[group] == hash && isSameGroup(groupKeys[group], row)) {
+                return group;
+            }
+        }
+        return -1;
+    }
+
+    private int addGroup(List<String> row, int hash) {
+        int group = groupCount++;
+        if (group == groupKeys.length) {
+            int groupCapacity = groupKeys.length * 2;
+            groupKeys = Arrays.copyOf(groupKeys, groupCapacity);
+            groupHashes = Arrays.copyOf(groupHashes, groupCapacity);
+            for (Accumulator accumulator : accumulators) {
+                accumulator.grow(groupCapacity);
+            }
+        }
+        if (groupCount * 2 > slots.length) {
+            resizeTable();
+        }
+
+        String[] groupKey = new String[groupPositions.length];
+        long groupBytes = KEY_OVERHEAD_BYTES + TABLE_BYTES_PER_GROUP;
+        for (int i = 0; i < groupPositions.length; i++) {
+            groupKey[i] = row.get(groupPositions[i]);
+            groupBytes += VALUE_OVERHEAD_BYTES + 2L * groupKey[i].length();
+        }
+        for (Accumulator accumulator : accumulators) {
+            groupBytes += accumulator.getGroupSize();
+        }
+        groupKeys[group] = groupKey;
+        groupHashes[group] = hash;
+        insertSlot(group, hash);
+
+        usedBytes += groupBytes;
+        if (usedBytes > memoryBudget && groupPositions.length > 0 && spillLevel < MAX_SPILL_LEVEL) {
+            isSpilling = true;
+        }
+        return group;
+    }
+
+    private void resizeTable() {
+        slots = new int[slots.length * 2];
+        for (int group = 0; group < groupCount - 1; group++) {
+            insertSlot(group, groupHashes[group]);
+        }
+    }
+
+    private void insertSlot(int group, int hash) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = group + 1;
+    }
+
+    private List<String> getGroupRow(int group) {
+        List<String> row = new ArrayList<>(groupPositions.length + accumulators.length);
+        row.addAll(Arrays.asList(groupKeys[group]));
+        for (Accumulator accumulator : accumulators) {
+            row.add(accumulator.getResult(group));
+        }
+        return row;
+    }
+
+    private void releaseGroups() {
+        slots = new int[0];
+        groupHashes = new int[0];
+        groupKeys = new String[0][];
+        for (Accumulator accumulator : accumulators) {
+            accumulator.grow(0);
+        }
+        groupCount = 0;
+        nextGroup = 0;
+    }
+
+    // Partition is taken from the high bits of the hash, the low bits pick the slot of a group in the table
+    private void writePartitionRow(List<String> row, int hash) throws IOException {
+        if (partitionFilePaths == null) {
+            partitionFilePaths = new Path[partitionCount];
+            partitionOutputs = new DataOutputStream[partitionCount];
+        }
+        int partition = (hash >>> 16) % partitionCount;
+        if (partitionOutputs[partition] == null) {
+            partitionFilePaths[partition] = SpillFiles.create("partition");
+            partitionOutputs[partition] = SpillFiles.openOutput(partitionFilePaths[partition]);
+        }
+        SpillFiles.writeRow(partitionOutputs[partition], row);
+    }
+
+    private void closePartitionOutputs() {
+        if (partitionOutputs == null) {
+            return;
+        }
+        for (int i = 0; i < partitionOutputs.length; i++) {
+            if (partitionOutputs[i] != null) {
+                try {
+                    SpillFiles.writeEnd(partitionOutputs[i]);
+                    partitionOutputs[i].close();
+                } catch (IOException exception) {
+                    // Partition file is deleted on close, a partition that was not written fully fails when it is read
+                }
+                partitionOutputs[i] = null;
+            }
+        }
+    }
+
+    private void closePartitionCursor() {
+        partitionCursor.close();
+        partitionCursor = null;
+        SpillFiles.delete(Arrays.asList(partitionFilePaths[nextPartition - 1]));
+        partitionFilePaths[nextPartition - 1] = null;
+    }
+
+    // Numbers are hashed by value, so e.g. 5 and 5.0 of a DOUBLE column fall in the same group
+    private int hash(List<String> row) {
+        int hash = 0;
+        for (int i = 0; i < groupPositions.length; i++) {
+            hash = 31 * hash + hashValue(groupTypes[i], row.get(groupPositions[i]));
+        }
+        // Spread like the MurmurHash3 finalizer, every level mixes differently so a partition splits again when it is spilled
+        hash ^= spillLevel * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private boolean isSameGroup(String[] groupKey, List<String> row) {
+        for (int i = 0; i < groupPositions.length; i++) {
+            if (!isSameValue(groupTypes[i], groupKey[i], row.get(groupPositions[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hashValue(DataType type, String value) {
+        if (type == DataType.INT && ValueParser.isLong(value)) {
+            return Long.hashCode(ValueParser.parseLong(value));
+        }
+        if (type == DataType.DOUBLE) {
+            double number = ValueParser.parseDouble(value);
+            if (!Double.isNaN(number)) {
+                // Adding zero turns -0.0 into 0.0, which compares equal to it
+                return Double.hashCode(number + 0.0);
+            }
+        }
+        return value.hashCode();
+    }
+
+    private static boolean isSameValue(DataType type, String value, String otherValue) {
+        if (value.equals(otherValue)) {
+            return true;
+        }
+        if (type == DataType.INT) {
+            return ValueParser.isLong(value) && ValueParser.isLong(otherValue) && ValueParser.parseLong(value) == ValueParser.parseLong(otherValue);
+        }
+        if (type == DataType.DOUBLE) {
+            double number = ValueParser.parseDouble(value);
+            return !Double.isNaN(number) && number == ValueParser.parseDouble(otherValue);
+        }
+        return false;
+    }
+}
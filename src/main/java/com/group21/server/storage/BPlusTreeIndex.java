@@ -0,0 +1,667 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
+import com.group21.server.models.StorageFormat;
+
+public class BPlusTreeIndex {
+
+    public static final byte[] MAGIC = {0, 'B', 'P', 'T'};
+
+    private static final int PAGE_SIZE = ApplicationConfiguration.BTREE_PAGE_SIZE;
+    private static final int NODE_HEADER_LENGTH = Byte.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int BULK_LOAD_FILL_LENGTH = PAGE_SIZE * 9 / 10;
+
+    // Nodes holding entries of at most a quarter page can always be split into two halves that fit a page
+    private static final int MAX_ENTRY_LENGTH = (PAGE_SIZE - NODE_HEADER_LENGTH) / 4 - Short.BYTES - Integer.BYTES;
+
+    private static final Map<Path, Object> INDEX_LOCKS = new ConcurrentHashMap<>();
+
+    private BPlusTreeIndex() {
+    }
+
+    public static void build(Path dataFilePath, Column column) throws IOException {
+        Path indexFilePath = TableFiles.getIndexFilePath(dataFilePath, column.getIndexName());
+        synchronized (getLock(indexFilePath)) {
+            Header header = new Header();
+            header.keyType = column.getColumnType();
+            header.keyPosition = column.getColumnPosition();
+
+            // Stamp is taken before the scan, so a write landing during the scan makes the index stale instead of wrong
+            header.dataFileSize = Files.size(dataFilePath);
+            header.dataFileModifiedTime = Files.getLastModifiedTime(dataFilePath).toMillis();
+
+            List<byte[]> entries = new ArrayList<>();
+            try (RowCursor rowCursor = StorageFormat.detect(dataFilePath).scan(dataFilePath, null)) {
+                header.columnNames = new ArrayList<>(rowCursor.getColumnNames());
+                while (rowCursor.hasNext()) {
+                    entries.add(encodeEntry(rowCursor.next()));
+                }
+            }
+            entries.sort(getEntryComparator(header));
+            writeTree(indexFilePath, header, entries);
+        }
+    }
+
+    public static boolean isCurrent(Path dataFilePath, Column column) throws IOException {
+        Path indexFilePath = TableFiles.getIndexFilePath(dataFilePath, column.getIndexName());
+        synchronized (getLock(indexFilePath)) {
+            if (Files.notExists(indexFilePath) || Files.notExists(dataFilePath)) {
+                return false;
+            }
+
+            try (FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ)) {
+                Header header = readHeader(indexFileChannel);
+                return header != null && header.keyPosition == column.getColumnPosition()
+                        && header.dataFileSize == Files.size(dataFilePath)
+                        && header.dataFileModifiedTime == Files.getLastModifiedTime(dataFilePath).toMillis();
+            }
+        }
+    }
+
+    public static void update(Path dataFilePath, Column column, List<List<String>> removedRows, List<List<String>> addedRows) throws IOException {
+        Path indexFilePath = TableFiles.getIndexFilePath(dataFilePath, column.getIndexName());
+        synchronized (getLock(indexFilePath)) {
+            if (Files.notExists(indexFilePath)) {
+                return;
+            }
+
+            try (FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                Header header = readHeader(indexFileChannel);
+                if (header == null) {
+                    throw new IOException("Index " + indexFilePath + " is corrupt.");
+                }
+
+                for (List<String> rowData : removedRows) {
+                    if (deleteEntry(indexFileChannel, header, encodeEntry(rowData))) {
+                        header.entryCount--;
+                    }
+                }
+                for (List<String> rowData : addedRows) {
+                    insertEntry(indexFileChannel, header, encodeEntry(rowData));
+                    header.entryCount++;
+                }
+
+                header.dataFileSize = Files.size(dataFilePath);
+                header.dataFileModifiedTime = Files.getLastModifiedTime(dataFilePath).toMillis();
+                writeHeader(indexFileChannel, header);
+            }
+        }
+    }
+
+    public static RowCursor scan(Path dataFilePath, Column column, String lowKey, boolean isLowInclusive, String highKey, boolean isHighInclusive) throws IOException {
+        Path indexFilePath = TableFiles.getIndexFilePath(dataFilePath, column.getIndexName());
+        synchronized (getLock(indexFilePath)) {
+            if (!isCurrent(dataFilePath, column)) {
+                build(dataFilePath, column);
+            }
+
+            FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ);
+            try {
+                Header header = readHeader(indexFileChannel);
+                int pageNumber = header.rootPageNumber;
+                Node node = readNode(indexFileChannel, pageNumber);
+                while (!node.isLeaf) {
+                    // Duplicate keys can straddle a separator, so the descent stops at the leftmost child that may hold the low key
+                    int childIndex = 0;
+                    while (lowKey != null && childIndex < node.entries.size()) {
+                        int comparison = header.keyType.compare(getKey(node.entries.get(childIndex), header.keyPosition), lowKey);
+                        if (comparison > 0 || (comparison == 0 && isLowInclusive)) {
+                            break;
+                        }
+                        childIndex++;
+                    }
+                    pageNumber = node.getChild(childIndex);
+                    node = readNode(indexFileChannel, pageNumber);
+                }
+                return new IndexRowCursor(indexFilePath, indexFileChannel, header, node, lowKey, isLowInclusive, highKey, isHighInclusive);
+            } catch (IOException | RuntimeException exception) {
+                indexFileChannel.close();
+                throw exception;
+            }
+        }
+    }
+
+    // Entries hold the whole row, so a row too large for a node is refused before it reaches the table
+    public static void checkRow(Column column, List<String> rowData) throws IOException {
+        if (getEntryLength(rowData) > MAX_ENTRY_LENGTH) {
+            throw new IOException("Row is too large to be indexed by '" + column.getIndexName() + "', rows of indexed tables are limited to " + MAX_ENTRY_LENGTH + " bytes.");
+        }
+    }
+
+    public static void delete(Path dataFilePath, String indexName) throws IOException {
+        Path indexFilePath = TableFiles.getIndexFilePath(dataFilePath, indexName);
+        synchronized (getLock(indexFilePath)) {
+            Files.deleteIfExists(indexFilePath);
+        }
+    }
+
+    private static void insertEntry(FileChannel indexFileChannel, Header header, byte[] entry) throws IOException {
+        Comparator<byte[]> entryComparator = getEntryComparator(header);
+        List<Integer> pathPageNumbers = new ArrayList<>();
+        List<Node> pathNodes = new ArrayList<>();
+
+        int pageNumber = header.rootPageNumber;
+        Node node = readNode(indexFileChannel, pageNumber);
+        pathPageNumbers.add(pageNumber);
+        pathNodes.add(node);
+        while (!node.isLeaf) {
+            pageNumber = node.getChild(upperBound(node.entries, entry, entryComparator));
+            node = readNode(indexFileChannel, pageNumber);
+            pathPageNumbers.add(pageNumber);
+            pathNodes.add(node);
+        }
+        node.entries.add(upperBound(node.entries, entry, entryComparator), entry);
+
+        // Splits travel up the path until a node has room, a split root adds a level
+        for (int level = pathNodes.size() - 1; level >= 0; level--) {
+            node = pathNodes.get(level);
+            pageNumber = pathPageNumbers.get(level);
+            if (node.getLength() <= PAGE_SIZE) {
+                writeNode(indexFileChannel, pageNumber, node);
+                return;
+            }
+
+            int rightPageNumber = header.pageCount++;
+            Node rightNode = new Node(node.isLeaf);
+            byte[] separator = node.split(rightNode, rightPageNumber);
+            writeNode(indexFileChannel, pageNumber, node);
+            writeNode(indexFileChannel, rightPageNumber, rightNode);
+
+            if (level == 0) {
+                Node rootNode = new Node(false);
+                rootNode.link = pageNumber;
+                rootNode.entries.add(separator);
+                rootNode.children.add(rightPageNumber);
+                header.rootPageNumber = header.pageCount++;
+                writeNode(indexFileChannel, header.rootPageNumber, rootNode);
+                return;
+            }
+
+            Node parentNode = pathNodes.get(level - 1);
+            int separatorIndex = upperBound(parentNode.entries, separator, entryComparator);
+            parentNode.entries.add(separatorIndex, separator);
+            parentNode.children.add(separatorIndex, rightPageNumber);
+        }
+    }
+
+    private static boolean deleteEntry(FileChannel indexFileChannel, Header header, byte[] entry) throws IOException {
+        Comparator<byte[]> entryComparator = getEntryComparator(header);
+
+        Node node = readNode(indexFileChannel, header.rootPageNumber);
+        while (!node.isLeaf) {
+            node = readNode(indexFileChannel, node.getChild(lowerBound(node.entries, entry, entryComparator)));
+        }
+
+        // Identical rows can straddle a leaf split, so the search continues along the leaf chain
+        int pageNumber = -1;
+        while (true) {
+            for (int i = 0; i < node.entries.size(); i++) {
+                int comparison = entryComparator.compare(node.entries.get(i), entry);
+                if (comparison == 0) {
+                    node.entries.remove(i);
+                    writeNode(indexFileChannel, pageNumber == -1 ? findLeafPageNumber(indexFileChannel, header, entry, entryComparator) : pageNumber, node);
+                    return true;
+                }
+                if (comparison > 0) {
+                    return false;
+                }
+            }
+            if (node.link == 0) {
+                return false;
+            }
+            pageNumber = node.link;
+            node = readNode(indexFileChannel, pageNumber);
+        }
+    }
+
+    private static int findLeafPageNumber(FileChannel indexFileChannel, Header header, byte[] entry, Comparator<byte[]> entryComparator) throws IOException {
+        int pageNumber = header.rootPageNumber;
+        Node node = readNode(indexFileChannel, pageNumber);
+        while (!node.isLeaf) {
+            pageNumber = node.getChild(lowerBound(node.entries, entry, entryComparator));
+            node = readNode(indexFileChannel, pageNumber);
+        }
+        return pageNumber;
+    }
+
+    private static void writeTree(Path indexFilePath, Header header, List<byte[]> entries) throws IOException {
+        // Leaves are packed left to right, then each level above indexes the first entry of every node below it
+        List<Node> nodes = new ArrayList<>();
+        List<Integer> levelPageNumbers = new ArrayList<>();
+        List<byte[]> levelFirstEntries = new ArrayList<>();
+
+        Node leafNode = new Node(true);
+        for (byte[] entry : entries) {
+            if (!leafNode.entries.isEmpty() && leafNode.getLength() + Short.BYTES + entry.length > BULK_LOAD_FILL_LENGTH) {
+                leafNode = addNode(nodes, leafNode, levelPageNumbers, levelFirstEntries, new Node(true));
+            }
+            leafNode.entries.add(entry);
+        }
+        nodes.add(leafNode);
+        levelPageNumbers.add(nodes.size());
+        levelFirstEntries.add(leafNode.entries.isEmpty() ? null : leafNode.entries.get(0));
+        for (int i = 0; i + 1 < levelPageNumbers.size(); i++) {
+            nodes.get(levelPageNumbers.get(i) - 1).link = levelPageNumbers.get(i + 1);
+        }
+
+        while (levelPageNumbers.size() > 1) {
+            List<Integer> childPageNumbers = levelPageNumbers;
+            List<byte[]> childFirstEntries = levelFirstEntries;
+            levelPageNumbers = new ArrayList<>();
+            levelFirstEntries = new ArrayList<>();
+
+            Node internalNode = new Node(false);
+            internalNode.link = childPageNumbers.get(0);
+            levelFirstEntries.add(childFirstEntries.get(0));
+            for (int i = 1; i < childPageNumbers.size(); i++) {
+                byte[] separator = childFirstEntries.get(i);
+                if (internalNode.getLength() + Short.BYTES + separator.length + Integer.BYTES > BULK_LOAD_FILL_LENGTH) {
+                    nodes.add(internalNode);
+                    levelPageNumbers.add(nodes.size());
+                    internalNode = new Node(false);
+                    internalNode.link = childPageNumbers.get(i);
+                    levelFirstEntries.add(separator);
+                    continue;
+                }
+                internalNode.entries.add(separator);
+                internalNode.children.add(childPageNumbers.get(i));
+            }
+            nodes.add(internalNode);
+            levelPageNumbers.add(nodes.size());
+        }
+        header.rootPageNumber = levelPageNumbers.get(0);
+        header.pageCount = nodes.size() + 1;
+        header.entryCount = entries.size();
+
+        Path tempFilePath = TableFiles.getTempFilePath(indexFilePath);
+        try {
+            try (OutputStream indexFileStream = new BufferedOutputStream(Files.newOutputStream(tempFilePath))) {
+                indexFileStream.write(encodeHeader(header).array());
+                for (Node node : nodes) {
+                    indexFileStream.write(node.encode().array());
+                }
+            }
+            TableFiles.move(tempFilePath, indexFilePath);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+    }
+
+    private static Node addNode(List<Node> nodes, Node node, List<Integer> pageNumbers, List<byte[]> firstEntries, Node nextNode) {
+        nodes.add(node);
+        pageNumbers.add(nodes.size());
+        firstEntries.add(node.entries.get(0));
+        return nextNode;
+    }
+
+    private static int upperBound(List<byte[]> entries, byte[] entry, Comparator<byte[]> entryComparator) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entryComparator.compare(entries.get(middle), entry) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(List<byte[]> entries, byte[] entry, Comparator<byte[]> entryComparator) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entryComparator.compare(entries.get(middle), entry) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static Comparator<byte[]> getEntryComparator(Header header) {
+        // Keys are ordered by column type, ties fall back to the row bytes so every entry has a fixed place in the tree
+        return (entry, otherEntry) -> {
+            int comparison = header.keyType.compare(getKey(entry, header.keyPosition), getKey(otherEntry, header.keyPosition));
+            if (comparison != 0) {
+                return comparison;
+            }
+            return compareBytes(entry, otherEntry);
+        };
+    }
+
+    private static int compareBytes(byte[] entry, byte[] otherEntry) {
+        int length = Math.min(entry.length, otherEntry.length);
+        for (int i = 0; i < length; i++) {
+            int comparison = Integer.compare(entry[i] & 0xFF, otherEntry[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(entry.length, otherEntry.length);
+    }
+
+    private static int getEntryLength(List<String> rowData) {
+        int entryLength = Short.BYTES;
+        for (String value : rowData) {
+            entryLength += Short.BYTES + String.valueOf(value).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return entryLength;
+    }
+
+    private static byte[] encodeEntry(List<String> rowData) throws IOException {
+        List<byte[]> fields = new ArrayList<>(rowData.size());
+        int entryLength = Short.BYTES;
+        for (String value : rowData) {
+            byte[] field = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+            fields.add(field);
+            entryLength += Short.BYTES + field.length;
+        }
+        if (entryLength > MAX_ENTRY_LENGTH) {
+            throw new IOException("Row is too large to be indexed, rows of indexed tables are limited to " + MAX_ENTRY_LENGTH + " bytes.");
+        }
+
+        ByteBuffer entryBuffer = ByteBuffer.allocate(entryLength);
+        entryBuffer.putShort((short) fields.size());
+        for (byte[] field : fields) {
+            entryBuffer.putShort((short) field.length);
+            entryBuffer.put(field);
+        }
+        return entryBuffer.array();
+    }
+
+    private static List<String> decodeEntry(byte[] entry) {
+        ByteBuffer entryBuffer = ByteBuffer.wrap(entry);
+        int fieldCount = entryBuffer.getShort();
+        List<String> rowData = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            byte[] field = new byte[entryBuffer.getShort()];
+            entryBuffer.get(field);
+            rowData.add(new String(field, StandardCharsets.UTF_8));
+        }
+        return rowData;
+    }
+
+    private static String getKey(byte[] entry, int keyPosition) {
+        ByteBuffer entryBuffer = ByteBuffer.wrap(entry);
+        int fieldCount = entryBuffer.getShort();
+        for (int i = 0; i < fieldCount; i++) {
+            int fieldLength = entryBuffer.getShort();
+            if (i == keyPosition) {
+                return new String(entry, entryBuffer.position(), fieldLength, StandardCharsets.UTF_8);
+            }
+            entryBuffer.position(entryBuffer.position() + fieldLength);
+        }
+        return "";
+    }
+
+    private static Header readHeader(FileChannel indexFileChannel) throws IOException {
+        ByteBuffer headerBuffer = readPageBuffer(indexFileChannel, 0);
+        byte[] magic = new byte[MAGIC.length];
+        headerBuffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            return null;
+        }
+
+        Header header = new Header();
+        header.keyType = DataType.values()[headerBuffer.get()];
+        header.keyPosition = headerBuffer.getInt();
+        header.rootPageNumber = headerBuffer.getInt();
+        header.pageCount = headerBuffer.getInt();
+        header.entryCount = headerBuffer.getLong();
+        header.dataFileSize = headerBuffer.getLong();
+        header.dataFileModifiedTime = headerBuffer.getLong();
+
+        int columnCount = headerBuffer.getShort();
+        header.columnNames = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            byte[] columnName = new byte[headerBuffer.getShort()];
+            headerBuffer.get(columnName);
+            header.columnNames.add(new String(columnName, StandardCharsets.UTF_8));
+        }
+        return header;
+    }
+
+    private static void writeHeader(FileChannel indexFileChannel, Header header) throws IOException {
+        writePageBuffer(indexFileChannel, 0, encodeHeader(header));
+    }
+
+    private static ByteBuffer encodeHeader(Header header) {
+        ByteBuffer headerBuffer = ByteBuffer.allocate(PAGE_SIZE);
+        headerBuffer.put(MAGIC);
+        headerBuffer.put((byte) header.keyType.ordinal());
+        headerBuffer.putInt(header.keyPosition);
+        headerBuffer.putInt(header.rootPageNumber);
+        headerBuffer.putInt(header.pageCount);
+        headerBuffer.putLong(header.entryCount);
+        headerBuffer.putLong(header.dataFileSize);
+        headerBuffer.putLong(header.dataFileModifiedTime);
+
+        headerBuffer.putShort((short) header.columnNames.size());
+        for (String columnName : header.columnNames) {
+            byte[] columnNameBytes = columnName.getBytes(StandardCharsets.UTF_8);
+            headerBuffer.putShort((short) columnNameBytes.length);
+            headerBuffer.put(columnNameBytes);
+        }
+        headerBuffer.clear();
+        return headerBuffer;
+    }
+
+    private static Node readNode(FileChannel indexFileChannel, int pageNumber) throws IOException {
+        return Node.decode(readPageBuffer(indexFileChannel, pageNumber));
+    }
+
+    private static void writeNode(FileChannel indexFileChannel, int pageNumber, Node node) throws IOException {
+        writePageBuffer(indexFileChannel, pageNumber, node.encode());
+    }
+
+    private static ByteBuffer readPageBuffer(FileChannel indexFileChannel, int pageNumber) throws IOException {
+        ByteBuffer pageBuffer = ByteBuffer.allocate(PAGE_SIZE);
+        long pageOffset = (long) pageNumber * PAGE_SIZE;
+        while (pageBuffer.hasRemaining()) {
+            if (indexFileChannel.read(pageBuffer, pageOffset + pageBuffer.position()) < 0) {
+                break;
+            }
+        }
+        pageBuffer.clear();
+        return pageBuffer;
+    }
+
+    private static void writePageBuffer(FileChannel indexFileChannel, int pageNumber, ByteBuffer pageBuffer) throws IOException {
+        long pageOffset = (long) pageNumber * PAGE_SIZE;
+        while (pageBuffer.hasRemaining()) {
+            indexFileChannel.write(pageBuffer, pageOffset + pageBuffer.position());
+        }
+    }
+
+    private static Object getLock(Path indexFilePath) {
+        return INDEX_LOCKS.computeIfAbsent(indexFilePath.toAbsolutePath().normalize(), key -> new Object());
+    }
+
+    private static final class Header {
+        private DataType keyType;
+        private int keyPosition;
+        private int rootPageNumber;
+        private int pageCount;
+        private long entryCount;
+        private long dataFileSize;
+        private long dataFileModifiedTime;
+        private List<String> columnNames;
+    }
+
+    private static final class Node {
+        private final boolean isLeaf;
+        // Next leaf for leaves, leftmost child for internal nodes
+        private int link = 0;
+        private final List<byte[]> entries = new ArrayList<>();
+        private final List<Integer> children = new ArrayList<>();
+
+        private Node(boolean isLeaf) {
+            this.isLeaf = isLeaf;
+        }
+
+        private int getChild(int childIndex) {
+            return childIndex == 0 ? link : children.get(childIndex - 1);
+        }
+
+        private int getLength() {
+            int length = NODE_HEADER_LENGTH;
+            for (byte[] entry : entries) {
+                length += Short.BYTES + entry.length + (isLeaf ? 0 : Integer.BYTES);
+            }
+            return length;
+        }
+
+        private byte[] split(Node rightNode, int rightPageNumber) {
+            int halfLength = getLength() / 2;
+            int length = NODE_HEADER_LENGTH;
+            int splitIndex = 0;
+            while (splitIndex < entries.size() - 1 && length < halfLength) {
+                length += Short.BYTES + entries.get(splitIndex).length + (isLeaf ? 0 : Integer.BYTES);
+                splitIndex++;
+            }
+            splitIndex = Math.max(1, splitIndex);
+
+            byte[] separator = entries.get(splitIndex);
+            if (isLeaf) {
+                rightNode.entries.addAll(entries.subList(splitIndex, entries.size()));
+                rightNode.link = link;
+                link = rightPageNumber;
+            } else {
+                // Separator moves up, its child becomes the leftmost child of the right node
+                rightNode.link = children.get(splitIndex);
+                rightNode.entries.addAll(entries.subList(splitIndex + 1, entries.size()));
+                rightNode.children.addAll(children.subList(splitIndex + 1, children.size()));
+                children.subList(splitIndex, children.size()).clear();
+            }
+            entries.subList(splitIndex, entries.size()).clear();
+            return separator;
+        }
+
+        private ByteBuffer encode() {
+            ByteBuffer pageBuffer = ByteBuffer.allocate(PAGE_SIZE);
+            pageBuffer.put((byte) (isLeaf ? 1 : 0));
+            pageBuffer.putShort((short) entries.size());
+            pageBuffer.putInt(link);
+            for (int i = 0; i < entries.size(); i++) {
+                pageBuffer.putShort((short) entries.get(i).length);
+                pageBuffer.put(entries.get(i));
+                if (!isLeaf) {
+                    pageBuffer.putInt(children.get(i));
+                }
+            }
+            pageBuffer.clear();
+            return pageBuffer;
+        }
+
+        private static Node decode(ByteBuffer pageBuffer) {
+            Node node = new Node(pageBuffer.get() == 1);
+            int entryCount = pageBuffer.getShort();
+            node.link = pageBuffer.getInt();
+            for (int i = 0; i < entryCount; i++) {
+                byte[] entry = new byte[pageBuffer.getShort()];
+                pageBuffer.get(entry);
+                node.entries.add(entry);
+                if (!node.isLeaf) {
+                    node.children.add(pageBuffer.getInt());
+                }
+            }
+            return node;
+        }
+    }
+
+    public static final class IndexRowCursor extends RowCursor {
+
+        private final Path indexFilePath;
+        private final FileChannel indexFileChannel;
+        private final Header header;
+        private final String lowKey;
+        private final boolean isLowInclusive;
+        private final String highKey;
+        private final boolean isHighInclusive;
+
+        private Node leafNode;
+        private int entryIndex = 0;
+
+        private IndexRowCursor(Path indexFilePath, FileChannel indexFileChannel, Header header, Node leafNode, String lowKey, boolean isLowInclusive, String highKey, boolean isHighInclusive) {
+            this.indexFilePath = indexFilePath;
+            this.indexFileChannel = indexFileChannel;
+            this.header = header;
+            this.leafNode = leafNode;
+            this.lowKey = lowKey;
+            this.isLowInclusive = isLowInclusive;
+            this.highKey = highKey;
+            this.isHighInclusive = isHighInclusive;
+        }
+
+        @Override
+        public List<String> getColumnNames() {
+            return header.columnNames;
+        }
+
+        @Override
+        protected List<String> fetchRow() throws IOException {
+            while (leafNode != null) {
+                if (entryIndex >= leafNode.entries.size()) {
+                    if (leafNode.link == 0) {
+                        leafNode = null;
+                        return null;
+                    }
+                    synchronized (getLock(indexFilePath)) {
+                        leafNode = readNode(indexFileChannel, leafNode.link);
+                    }
+                    entryIndex = 0;
+                    continue;
+                }
+
+                byte[] entry = leafNode.entries.get(entryIndex++);
+                String key = getKey(entry, header.keyPosition);
+                if (lowKey != null) {
+                    int comparison = header.keyType.compare(key, lowKey);
+                    if (comparison < 0 || (comparison == 0 && !isLowInclusive)) {
+                        continue;
+                    }
+                }
+                if (highKey != null) {
+                    int comparison = header.keyType.compare(key, highKey);
+                    if (comparison > 0 || (comparison == 0 && !isHighInclusive)) {
+                        leafNode = null;
+                        return null;
+                    }
+                }
+                return decodeEntry(entry);
+            }
+            return null;
+        }
+
+        @Override
+        public void close() {
+            try {
+                indexFileChannel.close();
+            } catch (IOException exception) {
+                // Channel was only read from
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
+
+public class BinaryTableFormat {
+
+    public static final byte[] MAGIC = {0, 'B', 'I', 'N'};
+
+    private static final String NULL_VALUE = "null";
+
+    private static final byte NULL_TAG = 0;
+    private static final byte INT_TAG = 1;
+    private static final byte DOUBLE_TAG = 2;
+    private static final byte TEXT_TAG = 3;
+
+    private BinaryTableFormat() {
+    }
+
+    public static void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+        try (OutputStream dataFileStream = new BufferedOutputStream(Files.newOutputStream(dataFilePath))) {
+            dataFileStream.write(encodeHeader(columns));
+            for (List<String> rowData : rows) {
+                dataFileStream.write(encodeRow(columns, rowData));
+            }
+        } finally {
+            BufferPool.getInstance().invalidate(dataFilePath);
+        }
+    }
+
+    public static void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+        TableFiles.append(dataFilePath, encodeRow(columns, rowData));
+    }
+
+    public static void appendRows(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+        ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        for (List<String> rowData : rows) {
+            rowBytes.write(encodeRow(columns, rowData));
+        }
+        TableFiles.append(dataFilePath, rowBytes.toByteArray());
+    }
+
+    public static List<String> readLines(Path dataFilePath) throws IOException {
+        return decodeLines(BufferPool.getInstance().mapFile(dataFilePath));
+    }
+
+    public static List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+        return decodeColumn(BufferPool.getInstance().mapFile(dataFilePath), columnName);
+    }
+
+    public static RowCursor scan(Path dataFilePath) throws IOException {
+        ByteBuffer buffer = BufferPool.getInstance().mapFile(dataFilePath);
+        List<String> columnNames = readHeader(buffer);
+
+        return new RowCursor() {
+            @Override
+            public List<String> getColumnNames() {
+                return columnNames;
+            }
+
+            @Override
+            protected List<String> fetchRow() {
+                if (buffer.remaining() < Integer.BYTES) {
+                    return null;
+                }
+
+                int payloadLength = buffer.getInt();
+                int payloadEnd = buffer.position() + payloadLength;
+
+                List<String> rowData = new ArrayList<>(columnNames.size());
+                while (buffer.position() < payloadEnd) {
+                    rowData.add(readField(buffer));
+                }
+                return rowData;
+            }
+        };
+    }
+
+    public static boolean isBinary(byte[] content) {
+        if (content.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte[] encodeHeader(List<Column> columns) {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream headerStream = new DataOutputStream(headerBytes)) {
+            headerStream.write(MAGIC);
+            headerStream.writeInt(columns.size());
+            for (Column column : columns) {
+                headerStream.writeUTF(column.getColumnName());
+                headerStream.writeByte(column.getColumnType().ordinal());
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return headerBytes.toByteArray();
+    }
+
+    public static byte[] encodeRow(List<Column> columns, List<String> rowData) {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        try (DataOutputStream payloadStream = new DataOutputStream(payloadBytes)) {
+            for (int i = 0; i < rowData.size(); i++) {
+                DataType columnType = i < columns.size() ? columns.get(i).getColumnType() : DataType.TEXT;
+                writeField(payloadStream, columnType, rowData.get(i));
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        byte[] payload = payloadBytes.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + payload.length);
+        record.putInt(payload.length);
+        record.put(payload);
+        return record.array();
+    }
+
+    public static List<String> decodeLines(ByteBuffer buffer) {
+        List<String> columnNames = readHeader(buffer);
+
+        List<String> fileLines = new ArrayList<>();
+        fileLines.add(String.join(ApplicationConfiguration.DELIMITER, columnNames));
+
+        while (buffer.remaining() >= Integer.BYTES) {
+            int payloadLength = buffer.getInt();
+            int payloadEnd = buffer.position() + payloadLength;
+
+            StringJoiner rowJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
+            while (buffer.position() < payloadEnd) {
+                rowJoiner.add(readField(buffer));
+            }
+            fileLines.add(rowJoiner.toString());
+        }
+        return fileLines;
+    }
+
+    public static List<String> decodeColumn(ByteBuffer buffer, String columnName) {
+        List<String> columnNames = readHeader(buffer);
+        int index = Math.max(columnNames.indexOf(columnName), 0);
+
+        List<String> columnDataList = new ArrayList<>();
+        while (buffer.remaining() >= Integer.BYTES) {
+            int payloadLength = buffer.getInt();
+            int payloadEnd = buffer.position() + payloadLength;
+
+            for (int i = 0; i < index; i++) {
+                skipField(buffer);
+            }
+            columnDataList.add(readField(buffer));
+
+            buffer.position(payloadEnd);
+        }
+        return columnDataList;
+    }
+
+    private static List<String> readHeader(ByteBuffer buffer) {
+        buffer.position(MAGIC.length);
+        int columnCount = buffer.getInt();
+
+        List<String> columnNames = new ArrayList<>();
+        for (int i = 0; i < columnCount; i++) {
+            int nameLength = buffer.getShort() & 0xFFFF;
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(nameBytes);
+            columnNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+            buffer.get();
+        }
+        return columnNames;
+    }
+
+    static void writeField(DataOutputStream payloadStream, DataType columnType, String value) throws IOException {
+        if (NULL_VALUE.equals(value)) {
+            payloadStream.writeByte(NULL_TAG);
+            return;
+        }
+
+        // Native encodings are only used when decoding gives back the exact same text
+        if (columnType == DataType.INT) {
+            try {
+                int intValue = Integer.parseInt(value);
+                if (Integer.toString(intValue).equals(value)) {
+                    payloadStream.writeByte(INT_TAG);
+                    payloadStream.writeInt(intValue);
+                    return;
+                }
+            } catch (NumberFormatException exception) {
+                // Stored as text below
+            }
+        } else if (columnType == DataType.DOUBLE) {
+            try {
+                double doubleValue = Double.parseDouble(value);
+                if (Double.toString(doubleValue).equals(value)) {
+                    payloadStream.writeByte(DOUBLE_TAG);
+                    payloadStream.writeDouble(doubleValue);
+                    return;
+                }
+            } catch (NumberFormatException exception) {
+                // Stored as text below
+            }
+        }
+
+        byte[] textBytes = value.getBytes(StandardCharsets.UTF_8);
+        payloadStream.writeByte(TEXT_TAG);
+        payloadStream.writeInt(textBytes.length);
+        payloadStream.write(textBytes);
+    }
+
+    static String readField(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL_TAG:
+                return NULL_VALUE;
+            case INT_TAG:
+                return Integer.toString(buffer.getInt());
+            case DOUBLE_TAG:
+                return Double.toString(buffer.getDouble());
+            default:
+                byte[] textBytes = new byte[buffer.getInt()];
+                buffer.get(textBytes);
+                return new String(textBytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    static void skipField(ByteBuffer buffer) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case NULL_TAG:
+                break;
+            case INT_TAG:
+                buffer.position(buffer.position() + Integer.BYTES);
+                break;
+            case DOUBLE_TAG:
+                buffer.position(buffer.position() + Double.BYTES);
+                break;
+            default:
+                int textLength = buffer.getInt();
+                buffer.position(buffer.position() + textLength);
+                break;
+        }
+    }
+}
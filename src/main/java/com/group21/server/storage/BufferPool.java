@@ -0,0 +1,261 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.group21.configurations.ApplicationConfiguration;
+
+public class BufferPool {
+
+    // Largest file a byte array or a mapped buffer can hold
+    private static final long MAX_READ_SIZE = Integer.MAX_VALUE - 8;
+
+    private static BufferPool bufferPool = null;
+
+    private final int pageSize;
+    private final int capacity;
+    private final long memoryMappedThreshold;
+    private final Map<PageKey, byte[]> pages;
+    private final Map<Path, Long> fileSizes = new HashMap<>();
+    private final Map<Path, MappedByteBuffer> mappedFiles = new HashMap<>();
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+    private long mapCount = 0;
+
+    private BufferPool(int pageSize, int capacity, long memoryMappedThreshold) {
+        this.pageSize = pageSize;
+        this.capacity = capacity;
+        this.memoryMappedThreshold = memoryMappedThreshold;
+        // Access ordered map gives us LRU eviction of the least recently used page
+        this.pages = new LinkedHashMap<PageKey, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PageKey, byte[]> eldest) {
+                if (size() > BufferPool.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static synchronized BufferPool getInstance() {
+        if (bufferPool == null) {
+            bufferPool = new BufferPool(ApplicationConfiguration.BUFFER_POOL_PAGE_SIZE, ApplicationConfiguration.BUFFER_POOL_CAPACITY, ApplicationConfiguration.MEMORY_MAPPED_READ_THRESHOLD);
+        }
+        return bufferPool;
+    }
+
+    public synchronized byte[] readFile(Path filePath) throws IOException {
+        Path file = filePath.toAbsolutePath().normalize();
+        long fileSize = getFileSize(file);
+        checkReadSize(file, fileSize);
+
+        byte[] content = new byte[(int) fileSize];
+        int numberOfPages = getNumberOfPages(fileSize);
+
+        try (PageReader pageReader = new PageReader(file, fileSize)) {
+            for (int pageNumber = 0; pageNumber < numberOfPages; pageNumber++) {
+                byte[] page = getPage(pageReader, pageNumber);
+                System.arraycopy(page, 0, content, pageNumber * pageSize, page.length);
+            }
+        }
+        return content;
+    }
+
+    public synchronized byte[] readPage(Path filePath, int pageNumber) throws IOException {
+        Path file = filePath.toAbsolutePath().normalize();
+        long fileSize = getFileSize(file);
+
+        if (pageNumber >= getNumberOfPages(fileSize)) {
+            return new byte[0];
+        }
+
+        try (PageReader pageReader = new PageReader(file, fileSize)) {
+            return getPage(pageReader, pageNumber);
+        }
+    }
+
+    public synchronized ByteBuffer mapFile(Path filePath) throws IOException {
+        Path file = filePath.toAbsolutePath().normalize();
+        long fileSize = getFileSize(file);
+
+        // Small files stay in the page cache, large ones are mapped so a full scan does not flush every cached page
+        if (fileSize < memoryMappedThreshold) {
+            return ByteBuffer.wrap(readFile(file));
+        }
+
+        MappedByteBuffer mappedFile = mappedFiles.get(file);
+        if (mappedFile == null) {
+            checkReadSize(file, fileSize);
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mappedFile = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            }
+            mappedFiles.put(file, mappedFile);
+            mapCount++;
+        }
+        return mappedFile.duplicate();
+    }
+
+    public List<String> readAllLines(Path filePath) throws IOException {
+        return TextTableFormat.decodeLines(readFile(filePath));
+    }
+
+    public synchronized void invalidate(Path filePath) {
+        invalidate(filePath, 0);
+    }
+
+    public synchronized void invalidate(Path filePath, long fromOffset) {
+        Path file = filePath.toAbsolutePath().normalize();
+        mappedFiles.remove(file);
+
+        // Pages before the changed offset are still valid, e.g. when a row is appended to a table
+        int firstPageNumber = (int) (fromOffset / pageSize);
+        Long fileSize = fileSizes.remove(file);
+        if (fileSize == null) {
+            // Size was dropped by an earlier invalidation, pages before that offset can still be cached
+            pages.keySet().removeIf(pageKey -> pageKey.file.equals(file) && pageKey.pageNumber >= firstPageNumber);
+            return;
+        }
+
+        int numberOfPages = getNumberOfPages(fileSize);
+        for (int pageNumber = firstPageNumber; pageNumber < numberOfPages; pageNumber++) {
+            pages.remove(new PageKey(file, pageNumber));
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        mappedFiles.clear();
+        fileSizes.clear();
+        pages.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int getCachedPageCount() {
+        return pages.size();
+    }
+
+    public synchronized long getMapCount() {
+        return mapCount;
+    }
+
+    private int getNumberOfPages(long fileSize) {
+        return (int) ((fileSize + pageSize - 1) / pageSize);
+    }
+
+    // Fails like a file that can not be read, so callers that catch IOException also handle a table of 2GB or more
+    private static void checkReadSize(Path file, long fileSize) throws IOException {
+        if (fileSize > MAX_READ_SIZE) {
+            throw new IOException("File '" + file + "' of " + fileSize + " bytes is too large to be read at once.");
+        }
+    }
+
+    private long getFileSize(Path file) throws IOException {
+        Long fileSize = fileSizes.get(file);
+        if (fileSize == null) {
+            fileSize = Files.size(file);
+            fileSizes.put(file, fileSize);
+        }
+        return fileSize;
+    }
+
+    private byte[] getPage(PageReader pageReader, int pageNumber) throws IOException {
+        PageKey pageKey = new PageKey(pageReader.file, pageNumber);
+        byte[] page = pages.get(pageKey);
+
+        if (page == null) {
+            missCount++;
+            page = pageReader.read(pageNumber);
+            pages.put(pageKey, page);
+        } else {
+            hitCount++;
+        }
+        return page;
+    }
+
+    private final class PageReader implements AutoCloseable {
+        private final Path file;
+        private final long fileSize;
+        private FileChannel fileChannel = null;
+
+        private PageReader(Path file, long fileSize) {
+            this.file = file;
+            this.fileSize = fileSize;
+        }
+
+        private byte[] read(int pageNumber) throws IOException {
+            if (fileChannel == null) {
+                fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+            }
+
+            long pageStart = (long) pageNumber * pageSize;
+            int pageLength = (int) Math.min(pageSize, fileSize - pageStart);
+
+            ByteBuffer pageBuffer = ByteBuffer.allocate(pageLength);
+            while (pageBuffer.hasRemaining()) {
+                int bytesRead = fileChannel.read(pageBuffer, pageStart + pageBuffer.position());
+                if (bytesRead == -1) {
+                    break;
+                }
+            }
+            return pageBuffer.array();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileChannel != null) {
+                fileChannel.close();
+            }
+        }
+    }
+
+    private static final class PageKey {
+        private final Path file;
+        private final int pageNumber;
+
+        private PageKey(Path file, int pageNumber) {
+            this.file = file;
+            this.pageNumber = pageNumber;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof PageKey)) {
+                return false;
+            }
+            PageKey pageKey = (PageKey) other;
+            return pageNumber == pageKey.pageNumber && file.equals(pageKey.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, pageNumber);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.StorageFormat;
+import com.group21.server.models.TableInfo;
+
+public class Catalog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Catalog.class);
+
+    private static final String HEADER_ROW = "TableName|NumberOfRows|CreatedOn|StorageFormat";
+
+    private static Catalog catalog = null;
+
+    private final Path localDDFilePath;
+    private final Map<String, TableInfo> tables = new LinkedHashMap<>();
+    // Row count changes not yet written to the data dictionary file
+    private final Map<String, Integer> pendingRowCounts = new HashMap<>();
+    private long loadedFileSize = -1;
+    private long loadedFileModifiedTime = -1;
+
+    private ScheduledExecutorService flushExecutor = null;
+    private boolean isFlushScheduled = false;
+
+    private Catalog() {
+        this.localDDFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushQuietly, "catalog-shutdown"));
+    }
+
+    public static synchronized Catalog getInstance() {
+        if (catalog == null) {
+            catalog = new Catalog();
+        }
+        return catalog;
+    }
+
+    public synchronized List<TableInfo> getTables() throws IOException {
+        refresh();
+        List<TableInfo> tableInfoList = new ArrayList<>();
+        for (TableInfo tableInfo : tables.values()) {
+            TableInfo tableInfoCopy = copy(tableInfo);
+            tableInfoCopy.setNumberOfRows(tableInfo.getNumberOfRows() + pendingRowCounts.getOrDefault(tableInfo.getTableName(), 0));
+            tableInfoList.add(tableInfoCopy);
+        }
+        return tableInfoList;
+    }
+
+    // Table changes are rare and written straight away, only row counts wait for the next flush
+    public synchronized void putTable(TableInfo tableInfo) throws IOException {
+        refresh();
+        tables.put(tableInfo.getTableName(), copy(tableInfo));
+        pendingRowCounts.remove(tableInfo.getTableName());
+        write();
+    }
+
+    public synchronized void removeTable(String tableName) throws IOException {
+        refresh();
+        tables.remove(tableName);
+        pendingRowCounts.remove(tableName);
+        write();
+    }
+
+    public synchronized void adjustRowCount(String tableName, int rowCountChange) {
+        pendingRowCounts.merge(tableName, rowCountChange, Integer::sum);
+        scheduleFlush();
+    }
+
+    public synchronized void setRowCount(String tableName, int rowCount) throws IOException {
+        refresh();
+        TableInfo tableInfo = tables.get(tableName);
+        if (tableInfo == null) {
+            return;
+        }
+        tableInfo.setNumberOfRows(rowCount);
+        pendingRowCounts.remove(tableName);
+        write();
+    }
+
+    public synchronized void flush() throws IOException {
+        if (pendingRowCounts.isEmpty()) {
+            return;
+        }
+        refresh();
+        write();
+    }
+
+    private void write() throws IOException {
+        for (Map.Entry<String, Integer> pendingRowCount : pendingRowCounts.entrySet()) {
+            TableInfo tableInfo = tables.get(pendingRowCount.getKey());
+            if (tableInfo != null) {
+                tableInfo.setNumberOfRows(tableInfo.getNumberOfRows() + pendingRowCount.getValue());
+            }
+        }
+        pendingRowCounts.clear();
+
+        StringBuilder tableInfoDetails = new StringBuilder(HEADER_ROW).append(ApplicationConfiguration.NEW_LINE);
+        for (TableInfo tableInfo : tables.values()) {
+            StringJoiner tableInfoJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
+            tableInfoJoiner.add(tableInfo.getTableName());
+            tableInfoJoiner.add(String.valueOf(tableInfo.getNumberOfRows()));
+            tableInfoJoiner.add(String.valueOf(tableInfo.getCreatedOn()));
+            tableInfoJoiner.add(tableInfo.getStorageFormat().name());
+            tableInfoDetails.append(tableInfoJoiner.toString()).append(ApplicationConfiguration.NEW_LINE);
+        }
+
+        // Snapshot is synced before it replaces the old file, so a crash leaves one complete dictionary behind
+        Path tempFilePath = TableFiles.getTempFilePath(localDDFilePath);
+        try {
+            Files.write(tempFilePath, tableInfoDetails.toString().getBytes());
+            try (FileChannel tempFileChannel = FileChannel.open(tempFilePath, StandardOpenOption.WRITE)) {
+                tempFileChannel.force(true);
+            }
+            TableFiles.move(tempFilePath, localDDFilePath);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+        loadedFileSize = Files.size(localDDFilePath);
+        loadedFileModifiedTime = Files.getLastModifiedTime(localDDFilePath).toMillis();
+    }
+
+    private void refresh() throws IOException {
+        // File written by someone else, e.g. the other site, is loaded again and pending row counts stay on top of it
+        long fileSize = Files.exists(localDDFilePath) ? Files.size(localDDFilePath) : -1;
+        long fileModifiedTime = fileSize == -1 ? -1 : Files.getLastModifiedTime(localDDFilePath).toMillis();
+        if (fileSize == loadedFileSize && fileModifiedTime == loadedFileModifiedTime) {
+            return;
+        }
+
+        tables.clear();
+        if (fileSize != -1) {
+            List<String> fileLines = Files.readAllLines(localDDFilePath);
+            for (String line : fileLines.subList(Math.min(1, fileLines.size()), fileLines.size())) {
+                String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
+
+                TableInfo tableInfo = new TableInfo();
+                tableInfo.setTableName(columnList[0]);
+                tableInfo.setNumberOfRows(Integer.parseInt(columnList[1]));
+                tableInfo.setCreatedOn(Long.parseLong(columnList[2]));
+                if (columnList.length > 3) {
+                    tableInfo.setStorageFormat(StorageFormat.from(columnList[3]));
+                }
+
+                tables.put(tableInfo.getTableName(), tableInfo);
+            }
+        }
+        loadedFileSize = fileSize;
+        loadedFileModifiedTime = fileModifiedTime;
+    }
+
+    private void scheduleFlush() {
+        if (isFlushScheduled) {
+            return;
+        }
+
+        if (flushExecutor == null) {
+            flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread flushThread = new Thread(runnable, "catalog-flusher");
+                flushThread.setDaemon(true);
+                return flushThread;
+            });
+        }
+        flushExecutor.schedule(this::flushQuietly, ApplicationConfiguration.CATALOG_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        isFlushScheduled = true;
+    }
+
+    private synchronized void flushQuietly() {
+        isFlushScheduled = false;
+        try {
+            flush();
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while writing local data dictionary.");
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    private static TableInfo copy(TableInfo tableInfo) {
+        TableInfo tableInfoCopy = new TableInfo();
+        tableInfoCopy.setTableName(tableInfo.getTableName());
+        tableInfoCopy.setNumberOfRows(tableInfo.getNumberOfRows());
+        tableInfoCopy.setCreatedOn(tableInfo.getCreatedOn());
+        tableInfoCopy.setStorageFormat(tableInfo.getStorageFormat());
+        return tableInfoCopy;
+    }
+}
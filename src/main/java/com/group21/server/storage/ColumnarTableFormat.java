@@ -0,0 +1,330 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
+
+public class ColumnarTableFormat {
+
+    public static final byte[] MAGIC = {0, 'C', 'O', 'L'};
+
+    private static final int ROW_COUNT_OFFSET = MAGIC.length;
+    private static final int COLUMN_COUNT_OFFSET = ROW_COUNT_OFFSET + Integer.BYTES;
+    private static final int COLUMN_LENGTHS_OFFSET = COLUMN_COUNT_OFFSET + Integer.BYTES;
+
+    private ColumnarTableFormat() {
+    }
+
+    public static void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+        List<OutputStream> columnFileStreams = new ArrayList<>();
+        long[] columnLengths = new long[columns.size()];
+        int rowCount = 0;
+
+        try {
+            for (Column column : columns) {
+                Path columnFilePath = TableFiles.getColumnFilePath(dataFilePath, column.getColumnName(), 0);
+                columnFileStreams.add(new BufferedOutputStream(Files.newOutputStream(columnFilePath)));
+            }
+
+            for (List<String> rowData : rows) {
+                for (int i = 0; i < columns.size(); i++) {
+                    byte[] field = encodeField(columns.get(i).getColumnType(), getValue(rowData, i));
+                    columnFileStreams.get(i).write(field);
+                    columnLengths[i] += field.length;
+                }
+                rowCount++;
+            }
+        } finally {
+            for (OutputStream columnFileStream : columnFileStreams) {
+                columnFileStream.close();
+            }
+            for (Column column : columns) {
+                BufferPool.getInstance().invalidate(TableFiles.getColumnFilePath(dataFilePath, column.getColumnName(), 0));
+            }
+        }
+
+        List<String> columnNames = new ArrayList<>();
+        List<DataType> columnTypes = new ArrayList<>();
+        for (Column column : columns) {
+            columnNames.add(column.getColumnName());
+            columnTypes.add(column.getColumnType());
+        }
+
+        // Header is written last so a partly written table never shows rows that are not in the column files
+        try {
+            Files.write(dataFilePath, encodeHeader(columnNames, columnTypes, rowCount, columnLengths, 0));
+        } finally {
+            BufferPool.getInstance().invalidate(dataFilePath);
+        }
+    }
+
+    public static void append(Path dataFilePath, List<Column> columns, List<String> rowData) throws IOException {
+        appendRows(dataFilePath, Collections.singletonList(rowData));
+    }
+
+    public static void appendRows(Path dataFilePath, List<List<String>> rows) throws IOException {
+        Header header = readHeader(dataFilePath);
+
+        for (int i = 0; i < header.columnNames.size(); i++) {
+            Path columnFilePath = TableFiles.getColumnFilePath(dataFilePath, header.columnNames.get(i), header.generation);
+            ByteArrayOutputStream fields = new ByteArrayOutputStream();
+            for (List<String> rowData : rows) {
+                fields.write(encodeField(header.columnTypes.get(i), getValue(rowData, i)));
+            }
+
+            // Anything past the committed length is left over from an append that never reached the header
+            try (FileChannel columnFileChannel = FileChannel.open(columnFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                columnFileChannel.truncate(header.columnLengths[i]);
+                ByteBuffer fieldBuffer = ByteBuffer.wrap(fields.toByteArray());
+                while (fieldBuffer.hasRemaining()) {
+                    columnFileChannel.write(fieldBuffer, header.columnLengths[i] + fieldBuffer.position());
+                }
+            } finally {
+                BufferPool.getInstance().invalidate(columnFilePath, header.columnLengths[i]);
+            }
+            header.columnLengths[i] += fields.size();
+        }
+
+        ByteBuffer headerUpdate = ByteBuffer.allocate(COLUMN_LENGTHS_OFFSET - ROW_COUNT_OFFSET + Long.BYTES * header.columnLengths.length);
+        headerUpdate.putInt(header.rowCount + rows.size());
+        headerUpdate.putInt(header.columnLengths.length);
+        for (long columnLength : header.columnLengths) {
+            headerUpdate.putLong(columnLength);
+        }
+        headerUpdate.flip();
+
+        try (FileChannel dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.WRITE)) {
+            dataFileChannel.write(headerUpdate, ROW_COUNT_OFFSET);
+        } finally {
+            BufferPool.getInstance().invalidate(dataFilePath);
+        }
+    }
+
+    public static List<String> readLines(Path dataFilePath) throws IOException {
+        Header header = readHeader(dataFilePath);
+
+        List<ByteBuffer> columnBuffers = new ArrayList<>();
+        for (int i = 0; i < header.columnNames.size(); i++) {
+            columnBuffers.add(readColumnBuffer(dataFilePath, header, i));
+        }
+
+        List<String> fileLines = new ArrayList<>();
+        fileLines.add(String.join(ApplicationConfiguration.DELIMITER, header.columnNames));
+
+        for (int row = 0; row < header.rowCount; row++) {
+            StringJoiner rowJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
+            for (ByteBuffer columnBuffer : columnBuffers) {
+                rowJoiner.add(BinaryTableFormat.readField(columnBuffer));
+            }
+            fileLines.add(rowJoiner.toString());
+        }
+        return fileLines;
+    }
+
+    public static List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+        Header header = readHeader(dataFilePath);
+        int index = Math.max(header.columnNames.indexOf(columnName), 0);
+
+        List<String> columnDataList = new ArrayList<>();
+        if (header.columnNames.isEmpty()) {
+            return columnDataList;
+        }
+
+        ByteBuffer columnBuffer = readColumnBuffer(dataFilePath, header, index);
+        for (int row = 0; row < header.rowCount; row++) {
+            columnDataList.add(BinaryTableFormat.readField(columnBuffer));
+        }
+        return columnDataList;
+    }
+
+    public static RowCursor scan(Path dataFilePath, List<String> columnNames) throws IOException {
+        Header header = readHeader(dataFilePath);
+        List<String> scannedColumnNames = columnNames == null ? header.columnNames : columnNames;
+
+        // Only the column files that are asked for are read
+        List<ByteBuffer> columnBuffers = new ArrayList<>();
+        for (String columnName : scannedColumnNames) {
+            int index = header.columnNames.indexOf(columnName);
+            columnBuffers.add(index == -1 ? null : readColumnBuffer(dataFilePath, header, index));
+        }
+
+        return new RowCursor() {
+            private int rowNumber = 0;
+
+            @Override
+            public List<String> getColumnNames() {
+                return scannedColumnNames;
+            }
+
+            @Override
+            protected List<String> fetchRow() {
+                if (rowNumber >= header.rowCount) {
+                    return null;
+                }
+                rowNumber++;
+
+                List<String> rowData = new ArrayList<>(columnBuffers.size());
+                for (ByteBuffer columnBuffer : columnBuffers) {
+                    rowData.add(columnBuffer == null ? "" : BinaryTableFormat.readField(columnBuffer));
+                }
+                return rowData;
+            }
+        };
+    }
+
+    public static void delete(Path dataFilePath) throws IOException {
+        List<Path> columnFilePaths = getColumnFilePaths(dataFilePath);
+        TableFiles.delete(dataFilePath);
+        for (Path columnFilePath : columnFilePaths) {
+            TableFiles.delete(columnFilePath);
+        }
+    }
+
+    // Column files are renamed to a generation the target does not use and the header is renamed last,
+    // so that rename alone switches every column at once and a crash before it leaves the target as it was
+    public static void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+        Header header = readHeader(sourceDataFilePath);
+        List<Path> targetColumnFilePaths = getColumnFilePaths(targetDataFilePath);
+        long generation = isColumnar(targetDataFilePath) ? readHeader(targetDataFilePath).generation + 1 : header.generation;
+
+        for (String columnName : header.columnNames) {
+            TableFiles.move(TableFiles.getColumnFilePath(sourceDataFilePath, columnName, header.generation), TableFiles.getColumnFilePath(targetDataFilePath, columnName, generation));
+        }
+        if (generation != header.generation) {
+            try {
+                Files.write(sourceDataFilePath, encodeHeader(header.columnNames, header.columnTypes, header.rowCount, header.columnLengths, generation));
+            } finally {
+                BufferPool.getInstance().invalidate(sourceDataFilePath);
+            }
+        }
+        TableFiles.move(sourceDataFilePath, targetDataFilePath);
+
+        for (Path targetColumnFilePath : targetColumnFilePaths) {
+            TableFiles.delete(targetColumnFilePath);
+        }
+    }
+
+    // Files of the current generation, empty when the table is missing or not columnar
+    public static List<Path> getColumnFilePaths(Path dataFilePath) throws IOException {
+        List<Path> columnFilePaths = new ArrayList<>();
+        if (!isColumnar(dataFilePath)) {
+            return columnFilePaths;
+        }
+        Header header = readHeader(dataFilePath);
+        for (String columnName : header.columnNames) {
+            columnFilePaths.add(TableFiles.getColumnFilePath(dataFilePath, columnName, header.generation));
+        }
+        return columnFilePaths;
+    }
+
+    private static boolean isColumnar(Path dataFilePath) throws IOException {
+        return Files.exists(dataFilePath) && isColumnar(BufferPool.getInstance().readPage(dataFilePath, 0));
+    }
+
+    public static boolean isColumnar(byte[] content) {
+        if (content.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Generation comes last, a header written before it existed is read as generation 0
+    private static byte[] encodeHeader(List<String> columnNames, List<DataType> columnTypes, int rowCount, long[] columnLengths, long generation) {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream headerStream = new DataOutputStream(headerBytes)) {
+            headerStream.write(MAGIC);
+            headerStream.writeInt(rowCount);
+            headerStream.writeInt(columnNames.size());
+            for (long columnLength : columnLengths) {
+                headerStream.writeLong(columnLength);
+            }
+            for (int i = 0; i < columnNames.size(); i++) {
+                headerStream.writeUTF(columnNames.get(i));
+                headerStream.writeByte(columnTypes.get(i).ordinal());
+            }
+            headerStream.writeLong(generation);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return headerBytes.toByteArray();
+    }
+
+    private static byte[] encodeField(DataType columnType, String value) {
+        ByteArrayOutputStream fieldBytes = new ByteArrayOutputStream();
+        try (DataOutputStream fieldStream = new DataOutputStream(fieldBytes)) {
+            BinaryTableFormat.writeField(fieldStream, columnType, value);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return fieldBytes.toByteArray();
+    }
+
+    private static String getValue(List<String> rowData, int index) {
+        return index < rowData.size() ? rowData.get(index) : "null";
+    }
+
+    private static ByteBuffer readColumnBuffer(Path dataFilePath, Header header, int index) throws IOException {
+        Path columnFilePath = TableFiles.getColumnFilePath(dataFilePath, header.columnNames.get(index), header.generation);
+        if (header.rowCount == 0 || !Files.exists(columnFilePath)) {
+            return ByteBuffer.allocate(0);
+        }
+
+        ByteBuffer columnBuffer = BufferPool.getInstance().mapFile(columnFilePath);
+        columnBuffer.limit((int) Math.min(columnBuffer.limit(), header.columnLengths[index]));
+        return columnBuffer;
+    }
+
+    private static Header readHeader(Path dataFilePath) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(BufferPool.getInstance().readFile(dataFilePath));
+        Header header = new Header();
+
+        buffer.position(ROW_COUNT_OFFSET);
+        header.rowCount = buffer.getInt();
+        int columnCount = buffer.getInt();
+
+        header.columnLengths = new long[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            header.columnLengths[i] = buffer.getLong();
+        }
+
+        DataType[] dataTypes = DataType.values();
+        for (int i = 0; i < columnCount; i++) {
+            int nameLength = buffer.getShort() & 0xFFFF;
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(nameBytes);
+            header.columnNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+            header.columnTypes.add(dataTypes[buffer.get()]);
+        }
+        header.generation = buffer.remaining() >= Long.BYTES ? buffer.getLong() : 0;
+        return header;
+    }
+
+    private static final class Header {
+        private int rowCount;
+        private long[] columnLengths;
+        private long generation;
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<DataType> columnTypes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,262 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.DatabaseSite;
+import com.group21.utils.RemoteDatabaseReader;
+import com.group21.utils.RemoteDatabaseWriter;
+
+public class DistributedDataDictionary {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DistributedDataDictionary.class);
+
+    private static final String HEADER_ROW = "TableName|DatabaseSite";
+    // Site written by a delta line that drops the table
+    private static final String REMOVED_SITE = "REMOVED";
+    private static final long UNKNOWN_VERSION = -1;
+
+    private static DistributedDataDictionary distributedDataDictionary = null;
+
+    private final Path gddFilePath;
+    private final Path versionFilePath;
+    private final Map<String, DatabaseSite> tables = new LinkedHashMap<>();
+    // Version goes up with every delta, compacted version is the version of the last full rewrite
+    private long version = UNKNOWN_VERSION;
+    private long compactedVersion = UNKNOWN_VERSION;
+    private int deltaLineCount = 0;
+    private long loadedFileSize = -1;
+    private long loadedFileModifiedTime = -1;
+
+    private long probeCount = 0;
+    private long fullFetchCount = 0;
+    private long deltaFetchCount = 0;
+
+    private DistributedDataDictionary() {
+        this.gddFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME);
+        this.versionFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_VERSION_NAME);
+    }
+
+    public static synchronized DistributedDataDictionary getInstance() {
+        if (distributedDataDictionary == null) {
+            distributedDataDictionary = new DistributedDataDictionary();
+        }
+        return distributedDataDictionary;
+    }
+
+    public synchronized Map<String, DatabaseSite> getTables() throws IOException {
+        reload();
+        return new LinkedHashMap<>(tables);
+    }
+
+    public synchronized void putTable(String tableName, DatabaseSite databaseSite) throws IOException {
+        reloadBeforeWrite();
+        appendDelta(tableName, databaseSite.name());
+    }
+
+    public synchronized void removeTable(String tableName) throws IOException {
+        reloadBeforeWrite();
+        if (tables.containsKey(tableName)) {
+            appendDelta(tableName, REMOVED_SITE);
+        }
+    }
+
+    // Remote copy is fetched only when its version file differs from the cached version
+    public synchronized void refresh() {
+        fetchRemote(true);
+    }
+
+    private void fetchRemote(boolean isDeltaFetchAllowed) {
+        if (ApplicationConfiguration.CURRENT_SITE != DatabaseSite.LOCAL) {
+            // This is done only for local as remote site can not access local machine
+            return;
+        }
+
+        try {
+            reload();
+            probeCount++;
+            String remoteVersionContent = RemoteDatabaseReader.readDistributedDataDictionaryVersion();
+            if (remoteVersionContent == null) {
+                return;
+            }
+
+            long[] remoteVersion = parseVersion(remoteVersionContent);
+            boolean isVersionKnown = version != UNKNOWN_VERSION && remoteVersion[0] != UNKNOWN_VERSION;
+            if (isVersionKnown && remoteVersion[0] == version && remoteVersion[1] == compactedVersion) {
+                return;
+            }
+
+            Map<String, DatabaseSite> previousTables = new LinkedHashMap<>(tables);
+            if (isDeltaFetchAllowed && isVersionKnown && remoteVersion[0] > version && remoteVersion[1] == compactedVersion) {
+                // Same file since the last compaction, only the lines appended after the cached copy are fetched
+                byte[] gddDelta = RemoteDatabaseReader.readDistributedDataDictionary(loadedFileSize);
+                if (gddDelta == null) {
+                    return;
+                }
+                Files.write(gddFilePath, gddDelta, StandardOpenOption.APPEND);
+                deltaFetchCount++;
+            } else {
+                byte[] gddContent = RemoteDatabaseReader.readDistributedDataDictionary(0);
+                if (gddContent == null) {
+                    return;
+                }
+                writeFile(gddFilePath, gddContent);
+                fullFetchCount++;
+            }
+
+            if (remoteVersion[0] == UNKNOWN_VERSION) {
+                Files.deleteIfExists(versionFilePath);
+            } else {
+                Files.write(versionFilePath, remoteVersionContent.getBytes());
+            }
+            loadedFileSize = -1;
+            reload();
+
+            // Tables changed by the remote site are only visible through the dictionary, so cached remote schemas are dropped
+            if (!previousTables.equals(tables)) {
+                MetadataCache.getInstance().invalidate(DatabaseSite.REMOTE);
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while reading distributed data dictionary from remote server");
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    // File is checked for changes made by the other site, prepared queries use the version to tell a stale plan
+    public synchronized long getVersion() {
+        try {
+            reload();
+        } catch (IOException exception) {
+            EventLogger.error(exception.getMessage());
+        }
+        return version;
+    }
+
+    public synchronized long getProbeCount() {
+        return probeCount;
+    }
+
+    public synchronized long getFullFetchCount() {
+        return fullFetchCount;
+    }
+
+    public synchronized long getDeltaFetchCount() {
+        return deltaFetchCount;
+    }
+
+    private void appendDelta(String tableName, String siteName) throws IOException {
+        String deltaLine = tableName + ApplicationConfiguration.DELIMITER + siteName + ApplicationConfiguration.NEW_LINE;
+        version = Math.max(version, 0) + 1;
+        compactedVersion = Math.max(compactedVersion, 0);
+
+        if (Files.notExists(gddFilePath)) {
+            writeFile(gddFilePath, (HEADER_ROW + ApplicationConfiguration.NEW_LINE).getBytes());
+        }
+        Files.write(gddFilePath, deltaLine.getBytes(), StandardOpenOption.APPEND);
+        Files.write(versionFilePath, getVersionContent().getBytes());
+        if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
+            RemoteDatabaseWriter.appendDistributedDataDictionary(deltaLine, getVersionContent());
+        }
+        loadedFileSize = -1;
+        reload();
+
+        // Dropped and moved tables leave dead lines behind, the file is rewritten once they pile up
+        if (deltaLineCount - tables.size() >= ApplicationConfiguration.GDD_COMPACTION_DELTA_COUNT) {
+            compact();
+        }
+    }
+
+    // Remote copy may have been appended to since the last refresh, it is fetched whole first, so the next version follows its lines instead of reusing their number
+    private void reloadBeforeWrite() throws IOException {
+        fetchRemote(false);
+        reload();
+    }
+
+    private void compact() throws IOException {
+        StringBuilder gddContent = new StringBuilder(HEADER_ROW).append(ApplicationConfiguration.NEW_LINE);
+        for (Map.Entry<String, DatabaseSite> table : tables.entrySet()) {
+            gddContent.append(table.getKey()).append(ApplicationConfiguration.DELIMITER).append(table.getValue().name()).append(ApplicationConfiguration.NEW_LINE);
+        }
+
+        compactedVersion = version;
+        writeFile(gddFilePath, gddContent.toString().getBytes());
+        Files.write(versionFilePath, getVersionContent().getBytes());
+        if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
+            RemoteDatabaseWriter.writeFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME, gddContent.toString());
+            RemoteDatabaseWriter.writeFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_VERSION_NAME, getVersionContent());
+        }
+        loadedFileSize = -1;
+        reload();
+    }
+
+    private void reload() throws IOException {
+        // File changed by someone else, e.g. the local site appending to the remote copy, is loaded again
+        long fileSize = Files.exists(gddFilePath) ? Files.size(gddFilePath) : -1;
+        long fileModifiedTime = fileSize == -1 ? -1 : Files.getLastModifiedTime(gddFilePath).toMillis();
+        if (fileSize == loadedFileSize && fileModifiedTime == loadedFileModifiedTime) {
+            return;
+        }
+
+        tables.clear();
+        deltaLineCount = 0;
+        if (fileSize != -1) {
+            List<String> fileLines = Files.readAllLines(gddFilePath);
+            for (String line : fileLines.subList(Math.min(1, fileLines.size()), fileLines.size())) {
+                String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
+                if (columnList.length < 2) {
+                    continue;
+                }
+
+                if (columnList[1].equals(REMOVED_SITE)) {
+                    tables.remove(columnList[0]);
+                } else {
+                    tables.put(columnList[0], DatabaseSite.from(columnList[1]));
+                }
+                deltaLineCount++;
+            }
+        }
+
+        long[] localVersion = Files.exists(versionFilePath) ? parseVersion(new String(Files.readAllBytes(versionFilePath))) : new long[]{UNKNOWN_VERSION, UNKNOWN_VERSION};
+        version = localVersion[0];
+        compactedVersion = localVersion[1];
+        loadedFileSize = fileSize;
+        loadedFileModifiedTime = fileModifiedTime;
+    }
+
+    private String getVersionContent() {
+        return version + ApplicationConfiguration.DELIMITER + compactedVersion + ApplicationConfiguration.NEW_LINE;
+    }
+
+    private static long[] parseVersion(String versionContent) {
+        String[] versionParts = versionContent.trim().split(ApplicationConfiguration.DELIMITER_REGEX);
+        try {
+            if (versionParts.length == 2) {
+                return new long[]{Long.parseLong(versionParts[0]), Long.parseLong(versionParts[1])};
+            }
+        } catch (NumberFormatException exception) {
+            EventLogger.error(exception.getMessage());
+        }
+        return new long[]{UNKNOWN_VERSION, UNKNOWN_VERSION};
+    }
+
+    private static void writeFile(Path filePath, byte[] fileContent) throws IOException {
+        Path tempFilePath = TableFiles.getTempFilePath(filePath);
+        try {
+            Files.write(tempFilePath, fileContent);
+            TableFiles.move(tempFilePath, filePath);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class FilteredRowCursor extends RowCursor {
+
+    private final RowCursor rowCursor;
+    private final List<String> columnNames;
+    private final int[] columnIndexes;
+    private final Predicate<List<String>> predicate;
+
+    public FilteredRowCursor(RowCursor rowCursor, List<String> projection, Predicate<List<String>> predicate) {
+        this.rowCursor = rowCursor;
+        this.predicate = predicate;
+
+        List<String> sourceColumnNames = rowCursor.getColumnNames();
+        this.columnNames = projection == null ? sourceColumnNames : projection;
+        this.columnIndexes = new int[columnNames.size()];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            columnIndexes[i] = sourceColumnNames.indexOf(columnNames.get(i));
+        }
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    @Override
+    protected List<String> fetchRow() throws IOException {
+        while (rowCursor.hasNext()) {
+            List<String> row = rowCursor.next();
+            if (predicate != null && !predicate.test(row)) {
+                continue;
+            }
+
+            List<String> projectedRow = new ArrayList<>(columnIndexes.length);
+            for (int columnIndex : columnIndexes) {
+                projectedRow.add(columnIndex >= 0 && columnIndex < row.size() ? row.get(columnIndex) : "");
+            }
+            return projectedRow;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        rowCursor.close();
+    }
+}
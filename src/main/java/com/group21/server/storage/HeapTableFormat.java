@@ -0,0 +1,655 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
+
+public class HeapTableFormat {
+
+    public static final byte[] MAGIC = {0, 'H', 'E', 'P'};
+
+    private static final int PAGE_SIZE = ApplicationConfiguration.HEAP_PAGE_SIZE;
+    private static final int PAGE_HEADER_LENGTH = 2 * Short.BYTES;
+    private static final int SLOT_LENGTH = 2 * Short.BYTES;
+
+    private static final Map<Path, Object> TABLE_LOCKS = new ConcurrentHashMap<>();
+    private static final Map<Path, List<Integer>> FREE_SPACE_MAPS = new ConcurrentHashMap<>();
+
+    private HeapTableFormat() {
+    }
+
+    public static void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            List<DataType> columnTypes = getColumnTypes(columns);
+            try (OutputStream dataFileStream = new BufferedOutputStream(Files.newOutputStream(dataFilePath))) {
+                dataFileStream.write(encodeHeaderPage(columns));
+
+                HeapPage heapPage = new HeapPage();
+                for (List<String> rowData : rows) {
+                    byte[] record = encodeRecord(columnTypes, rowData);
+                    if (heapPage.insert(record) < 0) {
+                        dataFileStream.write(heapPage.buffer.array());
+                        heapPage = new HeapPage();
+                        heapPage.insert(record);
+                    }
+                }
+                if (heapPage.getSlotCount() > 0) {
+                    dataFileStream.write(heapPage.buffer.array());
+                }
+            } finally {
+                FREE_SPACE_MAPS.remove(getKey(dataFilePath));
+                BufferPool.getInstance().invalidate(dataFilePath);
+            }
+        }
+    }
+
+    public static void append(Path dataFilePath, List<String> rowData) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            try (FileChannel dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                List<DataType> columnTypes = readHeader(dataFileChannel).columnTypes;
+                long pageOffset = insertRecord(dataFilePath, dataFileChannel, encodeRecord(columnTypes, rowData));
+                BufferPool.getInstance().invalidate(dataFilePath, pageOffset);
+            }
+        }
+    }
+
+    public static void appendRows(Path dataFilePath, List<List<String>> rows) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            try (FileChannel dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                List<DataType> columnTypes = readHeader(dataFileChannel).columnTypes;
+                List<Integer> freeSpaceMap = getFreeSpaceMap(dataFilePath, dataFileChannel);
+
+                // Rows fill the last page and then new pages, every page is kept in memory until it is full and written once
+                int firstPageNumber = Math.max(freeSpaceMap.size(), 1);
+                int pageNumber = freeSpaceMap.size();
+                HeapPage heapPage = pageNumber == 0 ? null : readPage(dataFileChannel, pageNumber);
+                try {
+                    for (List<String> rowData : rows) {
+                        byte[] record = encodeRecord(columnTypes, rowData);
+                        if (record.length + SLOT_LENGTH > PAGE_SIZE - PAGE_HEADER_LENGTH) {
+                            throw new IOException("Row of " + record.length + " bytes does not fit in a heap page.");
+                        }
+                        if (heapPage != null && heapPage.insert(record) >= 0) {
+                            continue;
+                        }
+
+                        if (heapPage != null) {
+                            writePage(dataFileChannel, pageNumber, heapPage);
+                            freeSpaceMap.set(pageNumber - 1, heapPage.getFreeSpace());
+                        }
+                        heapPage = new HeapPage();
+                        heapPage.insert(record);
+                        freeSpaceMap.add(heapPage.getFreeSpace());
+                        pageNumber = freeSpaceMap.size();
+                    }
+
+                    if (heapPage != null) {
+                        writePage(dataFileChannel, pageNumber, heapPage);
+                        freeSpaceMap.set(pageNumber - 1, heapPage.getFreeSpace());
+                    }
+                } catch (IOException exception) {
+                    // Map may list pages that were never written, so it is built again from the file
+                    FREE_SPACE_MAPS.remove(getKey(dataFilePath));
+                    throw exception;
+                } finally {
+                    BufferPool.getInstance().invalidate(dataFilePath, getPageOffset(firstPageNumber));
+                }
+            }
+        }
+    }
+
+    public static int updateRows(Path dataFilePath, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater) throws IOException {
+        int changedRows = 0;
+        synchronized (getLock(dataFilePath)) {
+            try (FileChannel dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                List<DataType> columnTypes = readHeader(dataFileChannel).columnTypes;
+                List<Integer> freeSpaceMap = getFreeSpaceMap(dataFilePath, dataFileChannel);
+                List<byte[]> movedRecords = new ArrayList<>();
+                long firstChangedOffset = -1;
+
+                for (int pageNumber = 1; pageNumber <= freeSpaceMap.size(); pageNumber++) {
+                    HeapPage heapPage = readPage(dataFileChannel, pageNumber);
+                    boolean isPageChanged = false;
+
+                    for (int slotNumber = 0; slotNumber < heapPage.getSlotCount(); slotNumber++) {
+                        if (heapPage.isFree(slotNumber)) {
+                            continue;
+                        }
+                        List<String> rowData = heapPage.readRecord(slotNumber);
+                        if (!predicate.test(rowData)) {
+                            continue;
+                        }
+
+                        // Row keeps its record id unless it grew beyond what its page can hold
+                        byte[] record = encodeRecord(columnTypes, rowUpdater.apply(rowData));
+                        if (!heapPage.update(slotNumber, record)) {
+                            heapPage.delete(slotNumber);
+                            movedRecords.add(record);
+                        }
+                        isPageChanged = true;
+                        changedRows++;
+                    }
+
+                    if (isPageChanged) {
+                        writePage(dataFileChannel, pageNumber, heapPage);
+                        freeSpaceMap.set(pageNumber - 1, heapPage.getFreeSpace());
+                        if (firstChangedOffset < 0) {
+                            firstChangedOffset = getPageOffset(pageNumber);
+                        }
+                    }
+                }
+
+                for (byte[] record : movedRecords) {
+                    long pageOffset = insertRecord(dataFilePath, dataFileChannel, record);
+                    firstChangedOffset = firstChangedOffset < 0 ? pageOffset : Math.min(firstChangedOffset, pageOffset);
+                }
+                if (firstChangedOffset >= 0) {
+                    BufferPool.getInstance().invalidate(dataFilePath, firstChangedOffset);
+                }
+            }
+        }
+        return changedRows;
+    }
+
+    public static int deleteRows(Path dataFilePath, Predicate<List<String>> predicate) throws IOException {
+        int deletedRows = 0;
+        synchronized (getLock(dataFilePath)) {
+            try (FileChannel dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                List<Integer> freeSpaceMap = getFreeSpaceMap(dataFilePath, dataFileChannel);
+                long firstChangedOffset = -1;
+
+                for (int pageNumber = 1; pageNumber <= freeSpaceMap.size(); pageNumber++) {
+                    HeapPage heapPage = readPage(dataFileChannel, pageNumber);
+                    boolean isPageChanged = false;
+
+                    for (int slotNumber = 0; slotNumber < heapPage.getSlotCount(); slotNumber++) {
+                        if (!heapPage.isFree(slotNumber) && predicate.test(heapPage.readRecord(slotNumber))) {
+                            heapPage.delete(slotNumber);
+                            isPageChanged = true;
+                            deletedRows++;
+                        }
+                    }
+
+                    if (isPageChanged) {
+                        writePage(dataFileChannel, pageNumber, heapPage);
+                        freeSpaceMap.set(pageNumber - 1, heapPage.getFreeSpace());
+                        if (firstChangedOffset < 0) {
+                            firstChangedOffset = getPageOffset(pageNumber);
+                        }
+                    }
+                }
+
+                if (firstChangedOffset >= 0) {
+                    BufferPool.getInstance().invalidate(dataFilePath, firstChangedOffset);
+                }
+            }
+        }
+        return deletedRows;
+    }
+
+    public static List<String> readLines(Path dataFilePath) throws IOException {
+        List<String> fileLines = new ArrayList<>();
+        try (HeapRowCursor rowCursor = openCursor(dataFilePath)) {
+            fileLines.add(String.join(ApplicationConfiguration.DELIMITER, rowCursor.getColumnNames()));
+            while (rowCursor.hasNext()) {
+                fileLines.add(String.join(ApplicationConfiguration.DELIMITER, rowCursor.next()));
+            }
+        }
+        return fileLines;
+    }
+
+    public static List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+        List<String> columnDataList = new ArrayList<>();
+        try (HeapRowCursor rowCursor = openCursor(dataFilePath)) {
+            int index = Math.max(rowCursor.getColumnNames().indexOf(columnName), 0);
+            while (rowCursor.hasNext()) {
+                columnDataList.add(rowCursor.next().get(index));
+            }
+        }
+        return columnDataList;
+    }
+
+    public static HeapRowCursor scan(Path dataFilePath) throws IOException {
+        return openCursor(dataFilePath);
+    }
+
+    public static List<String> readRecord(Path dataFilePath, long recordId) throws IOException {
+        int pageNumber = getPageNumber(recordId);
+        int slotNumber = getSlotNumber(recordId);
+
+        ByteBuffer buffer = BufferPool.getInstance().mapFile(dataFilePath);
+        if (pageNumber < 1 || getPageOffset(pageNumber + 1) > buffer.limit()) {
+            return null;
+        }
+
+        HeapPage heapPage = new HeapPage(slicePage(buffer, pageNumber));
+        if (slotNumber >= heapPage.getSlotCount() || heapPage.isFree(slotNumber)) {
+            return null;
+        }
+        return heapPage.readRecord(slotNumber);
+    }
+
+    public static void delete(Path dataFilePath) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            FREE_SPACE_MAPS.remove(getKey(dataFilePath));
+            TableFiles.delete(dataFilePath);
+        }
+    }
+
+    public static void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+        synchronized (getLock(targetDataFilePath)) {
+            FREE_SPACE_MAPS.remove(getKey(sourceDataFilePath));
+            FREE_SPACE_MAPS.remove(getKey(targetDataFilePath));
+            TableFiles.move(sourceDataFilePath, targetDataFilePath);
+        }
+    }
+
+    public static boolean isHeap(byte[] content) {
+        if (content.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static long getRecordId(int pageNumber, int slotNumber) {
+        return ((long) pageNumber << Short.SIZE) | slotNumber;
+    }
+
+    public static int getPageNumber(long recordId) {
+        return (int) (recordId >>> Short.SIZE);
+    }
+
+    public static int getSlotNumber(long recordId) {
+        return (int) (recordId & 0xFFFF);
+    }
+
+    private static long insertRecord(Path dataFilePath, FileChannel dataFileChannel, byte[] record) throws IOException {
+        if (record.length + SLOT_LENGTH > PAGE_SIZE - PAGE_HEADER_LENGTH) {
+            throw new IOException("Row of " + record.length + " bytes does not fit in a heap page.");
+        }
+
+        List<Integer> freeSpaceMap = getFreeSpaceMap(dataFilePath, dataFileChannel);
+        for (int pageNumber = freeSpaceMap.size(); pageNumber >= 1; pageNumber--) {
+            if (freeSpaceMap.get(pageNumber - 1) < record.length + SLOT_LENGTH) {
+                continue;
+            }
+
+            HeapPage heapPage = readPage(dataFileChannel, pageNumber);
+            if (heapPage.insert(record) >= 0) {
+                writePage(dataFileChannel, pageNumber, heapPage);
+                freeSpaceMap.set(pageNumber - 1, heapPage.getFreeSpace());
+                return getPageOffset(pageNumber);
+            }
+        }
+
+        HeapPage heapPage = new HeapPage();
+        heapPage.insert(record);
+        int pageNumber = freeSpaceMap.size() + 1;
+        writePage(dataFileChannel, pageNumber, heapPage);
+        freeSpaceMap.add(heapPage.getFreeSpace());
+        return getPageOffset(pageNumber);
+    }
+
+    private static List<Integer> getFreeSpaceMap(Path dataFilePath, FileChannel dataFileChannel) throws IOException {
+        List<Integer> freeSpaceMap = FREE_SPACE_MAPS.get(getKey(dataFilePath));
+        if (freeSpaceMap == null) {
+            // Built from the page headers once, afterwards every page write keeps it current
+            freeSpaceMap = new ArrayList<>();
+            int pageCount = (int) (dataFileChannel.size() / PAGE_SIZE) - 1;
+            for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+                freeSpaceMap.add(readPage(dataFileChannel, pageNumber).getFreeSpace());
+            }
+            FREE_SPACE_MAPS.put(getKey(dataFilePath), freeSpaceMap);
+        }
+        return freeSpaceMap;
+    }
+
+    private static HeapRowCursor openCursor(Path dataFilePath) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            ByteBuffer buffer = BufferPool.getInstance().mapFile(dataFilePath);
+            return new HeapRowCursor(readHeader(buffer).columnNames, buffer);
+        }
+    }
+
+    private static HeapPage readPage(FileChannel dataFileChannel, int pageNumber) throws IOException {
+        return new HeapPage(readPageBuffer(dataFileChannel, pageNumber));
+    }
+
+    private static ByteBuffer readPageBuffer(FileChannel dataFileChannel, int pageNumber) throws IOException {
+        ByteBuffer pageBuffer = ByteBuffer.allocate(PAGE_SIZE);
+        long pageOffset = getPageOffset(pageNumber);
+        while (pageBuffer.hasRemaining()) {
+            if (dataFileChannel.read(pageBuffer, pageOffset + pageBuffer.position()) < 0) {
+                throw new IOException("Heap page " + pageNumber + " is truncated.");
+            }
+        }
+        pageBuffer.clear();
+        return pageBuffer;
+    }
+
+    private static void writePage(FileChannel dataFileChannel, int pageNumber, HeapPage heapPage) throws IOException {
+        ByteBuffer pageBuffer = heapPage.buffer.duplicate();
+        pageBuffer.clear();
+        long pageOffset = getPageOffset(pageNumber);
+        while (pageBuffer.hasRemaining()) {
+            dataFileChannel.write(pageBuffer, pageOffset + pageBuffer.position());
+        }
+    }
+
+    private static ByteBuffer slicePage(ByteBuffer buffer, int pageNumber) {
+        ByteBuffer pageBuffer = buffer.duplicate();
+        pageBuffer.limit((int) getPageOffset(pageNumber + 1));
+        pageBuffer.position((int) getPageOffset(pageNumber));
+        return pageBuffer.slice();
+    }
+
+    private static long getPageOffset(int pageNumber) {
+        return (long) pageNumber * PAGE_SIZE;
+    }
+
+    private static byte[] encodeHeaderPage(List<Column> columns) {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream headerStream = new DataOutputStream(headerBytes)) {
+            headerStream.write(MAGIC);
+            headerStream.writeInt(columns.size());
+            for (Column column : columns) {
+                headerStream.writeUTF(column.getColumnName());
+                headerStream.writeByte(column.getColumnType().ordinal());
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        byte[] header = headerBytes.toByteArray();
+        if (header.length > PAGE_SIZE) {
+            throw new IllegalStateException("Table header does not fit in a heap page.");
+        }
+        return ByteBuffer.allocate(PAGE_SIZE).put(header).array();
+    }
+
+    private static byte[] encodeRecord(List<DataType> columnTypes, List<String> rowData) {
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        try (DataOutputStream recordStream = new DataOutputStream(recordBytes)) {
+            for (int i = 0; i < rowData.size(); i++) {
+                DataType columnType = i < columnTypes.size() ? columnTypes.get(i) : DataType.TEXT;
+                BinaryTableFormat.writeField(recordStream, columnType, rowData.get(i));
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return recordBytes.toByteArray();
+    }
+
+    private static List<DataType> getColumnTypes(List<Column> columns) {
+        List<DataType> columnTypes = new ArrayList<>();
+        for (Column column : columns) {
+            columnTypes.add(column.getColumnType());
+        }
+        return columnTypes;
+    }
+
+    private static Header readHeader(FileChannel dataFileChannel) throws IOException {
+        return readHeader(readPageBuffer(dataFileChannel, 0));
+    }
+
+    private static Header readHeader(ByteBuffer buffer) {
+        ByteBuffer headerBuffer = buffer.duplicate();
+        headerBuffer.position(MAGIC.length);
+        int columnCount = headerBuffer.getInt();
+
+        Header header = new Header();
+        DataType[] dataTypes = DataType.values();
+        for (int i = 0; i < columnCount; i++) {
+            int nameLength = headerBuffer.getShort() & 0xFFFF;
+            byte[] nameBytes = new byte[nameLength];
+            headerBuffer.get(nameBytes);
+            header.columnNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+            header.columnTypes.add(dataTypes[headerBuffer.get()]);
+        }
+        return header;
+    }
+
+    private static Path getKey(Path dataFilePath) {
+        return dataFilePath.toAbsolutePath().normalize();
+    }
+
+    private static Object getLock(Path dataFilePath) {
+        return TABLE_LOCKS.computeIfAbsent(getKey(dataFilePath), path -> new Object());
+    }
+
+    private static final class Header {
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<DataType> columnTypes = new ArrayList<>();
+    }
+
+    // Slot directory grows from the page header and records are packed from the end of the page,
+    // a slot with offset 0 is free and its number can be reused without moving any other record
+    private static final class HeapPage {
+        private final ByteBuffer buffer;
+
+        private HeapPage() {
+            this.buffer = ByteBuffer.allocate(PAGE_SIZE);
+            setSlotCount(0);
+            setFreeSpaceEnd(PAGE_SIZE);
+        }
+
+        private HeapPage(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private int getSlotCount() {
+            return buffer.getShort(0) & 0xFFFF;
+        }
+
+        private void setSlotCount(int slotCount) {
+            buffer.putShort(0, (short) slotCount);
+        }
+
+        private int getFreeSpaceEnd() {
+            return buffer.getShort(Short.BYTES) & 0xFFFF;
+        }
+
+        private void setFreeSpaceEnd(int freeSpaceEnd) {
+            buffer.putShort(Short.BYTES, (short) freeSpaceEnd);
+        }
+
+        private int getSlotOffset(int slotNumber) {
+            return buffer.getShort(PAGE_HEADER_LENGTH + slotNumber * SLOT_LENGTH) & 0xFFFF;
+        }
+
+        private int getSlotLength(int slotNumber) {
+            return buffer.getShort(PAGE_HEADER_LENGTH + slotNumber * SLOT_LENGTH + Short.BYTES) & 0xFFFF;
+        }
+
+        private void setSlot(int slotNumber, int offset, int length) {
+            buffer.putShort(PAGE_HEADER_LENGTH + slotNumber * SLOT_LENGTH, (short) offset);
+            buffer.putShort(PAGE_HEADER_LENGTH + slotNumber * SLOT_LENGTH + Short.BYTES, (short) length);
+        }
+
+        private boolean isFree(int slotNumber) {
+            return getSlotOffset(slotNumber) == 0;
+        }
+
+        private int getFreeSpace() {
+            int usedSpace = PAGE_HEADER_LENGTH + getSlotCount() * SLOT_LENGTH;
+            for (int slotNumber = 0; slotNumber < getSlotCount(); slotNumber++) {
+                if (!isFree(slotNumber)) {
+                    usedSpace += getSlotLength(slotNumber);
+                }
+            }
+            return PAGE_SIZE - usedSpace;
+        }
+
+        private int getContiguousFreeSpace() {
+            return getFreeSpaceEnd() - (PAGE_HEADER_LENGTH + getSlotCount() * SLOT_LENGTH);
+        }
+
+        private List<String> readRecord(int slotNumber) {
+            ByteBuffer recordBuffer = buffer.duplicate();
+            int recordOffset = getSlotOffset(slotNumber);
+            recordBuffer.limit(recordOffset + getSlotLength(slotNumber));
+            recordBuffer.position(recordOffset);
+
+            List<String> rowData = new ArrayList<>();
+            while (recordBuffer.hasRemaining()) {
+                rowData.add(BinaryTableFormat.readField(recordBuffer));
+            }
+            return rowData;
+        }
+
+        private int insert(byte[] record) {
+            int slotNumber = 0;
+            while (slotNumber < getSlotCount() && !isFree(slotNumber)) {
+                slotNumber++;
+            }
+
+            int requiredSpace = record.length + (slotNumber == getSlotCount() ? SLOT_LENGTH : 0);
+            if (getFreeSpace() < requiredSpace) {
+                return -1;
+            }
+            if (getContiguousFreeSpace() < requiredSpace) {
+                compact();
+            }
+
+            if (slotNumber == getSlotCount()) {
+                setSlotCount(slotNumber + 1);
+            }
+            placeRecord(slotNumber, record);
+            return slotNumber;
+        }
+
+        private boolean update(int slotNumber, byte[] record) {
+            int recordLength = getSlotLength(slotNumber);
+            if (record.length <= recordLength) {
+                ByteBuffer recordBuffer = buffer.duplicate();
+                recordBuffer.position(getSlotOffset(slotNumber));
+                recordBuffer.put(record);
+                setSlot(slotNumber, getSlotOffset(slotNumber), record.length);
+                return true;
+            }
+
+            if (getFreeSpace() + recordLength < record.length) {
+                return false;
+            }
+            setSlot(slotNumber, 0, 0);
+            if (getContiguousFreeSpace() < record.length) {
+                compact();
+            }
+            placeRecord(slotNumber, record);
+            return true;
+        }
+
+        private void delete(int slotNumber) {
+            setSlot(slotNumber, 0, 0);
+
+            // Trailing free slots are dropped, no record id points past the last used slot
+            int slotCount = getSlotCount();
+            while (slotCount > 0 && isFree(slotCount - 1)) {
+                slotCount--;
+            }
+            setSlotCount(slotCount);
+        }
+
+        private void placeRecord(int slotNumber, byte[] record) {
+            int recordOffset = getFreeSpaceEnd() - record.length;
+            ByteBuffer recordBuffer = buffer.duplicate();
+            recordBuffer.position(recordOffset);
+            recordBuffer.put(record);
+            setSlot(slotNumber, recordOffset, record.length);
+            setFreeSpaceEnd(recordOffset);
+        }
+
+        private void compact() {
+            List<byte[]> records = new ArrayList<>();
+            for (int slotNumber = 0; slotNumber < getSlotCount(); slotNumber++) {
+                if (isFree(slotNumber)) {
+                    records.add(null);
+                    continue;
+                }
+                byte[] record = new byte[getSlotLength(slotNumber)];
+                ByteBuffer recordBuffer = buffer.duplicate();
+                recordBuffer.position(getSlotOffset(slotNumber));
+                recordBuffer.get(record);
+                records.add(record);
+            }
+
+            setFreeSpaceEnd(PAGE_SIZE);
+            for (int slotNumber = 0; slotNumber < records.size(); slotNumber++) {
+                if (records.get(slotNumber) != null) {
+                    placeRecord(slotNumber, records.get(slotNumber));
+                }
+            }
+        }
+    }
+
+    public static final class HeapRowCursor extends RowCursor {
+        private final List<String> columnNames;
+        private final ByteBuffer buffer;
+        private final int pageCount;
+
+        private int pageNumber = 1;
+        private int slotNumber = 0;
+        private HeapPage heapPage = null;
+        private long recordId = -1;
+
+        private HeapRowCursor(List<String> columnNames, ByteBuffer buffer) {
+            this.columnNames = columnNames;
+            this.buffer = buffer;
+            this.pageCount = buffer.limit() / PAGE_SIZE - 1;
+        }
+
+        @Override
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
+
+        public long getRecordId() {
+            return recordId;
+        }
+
+        @Override
+        protected List<String> fetchRow() {
+            while (pageNumber <= pageCount) {
+                if (heapPage == null) {
+                    heapPage = new HeapPage(slicePage(buffer, pageNumber));
+                }
+
+                while (slotNumber < heapPage.getSlotCount()) {
+                    int currentSlotNumber = slotNumber++;
+                    if (!heapPage.isFree(currentSlotNumber)) {
+                        recordId = HeapTableFormat.getRecordId(pageNumber, currentSlotNumber);
+                        return heapPage.readRecord(currentSlotNumber);
+                    }
+                }
+
+                pageNumber++;
+                slotNumber = 0;
+                heapPage = null;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+public class LimitedRowCursor extends RowCursor {
+
+    private final RowCursor rowCursor;
+    private final int offset;
+    private final int limit;
+    private int skippedRows = 0;
+    private int returnedRows = 0;
+    private boolean isClosed = false;
+
+    public LimitedRowCursor(RowCursor rowCursor, int offset, int limit) {
+        this.rowCursor = rowCursor;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return rowCursor.getColumnNames();
+    }
+
+    @Override
+    protected List<String> fetchRow() throws IOException {
+        if (returnedRows >= limit) {
+            close();
+            return null;
+        }
+
+        while (skippedRows < offset && rowCursor.hasNext()) {
+            rowCursor.next();
+            skippedRows++;
+        }
+        if (!rowCursor.hasNext()) {
+            return null;
+        }
+
+        List<String> row = rowCursor.next();
+        returnedRows++;
+        // Scan is closed with the last row, so the rest of the file or remote stream is never read
+        if (returnedRows == limit) {
+            close();
+        }
+        return row;
+    }
+
+    @Override
+    public void close() {
+        if (!isClosed) {
+            isClosed = true;
+            rowCursor.close();
+        }
+    }
+}
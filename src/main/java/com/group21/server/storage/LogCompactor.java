@@ -0,0 +1,69 @@
+package com.group21.server.storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.StorageFormat;
+
+public class LogCompactor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogCompactor.class);
+
+    private static LogCompactor logCompactor = null;
+
+    private final Set<Path> dataFilePaths = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService compactionExecutor = null;
+
+    private LogCompactor() {
+    }
+
+    public static synchronized LogCompactor getInstance() {
+        if (logCompactor == null) {
+            logCompactor = new LogCompactor();
+        }
+        return logCompactor;
+    }
+
+    public synchronized void register(Path dataFilePath) {
+        dataFilePaths.add(dataFilePath.toAbsolutePath().normalize());
+
+        if (compactionExecutor == null) {
+            compactionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread compactionThread = new Thread(runnable, "log-compactor");
+                compactionThread.setDaemon(true);
+                return compactionThread;
+            });
+            compactionExecutor.scheduleWithFixedDelay(this::compactAll, ApplicationConfiguration.LOG_COMPACTION_INTERVAL_SECONDS, ApplicationConfiguration.LOG_COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public void compactAll() {
+        for (Path dataFilePath : dataFilePaths) {
+            try {
+                // Table may have been dropped or converted to another format since it was registered
+                if (Files.notExists(dataFilePath) || StorageFormat.detect(dataFilePath) != StorageFormat.LOG) {
+                    dataFilePaths.remove(dataFilePath);
+                    continue;
+                }
+
+                if (LogTableFormat.needsCompaction(dataFilePath)) {
+                    LogTableFormat.compact(dataFilePath);
+                    LOGGER.debug("Compacted log segments of {}.", dataFilePath.getFileName());
+                }
+            } catch (Exception exception) {
+                LOGGER.error("Error occurred while compacting {}.", dataFilePath.getFileName());
+                EventLogger.error(exception.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
+import com.group21.server.models.DataType;
+
+public class LogTableFormat {
+
+    public static final byte[] MAGIC = {0, 'L', 'O', 'G'};
+
+    private static final int NEXT_ROW_ID_OFFSET = MAGIC.length;
+
+    private static final byte PUT_RECORD = 1;
+    private static final byte DELETE_RECORD = 2;
+    private static final byte RESET_RECORD = 3;
+
+    private static final Map<Path, Object> TABLE_LOCKS = new ConcurrentHashMap<>();
+    private static final Set<Path> CHECKED_SEGMENTS = ConcurrentHashMap.newKeySet();
+
+    private LogTableFormat() {
+    }
+
+    public static void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            deleteSegments(dataFilePath);
+
+            Path segmentFilePath = TableFiles.getSegmentFilePath(dataFilePath, 1);
+            long rowId = 0;
+            try (OutputStream segmentFileStream = new BufferedOutputStream(Files.newOutputStream(segmentFilePath))) {
+                for (List<String> rowData : rows) {
+                    segmentFileStream.write(encodePutRecord(++rowId, getColumnTypes(columns), rowData));
+                }
+            } finally {
+                BufferPool.getInstance().invalidate(segmentFilePath);
+            }
+
+            try {
+                Files.write(dataFilePath, encodeHeader(columns, rowId + 1));
+            } finally {
+                BufferPool.getInstance().invalidate(dataFilePath);
+            }
+        }
+    }
+
+    public static void append(Path dataFilePath, List<String> rowData) throws IOException {
+        appendRows(dataFilePath, Collections.singletonList(rowData));
+    }
+
+    public static void appendRows(Path dataFilePath, List<List<String>> rows) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            Header header = readHeader(dataFilePath);
+
+            // Row ids are reserved before the records are written, so a failed append can never hand out the same id twice
+            writeNextRowId(dataFilePath, header.nextRowId + rows.size());
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            long rowId = header.nextRowId;
+            for (List<String> rowData : rows) {
+                records.write(encodePutRecord(rowId++, header.columnTypes, rowData));
+            }
+            appendRecords(dataFilePath, records.toByteArray());
+        }
+        LogCompactor.getInstance().register(dataFilePath);
+    }
+
+    public static int updateRows(Path dataFilePath, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater, RowChangeListener rowChangeListener) throws IOException {
+        int changedRows = 0;
+        synchronized (getLock(dataFilePath)) {
+            Header header = readHeader(dataFilePath);
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+
+            try (LogRowCursor rowCursor = openCursor(dataFilePath)) {
+                while (rowCursor.hasNext()) {
+                    List<String> rowData = new ArrayList<>(rowCursor.next());
+                    if (predicate.test(rowData)) {
+                        List<String> changedRowData = rowUpdater.apply(new ArrayList<>(rowData));
+                        rowChangeListener.rowChanged(rowData, changedRowData);
+                        records.write(encodePutRecord(rowCursor.getRowId(), header.columnTypes, changedRowData));
+                        changedRows++;
+                    }
+                }
+            }
+
+            if (changedRows > 0) {
+                rowChangeListener.beforeWrite();
+                appendRecords(dataFilePath, records.toByteArray());
+            }
+        }
+        LogCompactor.getInstance().register(dataFilePath);
+        return changedRows;
+    }
+
+    public static int deleteRows(Path dataFilePath, Predicate<List<String>> predicate, RowChangeListener rowChangeListener) throws IOException {
+        int deletedRows = 0;
+        synchronized (getLock(dataFilePath)) {
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+
+            try (LogRowCursor rowCursor = openCursor(dataFilePath)) {
+                while (rowCursor.hasNext()) {
+                    List<String> rowData = rowCursor.next();
+                    if (predicate.test(rowData)) {
+                        rowChangeListener.rowChanged(rowData, null);
+                        records.write(encodeDeleteRecord(rowCursor.getRowId()));
+                        deletedRows++;
+                    }
+                }
+            }
+
+            if (deletedRows > 0) {
+                rowChangeListener.beforeWrite();
+                appendRecords(dataFilePath, records.toByteArray());
+            }
+        }
+        LogCompactor.getInstance().register(dataFilePath);
+        return deletedRows;
+    }
+
+    public static void replace(Path dataFilePath, Iterable<List<String>> rows, RowChangeListener rowChangeListener) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            Header header = readHeader(dataFilePath);
+            List<Path> segmentFilePaths = TableFiles.listSegmentFiles(dataFilePath);
+            int replacementSegmentNumber = segmentFilePaths.isEmpty() ? 1 : TableFiles.getSegmentNumber(segmentFilePaths.get(segmentFilePaths.size() - 1)) + 1;
+            Path replacementSegmentFilePath = TableFiles.getSegmentFilePath(dataFilePath, replacementSegmentNumber);
+            Path tempFilePath = replacementSegmentFilePath.resolveSibling(replacementSegmentFilePath.getFileName().toString() + ".tmp");
+
+            long rowId = header.nextRowId;
+            try {
+                // Segment starts with a reset record, so renaming it into place drops every older row in one step
+                try (OutputStream tempFileStream = new BufferedOutputStream(Files.newOutputStream(tempFilePath))) {
+                    tempFileStream.write(encodeResetRecord());
+                    for (List<String> rowData : rows) {
+                        rowChangeListener.rowChanged(null, rowData);
+                        tempFileStream.write(encodePutRecord(rowId++, header.columnTypes, rowData));
+                    }
+                }
+
+                rowChangeListener.beforeWrite();
+                writeNextRowId(dataFilePath, rowId);
+                TableFiles.move(tempFilePath, replacementSegmentFilePath);
+                for (Path segmentFilePath : segmentFilePaths) {
+                    TableFiles.delete(segmentFilePath);
+                }
+            } finally {
+                TableFiles.delete(tempFilePath);
+            }
+        }
+        LogCompactor.getInstance().register(dataFilePath);
+    }
+
+    public static List<String> readLines(Path dataFilePath) throws IOException {
+        List<String> fileLines = new ArrayList<>();
+        try (LogRowCursor rowCursor = openCursor(dataFilePath)) {
+            fileLines.add(String.join(ApplicationConfiguration.DELIMITER, rowCursor.getColumnNames()));
+            while (rowCursor.hasNext()) {
+                fileLines.add(String.join(ApplicationConfiguration.DELIMITER, rowCursor.next()));
+            }
+        }
+        return fileLines;
+    }
+
+    public static List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+        List<String> columnDataList = new ArrayList<>();
+        try (LogRowCursor rowCursor = openCursor(dataFilePath)) {
+            int index = Math.max(rowCursor.getColumnNames().indexOf(columnName), 0);
+            while (rowCursor.hasNext()) {
+                columnDataList.add(rowCursor.next().get(index));
+            }
+        }
+        return columnDataList;
+    }
+
+    public static RowCursor scan(Path dataFilePath) throws IOException {
+        return openCursor(dataFilePath);
+    }
+
+    public static void delete(Path dataFilePath) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            deleteSegments(dataFilePath);
+            TableFiles.delete(dataFilePath);
+        }
+    }
+
+    public static void move(Path sourceDataFilePath, Path targetDataFilePath) throws IOException {
+        synchronized (getLock(targetDataFilePath)) {
+            for (Path segmentFilePath : TableFiles.listSegmentFiles(sourceDataFilePath)) {
+                int segmentNumber = TableFiles.getSegmentNumber(segmentFilePath);
+                TableFiles.move(segmentFilePath, TableFiles.getSegmentFilePath(targetDataFilePath, segmentNumber));
+            }
+            TableFiles.move(sourceDataFilePath, targetDataFilePath);
+        }
+        LogCompactor.getInstance().register(targetDataFilePath);
+    }
+
+    public static void deleteSegments(Path dataFilePath) throws IOException {
+        for (Path segmentFilePath : TableFiles.listSegmentFiles(dataFilePath)) {
+            TableFiles.delete(segmentFilePath);
+        }
+    }
+
+    public static boolean needsCompaction(Path dataFilePath) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            List<Path> segmentFilePaths = TableFiles.listSegmentFiles(dataFilePath);
+            if (segmentFilePaths.size() >= ApplicationConfiguration.LOG_COMPACTION_SEGMENT_COUNT) {
+                return true;
+            }
+
+            // A single segment is still worth compacting once most of it is old versions and tombstones
+            try (LogRowCursor rowCursor = openCursor(dataFilePath)) {
+                return rowCursor.recordCount > 2 * rowCursor.livePositions.size();
+            }
+        }
+    }
+
+    public static void compact(Path dataFilePath) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            List<Path> segmentFilePaths = TableFiles.listSegmentFiles(dataFilePath);
+            if (segmentFilePaths.isEmpty()) {
+                return;
+            }
+
+            Header header = readHeader(dataFilePath);
+            int compactedSegmentNumber = TableFiles.getSegmentNumber(segmentFilePaths.get(segmentFilePaths.size() - 1)) + 1;
+            Path compactedSegmentFilePath = TableFiles.getSegmentFilePath(dataFilePath, compactedSegmentNumber);
+            Path tempFilePath = compactedSegmentFilePath.resolveSibling(compactedSegmentFilePath.getFileName().toString() + ".tmp");
+
+            try {
+                try (LogRowCursor rowCursor = openCursor(dataFilePath);
+                     OutputStream tempFileStream = new BufferedOutputStream(Files.newOutputStream(tempFilePath))) {
+                    while (rowCursor.hasNext()) {
+                        List<String> rowData = rowCursor.next();
+                        tempFileStream.write(encodePutRecord(rowCursor.getRowId(), header.columnTypes, rowData));
+                    }
+                }
+
+                // Compacted segment only holds the latest version of each row, so it is still correct if the old segments survive a crash
+                TableFiles.move(tempFilePath, compactedSegmentFilePath);
+                for (Path segmentFilePath : segmentFilePaths) {
+                    TableFiles.delete(segmentFilePath);
+                }
+            } finally {
+                TableFiles.delete(tempFilePath);
+            }
+        }
+    }
+
+    public static boolean isLog(byte[] content) {
+        if (content.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (content[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static LogRowCursor openCursor(Path dataFilePath) throws IOException {
+        synchronized (getLock(dataFilePath)) {
+            Header header = readHeader(dataFilePath);
+
+            List<ByteBuffer> segmentBuffers = new ArrayList<>();
+            for (Path segmentFilePath : TableFiles.listSegmentFiles(dataFilePath)) {
+                segmentBuffers.add(BufferPool.getInstance().mapFile(segmentFilePath));
+            }
+            return new LogRowCursor(header.columnNames, segmentBuffers);
+        }
+    }
+
+    private static void appendRecords(Path dataFilePath, byte[] records) throws IOException {
+        List<Path> segmentFilePaths = TableFiles.listSegmentFiles(dataFilePath);
+
+        Path segmentFilePath;
+        if (segmentFilePaths.isEmpty()) {
+            segmentFilePath = TableFiles.getSegmentFilePath(dataFilePath, 1);
+        } else {
+            segmentFilePath = segmentFilePaths.get(segmentFilePaths.size() - 1);
+            if (Files.size(segmentFilePath) >= ApplicationConfiguration.LOG_SEGMENT_SIZE) {
+                segmentFilePath = TableFiles.getSegmentFilePath(dataFilePath, TableFiles.getSegmentNumber(segmentFilePath) + 1);
+            }
+        }
+
+        if (Files.exists(segmentFilePath) && CHECKED_SEGMENTS.add(segmentFilePath.toAbsolutePath().normalize())) {
+            truncateTornRecord(segmentFilePath);
+        }
+        TableFiles.append(segmentFilePath, records);
+    }
+
+    private static void truncateTornRecord(Path segmentFilePath) throws IOException {
+        // Records appended behind a half written one would never be read, so it is cut off before the first append
+        ByteBuffer buffer = BufferPool.getInstance().mapFile(segmentFilePath).duplicate();
+        while (LogRowCursor.isRecordComplete(buffer)) {
+            byte recordType = buffer.get();
+            buffer.getLong();
+            if (recordType == PUT_RECORD) {
+                int payloadLength = buffer.getInt();
+                buffer.position(buffer.position() + payloadLength);
+            }
+        }
+
+        if (buffer.hasRemaining()) {
+            try (FileChannel segmentFileChannel = FileChannel.open(segmentFilePath, StandardOpenOption.WRITE)) {
+                segmentFileChannel.truncate(buffer.position());
+            } finally {
+                BufferPool.getInstance().invalidate(segmentFilePath);
+            }
+        }
+    }
+
+    private static void writeNextRowId(Path dataFilePath, long nextRowId) throws IOException {
+        ByteBuffer nextRowIdBuffer = ByteBuffer.allocate(Long.BYTES);
+        nextRowIdBuffer.putLong(nextRowId);
+        nextRowIdBuffer.flip();
+
+        try (FileChannel dataFileChannel = FileChannel.open(dataFilePath, StandardOpenOption.WRITE)) {
+            dataFileChannel.write(nextRowIdBuffer, NEXT_ROW_ID_OFFSET);
+        } finally {
+            BufferPool.getInstance().invalidate(dataFilePath);
+        }
+    }
+
+    private static byte[] encodeHeader(List<Column> columns, long nextRowId) {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream headerStream = new DataOutputStream(headerBytes)) {
+            headerStream.write(MAGIC);
+            headerStream.writeLong(nextRowId);
+            headerStream.writeInt(columns.size());
+            for (Column column : columns) {
+                headerStream.writeUTF(column.getColumnName());
+                headerStream.writeByte(column.getColumnType().ordinal());
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return headerBytes.toByteArray();
+    }
+
+    private static byte[] encodePutRecord(long rowId, List<DataType> columnTypes, List<String> rowData) {
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        try (DataOutputStream payloadStream = new DataOutputStream(payloadBytes)) {
+            for (int i = 0; i < rowData.size(); i++) {
+                DataType columnType = i < columnTypes.size() ? columnTypes.get(i) : DataType.TEXT;
+                BinaryTableFormat.writeField(payloadStream, columnType, rowData.get(i));
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        byte[] payload = payloadBytes.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(1 + Long.BYTES + Integer.BYTES + payload.length);
+        record.put(PUT_RECORD);
+        record.putLong(rowId);
+        record.putInt(payload.length);
+        record.put(payload);
+        return record.array();
+    }
+
+    private static byte[] encodeDeleteRecord(long rowId) {
+        ByteBuffer record = ByteBuffer.allocate(1 + Long.BYTES);
+        record.put(DELETE_RECORD);
+        record.putLong(rowId);
+        return record.array();
+    }
+
+    private static byte[] encodeResetRecord() {
+        ByteBuffer record = ByteBuffer.allocate(1 + Long.BYTES);
+        record.put(RESET_RECORD);
+        record.putLong(0);
+        return record.array();
+    }
+
+    private static List<DataType> getColumnTypes(List<Column> columns) {
+        List<DataType> columnTypes = new ArrayList<>();
+        for (Column column : columns) {
+            columnTypes.add(column.getColumnType());
+        }
+        return columnTypes;
+    }
+
+    private static Header readHeader(Path dataFilePath) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(BufferPool.getInstance().readFile(dataFilePath));
+        Header header = new Header();
+
+        buffer.position(NEXT_ROW_ID_OFFSET);
+        header.nextRowId = buffer.getLong();
+        int columnCount = buffer.getInt();
+
+        DataType[] dataTypes = DataType.values();
+        for (int i = 0; i < columnCount; i++) {
+            int nameLength = buffer.getShort() & 0xFFFF;
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(nameBytes);
+            header.columnNames.add(new String(nameBytes, StandardCharsets.UTF_8));
+            header.columnTypes.add(dataTypes[buffer.get()]);
+        }
+        return header;
+    }
+
+    private static Object getLock(Path dataFilePath) {
+        return TABLE_LOCKS.computeIfAbsent(dataFilePath.toAbsolutePath().normalize(), path -> new Object());
+    }
+
+    private static final class Header {
+        private long nextRowId;
+        private final List<String> columnNames = new ArrayList<>();
+        private final List<DataType> columnTypes = new ArrayList<>();
+    }
+
+    private static final class LogRowCursor extends RowCursor {
+        private final List<String> columnNames;
+        private final List<ByteBuffer> segmentBuffers;
+        private final Map<Long, Long> livePositions = new HashMap<>();
+        private int recordCount = 0;
+
+        private int segmentIndex = 0;
+        private long rowId = -1;
+
+        private LogRowCursor(List<String> columnNames, List<ByteBuffer> segmentBuffers) {
+            this.columnNames = columnNames;
+            this.segmentBuffers = segmentBuffers;
+
+            // First pass finds where the latest version of every live row is, tombstones drop the row
+            for (int i = 0; i < segmentBuffers.size(); i++) {
+                ByteBuffer buffer = segmentBuffers.get(i).duplicate();
+                int recordStart = buffer.position();
+                while (isRecordComplete(buffer)) {
+                    byte recordType = buffer.get();
+                    long recordRowId = buffer.getLong();
+                    if (recordType == PUT_RECORD) {
+                        int payloadLength = buffer.getInt();
+                        buffer.position(buffer.position() + payloadLength);
+                        livePositions.put(recordRowId, getPosition(i, recordStart));
+                    } else if (recordType == RESET_RECORD) {
+                        livePositions.clear();
+                        recordCount = 0;
+                    } else {
+                        livePositions.remove(recordRowId);
+                    }
+                    recordCount++;
+                    recordStart = buffer.position();
+                }
+            }
+        }
+
+        @Override
+        public List<String> getColumnNames() {
+            return columnNames;
+        }
+
+        public long getRowId() {
+            return rowId;
+        }
+
+        @Override
+        protected List<String> fetchRow() {
+            while (segmentIndex < segmentBuffers.size()) {
+                ByteBuffer buffer = segmentBuffers.get(segmentIndex);
+                while (isRecordComplete(buffer)) {
+                    int recordStart = buffer.position();
+                    byte recordType = buffer.get();
+                    long recordRowId = buffer.getLong();
+                    if (recordType != PUT_RECORD) {
+                        continue;
+                    }
+
+                    int payloadLength = buffer.getInt();
+                    int payloadEnd = buffer.position() + payloadLength;
+
+                    Long livePosition = livePositions.get(recordRowId);
+                    if (livePosition == null || livePosition != getPosition(segmentIndex, recordStart)) {
+                        buffer.position(payloadEnd);
+                        continue;
+                    }
+
+                    List<String> rowData = new ArrayList<>(columnNames.size());
+                    while (buffer.position() < payloadEnd) {
+                        rowData.add(BinaryTableFormat.readField(buffer));
+                    }
+                    rowId = recordRowId;
+                    return rowData;
+                }
+                segmentIndex++;
+            }
+            return null;
+        }
+
+        private static long getPosition(int segmentIndex, int recordStart) {
+            return ((long) segmentIndex << Integer.SIZE) | recordStart;
+        }
+
+        private static boolean isRecordComplete(ByteBuffer buffer) {
+            int headerLength = 1 + Long.BYTES;
+            if (buffer.remaining() < headerLength) {
+                return false;
+            }
+            if (buffer.get(buffer.position()) != PUT_RECORD) {
+                return true;
+            }
+            if (buffer.remaining() < headerLength + Integer.BYTES) {
+                return false;
+            }
+            // A record cut short by a crash during append is ignored
+            return buffer.remaining() >= headerLength + Integer.BYTES + buffer.getInt(buffer.position() + headerLength);
+        }
+    }
+}
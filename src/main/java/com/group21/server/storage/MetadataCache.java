@@ -0,0 +1,130 @@
+package com.group21.server.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.DatabaseSite;
+
+public class MetadataCache {
+
+    private static MetadataCache metadataCache = null;
+
+    private final Map<String, Long> schemaVersions = new HashMap<>();
+    private final Map<String, CachedMetadata> cachedMetadata = new HashMap<>();
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long invalidationCount = 0;
+
+    private MetadataCache() {
+    }
+
+    public static synchronized MetadataCache getInstance() {
+        if (metadataCache == null) {
+            metadataCache = new MetadataCache();
+        }
+        return metadataCache;
+    }
+
+    public List<Column> get(DatabaseSite databaseSite, String tableName, Function<String, List<Column>> metadataLoader) {
+        String tableKey = getTableKey(databaseSite, tableName);
+        long schemaVersion;
+        synchronized (this) {
+            schemaVersion = schemaVersions.getOrDefault(tableKey, 0L);
+            CachedMetadata metadata = cachedMetadata.get(tableKey);
+            if (metadata != null && metadata.schemaVersion == schemaVersion) {
+                hitCount++;
+                return copy(metadata.columns);
+            }
+            missCount++;
+        }
+
+        // Metadata is loaded outside the lock, so a slow remote download does not hold up lookups of other tables
+        List<Column> columns = metadataLoader.apply(tableName);
+
+        synchronized (this) {
+            // Schema changed while loading, the loaded copy is returned to this caller only
+            if (!columns.isEmpty() && schemaVersions.getOrDefault(tableKey, 0L) == schemaVersion) {
+                cachedMetadata.put(tableKey, new CachedMetadata(schemaVersion, copy(columns)));
+            }
+        }
+        return columns;
+    }
+
+    public synchronized long getSchemaVersion(DatabaseSite databaseSite, String tableName) {
+        return schemaVersions.getOrDefault(getTableKey(databaseSite, tableName), 0L);
+    }
+
+    public synchronized void bumpSchemaVersion(DatabaseSite databaseSite, String tableName) {
+        String tableKey = getTableKey(databaseSite, tableName);
+        schemaVersions.merge(tableKey, 1L, Long::sum);
+        if (cachedMetadata.remove(tableKey) != null) {
+            invalidationCount++;
+        }
+    }
+
+    public synchronized void invalidate(DatabaseSite databaseSite) {
+        String sitePrefix = databaseSite.name() + ".";
+        Iterator<Map.Entry<String, CachedMetadata>> iterator = cachedMetadata.entrySet().iterator();
+        while (iterator.hasNext()) {
+            String tableKey = iterator.next().getKey();
+            if (tableKey.startsWith(sitePrefix)) {
+                schemaVersions.merge(tableKey, 1L, Long::sum);
+                iterator.remove();
+                invalidationCount++;
+            }
+        }
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    public synchronized int getCachedTableCount() {
+        return cachedMetadata.size();
+    }
+
+    private static String getTableKey(DatabaseSite databaseSite, String tableName) {
+        return databaseSite.name() + "." + tableName;
+    }
+
+    // Callers change the columns they get, e.g. to set an index name, so the cache never hands out its own objects
+    private static List<Column> copy(List<Column> columns) {
+        List<Column> columnsCopy = new ArrayList<>(columns.size());
+        for (Column column : columns) {
+            Column columnCopy = new Column();
+            columnCopy.setColumnName(column.getColumnName());
+            columnCopy.setColumnType(column.getColumnType());
+            columnCopy.setConstraint(column.getConstraint());
+            columnCopy.setForeignKeyTable(column.getForeignKeyTable());
+            columnCopy.setForeignKeyColumnName(column.getForeignKeyColumnName());
+            columnCopy.setColumnPosition(column.getColumnPosition());
+            columnCopy.setIndexName(column.getIndexName());
+            columnsCopy.add(columnCopy);
+        }
+        return columnsCopy;
+    }
+
+    private static final class CachedMetadata {
+        private final long schemaVersion;
+        private final List<Column> columns;
+
+        private CachedMetadata(long schemaVersion, List<Column> columns) {
+            this.schemaVersion = schemaVersion;
+            this.columns = columns;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.StorageFormat;
+
+public class PrimaryKeyIndex {
+
+    public static final byte[] MAGIC = {0, 'P', 'K', 'X'};
+
+    private static final int PAGE_SIZE = ApplicationConfiguration.HASH_INDEX_PAGE_SIZE;
+    private static final int PAGE_HEADER_LENGTH = Short.BYTES + Integer.BYTES;
+    private static final int MAX_KEY_LENGTH = PAGE_SIZE - PAGE_HEADER_LENGTH - Short.BYTES;
+
+    private static final Map<Path, Object> INDEX_LOCKS = new ConcurrentHashMap<>();
+
+    private PrimaryKeyIndex() {
+    }
+
+    public static boolean contains(Path dataFilePath, String columnName, String key) throws IOException {
+        Path indexFilePath = TableFiles.getPrimaryKeyIndexFilePath(dataFilePath);
+        synchronized (getLock(indexFilePath)) {
+            if (!isCurrent(dataFilePath)) {
+                rebuild(dataFilePath, columnName);
+            }
+
+            byte[] keyBytes = encodeKey(key);
+            try (FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ)) {
+                Header header = readHeader(indexFileChannel);
+                int pageNumber = getBucketPageNumber(header, keyBytes);
+                while (pageNumber != 0) {
+                    BucketPage bucketPage = readPage(indexFileChannel, pageNumber);
+                    if (bucketPage.indexOf(keyBytes) >= 0) {
+                        return true;
+                    }
+                    pageNumber = bucketPage.nextPageNumber;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static boolean isCurrent(Path dataFilePath) throws IOException {
+        Path indexFilePath = TableFiles.getPrimaryKeyIndexFilePath(dataFilePath);
+        synchronized (getLock(indexFilePath)) {
+            if (Files.notExists(indexFilePath) || Files.notExists(dataFilePath)) {
+                return false;
+            }
+
+            // Data files changed behind the index, e.g. by a remote site or a crash before the index was written, are detected by their stamp
+            try (FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ)) {
+                Header header = readHeader(indexFileChannel);
+                return header != null && header.dataFileSize == Files.size(dataFilePath)
+                        && header.dataFileModifiedTime == Files.getLastModifiedTime(dataFilePath).toMillis();
+            }
+        }
+    }
+
+    public static void update(Path dataFilePath, Collection<String> removedKeys, Collection<String> addedKeys) throws IOException {
+        Path indexFilePath = TableFiles.getPrimaryKeyIndexFilePath(dataFilePath);
+        synchronized (getLock(indexFilePath)) {
+            if (Files.notExists(indexFilePath)) {
+                return;
+            }
+
+            Header header;
+            try (FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                header = readHeader(indexFileChannel);
+                if (header == null) {
+                    throw new IOException("Primary key index " + indexFilePath + " is corrupt.");
+                }
+
+                // Removals go first, so swapping two keys within one statement leaves both in the index
+                for (String key : removedKeys) {
+                    if (removeKey(indexFileChannel, header, encodeKey(key))) {
+                        header.entryCount--;
+                    }
+                }
+                for (String key : addedKeys) {
+                    if (insertKey(indexFileChannel, header, encodeKey(key))) {
+                        header.entryCount++;
+                    }
+                }
+
+                header.dataFileSize = Files.size(dataFilePath);
+                header.dataFileModifiedTime = Files.getLastModifiedTime(dataFilePath).toMillis();
+                writeHeader(indexFileChannel, header);
+            }
+
+            // Bucket count doubles once chains get long, which keeps lookups at one or two page reads
+            if (header.entryCount > (long) header.bucketCount * ApplicationConfiguration.HASH_INDEX_BUCKET_LOAD) {
+                List<byte[]> keys = readKeys(indexFilePath, header);
+                writeIndex(indexFilePath, keys, header.dataFileSize, header.dataFileModifiedTime);
+            }
+        }
+    }
+
+    public static void rebuild(Path dataFilePath, String columnName) throws IOException {
+        Path indexFilePath = TableFiles.getPrimaryKeyIndexFilePath(dataFilePath);
+        synchronized (getLock(indexFilePath)) {
+            // Stamp is taken before the scan, so a write landing during the scan makes the index stale instead of wrong
+            long dataFileSize = Files.size(dataFilePath);
+            long dataFileModifiedTime = Files.getLastModifiedTime(dataFilePath).toMillis();
+
+            List<byte[]> keys = new ArrayList<>();
+            // Only columnar tables project their scan, other formats return whole rows, so the key column is picked out here
+            List<String> projection = Collections.singletonList(columnName);
+            try (RowCursor rowCursor = new FilteredRowCursor(StorageFormat.detect(dataFilePath).scan(dataFilePath, projection), projection, null)) {
+                while (rowCursor.hasNext()) {
+                    keys.add(encodeKey(rowCursor.next().get(0)));
+                }
+            }
+            writeIndex(indexFilePath, keys, dataFileSize, dataFileModifiedTime);
+        }
+    }
+
+    public static void delete(Path dataFilePath) throws IOException {
+        Path indexFilePath = TableFiles.getPrimaryKeyIndexFilePath(dataFilePath);
+        synchronized (getLock(indexFilePath)) {
+            Files.deleteIfExists(indexFilePath);
+        }
+    }
+
+    private static boolean insertKey(FileChannel indexFileChannel, Header header, byte[] keyBytes) throws IOException {
+        int pageNumber = getBucketPageNumber(header, keyBytes);
+        int freePageNumber = 0;
+        BucketPage freePage = null;
+        BucketPage lastPage = null;
+        int lastPageNumber = 0;
+        while (pageNumber != 0) {
+            BucketPage bucketPage = readPage(indexFileChannel, pageNumber);
+            if (bucketPage.indexOf(keyBytes) >= 0) {
+                return false;
+            }
+            if (freePage == null && bucketPage.hasSpace(keyBytes)) {
+                freePage = bucketPage;
+                freePageNumber = pageNumber;
+            }
+            lastPage = bucketPage;
+            lastPageNumber = pageNumber;
+            pageNumber = bucketPage.nextPageNumber;
+        }
+
+        if (freePage == null) {
+            // Chain is full, a new overflow page is linked at its end
+            freePage = new BucketPage();
+            freePageNumber = header.pageCount++;
+            lastPage.nextPageNumber = freePageNumber;
+            writePage(indexFileChannel, lastPageNumber, lastPage);
+        }
+        freePage.keys.add(keyBytes);
+        writePage(indexFileChannel, freePageNumber, freePage);
+        return true;
+    }
+
+    private static boolean removeKey(FileChannel indexFileChannel, Header header, byte[] keyBytes) throws IOException {
+        int pageNumber = getBucketPageNumber(header, keyBytes);
+        while (pageNumber != 0) {
+            BucketPage bucketPage = readPage(indexFileChannel, pageNumber);
+            int keyIndex = bucketPage.indexOf(keyBytes);
+            if (keyIndex >= 0) {
+                bucketPage.keys.remove(keyIndex);
+                writePage(indexFileChannel, pageNumber, bucketPage);
+                return true;
+            }
+            pageNumber = bucketPage.nextPageNumber;
+        }
+        return false;
+    }
+
+    private static List<byte[]> readKeys(Path indexFilePath, Header header) throws IOException {
+        List<byte[]> keys = new ArrayList<>();
+        try (FileChannel indexFileChannel = FileChannel.open(indexFilePath, StandardOpenOption.READ)) {
+            for (int pageNumber = 1; pageNumber < header.pageCount; pageNumber++) {
+                keys.addAll(readPage(indexFileChannel, pageNumber).keys);
+            }
+        }
+        return keys;
+    }
+
+    private static void writeIndex(Path indexFilePath, List<byte[]> keys, long dataFileSize, long dataFileModifiedTime) throws IOException {
+        int bucketCount = getBucketCount(keys.size());
+        List<List<byte[]>> buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+
+        Header header = new Header();
+        header.bucketCount = bucketCount;
+        for (byte[] keyBytes : keys) {
+            List<byte[]> bucket = buckets.get(getBucketNumber(bucketCount, keyBytes));
+            if (!containsKey(bucket, keyBytes)) {
+                bucket.add(keyBytes);
+                header.entryCount++;
+            }
+        }
+
+        // Each bucket starts on its own page, keys that do not fit spill to overflow pages after all buckets
+        List<BucketPage> pages = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            pages.add(new BucketPage());
+        }
+        for (int i = 0; i < bucketCount; i++) {
+            BucketPage bucketPage = pages.get(i);
+            for (byte[] keyBytes : buckets.get(i)) {
+                if (!bucketPage.hasSpace(keyBytes)) {
+                    BucketPage overflowPage = new BucketPage();
+                    pages.add(overflowPage);
+                    bucketPage.nextPageNumber = pages.size();
+                    bucketPage = overflowPage;
+                }
+                bucketPage.keys.add(keyBytes);
+            }
+        }
+        header.pageCount = pages.size() + 1;
+        header.dataFileSize = dataFileSize;
+        header.dataFileModifiedTime = dataFileModifiedTime;
+
+        Path tempFilePath = TableFiles.getTempFilePath(indexFilePath);
+        try {
+            try (OutputStream indexFileStream = new BufferedOutputStream(Files.newOutputStream(tempFilePath))) {
+                indexFileStream.write(encodeHeader(header));
+                for (BucketPage bucketPage : pages) {
+                    indexFileStream.write(bucketPage.encode().array());
+                }
+            }
+            TableFiles.move(tempFilePath, indexFilePath);
+        } finally {
+            Files.deleteIfExists(tempFilePath);
+        }
+    }
+
+    private static Header readHeader(FileChannel indexFileChannel) throws IOException {
+        ByteBuffer headerBuffer = readPageBuffer(indexFileChannel, 0);
+        byte[] magic = new byte[MAGIC.length];
+        headerBuffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            return null;
+        }
+
+        Header header = new Header();
+        header.bucketCount = headerBuffer.getInt();
+        header.pageCount = headerBuffer.getInt();
+        header.entryCount = headerBuffer.getLong();
+        header.dataFileSize = headerBuffer.getLong();
+        header.dataFileModifiedTime = headerBuffer.getLong();
+        return header;
+    }
+
+    private static void writeHeader(FileChannel indexFileChannel, Header header) throws IOException {
+        writePageBuffer(indexFileChannel, 0, ByteBuffer.wrap(encodeHeader(header)));
+    }
+
+    private static byte[] encodeHeader(Header header) {
+        ByteBuffer headerBuffer = ByteBuffer.allocate(PAGE_SIZE);
+        headerBuffer.put(MAGIC);
+        headerBuffer.putInt(header.bucketCount);
+        headerBuffer.putInt(header.pageCount);
+        headerBuffer.putLong(header.entryCount);
+        headerBuffer.putLong(header.dataFileSize);
+        headerBuffer.putLong(header.dataFileModifiedTime);
+        return headerBuffer.array();
+    }
+
+    private static BucketPage readPage(FileChannel indexFileChannel, int pageNumber) throws IOException {
+        return BucketPage.decode(readPageBuffer(indexFileChannel, pageNumber));
+    }
+
+    private static void writePage(FileChannel indexFileChannel, int pageNumber, BucketPage bucketPage) throws IOException {
+        writePageBuffer(indexFileChannel, pageNumber, bucketPage.encode());
+    }
+
+    private static ByteBuffer readPageBuffer(FileChannel indexFileChannel, int pageNumber) throws IOException {
+        ByteBuffer pageBuffer = ByteBuffer.allocate(PAGE_SIZE);
+        long pageOffset = (long) pageNumber * PAGE_SIZE;
+        while (pageBuffer.hasRemaining()) {
+            if (indexFileChannel.read(pageBuffer, pageOffset + pageBuffer.position()) < 0) {
+                break;
+            }
+        }
+        pageBuffer.flip();
+        pageBuffer.limit(PAGE_SIZE);
+        return pageBuffer;
+    }
+
+    private static void writePageBuffer(FileChannel indexFileChannel, int pageNumber, ByteBuffer pageBuffer) throws IOException {
+        long pageOffset = (long) pageNumber * PAGE_SIZE;
+        while (pageBuffer.hasRemaining()) {
+            indexFileChannel.write(pageBuffer, pageOffset + pageBuffer.position());
+        }
+    }
+
+    private static int getBucketPageNumber(Header header, byte[] keyBytes) {
+        return getBucketNumber(header.bucketCount, keyBytes) + 1;
+    }
+
+    private static int getBucketNumber(int bucketCount, byte[] keyBytes) {
+        int hash = Arrays.hashCode(keyBytes);
+        hash ^= hash >>> 16;
+        return hash & (bucketCount - 1);
+    }
+
+    private static int getBucketCount(int keyCount) {
+        int bucketCount = ApplicationConfiguration.HASH_INDEX_INITIAL_BUCKET_COUNT;
+        while ((long) bucketCount * ApplicationConfiguration.HASH_INDEX_BUCKET_LOAD < 2L * keyCount) {
+            bucketCount *= 2;
+        }
+        return bucketCount;
+    }
+
+    private static byte[] encodeKey(String key) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_LENGTH) {
+            throw new IOException("Primary key value is too long to be indexed.");
+        }
+        return keyBytes;
+    }
+
+    private static boolean containsKey(List<byte[]> keys, byte[] keyBytes) {
+        for (byte[] key : keys) {
+            if (Arrays.equals(key, keyBytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object getLock(Path indexFilePath) {
+        return INDEX_LOCKS.computeIfAbsent(indexFilePath.toAbsolutePath().normalize(), key -> new Object());
+    }
+
+    private static final class Header {
+        private int bucketCount;
+        private int pageCount;
+        private long entryCount;
+        private long dataFileSize;
+        private long dataFileModifiedTime;
+    }
+
+    private static final class BucketPage {
+        private int nextPageNumber = 0;
+        private final List<byte[]> keys = new ArrayList<>();
+
+        private int indexOf(byte[] keyBytes) {
+            for (int i = 0; i < keys.size(); i++) {
+                if (Arrays.equals(keys.get(i), keyBytes)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean hasSpace(byte[] keyBytes) {
+            int usedSpace = PAGE_HEADER_LENGTH;
+            for (byte[] key : keys) {
+                usedSpace += Short.BYTES + key.length;
+            }
+            return usedSpace + Short.BYTES + keyBytes.length <= PAGE_SIZE;
+        }
+
+        private ByteBuffer encode() {
+            ByteBuffer pageBuffer = ByteBuffer.allocate(PAGE_SIZE);
+            pageBuffer.putShort((short) keys.size());
+            pageBuffer.putInt(nextPageNumber);
+            for (byte[] key : keys) {
+                pageBuffer.putShort((short) key.length);
+                pageBuffer.put(key);
+            }
+            pageBuffer.clear();
+            return pageBuffer;
+        }
+
+        private static BucketPage decode(ByteBuffer pageBuffer) {
+            BucketPage bucketPage = new BucketPage();
+            int keyCount = pageBuffer.getShort();
+            bucketPage.nextPageNumber = pageBuffer.getInt();
+            for (int i = 0; i < keyCount; i++) {
+                byte[] key = new byte[pageBuffer.getShort()];
+                pageBuffer.get(key);
+                bucketPage.keys.add(key);
+            }
+            return bucketPage;
+        }
+    }
+}
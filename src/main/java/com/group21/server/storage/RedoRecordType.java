@@ -0,0 +1,89 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.group21.server.models.Column;
+import com.group21.server.models.StorageFormat;
+
+public enum RedoRecordType {
+    INSERT {
+        @Override
+        public void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            StorageFormat storageFormat = StorageFormat.detect(dataFilePath);
+
+            // One scan counts the rows of the batch that reached the table before the crash, only the rest is appended
+            Map<List<String>, Integer> batchRows = new HashMap<>();
+            for (List<String> rowData : rows) {
+                batchRows.merge(rowData, 1, Integer::sum);
+            }
+            Map<List<String>, Integer> foundRows = new HashMap<>();
+            try (RowCursor rowCursor = storageFormat.scan(dataFilePath, null)) {
+                while (rowCursor.hasNext()) {
+                    List<String> rowData = rowCursor.next();
+                    if (foundRows.getOrDefault(rowData, 0) < batchRows.getOrDefault(rowData, 0)) {
+                        foundRows.merge(new ArrayList<>(rowData), 1, Integer::sum);
+                    }
+                }
+            }
+
+            List<List<String>> missingRows = new ArrayList<>();
+            for (List<String> rowData : rows) {
+                if (foundRows.getOrDefault(rowData, 0) > 0) {
+                    foundRows.merge(rowData, -1, Integer::sum);
+                } else {
+                    missingRows.add(rowData);
+                }
+            }
+            if (!missingRows.isEmpty()) {
+                storageFormat.appendRows(dataFilePath, columns, missingRows);
+            }
+        }
+    },
+    UPDATE {
+        @Override
+        public void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            // Rows are logged as before and after image pairs
+            Map<List<String>, List<String>> changedRows = new HashMap<>();
+            for (int i = 0; i + 1 < rows.size(); i += 2) {
+                changedRows.put(rows.get(i), rows.get(i + 1));
+            }
+            StorageFormat.detect(dataFilePath).updateRows(dataFilePath, columns, changedRows::containsKey, changedRows::get, RowChangeListener.NONE);
+        }
+    },
+    DELETE {
+        @Override
+        public void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            Set<List<String>> deletedRows = new HashSet<>(rows);
+            StorageFormat.detect(dataFilePath).deleteRows(dataFilePath, columns, deletedRows::contains, RowChangeListener.NONE);
+        }
+    },
+    REPLACE {
+        @Override
+        public void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException {
+            StorageFormat.detect(dataFilePath).replace(dataFilePath, columns, rows);
+        }
+    },
+    // Rows of an UPDATE, DELETE or REPLACE logged in more than one batch, they are redone with the record that ends the statement
+    PARTIAL {
+        @Override
+        public void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) {
+            // Rows wait for the record that ends the statement
+        }
+    },
+    // Statement failed after logging PARTIAL records, they are dropped
+    ABORT {
+        @Override
+        public void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) {
+            // Table file only changes after the record that ends the statement, so the failed statement never reached it
+        }
+    };
+
+    public abstract void redo(Path dataFilePath, List<Column> columns, List<List<String>> rows) throws IOException;
+}
@@ -0,0 +1,18 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+// Told about each row an update, delete or rewrite pass changes while the pass runs, and told again before the table file itself changes
+public interface RowChangeListener {
+
+    RowChangeListener NONE = (rowData, changedRowData) -> {
+    };
+
+    // Row is null for a row a rewrite inserts, changed row is null for a deleted row
+    void rowChanged(List<String> rowData, List<String> changedRowData) throws IOException;
+
+    // Called once every changed row has been reported, nothing of the pass has reached the table file yet
+    default void beforeWrite() throws IOException {
+    }
+}
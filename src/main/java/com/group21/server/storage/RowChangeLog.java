@@ -0,0 +1,159 @@
+package com.group21.server.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+
+// Rows changed by an UPDATE, DELETE or table rewrite are logged in batches while the storage format passes over the table, the last batch ends the statement and is logged before the table file changes
+public class RowChangeLog implements RowChangeListener, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowChangeLog.class);
+
+    private static final Map<String, Object> TABLE_LOCKS = new ConcurrentHashMap<>();
+
+    private final String tableName;
+    private final RedoRecordType recordType;
+    private final List<Column> columns;
+    private final TableIndexes tableIndexes;
+
+    private final List<List<String>> batch = new ArrayList<>();
+    private final List<Long> lsns = new ArrayList<>();
+    private Path spillFilePath = null;
+    private DataOutputStream spillOutput = null;
+    private boolean isLogged = false;
+
+    public RowChangeLog(String tableName, RedoRecordType recordType, List<Column> columns, TableIndexes tableIndexes) {
+        this.tableName = tableName;
+        this.recordType = recordType;
+        this.columns = columns;
+        this.tableIndexes = tableIndexes;
+    }
+
+    // Held for a whole statement, so batches of two statements on one table never interleave in the log
+    public static Object getLock(String tableName) {
+        return TABLE_LOCKS.computeIfAbsent(tableName, name -> new Object());
+    }
+
+    @Override
+    public void rowChanged(List<String> rowData, List<String> changedRowData) throws IOException {
+        List<List<String>> rows;
+        if (rowData == null) {
+            TableIndexes.checkRows(columns, Collections.singletonList(changedRowData));
+            rows = Collections.singletonList(new ArrayList<>(changedRowData));
+        } else if (changedRowData == null) {
+            rows = Collections.singletonList(new ArrayList<>(rowData));
+        } else if (rowData.equals(changedRowData)) {
+            return;
+        } else {
+            TableIndexes.checkRows(columns, Collections.singletonList(changedRowData));
+            // Rows are logged as before and after image pairs
+            rows = new ArrayList<>();
+            rows.add(new ArrayList<>(rowData));
+            rows.add(new ArrayList<>(changedRowData));
+        }
+
+        batch.addAll(rows);
+        // Indexes of a rewritten table are dropped instead of patched
+        if (recordType != RedoRecordType.REPLACE && !tableIndexes.isEmpty()) {
+            spill(rows);
+        }
+        if (batch.size() >= ApplicationConfiguration.WAL_BATCH_SIZE) {
+            lsns.add(WriteAheadLog.getInstance().log(RedoRecordType.PARTIAL, tableName, batch));
+            batch.clear();
+        }
+    }
+
+    // Record that ends the statement is durable before the table file changes, recovery redoes the whole statement from there on
+    @Override
+    public void beforeWrite() throws IOException {
+        // Rewrite is logged even without rows, it still empties the table
+        if (recordType == RedoRecordType.REPLACE || !batch.isEmpty() || !lsns.isEmpty()) {
+            lsns.add(WriteAheadLog.getInstance().log(recordType, tableName, batch));
+            batch.clear();
+        }
+        isLogged = true;
+    }
+
+    // Called once the table holds every change, the indexes are then patched from the spilled rows
+    public void updateIndexes() throws IOException {
+        if (spillOutput == null) {
+            return;
+        }
+        SpillFiles.writeEnd(spillOutput);
+        spillOutput.close();
+        spillOutput = null;
+
+        List<List<String>> removedRows = new ArrayList<>();
+        List<List<String>> addedRows = new ArrayList<>();
+        try (RowCursor rowCursor = SpillFiles.scan(spillFilePath, null)) {
+            while (rowCursor.hasNext()) {
+                removedRows.add(rowCursor.next());
+                if (recordType == RedoRecordType.UPDATE) {
+                    addedRows.add(rowCursor.next());
+                }
+                if (removedRows.size() >= ApplicationConfiguration.WAL_BATCH_SIZE) {
+                    tableIndexes.update(removedRows, addedRows);
+                    removedRows.clear();
+                    addedRows.clear();
+                }
+            }
+        }
+        if (!removedRows.isEmpty()) {
+            tableIndexes.update(removedRows, addedRows);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            // Batches already logged by a statement that failed before its last record are not redone
+            if (!isLogged && !lsns.isEmpty()) {
+                lsns.add(WriteAheadLog.getInstance().log(RedoRecordType.ABORT, tableName, Collections.emptyList()));
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while logging aborted change of table {}.", tableName);
+            EventLogger.error(exception.getMessage());
+        } finally {
+            for (long lsn : lsns) {
+                WriteAheadLog.getInstance().complete(lsn);
+            }
+            closeSpill();
+        }
+    }
+
+    private void spill(List<List<String>> rows) throws IOException {
+        if (spillOutput == null) {
+            spillFilePath = SpillFiles.create("changes");
+            spillOutput = SpillFiles.openOutput(spillFilePath);
+        }
+        for (List<String> rowData : rows) {
+            SpillFiles.writeRow(spillOutput, rowData);
+        }
+    }
+
+    private void closeSpill() {
+        if (spillFilePath == null) {
+            return;
+        }
+        try {
+            if (spillOutput != null) {
+                spillOutput.close();
+            }
+        } catch (IOException exception) {
+            // File is deleted below anyway
+        }
+        SpillFiles.delete(Collections.singletonList(spillFilePath));
+    }
+}
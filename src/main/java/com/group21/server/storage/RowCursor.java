@@ -0,0 +1,65 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public abstract class RowCursor implements Iterator<List<String>>, AutoCloseable {
+
+    private List<String> nextRow = null;
+    private boolean isFetched = false;
+
+    public abstract List<String> getColumnNames();
+
+    protected abstract List<String> fetchRow() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (!isFetched) {
+            try {
+                nextRow = fetchRow();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            isFetched = true;
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public List<String> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        isFetched = false;
+        return nextRow;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public Stream<List<String>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false);
+    }
+
+    public static RowCursor empty(List<String> columnNames) {
+        return new RowCursor() {
+            @Override
+            public List<String> getColumnNames() {
+                return columnNames;
+            }
+
+            @Override
+            protected List<String> fetchRow() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.group21.server.storage;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.group21.configurations.ApplicationConfiguration;
+
+public class SortedRowCursor extends RowCursor {
+
+    // Rough heap size of a row and of each value in it, besides two bytes for every character
+    private static final int ROW_OVERHEAD_BYTES = 48;
+    private static final int VALUE_OVERHEAD_BYTES = 56;
+
+    private final RowCursor rowCursor;
+    private final Comparator<List<String>> comparator;
+    private final long memoryBudget;
+    private final int mergeFanIn;
+
+    private boolean isSorted = false;
+    private Iterator<List<String>> sortedRows = null;
+    private List<Path> runFilePaths = new ArrayList<>();
+    private final List<RunReader> runReaders = new ArrayList<>();
+    private PriorityQueue<RunReader> mergeQueue = null;
+
+    public SortedRowCursor(RowCursor rowCursor, Comparator<List<String>> comparator) {
+        this(rowCursor, comparator, ApplicationConfiguration.SORT_MEMORY_BUDGET, ApplicationConfiguration.SORT_MERGE_FAN_IN);
+    }
+
+    public SortedRowCursor(RowCursor rowCursor, Comparator<List<String>> comparator, long memoryBudget, int mergeFanIn) {
+        this.rowCursor = rowCursor;
+        this.comparator = comparator;
+        this.memoryBudget = memoryBudget;
+        this.mergeFanIn = Math.max(mergeFanIn, 2);
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return rowCursor.getColumnNames();
+    }
+
+    @Override
+    protected List<String> fetchRow() throws IOException {
+        if (!isSorted) {
+            sort();
+            isSorted = true;
+        }
+
+        if (sortedRows != null) {
+            return sortedRows.hasNext() ? sortedRows.next() : null;
+        }
+
+        RunReader runReader = mergeQueue.poll();
+        if (runReader == null) {
+            return null;
+        }
+        List<String> row = runReader.getRow();
+        if (runReader.advance()) {
+            mergeQueue.add(runReader);
+        }
+        return row;
+    }
+
+    @Override
+    public void close() {
+        closeRunReaders();
+        SpillFiles.delete(runFilePaths);
+        runFilePaths.clear();
+        rowCursor.close();
+    }
+
+    // Rows are sorted in memory while they fit in the budget, otherwise every full buffer is spilled as a sorted run and the runs are merged
+    private void sort() throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        long bufferedBytes = 0;
+        while (rowCursor.hasNext()) {
+            List<String> row = rowCursor.next();
+            rows.add(row);
+            bufferedBytes += estimateSize(row);
+            if (bufferedBytes > memoryBudget) {
+                runFilePaths.add(writeRun(rows));
+                rows = new ArrayList<>();
+                bufferedBytes = 0;
+            }
+        }
+        // Input is released as soon as it is read, e.g. a remote stream does not stay open during the merge
+        rowCursor.close();
+
+        if (runFilePaths.isEmpty()) {
+            rows.sort(comparator);
+            sortedRows = rows.iterator();
+            return;
+        }
+        if (!rows.isEmpty()) {
+            runFilePaths.add(writeRun(rows));
+        }
+
+        // Each pass merges groups of runs into one, until the last pass can read all the runs at once
+        while (runFilePaths.size() > mergeFanIn) {
+            List<Path> mergedRunFilePaths = new ArrayList<>();
+            for (int i = 0; i < runFilePaths.size(); i += mergeFanIn) {
+                List<Path> groupRunFilePaths = runFilePaths.subList(i, Math.min(i + mergeFanIn, runFilePaths.size()));
+                mergedRunFilePaths.add(mergeRuns(groupRunFilePaths));
+                SpillFiles.delete(groupRunFilePaths);
+            }
+            runFilePaths = mergedRunFilePaths;
+        }
+        mergeQueue = openRuns(runFilePaths);
+    }
+
+    private Path writeRun(List<List<String>> rows) throws IOException {
+        rows.sort(comparator);
+
+        Path runFilePath = SpillFiles.create("run");
+        try (DataOutputStream runOutput = SpillFiles.openOutput(runFilePath)) {
+            for (List<String> row : rows) {
+                SpillFiles.writeRow(runOutput, row);
+            }
+            SpillFiles.writeEnd(runOutput);
+        }
+        return runFilePath;
+    }
+
+    private Path mergeRuns(List<Path> groupRunFilePaths) throws IOException {
+        Path runFilePath = SpillFiles.create("run");
+        PriorityQueue<RunReader> groupQueue = openRuns(groupRunFilePaths);
+        try (DataOutputStream runOutput = SpillFiles.openOutput(runFilePath)) {
+            RunReader runReader;
+            while ((runReader = groupQueue.poll()) != null) {
+                SpillFiles.writeRow(runOutput, runReader.getRow());
+                if (runReader.advance()) {
+                    groupQueue.add(runReader);
+                }
+            }
+            SpillFiles.writeEnd(runOutput);
+        } finally {
+            closeRunReaders();
+        }
+        return runFilePath;
+    }
+
+    // Equal rows come from the earlier run first, so the merge keeps the order of the input like the in memory sort
+    private PriorityQueue<RunReader> openRuns(List<Path> groupRunFilePaths) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(groupRunFilePaths.size(), 1), (runReader, otherRunReader) -> {
+            int comparison = comparator.compare(runReader.getRow(), otherRunReader.getRow());
+            return comparison != 0 ? comparison : Integer.compare(runReader.runNumber, otherRunReader.runNumber);
+        });
+        for (int i = 0; i < groupRunFilePaths.size(); i++) {
+            RunReader runReader = new RunReader(SpillFiles.scan(groupRunFilePaths.get(i), getColumnNames()), i);
+            runReaders.add(runReader);
+            if (runReader.advance()) {
+                queue.add(runReader);
+            }
+        }
+        return queue;
+    }
+
+    private void closeRunReaders() {
+        for (RunReader runReader : runReaders) {
+            runReader.close();
+        }
+        runReaders.clear();
+    }
+
+    private static long estimateSize(List<String> row) {
+        long size = ROW_OVERHEAD_BYTES;
+        for (String value : row) {
+            size += VALUE_OVERHEAD_BYTES + 2L * value.length();
+        }
+        return size;
+    }
+
+    private static class RunReader {
+
+        private final RowCursor runCursor;
+        private final int runNumber;
+        private List<String> row = null;
+
+        private RunReader(RowCursor runCursor, int runNumber) {
+            this.runCursor = runCursor;
+            this.runNumber = runNumber;
+        }
+
+        private List<String> getRow() {
+            return row;
+        }
+
+        // Reads the next row of the run, false and closed at its end
+        private boolean advance() {
+            if (!runCursor.hasNext()) {
+                close();
+                return false;
+            }
+            row = runCursor.next();
+            return true;
+        }
+
+        private void close() {
+            runCursor.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.group21.server.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.group21.configurations.ApplicationConfiguration;
+
+// Temporary row files written by sorts and aggregations that do not fit in memory
+public class SpillFiles {
+
+    private static final int END_OF_ROWS = -1;
+
+    private SpillFiles() {
+    }
+
+    public static Path create(String prefix) throws IOException {
+        Path spillDirectoryPath = getSpillDirectoryPath();
+        Files.createDirectories(spillDirectoryPath);
+        return Files.createTempFile(spillDirectoryPath, prefix, ".tmp");
+    }
+
+    public static DataOutputStream openOutput(Path spillFilePath) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFilePath), ApplicationConfiguration.HEAP_PAGE_SIZE));
+    }
+
+    public static void writeRow(DataOutputStream spillOutput, List<String> row) throws IOException {
+        spillOutput.writeInt(row.size());
+        for (String value : row) {
+            byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            spillOutput.writeInt(valueBytes.length);
+            spillOutput.write(valueBytes);
+        }
+    }
+
+    // Written last, so a reader knows where the rows end without a count up front
+    public static void writeEnd(DataOutputStream spillOutput) throws IOException {
+        spillOutput.writeInt(END_OF_ROWS);
+    }
+
+    public static RowCursor scan(Path spillFilePath, List<String> columnNames) throws IOException {
+        DataInputStream spillInput = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFilePath), ApplicationConfiguration.HEAP_PAGE_SIZE));
+
+        return new RowCursor() {
+            @Override
+            public List<String> getColumnNames() {
+                return columnNames;
+            }
+
+            @Override
+            protected List<String> fetchRow() throws IOException {
+                int valueCount = spillInput.readInt();
+                if (valueCount == END_OF_ROWS) {
+                    return null;
+                }
+                List<String> row = new ArrayList<>(valueCount);
+                for (int i = 0; i < valueCount; i++) {
+                    byte[] valueBytes = new byte[spillInput.readInt()];
+                    spillInput.readFully(valueBytes);
+                    row.add(new String(valueBytes, StandardCharsets.UTF_8));
+                }
+                return row;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    spillInput.close();
+                } catch (IOException exception) {
+                    // File is deleted after it is read anyway
+                }
+            }
+        };
+    }
+
+    public static void delete(List<Path> spillFilePaths) {
+        for (Path spillFilePath : spillFilePaths) {
+            try {
+                Files.deleteIfExists(spillFilePath);
+            } catch (IOException exception) {
+                // Left for deleteAll on the next start
+            }
+        }
+    }
+
+    // Files left behind by a query that did not finish, e.g. after a crash
+    public static void deleteAll() throws IOException {
+        Path spillDirectoryPath = getSpillDirectoryPath();
+        if (Files.notExists(spillDirectoryPath)) {
+            return;
+        }
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(spillDirectoryPath)) {
+            for (Path spillFilePath : directoryStream) {
+                Files.deleteIfExists(spillFilePath);
+            }
+        }
+    }
+
+    private static Path getSpillDirectoryPath() {
+        return Paths.get(ApplicationConfiguration.DATA_DIRECTORY, ApplicationConfiguration.SPILL_DIRECTORY);
+    }
+}
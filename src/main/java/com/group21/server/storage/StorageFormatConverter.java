@@ -0,0 +1,106 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.StorageFormat;
+import com.group21.server.models.TableInfo;
+import com.group21.utils.FileReader;
+import com.group21.utils.FileWriter;
+
+public class StorageFormatConverter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StorageFormatConverter.class);
+
+    private StorageFormatConverter() {
+    }
+
+    public static void convert(String tableName, StorageFormat storageFormat) {
+        Map<String, DatabaseSite> gddMap = FileReader.readDistributedDataDictionary();
+        DatabaseSite databaseSite = gddMap.get(tableName);
+
+        if (databaseSite == null) {
+            LOGGER.error("Table '{}' does not exist in database!", tableName);
+            return;
+        }
+
+        if (databaseSite != ApplicationConfiguration.CURRENT_SITE) {
+            LOGGER.error("Table '{}' is not on the current site, only local tables can be converted.", tableName);
+            return;
+        }
+
+        List<TableInfo> tableInfoList = FileReader.readLocalDataDictionary();
+        TableInfo tableInfo = null;
+        for (TableInfo info : tableInfoList) {
+            if (info.getTableName().equals(tableName)) {
+                tableInfo = info;
+                break;
+            }
+        }
+
+        if (tableInfo == null) {
+            LOGGER.error("Table '{}' does not exist in local data dictionary!", tableName);
+            return;
+        }
+
+        Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+
+        try {
+            StorageFormat currentStorageFormat = StorageFormat.detect(dataFilePath);
+            if (currentStorageFormat == storageFormat) {
+                LOGGER.info("Table '{}' is already stored in {} format.", tableName, storageFormat.name());
+                return;
+            }
+
+            List<Column> columns = FileReader.readMetadata(tableName);
+            long oldFileSize = getTableSize(dataFilePath);
+            List<Path> oldColumnFilePaths = ColumnarTableFormat.getColumnFilePaths(dataFilePath);
+            try (RowCursor rowCursor = currentStorageFormat.scan(dataFilePath, null)) {
+                storageFormat.replace(dataFilePath, columns, () -> rowCursor);
+            }
+
+            // Column and segment files of the old layout are not replaced by the move
+            if (currentStorageFormat == StorageFormat.COLUMNAR) {
+                for (Path oldColumnFilePath : oldColumnFilePaths) {
+                    TableFiles.delete(oldColumnFilePath);
+                }
+            } else if (currentStorageFormat == StorageFormat.LOG) {
+                LogTableFormat.deleteSegments(dataFilePath);
+            }
+
+            tableInfo.setStorageFormat(storageFormat);
+            FileWriter.writeLocalDataDictionary(tableInfo);
+
+            LOGGER.info("Table '{}' converted to {} format ({} bytes to {} bytes).", tableName, storageFormat.name(), oldFileSize, getTableSize(dataFilePath));
+
+            EventLogger.log("Table '" + tableName + "' converted to " + storageFormat.name() + " format.");
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while converting table {} storage format.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    private static long getTableSize(Path dataFilePath) throws IOException {
+        long tableSize = Files.size(dataFilePath);
+        for (Path columnFilePath : ColumnarTableFormat.getColumnFilePaths(dataFilePath)) {
+            if (Files.exists(columnFilePath)) {
+                tableSize += Files.size(columnFilePath);
+            }
+        }
+        for (Path segmentFilePath : TableFiles.listSegmentFiles(dataFilePath)) {
+            tableSize += Files.size(segmentFilePath);
+        }
+        return tableSize;
+    }
+}
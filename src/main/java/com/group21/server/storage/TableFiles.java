@@ -0,0 +1,108 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import com.group21.configurations.ApplicationConfiguration;
+
+public class TableFiles {
+
+    private TableFiles() {
+    }
+
+    public static void append(Path filePath, byte[] content) throws IOException {
+        long fileSize = Files.exists(filePath) ? Files.size(filePath) : 0;
+        try {
+            Files.write(filePath, content, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            BufferPool.getInstance().invalidate(filePath, fileSize);
+        }
+    }
+
+    public static void delete(Path filePath) throws IOException {
+        try {
+            Files.deleteIfExists(filePath);
+        } finally {
+            BufferPool.getInstance().invalidate(filePath);
+        }
+    }
+
+    public static void move(Path sourceFilePath, Path targetFilePath) throws IOException {
+        try {
+            Files.move(sourceFilePath, targetFilePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            BufferPool.getInstance().invalidate(sourceFilePath);
+            BufferPool.getInstance().invalidate(targetFilePath);
+        }
+    }
+
+    // Generation 0 is the name column files had before tables were rewritten under a new generation
+    public static Path getColumnFilePath(Path dataFilePath, String columnName, long generation) {
+        String generationSuffix = generation == 0 ? "" : "." + generation;
+        return dataFilePath.resolveSibling(getTableFilePrefix(dataFilePath) + "." + columnName + generationSuffix + ApplicationConfiguration.COLUMN_FILE_FORMAT);
+    }
+
+    public static Path getPrimaryKeyIndexFilePath(Path dataFilePath) {
+        return dataFilePath.resolveSibling(getTableFilePrefix(dataFilePath) + ApplicationConfiguration.PRIMARY_KEY_INDEX_FILE_FORMAT);
+    }
+
+    public static Path getIndexFilePath(Path dataFilePath, String indexName) {
+        return dataFilePath.resolveSibling(getTableFilePrefix(dataFilePath) + "." + indexName + ApplicationConfiguration.INDEX_FILE_FORMAT);
+    }
+
+    public static Path getAppliedLsnFilePath(Path dataFilePath) {
+        return dataFilePath.resolveSibling(getTableFilePrefix(dataFilePath) + ApplicationConfiguration.APPLIED_LSN_FILE_FORMAT);
+    }
+
+    public static Path getTempFilePath(Path dataFilePath) {
+        return dataFilePath.resolveSibling(UUID.randomUUID().toString() + ".tmp");
+    }
+
+    public static Path getSegmentFilePath(Path dataFilePath, int segmentNumber) {
+        return dataFilePath.resolveSibling(getTableFilePrefix(dataFilePath) + "." + segmentNumber + ApplicationConfiguration.SEGMENT_FILE_FORMAT);
+    }
+
+    public static List<Path> listSegmentFiles(Path dataFilePath) throws IOException {
+        String segmentFilePrefix = getTableFilePrefix(dataFilePath) + ".";
+        Map<Integer, Path> segmentFiles = new TreeMap<>();
+
+        Path dataDirectory = dataFilePath.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(dataDirectory, "*" + ApplicationConfiguration.SEGMENT_FILE_FORMAT)) {
+            for (Path filePath : directoryStream) {
+                String fileName = filePath.getFileName().toString();
+                if (!fileName.startsWith(segmentFilePrefix)) {
+                    continue;
+                }
+
+                String segmentNumber = fileName.substring(segmentFilePrefix.length(), fileName.length() - ApplicationConfiguration.SEGMENT_FILE_FORMAT.length());
+                if (segmentNumber.matches("[0-9]+")) {
+                    segmentFiles.put(Integer.parseInt(segmentNumber), filePath);
+                }
+            }
+        }
+        return new ArrayList<>(segmentFiles.values());
+    }
+
+    public static int getSegmentNumber(Path segmentFilePath) {
+        String fileName = segmentFilePath.getFileName().toString();
+        String segmentName = fileName.substring(0, fileName.length() - ApplicationConfiguration.SEGMENT_FILE_FORMAT.length());
+        return Integer.parseInt(segmentName.substring(segmentName.lastIndexOf('.') + 1));
+    }
+
+    private static String getTableFilePrefix(Path dataFilePath) {
+        String dataFileName = dataFilePath.getFileName().toString();
+        if (dataFileName.endsWith(ApplicationConfiguration.DATA_FILE_FORMAT)) {
+            dataFileName = dataFileName.substring(0, dataFileName.length() - ApplicationConfiguration.DATA_FILE_FORMAT.length());
+        }
+        return dataFileName;
+    }
+}
@@ -0,0 +1,130 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.models.Constraint;
+
+public class TableIndexes {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableIndexes.class);
+
+    private final Path dataFilePath;
+    private final Column primaryKeyColumn;
+    private final boolean isPrimaryKeyIndexCurrent;
+    private final List<Column> indexedColumns = new ArrayList<>();
+    private final List<Boolean> isIndexCurrent = new ArrayList<>();
+
+    private TableIndexes(Path dataFilePath, List<Column> columns) {
+        this.dataFilePath = dataFilePath;
+
+        Column keyColumn = null;
+        for (Column column : columns) {
+            if (column.getConstraint() == Constraint.PRIMARY_KEY) {
+                keyColumn = column;
+            }
+            if (column.getIndexName() != null) {
+                indexedColumns.add(column);
+            }
+        }
+        this.primaryKeyColumn = keyColumn;
+        this.isPrimaryKeyIndexCurrent = keyColumn != null && isCurrent(() -> PrimaryKeyIndex.isCurrent(dataFilePath));
+        for (Column column : indexedColumns) {
+            isIndexCurrent.add(isCurrent(() -> BPlusTreeIndex.isCurrent(dataFilePath, column)));
+        }
+    }
+
+    // Indexes are checked before the table changes, an index that was already stale is dropped instead of patched
+    public static TableIndexes open(Path dataFilePath, List<Column> columns) {
+        return new TableIndexes(dataFilePath, columns);
+    }
+
+    // Checked before a write is logged, a row that an index cannot hold would otherwise leave the index to be rebuilt and fail on every lookup
+    public static void checkRows(List<Column> columns, List<List<String>> rows) throws IOException {
+        for (Column column : columns) {
+            if (column.getIndexName() == null) {
+                continue;
+            }
+            for (List<String> rowData : rows) {
+                BPlusTreeIndex.checkRow(column, rowData);
+            }
+        }
+    }
+
+    public static void drop(Path dataFilePath, List<Column> columns) throws IOException {
+        PrimaryKeyIndex.delete(dataFilePath);
+        for (Column column : columns) {
+            if (column.getIndexName() != null) {
+                BPlusTreeIndex.delete(dataFilePath, column.getIndexName());
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return primaryKeyColumn == null && indexedColumns.isEmpty();
+    }
+
+    public void update(List<List<String>> removedRows, List<List<String>> addedRows) {
+        if (primaryKeyColumn != null) {
+            int primaryKeyPosition = primaryKeyColumn.getColumnPosition();
+            List<String> removedKeys = new ArrayList<>();
+            List<String> addedKeys = new ArrayList<>();
+            for (List<String> rowData : removedRows) {
+                removedKeys.add(rowData.get(primaryKeyPosition));
+            }
+            for (List<String> rowData : addedRows) {
+                addedKeys.add(rowData.get(primaryKeyPosition));
+            }
+            updateIndex(isPrimaryKeyIndexCurrent, () -> PrimaryKeyIndex.update(dataFilePath, removedKeys, addedKeys), () -> PrimaryKeyIndex.delete(dataFilePath));
+        }
+
+        for (int i = 0; i < indexedColumns.size(); i++) {
+            Column column = indexedColumns.get(i);
+            updateIndex(isIndexCurrent.get(i), () -> BPlusTreeIndex.update(dataFilePath, column, removedRows, addedRows), () -> BPlusTreeIndex.delete(dataFilePath, column.getIndexName()));
+        }
+    }
+
+    private void updateIndex(boolean isCurrent, IndexAction updateAction, IndexAction deleteAction) {
+        try {
+            if (isCurrent) {
+                updateAction.perform();
+                return;
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while updating index of {}.", dataFilePath.getFileName());
+            EventLogger.error(exception.getMessage());
+        }
+
+        // Index that missed a change is dropped, the next lookup rebuilds it from the table
+        try {
+            deleteAction.perform();
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while deleting index of {}.", dataFilePath.getFileName());
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    private static boolean isCurrent(IndexCheck indexCheck) {
+        try {
+            return indexCheck.check();
+        } catch (IOException exception) {
+            EventLogger.error(exception.getMessage());
+        }
+        return false;
+    }
+
+    private interface IndexAction {
+        void perform() throws IOException;
+    }
+
+    private interface IndexCheck {
+        boolean check() throws IOException;
+    }
+}
@@ -0,0 +1,227 @@
+package com.group21.server.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.models.Column;
+
+public class TextTableFormat {
+
+    private static final byte NEW_LINE_BYTE = '\n';
+    private static final byte CARRIAGE_RETURN_BYTE = '\r';
+    private static final byte DELIMITER_BYTE = (byte) ApplicationConfiguration.DELIMITER.charAt(0);
+
+    private TextTableFormat() {
+    }
+
+    public static void write(Path dataFilePath, List<Column> columns, Iterable<List<String>> rows) throws IOException {
+        try (OutputStream dataFileStream = new BufferedOutputStream(Files.newOutputStream(dataFilePath))) {
+            dataFileStream.write(encodeRow(columns.stream().map(Column::getColumnName).collect(Collectors.toList())));
+            for (List<String> rowData : rows) {
+                dataFileStream.write(encodeRow(rowData));
+            }
+        } finally {
+            BufferPool.getInstance().invalidate(dataFilePath);
+        }
+    }
+
+    public static void append(Path dataFilePath, List<String> rowData) throws IOException {
+        TableFiles.append(dataFilePath, encodeRow(rowData));
+    }
+
+    public static void appendRows(Path dataFilePath, List<List<String>> rows) throws IOException {
+        ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        for (List<String> rowData : rows) {
+            rowBytes.write(encodeRow(rowData));
+        }
+        TableFiles.append(dataFilePath, rowBytes.toByteArray());
+    }
+
+    public static List<String> readLines(Path dataFilePath) throws IOException {
+        ByteBuffer buffer = BufferPool.getInstance().mapFile(dataFilePath);
+
+        List<String> fileLines = new ArrayList<>();
+        while (buffer.hasRemaining()) {
+            fileLines.add(readLine(buffer));
+        }
+        return fileLines;
+    }
+
+    public static List<String> readColumn(Path dataFilePath, String columnName) throws IOException {
+        ByteBuffer buffer = BufferPool.getInstance().mapFile(dataFilePath);
+        List<String> columnDataList = new ArrayList<>();
+
+        if (!buffer.hasRemaining()) {
+            return columnDataList;
+        }
+
+        String[] firstLineArray = readLine(buffer).split(ApplicationConfiguration.DELIMITER_REGEX);
+        int index = Math.max(Arrays.asList(firstLineArray).indexOf(columnName), 0);
+
+        // Only the bytes of the requested field are decoded, the rest of each record is skipped
+        while (buffer.hasRemaining()) {
+            columnDataList.add(readField(buffer, index));
+        }
+        return columnDataList;
+    }
+
+    public static RowCursor scan(Path dataFilePath) throws IOException {
+        ByteBuffer buffer = BufferPool.getInstance().mapFile(dataFilePath);
+        List<String> columnNames = buffer.hasRemaining() ? splitLine(readLine(buffer)) : new ArrayList<>();
+
+        return new RowCursor() {
+            @Override
+            public List<String> getColumnNames() {
+                return columnNames;
+            }
+
+            @Override
+            protected List<String> fetchRow() {
+                while (buffer.hasRemaining()) {
+                    String line = readLine(buffer);
+                    if (!line.isEmpty()) {
+                        return splitLine(line);
+                    }
+                }
+                return null;
+            }
+        };
+    }
+
+    public static RowCursor scan(InputStream dataStream) throws IOException {
+        BufferedReader dataReader = new BufferedReader(new InputStreamReader(dataStream, StandardCharsets.UTF_8));
+        String headerLine = dataReader.readLine();
+        List<String> columnNames = headerLine == null ? new ArrayList<>() : splitLine(headerLine);
+
+        return new RowCursor() {
+            @Override
+            public List<String> getColumnNames() {
+                return columnNames;
+            }
+
+            @Override
+            protected List<String> fetchRow() throws IOException {
+                String line;
+                while ((line = dataReader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        return splitLine(line);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    dataReader.close();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+        };
+    }
+
+    public static byte[] encodeRow(List<String> rowData) {
+        StringJoiner rowDataJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
+
+        for (String data : rowData) {
+            rowDataJoiner.add(data);
+        }
+
+        String row = rowDataJoiner.toString() + ApplicationConfiguration.NEW_LINE;
+        return row.getBytes();
+    }
+
+    private static List<String> splitLine(String line) {
+        return Arrays.asList(line.split(ApplicationConfiguration.DELIMITER_REGEX, -1));
+    }
+
+    private static String readLine(ByteBuffer buffer) {
+        int lineStart = buffer.position();
+        int lineEnd = lineStart;
+        while (lineEnd < buffer.limit() && buffer.get(lineEnd) != NEW_LINE_BYTE) {
+            lineEnd++;
+        }
+        buffer.position(Math.min(lineEnd + 1, buffer.limit()));
+        return decode(buffer, lineStart, lineEnd);
+    }
+
+    private static String readField(ByteBuffer buffer, int index) {
+        int fieldNumber = 0;
+        int fieldStart = buffer.position();
+        int fieldEnd = -1;
+
+        int position = fieldStart;
+        while (position < buffer.limit()) {
+            byte currentByte = buffer.get(position);
+            if (currentByte == NEW_LINE_BYTE) {
+                break;
+            }
+            if (currentByte == DELIMITER_BYTE) {
+                if (fieldNumber == index) {
+                    fieldEnd = position;
+                }
+                fieldNumber++;
+                if (fieldNumber == index) {
+                    fieldStart = position + 1;
+                }
+            }
+            position++;
+        }
+        if (fieldEnd == -1) {
+            fieldEnd = fieldNumber >= index ? position : fieldStart;
+        }
+        buffer.position(Math.min(position + 1, buffer.limit()));
+        return decode(buffer, fieldStart, fieldEnd);
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == CARRIAGE_RETURN_BYTE) {
+            end--;
+        }
+
+        byte[] bytes = new byte[end - start];
+        ByteBuffer fieldBuffer = buffer.duplicate();
+        fieldBuffer.position(start);
+        fieldBuffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static List<String> decodeLines(byte[] content) {
+        String fileContent = new String(content, StandardCharsets.UTF_8);
+
+        List<String> fileLines = new ArrayList<>();
+        int lineStartIndex = 0;
+        while (lineStartIndex < fileContent.length()) {
+            int lineEndIndex = fileContent.indexOf('\n', lineStartIndex);
+            if (lineEndIndex == -1) {
+                lineEndIndex = fileContent.length();
+            }
+
+            String line = fileContent.substring(lineStartIndex, lineEndIndex);
+            if (line.endsWith("\r")) {
+                line = line.substring(0, line.length() - 1);
+            }
+            fileLines.add(line);
+
+            lineStartIndex = lineEndIndex + 1;
+        }
+        return fileLines;
+    }
+}
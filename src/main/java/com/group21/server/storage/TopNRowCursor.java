@@ -0,0 +1,85 @@
+package com.group21.server.storage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class TopNRowCursor extends RowCursor {
+
+    private final RowCursor rowCursor;
+    private final Comparator<List<String>> comparator;
+    private final int rowCount;
+    private Iterator<List<String>> sortedRows = null;
+
+    // Only the first rowCount rows of the sorted order are kept, so memory does not grow with the table
+    public TopNRowCursor(RowCursor rowCursor, Comparator<List<String>> comparator, int rowCount) {
+        this.rowCursor = rowCursor;
+        this.comparator = comparator;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public List<String> getColumnNames() {
+        return rowCursor.getColumnNames();
+    }
+
+    @Override
+    protected List<String> fetchRow() throws IOException {
+        if (sortedRows == null) {
+            sortedRows = selectRows().iterator();
+        }
+        return sortedRows.hasNext() ? sortedRows.next() : null;
+    }
+
+    @Override
+    public void close() {
+        rowCursor.close();
+    }
+
+    // Single pass with the last kept row on top of a heap, a row that does not sort before it is dropped without being stored
+    private List<List<String>> selectRows() {
+        Comparator<HeapEntry> entryComparator = (entry, otherEntry) -> {
+            int comparison = comparator.compare(entry.row, otherEntry.row);
+            return comparison != 0 ? comparison : Long.compare(entry.sequence, otherEntry.sequence);
+        };
+        PriorityQueue<HeapEntry> heap = new PriorityQueue<>(Math.max(rowCount, 1), entryComparator.reversed());
+
+        long sequence = 0;
+        while (rowCount > 0 && rowCursor.hasNext()) {
+            List<String> row = rowCursor.next();
+            if (heap.size() < rowCount) {
+                heap.add(new HeapEntry(row, sequence));
+            } else if (comparator.compare(row, heap.peek().row) < 0) {
+                // Equal rows keep the earlier one, the same rows a full stable sort would return first
+                HeapEntry entry = heap.poll();
+                entry.row = row;
+                entry.sequence = sequence;
+                heap.add(entry);
+            }
+            sequence++;
+        }
+        rowCursor.close();
+
+        List<HeapEntry> entries = new ArrayList<>(heap);
+        entries.sort(entryComparator);
+        List<List<String>> rows = new ArrayList<>(entries.size());
+        for (HeapEntry entry : entries) {
+            rows.add(entry.row);
+        }
+        return rows;
+    }
+
+    private static class HeapEntry {
+
+        private List<String> row;
+        private long sequence;
+
+        private HeapEntry(List<String> row, long sequence) {
+            this.row = row;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.group21.server.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.group21.configurations.ApplicationConfiguration;
+import com.group21.server.logger.EventLogger;
+import com.group21.server.models.Column;
+import com.group21.server.models.StorageFormat;
+import com.group21.utils.FileReader;
+
+public class WriteAheadLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+
+    private static WriteAheadLog writeAheadLog = null;
+
+    private final Path walFilePath;
+    private FileChannel walChannel = null;
+
+    private final List<byte[]> pendingRecords = new ArrayList<>();
+    // Records of each table that are logged but not yet completed, and the last LSN stamped on each table
+    private final Map<String, TreeSet<Long>> incompleteLsns = new HashMap<>();
+    private final Map<String, Long> appliedLsns = new HashMap<>();
+    private long nextLsn = 1;
+    private long flushedLsn = 0;
+    private boolean isFlushing = false;
+    private boolean isCheckpointing = false;
+    private int activeWrites = 0;
+
+    private WriteAheadLog() {
+        this.walFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.WAL_FILE_NAME);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::checkpointQuietly, "wal-shutdown"));
+    }
+
+    public static synchronized WriteAheadLog getInstance() {
+        if (writeAheadLog == null) {
+            writeAheadLog = new WriteAheadLog();
+        }
+        return writeAheadLog;
+    }
+
+    // Returned LSN is passed to complete once the change has been applied to the table
+    public long log(RedoRecordType recordType, String tableName, List<List<String>> rows) throws IOException {
+        long lsn;
+        synchronized (this) {
+            while (isCheckpointing) {
+                awaitNotification();
+            }
+            lsn = nextLsn++;
+            pendingRecords.add(encodeRecord(lsn, recordType, tableName, rows));
+            incompleteLsns.computeIfAbsent(tableName, name -> new TreeSet<>()).add(lsn);
+            activeWrites++;
+        }
+
+        try {
+            awaitFlush(lsn);
+        } catch (IOException exception) {
+            complete(lsn);
+            throw exception;
+        }
+        return lsn;
+    }
+
+    public void complete(long lsn) {
+        boolean isCheckpointNeeded;
+        String tableName = null;
+        long appliedLsn = 0;
+        synchronized (this) {
+            for (Map.Entry<String, TreeSet<Long>> tableLsns : incompleteLsns.entrySet()) {
+                if (tableLsns.getValue().remove(lsn)) {
+                    tableName = tableLsns.getKey();
+                    // Stamp only moves past records of the table that have all completed, an earlier one still running keeps it below
+                    appliedLsn = tableLsns.getValue().isEmpty() ? lsn : tableLsns.getValue().first() - 1;
+                    if (tableLsns.getValue().isEmpty()) {
+                        incompleteLsns.remove(tableName);
+                    }
+                    break;
+                }
+            }
+            activeWrites--;
+            notifyAll();
+            isCheckpointNeeded = activeWrites == 0 && walChannel != null && getWalSize() >= ApplicationConfiguration.WAL_CHECKPOINT_SIZE;
+        }
+
+        if (tableName != null) {
+            try {
+                stampAppliedLsn(tableName, appliedLsn);
+            } catch (IOException exception) {
+                LOGGER.error("Error occurred while stamping table {} with write ahead log position.", tableName);
+                EventLogger.error(exception.getMessage());
+            }
+        }
+
+        if (isCheckpointNeeded) {
+            try {
+                checkpoint();
+            } catch (IOException exception) {
+                LOGGER.error("Error occurred while checkpointing write ahead log.");
+                EventLogger.error(exception.getMessage());
+            }
+        }
+    }
+
+    public void recover() {
+        int redoCount = 0;
+        Set<String> redoneTableNames = new LinkedHashSet<>();
+        Map<String, List<List<String>>> partialRows = new HashMap<>();
+        try {
+            // LSNs continue above every stamp, so a stamp left by an earlier run never covers a new record
+            long lastLsn = readAppliedLsns();
+            if (Files.notExists(walFilePath)) {
+                setNextLsn(lastLsn + 1);
+                return;
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(walFilePath));
+            while (buffer.remaining() >= RECORD_HEADER_LENGTH) {
+                int recordLength = buffer.getInt();
+                long checksum = buffer.getLong();
+                if (recordLength < 0 || buffer.remaining() < recordLength) {
+                    break;
+                }
+
+                byte[] record = new byte[recordLength];
+                buffer.get(record);
+                // Records after a torn or corrupt one were never acknowledged, so replay stops there
+                if (getChecksum(record) != checksum) {
+                    break;
+                }
+                ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+                RedoRecordType recordType = RedoRecordType.values()[recordBuffer.get()];
+                long lsn = recordBuffer.getLong();
+                String tableName = readString(recordBuffer);
+                List<List<String>> rows = readRows(recordBuffer);
+                lastLsn = Math.max(lastLsn, lsn);
+
+                // Earlier batches of a statement are redone in one pass with the record that ends it, or dropped by an ABORT or the end of the log
+                if (recordType == RedoRecordType.PARTIAL) {
+                    partialRows.computeIfAbsent(tableName, name -> new ArrayList<>()).addAll(rows);
+                    continue;
+                }
+                if (recordType == RedoRecordType.UPDATE || recordType == RedoRecordType.DELETE || recordType == RedoRecordType.REPLACE || recordType == RedoRecordType.ABORT) {
+                    List<List<String>> statementRows = partialRows.remove(tableName);
+                    if (statementRows != null) {
+                        statementRows.addAll(rows);
+                        rows = statementRows;
+                    }
+                }
+
+                // Records the table applied before the restart are skipped, redo of an INSERT or UPDATE is not idempotent
+                if (recordType == RedoRecordType.ABORT || lsn <= getAppliedLsn(tableName)) {
+                    continue;
+                }
+                redo(recordType, tableName, rows);
+                stampAppliedLsn(tableName, lsn);
+                redoneTableNames.add(tableName);
+                redoCount++;
+            }
+            setNextLsn(lastLsn + 1);
+
+            // Row counts of the catalog may not have been flushed before the crash, so they are taken from the tables
+            for (String tableName : redoneTableNames) {
+                recountRows(tableName);
+            }
+
+            checkpoint();
+            if (redoCount > 0) {
+                LOGGER.info("Recovered {} write ahead log records.", redoCount);
+                EventLogger.log("Recovered " + redoCount + " write ahead log records.");
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while recovering write ahead log.");
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    public void checkpoint() throws IOException {
+        synchronized (this) {
+            // New records are held back only once nothing is in flight, a statement logging in batches completes its records only after the last one
+            while (isCheckpointing || activeWrites > 0 || isFlushing) {
+                awaitNotification();
+            }
+            isCheckpointing = true;
+        }
+
+        try {
+            // Table files and row counts are synced first, after that the logged changes are no longer needed for recovery
+            Catalog.getInstance().flush();
+            syncDataFiles();
+            getWalChannel().truncate(0);
+            getWalChannel().force(true);
+        } finally {
+            synchronized (this) {
+                isCheckpointing = false;
+                notifyAll();
+            }
+        }
+    }
+
+    // Called once the table files are deleted, the checkpoint drops the records of the table so none is replayed into a table created later under the same name
+    public void removeTable(String tableName) throws IOException {
+        checkpoint();
+        synchronized (appliedLsns) {
+            appliedLsns.remove(tableName);
+            Files.deleteIfExists(TableFiles.getAppliedLsnFilePath(getDataFilePath(tableName)));
+        }
+    }
+
+    private void checkpointQuietly() {
+        synchronized (this) {
+            if (walChannel == null) {
+                return;
+            }
+        }
+        try {
+            checkpoint();
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while checkpointing write ahead log.");
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    private void awaitFlush(long lsn) throws IOException {
+        synchronized (this) {
+            while (flushedLsn < lsn && isFlushing) {
+                awaitNotification();
+            }
+            if (flushedLsn >= lsn) {
+                return;
+            }
+            isFlushing = true;
+        }
+
+        try {
+            // Leader lingers while other statements are in flight, so their records share one fsync
+            if (ApplicationConfiguration.WAL_GROUP_COMMIT_WINDOW_MILLIS > 0 && getActiveWrites() > 1) {
+                sleep(ApplicationConfiguration.WAL_GROUP_COMMIT_WINDOW_MILLIS);
+            }
+
+            List<byte[]> batch;
+            long batchLsn;
+            synchronized (this) {
+                batch = new ArrayList<>(pendingRecords);
+                batchLsn = nextLsn - 1;
+            }
+
+            FileChannel channel = getWalChannel();
+            long walSize = channel.size();
+            try {
+                for (byte[] record : batch) {
+                    ByteBuffer recordBuffer = ByteBuffer.wrap(record);
+                    while (recordBuffer.hasRemaining()) {
+                        channel.write(recordBuffer, channel.size());
+                    }
+                }
+                channel.force(false);
+            } catch (IOException exception) {
+                channel.truncate(walSize);
+                throw exception;
+            }
+
+            synchronized (this) {
+                pendingRecords.subList(0, batch.size()).clear();
+                flushedLsn = batchLsn;
+            }
+        } finally {
+            synchronized (this) {
+                isFlushing = false;
+                notifyAll();
+            }
+        }
+    }
+
+    private void redo(RedoRecordType recordType, String tableName, List<List<String>> rows) throws IOException {
+        Path dataFilePath = getDataFilePath(tableName);
+        if (Files.exists(dataFilePath)) {
+            List<Column> columns = FileReader.readMetadata(tableName);
+            recordType.redo(dataFilePath, columns, rows);
+            TableIndexes.drop(dataFilePath, columns);
+        }
+    }
+
+    private void recountRows(String tableName) throws IOException {
+        Path dataFilePath = getDataFilePath(tableName);
+        if (Files.notExists(dataFilePath)) {
+            return;
+        }
+
+        int rowCount = 0;
+        try (RowCursor rowCursor = StorageFormat.detect(dataFilePath).scan(dataFilePath, null)) {
+            while (rowCursor.hasNext()) {
+                rowCursor.next();
+                rowCount++;
+            }
+        }
+        Catalog.getInstance().setRowCount(tableName, rowCount);
+    }
+
+    // Stamp is the highest LSN of the table whose change is in the table files, it is synced with them by the next checkpoint
+    private void stampAppliedLsn(String tableName, long lsn) throws IOException {
+        synchronized (appliedLsns) {
+            if (lsn <= appliedLsns.getOrDefault(tableName, 0L)) {
+                return;
+            }
+            Path dataFilePath = getDataFilePath(tableName);
+            if (Files.notExists(dataFilePath)) {
+                return;
+            }
+            Files.write(TableFiles.getAppliedLsnFilePath(dataFilePath), ByteBuffer.allocate(Long.BYTES).putLong(lsn).array());
+            appliedLsns.put(tableName, lsn);
+        }
+    }
+
+    private long getAppliedLsn(String tableName) {
+        synchronized (appliedLsns) {
+            return appliedLsns.getOrDefault(tableName, 0L);
+        }
+    }
+
+    private long readAppliedLsns() throws IOException {
+        long lastLsn = 0;
+        String stampSuffix = ApplicationConfiguration.APPLIED_LSN_FILE_FORMAT;
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(ApplicationConfiguration.DATA_DIRECTORY), "*" + stampSuffix)) {
+            for (Path stampFilePath : directoryStream) {
+                byte[] stamp = Files.readAllBytes(stampFilePath);
+                if (stamp.length != Long.BYTES) {
+                    continue;
+                }
+                String fileName = stampFilePath.getFileName().toString();
+                long lsn = ByteBuffer.wrap(stamp).getLong();
+                synchronized (appliedLsns) {
+                    appliedLsns.put(fileName.substring(0, fileName.length() - stampSuffix.length()), lsn);
+                }
+                lastLsn = Math.max(lastLsn, lsn);
+            }
+        }
+        return lastLsn;
+    }
+
+    private synchronized void setNextLsn(long lsn) {
+        nextLsn = Math.max(nextLsn, lsn);
+    }
+
+    private void syncDataFiles() throws IOException {
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(Paths.get(ApplicationConfiguration.DATA_DIRECTORY))) {
+            for (Path filePath : directoryStream) {
+                if (filePath.equals(walFilePath) || !Files.isRegularFile(filePath)) {
+                    continue;
+                }
+                try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                    fileChannel.force(true);
+                }
+            }
+        }
+    }
+
+    private synchronized FileChannel getWalChannel() throws IOException {
+        if (walChannel == null) {
+            walChannel = FileChannel.open(walFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        return walChannel;
+    }
+
+    private synchronized int getActiveWrites() {
+        return activeWrites;
+    }
+
+    private long getWalSize() {
+        try {
+            return walChannel.size();
+        } catch (IOException exception) {
+            return 0;
+        }
+    }
+
+    private void awaitNotification() {
+        try {
+            wait();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] encodeRecord(long lsn, RedoRecordType recordType, String tableName, List<List<String>> rows) {
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        try (DataOutputStream recordStream = new DataOutputStream(recordBytes)) {
+            recordStream.writeByte(recordType.ordinal());
+            recordStream.writeLong(lsn);
+            writeString(recordStream, tableName);
+            recordStream.writeInt(rows.size());
+            for (List<String> rowData : rows) {
+                recordStream.writeInt(rowData.size());
+                for (String value : rowData) {
+                    writeString(recordStream, value);
+                }
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        byte[] record = recordBytes.toByteArray();
+        ByteBuffer framedRecord = ByteBuffer.allocate(RECORD_HEADER_LENGTH + record.length);
+        framedRecord.putInt(record.length);
+        framedRecord.putLong(getChecksum(record));
+        framedRecord.put(record);
+        return framedRecord.array();
+    }
+
+    private static Path getDataFilePath(String tableName) {
+        return Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+    }
+
+    private static void writeString(DataOutputStream recordStream, String value) throws IOException {
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        recordStream.writeInt(valueBytes.length);
+        recordStream.write(valueBytes);
+    }
+
+    private static List<List<String>> readRows(ByteBuffer record) {
+        List<List<String>> rows = new ArrayList<>();
+        int rowCount = record.getInt();
+        for (int i = 0; i < rowCount; i++) {
+            int fieldCount = record.getInt();
+            List<String> rowData = new ArrayList<>(fieldCount);
+            for (int j = 0; j < fieldCount; j++) {
+                rowData.add(readString(record));
+            }
+            rows.add(rowData);
+        }
+        return rows;
+    }
+
+    private static String readString(ByteBuffer record) {
+        byte[] valueBytes = new byte[record.getInt()];
+        record.get(valueBytes);
+        return new String(valueBytes, StandardCharsets.UTF_8);
+    }
+
+    private static long getChecksum(byte[] record) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(record);
+        return crc32.getValue();
+    }
+}
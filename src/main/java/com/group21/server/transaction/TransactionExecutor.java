@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
 import com.group21.server.processor.QueryProcessor;
+import com.group21.server.storage.WriteAheadLog;
 import com.group21.utils.FileReader;
 
 public class TransactionExecutor {
@@ -29,6 +30,13 @@ public class TransactionExecutor {
             QueryProcessor.process(query, true);
             LOGGER.info("");
         }
+        // Checkpoint flushes the row counts and syncs the committed changes, so the log does not replay them after a restart
+        try {
+            WriteAheadLog.getInstance().checkpoint();
+        } catch (IOException e) {
+            LOGGER.info("Error occurred while checkpointing write ahead log.");
+            EventLogger.error(e.getMessage());
+        }
         try {
             Files.write(transactionFile, "".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
         } catch (IOException e) {
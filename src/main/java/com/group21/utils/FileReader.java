@@ -7,10 +7,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +23,16 @@ import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DataType;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.RowPredicate;
+import com.group21.server.models.StorageFormat;
 import com.group21.server.models.TableInfo;
+import com.group21.server.storage.BufferPool;
+import com.group21.server.storage.Catalog;
+import com.group21.server.storage.DistributedDataDictionary;
+import com.group21.server.storage.FilteredRowCursor;
+import com.group21.server.storage.MetadataCache;
+import com.group21.server.storage.PrimaryKeyIndex;
+import com.group21.server.storage.RowCursor;
 
 public class FileReader {
 
@@ -58,46 +69,20 @@ public class FileReader {
     }
 
     public static List<TableInfo> readLocalDataDictionary() {
-        List<TableInfo> tableInfoList = new ArrayList<>();
         try {
-            Path localDDFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME);
-            List<String> fileLines = Files.readAllLines(localDDFilePath);
-            fileLines.remove(0);
-
-            for (String line : fileLines) {
-                String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-
-                TableInfo tableInfo = new TableInfo();
-                tableInfo.setTableName(columnList[0]);
-                tableInfo.setNumberOfRows(Integer.parseInt(columnList[1]));
-                tableInfo.setCreatedOn(Long.parseLong(columnList[2]));
-
-                tableInfoList.add(tableInfo);
-            }
+            return Catalog.getInstance().getTables();
         } catch (IOException exception) {
             LOGGER.error("Error occurred while reading local data dictionary.");
             EventLogger.error(exception.getMessage());
         }
-        return tableInfoList;
+        return new ArrayList<>();
     }
 
-
     public static Map<String, DatabaseSite> readDistributedDataDictionary() {
         Map<String, DatabaseSite> tableInfoMap = new LinkedHashMap<>();
         try {
-            if (ApplicationConfiguration.CURRENT_SITE == DatabaseSite.LOCAL) {
-                // This is done only for local as remote site can not access local machine
-                RemoteDatabaseReader.syncDistributedDataDictionary();
-            }
-            Path localDDFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME);
-            List<String> fileLines = Files.readAllLines(localDDFilePath);
-            fileLines.remove(0);
-
-            for (String line : fileLines) {
-                String[] columnList = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-
-                tableInfoMap.put(columnList[0], DatabaseSite.from(columnList[1]));
-            }
+            // Remote copy is synced once per statement, see DistributedDataDictionary.refresh
+            tableInfoMap = DistributedDataDictionary.getInstance().getTables();
         } catch (IOException exception) {
             LOGGER.error("Error occurred while reading distributed data dictionary.");
             EventLogger.error(exception.getMessage());
@@ -110,7 +95,7 @@ public class FileReader {
         Path localDataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + dataFileName);
         List<String> fileLines = new ArrayList<>();
         try {
-            fileLines = Files.readAllLines(localDataFilePath);
+            fileLines = StorageFormat.detect(localDataFilePath).readLines(localDataFilePath);
         } catch (IOException exception) {
             EventLogger.error(exception.getMessage());
         }
@@ -123,7 +108,7 @@ public class FileReader {
         List<String> fileLines;
         List<String> columnNames = new ArrayList<>();
         try {
-            fileLines = Files.readAllLines(localDDFilePath);
+            fileLines = BufferPool.getInstance().readAllLines(localDDFilePath);
             fileLines.remove(0);
 
             for (String line : fileLines) {
@@ -138,10 +123,14 @@ public class FileReader {
     }
 
     public static List<Column> readMetadata(String tableName) {
+        return MetadataCache.getInstance().get(DatabaseSite.LOCAL, tableName, FileReader::loadMetadata);
+    }
+
+    private static List<Column> loadMetadata(String tableName) {
         List<Column> columnInfoList = new ArrayList<>();
         try {
             Path localDDFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.METADATA_FILE_FORMAT);
-            List<String> fileLines = Files.readAllLines(localDDFilePath);
+            List<String> fileLines = BufferPool.getInstance().readAllLines(localDDFilePath);
             fileLines.remove(0);
             Integer count = 0;
             for (String line : fileLines) {
@@ -152,6 +141,8 @@ public class FileReader {
                 column.setConstraint(Constraint.valueOf(columnInfo[2]));
                 column.setForeignKeyTable(columnInfo[3]);
                 column.setForeignKeyColumnName(columnInfo[4]);
+                // Metadata written before indexes were supported has no index name column
+                column.setIndexName(columnInfo.length > 5 && !columnInfo[5].equals("null") ? columnInfo[5] : null);
                 column.setColumnPosition(count++);
 
                 columnInfoList.add(column);
@@ -167,31 +158,83 @@ public class FileReader {
         List<String> columnDataList = new ArrayList<>();
         try {
             Path localDDFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
-            List<String> fileLines = Files.readAllLines(localDDFilePath);
+            columnDataList = StorageFormat.detect(localDDFilePath).readColumn(localDDFilePath, columnName);
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while reading column data.");
+            EventLogger.error(exception.getMessage());
+        }
+        return columnDataList;
+    }
 
-            int index = 0;
-            String firstLine = fileLines.get(0);
-            String[] firstLineArray = firstLine.split(ApplicationConfiguration.DELIMITER_REGEX);
+    public static RowCursor scan(String tableName, List<String> projection, Predicate<List<String>> predicate) {
+        try {
+            Path localDataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
 
-            for (int i = 0; i < firstLineArray.length; i++) {
-                if (columnName.equals(firstLineArray[i])) {
-                    index = i;
-                    break;
-                }
+            RowCursor indexRowCursor = scanIndex(localDataFilePath, predicate);
+            if (indexRowCursor != null) {
+                return new FilteredRowCursor(indexRowCursor, projection, predicate);
             }
 
-            fileLines.remove(0);
+            // Predicate is evaluated against the full row, so projection can only be pushed down without one
+            List<String> scannedColumnNames = predicate == null ? projection : null;
+            RowCursor rowCursor = StorageFormat.detect(localDataFilePath).scan(localDataFilePath, scannedColumnNames);
+            return new FilteredRowCursor(rowCursor, projection, predicate);
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while reading data of table {}.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+        return RowCursor.empty(projection == null ? new ArrayList<>() : projection);
+    }
 
-            for (String line : fileLines) {
-                String[] columnData = line.split(ApplicationConfiguration.DELIMITER_REGEX);
-                columnDataList.add(columnData[index]);
+    public static String getIndexTableName(String indexName) {
+        for (TableInfo tableInfo : readLocalDataDictionary()) {
+            for (Column column : readMetadata(tableInfo.getTableName())) {
+                if (indexName.equals(column.getIndexName())) {
+                    return tableInfo.getTableName();
+                }
             }
+        }
+        return null;
+    }
 
+    public static RowCursor scanIndex(Path dataFilePath, Predicate<List<String>> predicate) {
+        if (!(predicate instanceof RowPredicate)) {
+            return null;
+        }
+
+        try {
+            return ((RowPredicate) predicate).scanIndex(dataFilePath);
         } catch (IOException exception) {
-            LOGGER.error("Error occurred while reading column data.");
+            LOGGER.error("Error occurred while reading index of {}.", dataFilePath.getFileName());
             EventLogger.error(exception.getMessage());
         }
-        return columnDataList;
+
+        // Index that could not be read falls back to a scan
+        return null;
+    }
+
+    public static boolean containsValue(String tableName, String columnName, String value) {
+        Path localDataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+        for (Column column : readMetadata(tableName)) {
+            if (column.getColumnName().equals(columnName) && column.getConstraint() == Constraint.PRIMARY_KEY) {
+                try {
+                    return PrimaryKeyIndex.contains(localDataFilePath, columnName, value);
+                } catch (IOException exception) {
+                    LOGGER.error("Error occurred while reading primary key index of table {}.", tableName);
+                    EventLogger.error(exception.getMessage());
+                }
+            }
+        }
+
+        // Columns without an index, or an index that could not be read, fall back to a scan
+        try (RowCursor rowCursor = scan(tableName, Collections.singletonList(columnName), null)) {
+            while (rowCursor.hasNext()) {
+                if (rowCursor.next().get(0).equals(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     public static List<String> readTransactionFile() {
@@ -1,14 +1,18 @@
 package com.group21.utils;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
@@ -18,7 +22,18 @@ import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
 import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.StorageFormat;
 import com.group21.server.models.TableInfo;
+import com.group21.server.storage.BufferPool;
+import com.group21.server.storage.Catalog;
+import com.group21.server.storage.DistributedDataDictionary;
+import com.group21.server.storage.FilteredRowCursor;
+import com.group21.server.storage.MetadataCache;
+import com.group21.server.storage.RedoRecordType;
+import com.group21.server.storage.RowChangeLog;
+import com.group21.server.storage.RowCursor;
+import com.group21.server.storage.TableIndexes;
+import com.group21.server.storage.WriteAheadLog;
 
 public class FileWriter {
 
@@ -39,13 +54,15 @@ public class FileWriter {
         } catch (Exception exception) {
             LOGGER.error("Error occurred while writing file {}.", fileName);
             EventLogger.error(exception.getMessage());
+        } finally {
+            BufferPool.getInstance().invalidate(Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + fileName));
         }
     }
 
     public static void writeMetadata(String tableName, List<Column> columnDetails) {
         StringBuilder tableMetadata = new StringBuilder(Strings.EMPTY);
 
-        String headerRow = "ColumnName|ColumnType|Constraint|ForeignKeyTable|ForeignKeyColumn";
+        String headerRow = "ColumnName|ColumnType|Constraint|ForeignKeyTable|ForeignKeyColumn|IndexName";
         tableMetadata.append(headerRow).append(ApplicationConfiguration.NEW_LINE);
 
         for (Column column : columnDetails) {
@@ -56,6 +73,7 @@ public class FileWriter {
             columnEntry.add(column.getConstraint().name());
             columnEntry.add(column.getForeignKeyTable());
             columnEntry.add(column.getForeignKeyColumnName());
+            columnEntry.add(column.getIndexName());
 
             tableMetadata.append(columnEntry.toString()).append(ApplicationConfiguration.NEW_LINE);
         }
@@ -73,122 +91,244 @@ public class FileWriter {
         } catch (IOException exception) {
             LOGGER.error("Error occurred while storing table {} metadata.", tableName);
             EventLogger.error(exception.getMessage());
+        } finally {
+            BufferPool.getInstance().invalidate(metadataFilePath);
+            MetadataCache.getInstance().bumpSchemaVersion(DatabaseSite.LOCAL, tableName);
         }
     }
 
     public static void writeData(String tableName, List<String> columnData) {
-        StringJoiner tableDataJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
-
-        for (String data : columnData) {
-            tableDataJoiner.add(data);
-        }
-
-        String tableData = tableDataJoiner.toString() + ApplicationConfiguration.NEW_LINE;
-
         String dataFileName = tableName + ApplicationConfiguration.DATA_FILE_FORMAT;
 
         Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + dataFileName);
 
         try {
+            List<Column> columns = FileReader.readMetadata(tableName);
+
             if (Files.notExists(dataFilePath)) {
-                Files.createFile(dataFilePath);
+                // First row of a new data file is always the header
+                getStorageFormat(tableName).write(dataFilePath, columns, Collections.emptyList());
+                TableIndexes.drop(dataFilePath, columns);
+            } else {
+                TableIndexes.checkRows(columns, Collections.singletonList(columnData));
+                TableIndexes tableIndexes = TableIndexes.open(dataFilePath, columns);
+
+                long lsn = WriteAheadLog.getInstance().log(RedoRecordType.INSERT, tableName, Collections.singletonList(columnData));
+                try {
+                    StorageFormat.detect(dataFilePath).append(dataFilePath, columns, columnData);
+                    tableIndexes.update(Collections.emptyList(), Collections.singletonList(columnData));
+                } finally {
+                    WriteAheadLog.getInstance().complete(lsn);
+                }
             }
-
-            Files.write(dataFilePath, tableData.getBytes(), StandardOpenOption.APPEND);
         } catch (IOException exception) {
             LOGGER.error("Error occurred while storing data in table {}.", tableName);
             EventLogger.error(exception.getMessage());
         }
     }
 
-    public static void writeLocalDataDictionary(TableInfo tableInfo) {
+    public static void writeRows(String tableName, Iterable<List<String>> rows) {
+        Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
         try {
-            Path localDDFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME);
+            List<Column> columns = FileReader.readMetadata(tableName);
+            StorageFormat storageFormat = Files.exists(dataFilePath) ? StorageFormat.detect(dataFilePath) : getStorageFormat(tableName);
+
+            // Rows are logged in batches as they stream into the new table, the last batch is logged before it replaces the old one
+            synchronized (RowChangeLog.getLock(tableName)) {
+                TableIndexes tableIndexes = TableIndexes.open(dataFilePath, columns);
+                try (RowChangeLog rowChangeLog = new RowChangeLog(tableName, RedoRecordType.REPLACE, columns, tableIndexes)) {
+                    storageFormat.replace(dataFilePath, columns, rows, rowChangeLog);
+                    // Every key may have changed, so the indexes are rebuilt by the next lookup
+                    TableIndexes.drop(dataFilePath, columns);
+                }
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            LOGGER.error("Error occurred while storing data in table {}.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+    }
 
-            StringJoiner tableInfoJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
-            tableInfoJoiner.add(tableInfo.getTableName());
-            tableInfoJoiner.add(String.valueOf(tableInfo.getNumberOfRows()));
-            tableInfoJoiner.add(String.valueOf(tableInfo.getCreatedOn()));
+    // Rows are logged and written a batch at a time, so a load of any size is appended with bounded memory
+    public static int appendRows(String tableName, Iterable<List<String>> rows) {
+        Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+        int appendedRowCount = 0;
+        try {
+            List<Column> columns = FileReader.readMetadata(tableName);
+            if (Files.notExists(dataFilePath)) {
+                getStorageFormat(tableName).write(dataFilePath, columns, Collections.emptyList());
+                TableIndexes.drop(dataFilePath, columns);
+            }
+            StorageFormat storageFormat = StorageFormat.detect(dataFilePath);
+            TableIndexes tableIndexes = TableIndexes.open(dataFilePath, columns);
+
+            List<List<String>> batch = new ArrayList<>(ApplicationConfiguration.COPY_BATCH_SIZE);
+            for (List<String> rowData : rows) {
+                batch.add(rowData);
+                if (batch.size() == ApplicationConfiguration.COPY_BATCH_SIZE) {
+                    appendBatch(tableName, dataFilePath, storageFormat, columns, tableIndexes, batch);
+                    appendedRowCount += batch.size();
+                    batch = new ArrayList<>(ApplicationConfiguration.COPY_BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                appendBatch(tableName, dataFilePath, storageFormat, columns, tableIndexes, batch);
+                appendedRowCount += batch.size();
+            }
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while storing data in table {}.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+        return appendedRowCount;
+    }
 
-            String tableInfoDetails = tableInfoJoiner.toString() + ApplicationConfiguration.NEW_LINE;
+    private static void appendBatch(String tableName, Path dataFilePath, StorageFormat storageFormat, List<Column> columns, TableIndexes tableIndexes, List<List<String>> batch) throws IOException {
+        TableIndexes.checkRows(columns, batch);
+        long lsn = WriteAheadLog.getInstance().log(RedoRecordType.INSERT, tableName, batch);
+        try {
+            storageFormat.appendRows(dataFilePath, columns, batch);
+            tableIndexes.update(Collections.emptyList(), batch);
+        } finally {
+            WriteAheadLog.getInstance().complete(lsn);
+        }
+    }
 
-            Files.write(localDDFilePath, tableInfoDetails.getBytes(), StandardOpenOption.APPEND);
-        } catch (IOException exception) {
-            LOGGER.error("Error occurred while writing to local data dictionary.");
+    public static int updateRows(String tableName, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater) {
+        Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
+        try {
+            List<Column> columns = FileReader.readMetadata(tableName);
+            StorageFormat storageFormat = StorageFormat.detect(dataFilePath);
+
+            synchronized (RowChangeLog.getLock(tableName)) {
+                if (!hasMatchingRows(dataFilePath, predicate)) {
+                    return 0;
+                }
+
+                // Before and after images are logged in batches by the storage format's own pass, so redo does not depend on the predicate
+                TableIndexes tableIndexes = TableIndexes.open(dataFilePath, columns);
+                try (RowChangeLog rowChangeLog = new RowChangeLog(tableName, RedoRecordType.UPDATE, columns, tableIndexes)) {
+                    int updatedRows = storageFormat.updateRows(dataFilePath, columns, predicate, rowUpdater, rowChangeLog);
+                    rowChangeLog.updateIndexes();
+                    return updatedRows;
+                }
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            LOGGER.error("Error occurred while updating data in table {}.", tableName);
             EventLogger.error(exception.getMessage());
         }
+        return 0;
     }
 
-    public static void writeDistributedDataDictionary(String tableName, DatabaseSite databaseSite) {
+    public static int deleteRows(String tableName, Predicate<List<String>> predicate) {
+        Path dataFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
         try {
-            Path gddFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME);
+            List<Column> columns = FileReader.readMetadata(tableName);
+            StorageFormat storageFormat = StorageFormat.detect(dataFilePath);
+
+            synchronized (RowChangeLog.getLock(tableName)) {
+                if (!hasMatchingRows(dataFilePath, predicate)) {
+                    return 0;
+                }
+
+                TableIndexes tableIndexes = TableIndexes.open(dataFilePath, columns);
+                try (RowChangeLog rowChangeLog = new RowChangeLog(tableName, RedoRecordType.DELETE, columns, tableIndexes)) {
+                    int deletedRowCount = storageFormat.deleteRows(dataFilePath, columns, predicate, rowChangeLog);
+                    rowChangeLog.updateIndexes();
+                    return deletedRowCount;
+                }
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            LOGGER.error("Error occurred while deleting data from table {}.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+        return 0;
+    }
 
-            StringJoiner gddInfoJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
-            gddInfoJoiner.add(tableName);
-            gddInfoJoiner.add(databaseSite.name());
+    // Index on the condition column answers without reading the table, other conditions are left to the storage format's pass
+    private static boolean hasMatchingRows(Path dataFilePath, Predicate<List<String>> predicate) throws IOException {
+        RowCursor indexRowCursor = FileReader.scanIndex(dataFilePath, predicate);
+        if (indexRowCursor == null) {
+            return true;
+        }
+        try (RowCursor rowCursor = new FilteredRowCursor(indexRowCursor, null, predicate)) {
+            return rowCursor.hasNext();
+        }
+    }
+
+    private static RowCursor scan(Path dataFilePath, StorageFormat storageFormat, Predicate<List<String>> predicate) throws IOException {
+        // Rows to change are found through an index on the condition column when there is one
+        RowCursor indexRowCursor = FileReader.scanIndex(dataFilePath, predicate);
+        return indexRowCursor != null ? indexRowCursor : storageFormat.scan(dataFilePath, null);
+    }
 
-            String tableInfoDetails = gddInfoJoiner.toString() + ApplicationConfiguration.NEW_LINE;
+    public static StorageFormat getStorageFormat(String tableName) {
+        for (TableInfo tableInfo : FileReader.readLocalDataDictionary()) {
+            if (tableInfo.getTableName().equals(tableName)) {
+                return tableInfo.getStorageFormat();
+            }
+        }
+        return StorageFormat.TEXT;
+    }
 
-            Files.write(gddFilePath, tableInfoDetails.getBytes(), StandardOpenOption.APPEND);
+    public static void writeLocalDataDictionary(TableInfo tableInfo) {
+        try {
+            Catalog.getInstance().putTable(tableInfo);
         } catch (IOException exception) {
-            LOGGER.error("Error occurred while writing to distributed data dictionary.");
+            LOGGER.error("Error occurred while writing to local data dictionary.");
             EventLogger.error(exception.getMessage());
         }
     }
 
-    public static void incrementRowCountInLocalDataDictionary(String tableName) {
-        List<TableInfo> tableInfoList = FileReader.readLocalDataDictionary();
-        List<String> tableNameList = new ArrayList<>();
-        for (TableInfo tableInfo1 : tableInfoList) {
-            tableNameList.add(tableInfo1.getTableName());
-        }
-        TableInfo tableInfo = tableInfoList.get(tableNameList.indexOf(tableName));
-        int rows = tableInfo.getNumberOfRows() + 1;
-        tableInfo.setNumberOfRows(rows);
-        tableInfoList.set(tableNameList.indexOf(tableName), tableInfo);
-        Path localDDPath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME);
-        String headerRow = "TableName|NumberOfRows|CreatedOn" + ApplicationConfiguration.NEW_LINE;
+    public static void removeFromLocalDataDictionary(String tableName) {
         try {
-            Files.write(localDDPath, headerRow.getBytes());
+            Catalog.getInstance().removeTable(tableName);
         } catch (IOException exception) {
-            LOGGER.error("Error occurred while creating data directory.");
+            LOGGER.error("Error occurred while writing to local data dictionary.");
             EventLogger.error(exception.getMessage());
         }
-        for (TableInfo tableInfo2 : tableInfoList) {
-            writeLocalDataDictionary(tableInfo2);
-        }
     }
 
-    public static void decrementRowCountInLocalDataDictionary(String tableName, int count) {
-        List<TableInfo> tableInfoList = FileReader.readLocalDataDictionary();
-        List<String> tableNameList = new ArrayList<>();
-        for (TableInfo tableInfo1 : tableInfoList) {
-            tableNameList.add(tableInfo1.getTableName());
-        }
-        TableInfo tableInfo = tableInfoList.get(tableNameList.indexOf(tableName));
-        int rows = tableInfo.getNumberOfRows() - count;
-        tableInfo.setNumberOfRows(rows);
-        tableInfoList.set(tableNameList.indexOf(tableName), tableInfo);
-        Path localDDPath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.LOCAL_DATA_DICTIONARY_NAME);
-        String headerRow = "TableName|NumberOfRows|CreatedOn" + ApplicationConfiguration.NEW_LINE;
+    public static void writeDistributedDataDictionary(String tableName, DatabaseSite databaseSite) {
         try {
-            Files.write(localDDPath, headerRow.getBytes());
+            DistributedDataDictionary.getInstance().putTable(tableName, databaseSite);
         } catch (IOException exception) {
-            LOGGER.error("Error occurred while creating data directory.");
+            LOGGER.error("Error occurred while writing to distributed data dictionary.");
             EventLogger.error(exception.getMessage());
         }
-        for (TableInfo tableInfo2 : tableInfoList) {
-            writeLocalDataDictionary(tableInfo2);
+    }
+
+    public static void removeFromDistributedDataDictionary(String tableName) {
+        try {
+            DistributedDataDictionary.getInstance().removeTable(tableName);
+        } catch (IOException exception) {
+            LOGGER.error("Error occurred while writing to distributed data dictionary.");
+            EventLogger.error(exception.getMessage());
         }
     }
 
+    public static void incrementRowCountInLocalDataDictionary(String tableName, int count) {
+        // Row counts are kept by the catalog and written in batches instead of rewriting the dictionary per row
+        Catalog.getInstance().adjustRowCount(tableName, count);
+    }
+
+    public static void decrementRowCountInLocalDataDictionary(String tableName, int count) {
+        Catalog.getInstance().adjustRowCount(tableName, -count);
+    }
+
     public static void deleteTable(String tableName) {
         try {
             Path dataFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
             Path metadataFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.METADATA_FILE_FORMAT);
 
-            Files.deleteIfExists(dataFile);
+            List<Column> columns = FileReader.readMetadata(tableName);
+            if (Files.exists(dataFile)) {
+                StorageFormat.detect(dataFile).delete(dataFile);
+            }
+            TableIndexes.drop(dataFile, columns);
+            WriteAheadLog.getInstance().removeTable(tableName);
             Files.deleteIfExists(metadataFile);
+
+            BufferPool.getInstance().invalidate(metadataFile);
+            MetadataCache.getInstance().bumpSchemaVersion(DatabaseSite.LOCAL, tableName);
         } catch (Exception exception) {
             LOGGER.error("Error occurred while deleting table {} files.", tableName);
             EventLogger.error(exception.getMessage());
@@ -199,7 +339,11 @@ public class FileWriter {
         try {
             Path dataFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT);
 
-            Files.deleteIfExists(dataFile);
+            if (Files.exists(dataFile)) {
+                StorageFormat.detect(dataFile).delete(dataFile);
+            }
+            TableIndexes.drop(dataFile, FileReader.readMetadata(tableName));
+            WriteAheadLog.getInstance().removeTable(tableName);
         } catch (Exception exception) {
             LOGGER.error("Error occurred while deleting table {} file.", tableName);
             EventLogger.error(exception.getMessage());
@@ -207,32 +351,20 @@ public class FileWriter {
     }
 
     public static String generateLocalDataDictionaryContent(List<TableInfo> tableInfoList) {
-        String headerRow = "TableName|NumberOfRows|CreatedOn" + ApplicationConfiguration.NEW_LINE;
+        String headerRow = "TableName|NumberOfRows|CreatedOn|StorageFormat" + ApplicationConfiguration.NEW_LINE;
         StringBuilder tableInfoDetails = new StringBuilder(headerRow);
         for (TableInfo tableInfo : tableInfoList) {
             StringJoiner tableInfoJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
             tableInfoJoiner.add(tableInfo.getTableName());
             tableInfoJoiner.add(String.valueOf(tableInfo.getNumberOfRows()));
             tableInfoJoiner.add(String.valueOf(tableInfo.getCreatedOn()));
+            tableInfoJoiner.add(tableInfo.getStorageFormat().name());
 
             tableInfoDetails.append(tableInfoJoiner.toString()).append(ApplicationConfiguration.NEW_LINE);
         }
         return tableInfoDetails.toString();
     }
 
-    public static String generateDistributedDataDictionaryContent(Map<String, DatabaseSite> gddMap) {
-        String headerRow = "TableName|DatabaseSite" + ApplicationConfiguration.NEW_LINE;
-        StringBuilder tableInfoDetails = new StringBuilder(headerRow);
-        for (String tableName : gddMap.keySet()) {
-            StringJoiner gddInfoJoiner = new StringJoiner(ApplicationConfiguration.DELIMITER);
-            gddInfoJoiner.add(tableName);
-            gddInfoJoiner.add(gddMap.get(tableName).name());
-
-            tableInfoDetails.append(gddInfoJoiner.toString()).append(ApplicationConfiguration.NEW_LINE);
-        }
-        return tableInfoDetails.toString();
-    }
-
     public static void writeTransactionFile(String query) {
         try {
             String fileContent = query + ApplicationConfiguration.NEW_LINE;
@@ -1,16 +0,0 @@
-package com.group21.utils;
-
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-public class RegexUtil {
-    public static String getMatch(String input, String regex) {
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(input);
-        if (matcher.find())
-        {
-            return matcher.group(0);
-        }
-        return null;
-    }
-}
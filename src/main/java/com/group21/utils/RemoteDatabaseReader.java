@@ -1,5 +1,6 @@
 package com.group21.utils;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -10,6 +11,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,7 +21,13 @@ import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
 import com.group21.server.models.Constraint;
 import com.group21.server.models.DataType;
+import com.group21.server.models.DatabaseSite;
+import com.group21.server.models.StorageFormat;
 import com.group21.server.models.TableInfo;
+import com.group21.server.storage.FilteredRowCursor;
+import com.group21.server.storage.MetadataCache;
+import com.group21.server.storage.RowCursor;
+import com.group21.server.storage.TextTableFormat;
 import com.jcraft.jsch.ChannelSftp;
 import com.jcraft.jsch.SftpException;
 
@@ -77,6 +85,9 @@ public class RemoteDatabaseReader {
                 tableInfo.setTableName(columnList[0]);
                 tableInfo.setNumberOfRows(Integer.parseInt(columnList[1]));
                 tableInfo.setCreatedOn(Long.parseLong(columnList[2]));
+                if (columnList.length > 3) {
+                    tableInfo.setStorageFormat(StorageFormat.from(columnList[3]));
+                }
 
                 tableInfoList.add(tableInfo);
             }
@@ -90,24 +101,44 @@ public class RemoteDatabaseReader {
         return tableInfoList;
     }
 
-    public static void syncDistributedDataDictionary() {
+    // Returns null when the remote server can not be read and an empty version when the remote copy has no version file
+    public static String readDistributedDataDictionaryVersion() {
+        byte[] versionContent = readDistributedDataDictionaryFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_VERSION_NAME, 0);
+        if (versionContent == null) {
+            return null;
+        }
+        return new String(versionContent);
+    }
+
+    public static byte[] readDistributedDataDictionary(long offset) {
+        return readDistributedDataDictionaryFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME, offset);
+    }
+
+    private static byte[] readDistributedDataDictionaryFile(String fileName, long offset) {
         try {
-            String filePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + File.separator + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME;
+            String filePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + File.separator + fileName;
 
             ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
-            InputStream stream = sftpChannel.get(filePath);
-
-            Path gddFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME);
-            Files.copy(stream, gddFile, StandardCopyOption.REPLACE_EXISTING);
+            try (InputStream stream = sftpChannel.get(filePath, null, offset)) {
+                ByteArrayOutputStream fileContent = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                int bytesRead;
+                while ((bytesRead = stream.read(buffer)) != -1) {
+                    fileContent.write(buffer, 0, bytesRead);
+                }
+                return fileContent.toByteArray();
+            }
         } catch (SftpException exception) {
-            if (exception.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
-                LOGGER.error("Error occurred while reading distributed data dictionary from remote server");
-                EventLogger.error(exception.getMessage());
+            if (exception.id == ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                return fileName.equals(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_VERSION_NAME) ? new byte[0] : null;
             }
+            LOGGER.error("Error occurred while reading file {} from remote server.", fileName);
+            EventLogger.error(exception.getMessage());
         } catch (Exception exception) {
-            LOGGER.error("Error occurred while reading distributed data dictionary from remote server");
+            LOGGER.error("Error occurred while reading file {} from remote server.", fileName);
             EventLogger.error(exception.getMessage());
         }
+        return null;
     }
 
     public static List<String> readData(String tableName) {
@@ -115,7 +146,7 @@ public class RemoteDatabaseReader {
         List<String> fileLines = new ArrayList<>();
         try {
             ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
-            InputStream stream = sftpChannel.get(filePath);
+            InputStream stream = getDataFile(sftpChannel, filePath);
 
             Path tempFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + UUID.randomUUID().toString() + ".tmp");
             Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
@@ -129,7 +160,41 @@ public class RemoteDatabaseReader {
         return fileLines;
     }
 
+    // Old file is the last committed table while a replace swaps the new one in
+    private static InputStream getDataFile(ChannelSftp sftpChannel, String filePath) throws SftpException {
+        try {
+            return sftpChannel.get(filePath);
+        } catch (SftpException exception) {
+            if (exception.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw exception;
+            }
+            try {
+                return sftpChannel.get(filePath + RemoteDatabaseWriter.REPLACED_FILE_SUFFIX);
+            } catch (SftpException oldFileException) {
+                throw exception;
+            }
+        }
+    }
+
+    public static RowCursor scan(String tableName, List<String> projection, Predicate<List<String>> predicate) {
+        String filePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT;
+        try {
+            ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
+            InputStream stream = getDataFile(sftpChannel, filePath);
+
+            return new FilteredRowCursor(TextTableFormat.scan(stream), projection, predicate);
+        } catch (Exception exception) {
+            LOGGER.error("Error occurred while reading data of table {} from remote server.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+        return RowCursor.empty(projection == null ? new ArrayList<>() : projection);
+    }
+
     public static List<Column> readMetadata(String tableName) {
+        return MetadataCache.getInstance().get(DatabaseSite.REMOTE, tableName, RemoteDatabaseReader::loadMetadata);
+    }
+
+    private static List<Column> loadMetadata(String tableName) {
         List<Column> columnInfoList = new ArrayList<>();
         try {
             String filePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.METADATA_FILE_FORMAT;
@@ -151,6 +216,8 @@ public class RemoteDatabaseReader {
                 column.setConstraint(Constraint.valueOf(columnInfo[2]));
                 column.setForeignKeyTable(columnInfo[3]);
                 column.setForeignKeyColumnName(columnInfo[4]);
+                // Metadata written before indexes were supported has no index name column
+                column.setIndexName(columnInfo.length > 5 && !columnInfo[5].equals("null") ? columnInfo[5] : null);
                 column.setColumnPosition(count++);
 
                 columnInfoList.add(column);
@@ -197,7 +264,7 @@ public class RemoteDatabaseReader {
             String filePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + tableName + ApplicationConfiguration.DATA_FILE_FORMAT;
 
             ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
-            InputStream stream = sftpChannel.get(filePath);
+            InputStream stream = getDataFile(sftpChannel, filePath);
 
             Path tempFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + UUID.randomUUID().toString() + ".tmp");
             Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
@@ -1,6 +1,9 @@
 package com.group21.utils;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -9,6 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.StringJoiner;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
@@ -17,13 +24,20 @@ import org.slf4j.LoggerFactory;
 import com.group21.configurations.ApplicationConfiguration;
 import com.group21.server.logger.EventLogger;
 import com.group21.server.models.Column;
+import com.group21.server.models.DatabaseSite;
 import com.group21.server.models.TableInfo;
+import com.group21.server.storage.MetadataCache;
+import com.group21.server.storage.RowCursor;
 import com.jcraft.jsch.ChannelSftp;
+import com.jcraft.jsch.SftpException;
 
 public class RemoteDatabaseWriter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteDatabaseWriter.class);
 
+    // Table file renamed aside while its replacement is renamed in
+    static final String REPLACED_FILE_SUFFIX = ".old";
+
     private RemoteDatabaseWriter() {
     }
 
@@ -49,7 +63,7 @@ public class RemoteDatabaseWriter {
     public static void writeMetadata(String tableName, List<Column> columnDetails) {
         StringBuilder tableMetadata = new StringBuilder(Strings.EMPTY);
 
-        String headerRow = "ColumnName|ColumnType|Constraint|ForeignKeyTable|ForeignKeyColumn";
+        String headerRow = "ColumnName|ColumnType|Constraint|ForeignKeyTable|ForeignKeyColumn|IndexName";
         tableMetadata.append(headerRow).append(ApplicationConfiguration.NEW_LINE);
 
         for (Column column : columnDetails) {
@@ -60,6 +74,7 @@ public class RemoteDatabaseWriter {
             columnEntry.add(column.getConstraint().name());
             columnEntry.add(column.getForeignKeyTable());
             columnEntry.add(column.getForeignKeyColumnName());
+            columnEntry.add(column.getIndexName());
 
             tableMetadata.append(columnEntry.toString()).append(ApplicationConfiguration.NEW_LINE);
         }
@@ -67,6 +82,7 @@ public class RemoteDatabaseWriter {
         String metadataFileName = tableName + ApplicationConfiguration.METADATA_FILE_FORMAT;
 
         writeFile(metadataFileName, tableMetadata.toString());
+        MetadataCache.getInstance().bumpSchemaVersion(DatabaseSite.REMOTE, tableName);
     }
 
     public static void writeLocalDataDictionary(TableInfo tableInfo) {
@@ -92,14 +108,176 @@ public class RemoteDatabaseWriter {
         writeFile(dataFileName, String.join(ApplicationConfiguration.NEW_LINE, existingData));
     }
 
-    public static void syncDistributedDataDictionary() {
+    public static void writeRows(String tableName, Iterable<List<String>> rows) {
+        try {
+            replaceDataFile(tableName, writeTempDataFile(RemoteDatabaseReader.readColumnMetadata(tableName), rows));
+        } catch (Exception exception) {
+            LOGGER.error("Error occurred while writing table {} to remote server.", tableName);
+            EventLogger.error(exception.getMessage());
+        }
+    }
+
+    // Existing rows and the new rows are streamed into one temp file, so the whole load is a single upload
+    public static int appendRows(String tableName, Iterable<List<String>> rows) {
+        int[] appendedRows = {0};
         try {
-            Path gddFilePath = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME);
-            List<String> gddLines = Files.readAllLines(gddFilePath);
+            Path tempFile;
+            try (RowCursor rowCursor = RemoteDatabaseReader.scan(tableName, null, null)) {
+                if (rowCursor.getColumnNames().isEmpty()) {
+                    return 0;
+                }
+                Stream<List<String>> newRows = StreamSupport.stream(rows.spliterator(), false).peek(rowData -> appendedRows[0]++);
+                Stream<List<String>> allRows = Stream.concat(rowCursor.stream(), newRows);
+                tempFile = writeTempDataFile(rowCursor.getColumnNames(), allRows::iterator);
+            }
+            replaceDataFile(tableName, tempFile);
+        } catch (Exception exception) {
+            LOGGER.error("Error occurred while writing table {} to remote server.", tableName);
+            EventLogger.error(exception.getMessage());
+            return 0;
+        }
+        return appendedRows[0];
+    }
+
+    public static int updateRows(String tableName, Predicate<List<String>> predicate, UnaryOperator<List<String>> rowUpdater) {
+        int[] changedRows = {0};
+        try {
+            Path tempFile;
+            try (RowCursor rowCursor = RemoteDatabaseReader.scan(tableName, null, null)) {
+                if (rowCursor.getColumnNames().isEmpty()) {
+                    return 0;
+                }
+                Stream<List<String>> rows = rowCursor.stream().map(rowData -> {
+                    if (!predicate.test(rowData)) {
+                        return rowData;
+                    }
+                    changedRows[0]++;
+                    return rowUpdater.apply(new ArrayList<>(rowData));
+                });
+                tempFile = writeTempDataFile(rowCursor.getColumnNames(), rows::iterator);
+            }
+            replaceDataFile(tableName, tempFile);
+        } catch (Exception exception) {
+            LOGGER.error("Error occurred while updating table {} on remote server.", tableName);
+            EventLogger.error(exception.getMessage());
+            return 0;
+        }
+        return changedRows[0];
+    }
+
+    public static int deleteRows(String tableName, Predicate<List<String>> predicate) {
+        int[] deletedRows = {0};
+        try {
+            Path tempFile;
+            try (RowCursor rowCursor = RemoteDatabaseReader.scan(tableName, null, null)) {
+                if (rowCursor.getColumnNames().isEmpty()) {
+                    return 0;
+                }
+                Stream<List<String>> rows = rowCursor.stream().filter(rowData -> {
+                    if (!predicate.test(rowData)) {
+                        return true;
+                    }
+                    deletedRows[0]++;
+                    return false;
+                });
+                tempFile = writeTempDataFile(rowCursor.getColumnNames(), rows::iterator);
+            }
+            replaceDataFile(tableName, tempFile);
+        } catch (Exception exception) {
+            LOGGER.error("Error occurred while deleting data from table {} on remote server.", tableName);
+            EventLogger.error(exception.getMessage());
+            return 0;
+        }
+        return deletedRows[0];
+    }
+
+    private static Path writeTempDataFile(List<String> columnNames, Iterable<List<String>> rows) throws IOException {
+        Path tempFile = Paths.get(ApplicationConfiguration.DATA_DIRECTORY + ApplicationConfiguration.FILE_SEPARATOR + UUID.randomUUID().toString() + ".tmp");
+        try (BufferedWriter tempFileWriter = Files.newBufferedWriter(tempFile)) {
+            tempFileWriter.write(String.join(ApplicationConfiguration.DELIMITER, columnNames));
+            tempFileWriter.write(ApplicationConfiguration.NEW_LINE);
+            for (List<String> rowData : rows) {
+                tempFileWriter.write(String.join(ApplicationConfiguration.DELIMITER, rowData));
+                tempFileWriter.write(ApplicationConfiguration.NEW_LINE);
+            }
+        } catch (IOException exception) {
+            Files.deleteIfExists(tempFile);
+            throw exception;
+        }
+        return tempFile;
+    }
 
-            String gddContent = String.join(ApplicationConfiguration.NEW_LINE, gddLines) + ApplicationConfiguration.NEW_LINE;
+    private static void replaceDataFile(String tableName, Path tempFile) throws IOException, SftpException {
+        String dataFilePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + File.separator + tableName + ApplicationConfiguration.DATA_FILE_FORMAT;
+        String remoteTempFilePath = dataFilePath + ".tmp";
+        String replacedFilePath = dataFilePath + REPLACED_FILE_SUFFIX;
+        try {
+            ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
+            recoverDataFile(sftpChannel, dataFilePath);
+
+            // Upload goes to a temp file first, so an interrupted transfer never leaves a half written table
+            sftpChannel.put(tempFile.toString(), remoteTempFilePath);
+
+            // SFTP rename does not overwrite, so the old file is renamed aside and removed only once the new one is in place,
+            // readers use it in between and the next replace puts it back if the swap was interrupted
+            renameIfExists(sftpChannel, dataFilePath, replacedFilePath);
+            sftpChannel.rename(remoteTempFilePath, dataFilePath);
+            removeIfExists(sftpChannel, replacedFilePath);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // Old file left without a data file is the last committed table, after a completed swap it is only left over
+    private static void recoverDataFile(ChannelSftp sftpChannel, String dataFilePath) throws SftpException {
+        String replacedFilePath = dataFilePath + REPLACED_FILE_SUFFIX;
+        if (!exists(sftpChannel, dataFilePath)) {
+            renameIfExists(sftpChannel, replacedFilePath, dataFilePath);
+        }
+        removeIfExists(sftpChannel, replacedFilePath);
+    }
+
+    private static boolean exists(ChannelSftp sftpChannel, String filePath) throws SftpException {
+        try {
+            sftpChannel.stat(filePath);
+            return true;
+        } catch (SftpException exception) {
+            if (exception.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw exception;
+            }
+            return false;
+        }
+    }
+
+    private static void renameIfExists(ChannelSftp sftpChannel, String filePath, String newFilePath) throws SftpException {
+        try {
+            sftpChannel.rename(filePath, newFilePath);
+        } catch (SftpException exception) {
+            if (exception.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw exception;
+            }
+        }
+    }
+
+    private static void removeIfExists(ChannelSftp sftpChannel, String filePath) throws SftpException {
+        try {
+            sftpChannel.rm(filePath);
+        } catch (SftpException exception) {
+            if (exception.id != ChannelSftp.SSH_FX_NO_SUCH_FILE) {
+                throw exception;
+            }
+        }
+    }
+
+    public static void appendDistributedDataDictionary(String deltaContent, String versionContent) {
+        try {
+            String filePath = ApplicationConfiguration.REMOTE_DB_DATA_DIRECTORY + File.separator + ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME;
+
+            ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
+            sftpChannel.put(new ByteArrayInputStream(deltaContent.getBytes()), filePath, ChannelSftp.APPEND);
 
-            writeFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_NAME, gddContent);
+            // Version is written after the delta, so a reader never sees a version without its lines
+            writeFile(ApplicationConfiguration.DISTRIBUTED_DATA_DICTIONARY_VERSION_NAME, versionContent);
         } catch (Exception exception) {
             LOGGER.error("Error occurred while updating distributed data dictionary to remote.");
             EventLogger.error(exception.getMessage());
@@ -113,10 +291,13 @@ public class RemoteDatabaseWriter {
 
             ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
             sftpChannel.rm(dataFile);
+            removeIfExists(sftpChannel, dataFile + REPLACED_FILE_SUFFIX);
             sftpChannel.rm(metadataFile);
         } catch (Exception exception) {
             LOGGER.error("Error occurred while deleting table {} files from remote.", tableName);
             EventLogger.error(exception.getMessage());
+        } finally {
+            MetadataCache.getInstance().bumpSchemaVersion(DatabaseSite.REMOTE, tableName);
         }
     }
 
@@ -126,20 +307,21 @@ public class RemoteDatabaseWriter {
 
             ChannelSftp sftpChannel = RemoteDatabaseConnection.getSftpChannel();
             sftpChannel.rm(dataFile);
+            removeIfExists(sftpChannel, dataFile + REPLACED_FILE_SUFFIX);
         } catch (Exception exception) {
             LOGGER.error("Error occurred while deleting table {} file from remote.", tableName);
             EventLogger.error(exception.getMessage());
         }
     }
 
-    public static void incrementRowCountInLocalDataDictionary(String tableName) {
+    public static void incrementRowCountInLocalDataDictionary(String tableName, int count) {
         List<TableInfo> tableInfoList = RemoteDatabaseReader.readLocalDataDictionary();
         List<String> tableNameList = new ArrayList<>();
         for (TableInfo tableInfo : tableInfoList) {
             tableNameList.add(tableInfo.getTableName());
         }
         TableInfo tableInfo = tableInfoList.get(tableNameList.indexOf(tableName));
-        int rows = tableInfo.getNumberOfRows() + 1;
+        int rows = tableInfo.getNumberOfRows() + count;
         tableInfo.setNumberOfRows(rows);
         tableInfoList.set(tableNameList.indexOf(tableName), tableInfo);
 